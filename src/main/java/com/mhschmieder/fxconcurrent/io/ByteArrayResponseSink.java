@@ -0,0 +1,67 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+/**
+ * A response sink that reassembles a response of known size into a single
+ * exactly-sized byte array.
+ */
+public final class ByteArrayResponseSink implements ResponseSink {
+
+    /** The reassembled response data. */
+    private final byte[] data;
+
+    /**
+     * Makes a Byte Array Response Sink for a response of the given size.
+     *
+     * @param size The total size of the response, in bytes
+     */
+    public ByteArrayResponseSink( final long size ) {
+        if ( ( size < 0L ) || ( size > Integer.MAX_VALUE ) ) {
+            throw new IllegalArgumentException( "Response size does not fit in a byte array: "
+                    + size );
+        }
+
+        data = new byte[ ( int ) size ];
+    }
+
+    @Override
+    public void write( final long position,
+                       final byte[] buffer,
+                       final int offset,
+                       final int length ) {
+        System.arraycopy( buffer, offset, data, ( int ) position, length );
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
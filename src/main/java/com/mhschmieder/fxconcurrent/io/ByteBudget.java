@@ -0,0 +1,253 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A memory budget for response bodies, shared by all concurrently running
+ * requests, so that a few simultaneous large downloads can't exhaust the heap.
+ * <p>
+ * Each request reserves the size of its response before buffering it, and
+ * gives the reservation back once the data is no longer in flight. When the
+ * budget is used up, new requests either wait their turn in arrival order,
+ * or, if a spill directory is set, download to a file instead of memory.
+ * <p>
+ * NOTE: A response larger than the whole budget is still admitted, once it
+ *  can have the budget to itself, so that it is never blocked forever.
+ */
+public final class ByteBudget {
+
+    /** The default reservation for responses whose size isn't announced. */
+    public static final long UNKNOWN_LENGTH_RESERVATION_DEFAULT = 1024L * 1024L;
+
+    /** The total number of bytes that may be buffered at once. */
+    private final long capacity;
+
+    /** The number of bytes reserved for responses of unknown length. */
+    private final long unknownLengthReservation;
+
+    /** The directory to spill responses to, or null to wait for budget. */
+    private final Path spillDirectory;
+
+    /** The requests waiting for budget, in arrival order. */
+    private final Deque< Object > waitingRequests;
+
+    /** The number of bytes currently reserved. */
+    private long usedBytes;
+
+    private long peakUsedBytes;
+    private long numberOfWaits;
+    private long totalWaitNanos;
+    private long numberOfSpills;
+
+    /**
+     * Makes a Byte Budget that makes requests wait when it is used up.
+     *
+     * @param pCapacity The total number of bytes that may be buffered at once
+     */
+    public ByteBudget( final long pCapacity ) {
+        this( pCapacity, UNKNOWN_LENGTH_RESERVATION_DEFAULT, null );
+    }
+
+    /**
+     * Makes a Byte Budget with all parameters specified.
+     *
+     * @param pCapacity The total number of bytes that may be buffered at once
+     * @param pUnknownLengthReservation The bytes to reserve for a response
+     *                                  that doesn't announce its length
+     * @param pSpillDirectory The directory to download responses to when the
+     *                        budget is used up, or null to wait instead
+     */
+    public ByteBudget( final long pCapacity,
+                       final long pUnknownLengthReservation,
+                       final Path pSpillDirectory ) {
+        if ( ( pCapacity <= 0L ) || ( pUnknownLengthReservation < 0L ) ) {
+            throw new IllegalArgumentException( "Invalid byte budget" );
+        }
+
+        capacity = pCapacity;
+        unknownLengthReservation = pUnknownLengthReservation;
+        spillDirectory = pSpillDirectory;
+
+        waitingRequests = new ArrayDeque<>();
+        usedBytes = 0L;
+        peakUsedBytes = 0L;
+        numberOfWaits = 0L;
+        totalWaitNanos = 0L;
+        numberOfSpills = 0L;
+    }
+
+    /**
+     * Returns the number of bytes to reserve for a response.
+     *
+     * @param contentLength The announced length of the response, or -1 if
+     *                      it is unknown
+     * @return The number of bytes to reserve
+     */
+    public long getReservation( final long contentLength ) {
+        return ( contentLength >= 0L ) ? contentLength : unknownLengthReservation;
+    }
+
+    private boolean fits( final long numberOfBytes ) {
+        return ( usedBytes == 0L ) || ( ( usedBytes + numberOfBytes ) <= capacity );
+    }
+
+    private void reserve( final long numberOfBytes ) {
+        usedBytes += numberOfBytes;
+        peakUsedBytes = Math.max( peakUsedBytes, usedBytes );
+    }
+
+    /**
+     * Waits in line until the given number of bytes fits in the budget, and
+     * then reserves them.
+     * <p>
+     * NOTE: Every reservation must be given back via {@link #release}.
+     *
+     * @param numberOfBytes The number of bytes to reserve
+     * @throws InterruptedException If interrupted (e.g. cancelled) while waiting
+     */
+    public synchronized void acquire( final long numberOfBytes ) throws InterruptedException {
+        if ( waitingRequests.isEmpty() && fits( numberOfBytes ) ) {
+            reserve( numberOfBytes );
+            return;
+        }
+
+        // Wait in arrival order, so that large requests aren't starved by a
+        // steady stream of small ones.
+        final Object waitingRequest = new Object();
+        waitingRequests.addLast( waitingRequest );
+        numberOfWaits++;
+        final long waitStartNanos = System.nanoTime();
+        try {
+            while ( ( waitingRequests.peekFirst() != waitingRequest )
+                    || !fits( numberOfBytes ) ) {
+                wait();
+            }
+            reserve( numberOfBytes );
+        }
+        finally {
+            waitingRequests.remove( waitingRequest );
+            totalWaitNanos += System.nanoTime() - waitStartNanos;
+
+            // Let the next in line check whether it fits now.
+            notifyAll();
+        }
+    }
+
+    /**
+     * Reserves the given number of bytes only if that can be done right away.
+     *
+     * @param numberOfBytes The number of bytes to reserve
+     * @return true if the bytes were reserved; false if the budget is used up
+     */
+    public synchronized boolean tryAcquire( final long numberOfBytes ) {
+        if ( !waitingRequests.isEmpty() || !fits( numberOfBytes ) ) {
+            return false;
+        }
+
+        reserve( numberOfBytes );
+        return true;
+    }
+
+    /**
+     * Extends a reservation that a response has outgrown, right away and even
+     * past the capacity, as the bytes are already in memory; new requests
+     * then wait (or spill) until enough has been given back.
+     * <p>
+     * NOTE: This never waits, as a response that waits in line for budget
+     *  while holding its own reservation could deadlock with another one.
+     *
+     * @param numberOfBytes The number of bytes to add to the reservation
+     */
+    public synchronized void grow( final long numberOfBytes ) {
+        reserve( numberOfBytes );
+    }
+
+    /**
+     * Gives back a reservation, once its data is no longer being buffered.
+     *
+     * @param numberOfBytes The number of bytes that were reserved
+     */
+    public synchronized void release( final long numberOfBytes ) {
+        usedBytes = Math.max( 0L, usedBytes - numberOfBytes );
+        notifyAll();
+    }
+
+    /**
+     * Records that a response went to a spill file for lack of budget.
+     */
+    public synchronized void onSpilled() {
+        numberOfSpills++;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public boolean isSpillable() {
+        return spillDirectory != null;
+    }
+
+    public synchronized boolean isAvailable( final long numberOfBytes ) {
+        return waitingRequests.isEmpty() && fits( numberOfBytes );
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getPeakUsedBytes() {
+        return peakUsedBytes;
+    }
+
+    public synchronized int getNumberOfWaitingRequests() {
+        return waitingRequests.size();
+    }
+
+    public synchronized long getNumberOfWaits() {
+        return numberOfWaits;
+    }
+
+    public synchronized double getTotalWaitMillis() {
+        return totalWaitNanos * 1.0e-6d;
+    }
+
+    public synchronized long getNumberOfSpills() {
+        return numberOfSpills;
+    }
+}
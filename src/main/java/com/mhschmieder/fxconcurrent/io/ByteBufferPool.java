@@ -0,0 +1,166 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread-safe pool of fixed-size Byte Buffers, which may be either
+ * heap buffers or direct buffers.
+ * <p>
+ * Buffers are allocated on demand when the pool is empty, and are only kept
+ * for reuse up to the pool's maximum size, so the pool never holds more than
+ * a fixed amount of memory no matter how many requests run concurrently.
+ */
+public final class ByteBufferPool {
+
+    /** The default size of each pooled buffer, in bytes. */
+    public static final int BUFFER_SIZE_DEFAULT = 64 * 1024;
+
+    /** The default maximum number of idle buffers kept for reuse. */
+    public static final int MAXIMUM_POOLED_BUFFERS_DEFAULT = 64;
+
+    /** The size of each buffer in this pool, in bytes. */
+    private final int bufferSize;
+
+    /** Flag for whether this pool hands out direct or heap buffers. */
+    private final boolean direct;
+
+    /** The idle buffers that are available for reuse. */
+    private final BlockingQueue< ByteBuffer > pooledBuffers;
+
+    /** The number of buffers that had to be freshly allocated. */
+    private final AtomicLong numberOfAllocations;
+
+    /** The number of buffers that were served from the pool. */
+    private final AtomicLong numberOfReuses;
+
+    /** The number of released buffers that were dropped as the pool was full. */
+    private final AtomicLong numberOfDiscards;
+
+    /**
+     * Makes a pool of heap buffers with the default size and capacity.
+     */
+    public ByteBufferPool() {
+        this( BUFFER_SIZE_DEFAULT, MAXIMUM_POOLED_BUFFERS_DEFAULT, false );
+    }
+
+    /**
+     * Makes a Byte Buffer Pool with all parameters specified.
+     *
+     * @param pBufferSize The size of each pooled buffer, in bytes
+     * @param maximumPooledBuffers The maximum number of idle buffers to keep
+     * @param pDirect true for direct buffers; false for heap buffers
+     */
+    public ByteBufferPool( final int pBufferSize,
+                           final int maximumPooledBuffers,
+                           final boolean pDirect ) {
+        if ( ( pBufferSize < 1 ) || ( maximumPooledBuffers < 1 ) ) {
+            throw new IllegalArgumentException( "Buffer size and pool size must be positive" );
+        }
+
+        bufferSize = pBufferSize;
+        direct = pDirect;
+
+        pooledBuffers = new ArrayBlockingQueue<>( maximumPooledBuffers );
+
+        numberOfAllocations = new AtomicLong( 0L );
+        numberOfReuses = new AtomicLong( 0L );
+        numberOfDiscards = new AtomicLong( 0L );
+    }
+
+    /**
+     * Borrows a cleared buffer from this pool, allocating a new one if no
+     * idle buffers are available.
+     *
+     * @return A cleared buffer of this pool's buffer size
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer pooledBuffer = pooledBuffers.poll();
+        if ( pooledBuffer != null ) {
+            numberOfReuses.incrementAndGet();
+            return pooledBuffer;
+        }
+
+        numberOfAllocations.incrementAndGet();
+        return direct
+            ? ByteBuffer.allocateDirect( bufferSize )
+            : ByteBuffer.allocate( bufferSize );
+    }
+
+    /**
+     * Returns a borrowed buffer to this pool for reuse.
+     * <p>
+     * NOTE: The caller must not touch the buffer after releasing it, and must
+     *  not release the same buffer twice, as it may already be lent out again.
+     *  Buffers that weren't made by this pool are silently ignored.
+     *
+     * @param byteBuffer The buffer to return to the pool
+     */
+    public void release( final ByteBuffer byteBuffer ) {
+        if ( ( byteBuffer == null ) || ( byteBuffer.capacity() != bufferSize )
+                || ( byteBuffer.isDirect() != direct ) || byteBuffer.isReadOnly() ) {
+            return;
+        }
+
+        byteBuffer.clear();
+        if ( !pooledBuffers.offer( byteBuffer ) ) {
+            numberOfDiscards.incrementAndGet();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public int getNumberOfIdleBuffers() {
+        return pooledBuffers.size();
+    }
+
+    public long getNumberOfAllocations() {
+        return numberOfAllocations.get();
+    }
+
+    public long getNumberOfReuses() {
+        return numberOfReuses.get();
+    }
+
+    public long getNumberOfDiscards() {
+        return numberOfDiscards.get();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A response sink that reassembles a response into a file, for responses
+ * that are too large to comfortably hold on the heap.
+ */
+public final class FileResponseSink implements ResponseSink {
+
+    /** The path of the file that holds the response. */
+    private final Path path;
+
+    /** The channel for positional (and thus thread-safe) writes. */
+    private final FileChannel fileChannel;
+
+    /**
+     * Makes a File Response Sink that writes to the given file, replacing
+     * any previous contents.
+     *
+     * @param pPath The path of the file to hold the response
+     * @throws IOException If the file could not be opened
+     */
+    public FileResponseSink( final Path pPath ) throws IOException {
+        path = pPath;
+        fileChannel = FileChannel.open( path,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING );
+    }
+
+    @Override
+    public void write( final long position,
+                       final byte[] buffer,
+                       final int offset,
+                       final int length )
+            throws IOException {
+        final ByteBuffer byteBuffer = ByteBuffer.wrap( buffer, offset, length );
+        long writePosition = position;
+        while ( byteBuffer.hasRemaining() ) {
+            writePosition += fileChannel.write( byteBuffer, writePosition );
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response that bundles several named entries (files) with an up-front
+ * index, so that consumers can go straight to the entries they need rather
+ * than scanning or copying the whole payload.
+ * <p>
+ * Wrapping a response only parses its index; each entry is then a view onto
+ * its own slice of the original bytes, which are never copied, and which may
+ * even be a memory-mapped response file.
+ * <p>
+ * The format is big-endian, and laid out as follows:
+ * <pre>
+ *   header:  magic "FXMR" (4), version (1), reserved (3),
+ *            entry count (4), index length in bytes (4)
+ *   index:   per entry: name length (2), name as UTF-8, compression (1),
+ *            data offset (8), stored length (8), length (8), CRC32 (4)
+ *   data:    the stored entries, at offsets relative to the data section
+ * </pre>
+ * NOTE: As DataServerResponse belongs to another library, this is an adapter
+ *  over its Server Response Data rather than a change to that class.
+ */
+public final class MultiEntryResponse {
+
+    /** The magic number that starts every multi-entry response: "FXMR". */
+    public static final int MAGIC = 0x46584D52;
+
+    /** The version of the format that is written and understood. */
+    public static final byte VERSION = 1;
+
+    /** The compression code for entries that are stored as-is. */
+    public static final byte COMPRESSION_NONE = 0;
+
+    /** The compression code for entries that are zlib/deflate compressed. */
+    public static final byte COMPRESSION_DEFLATE = 1;
+
+    /** The length of the fixed header, in bytes. */
+    static final int HEADER_LENGTH = 16;
+
+    /** The entries, keyed by name, in index order. */
+    private final Map< String, ResponseEntry > entries;
+
+    private MultiEntryResponse( final Map< String, ResponseEntry > pEntries ) {
+        entries = pEntries;
+    }
+
+    /**
+     * Returns whether the given response data is in the multi-entry format,
+     * as opposed to a single opaque payload.
+     *
+     * @param serverResponseData The response data to check
+     * @return true if the data starts with the multi-entry magic number
+     */
+    public static boolean isMultiEntry( final byte[] serverResponseData ) {
+        return ( serverResponseData != null ) && ( serverResponseData.length >= HEADER_LENGTH )
+                && ( ByteBuffer.wrap( serverResponseData ).getInt( 0 ) == MAGIC );
+    }
+
+    /**
+     * Wraps the Server Response Data of a data request.
+     *
+     * @param dataServerResponse The response to a data request
+     * @return The multi-entry view of the response
+     * @throws IOException If the response has no data or isn't well formed
+     */
+    public static MultiEntryResponse wrap( final DataServerResponse dataServerResponse )
+            throws IOException {
+        final byte[] serverResponseData = ( dataServerResponse != null )
+            ? dataServerResponse.getServerResponseData()
+            : null;
+        if ( serverResponseData == null ) {
+            throw new IOException( "Data response has no data" );
+        }
+
+        return wrap( serverResponseData );
+    }
+
+    /**
+     * Wraps response data that is held in an array, without copying it.
+     *
+     * @param serverResponseData The multi-entry response data
+     * @return The multi-entry view of the data
+     * @throws IOException If the data isn't a well formed multi-entry response
+     */
+    public static MultiEntryResponse wrap( final byte[] serverResponseData ) throws IOException {
+        return wrap( ByteBuffer.wrap( serverResponseData ) );
+    }
+
+    /**
+     * Wraps the remaining bytes of a buffer, without copying them.
+     *
+     * @param responseBuffer The multi-entry response data
+     * @return The multi-entry view of the data
+     * @throws IOException If the data isn't a well formed multi-entry response
+     */
+    public static MultiEntryResponse wrap( final ByteBuffer responseBuffer ) throws IOException {
+        // Work on a read-only view, so the caller's buffer and its position
+        // are never touched, and the entries can't be used to modify it.
+        final ByteBuffer buffer = responseBuffer.slice().asReadOnlyBuffer()
+                .order( ByteOrder.BIG_ENDIAN );
+        try {
+            return parse( buffer );
+        }
+        catch ( final BufferUnderflowException | IllegalArgumentException e ) {
+            throw new IOException( "Malformed multi-entry response", e );
+        }
+    }
+
+    /**
+     * Memory-maps a response file (such as one downloaded by byte ranges or
+     * spilled to disk), so that only the entries that are read get paged in.
+     * <p>
+     * NOTE: The mapping stays valid after the file is closed, but the file
+     *  must not be deleted or truncated while entries are still being read.
+     *
+     * @param responseFile The file holding the multi-entry response
+     * @return The multi-entry view of the file
+     * @throws IOException If the file can't be mapped, is over 2 GB, or isn't
+     *                     a well formed multi-entry response
+     */
+    public static MultiEntryResponse open( final Path responseFile ) throws IOException {
+        try ( final FileChannel fileChannel = FileChannel.open( responseFile,
+                                                                StandardOpenOption.READ ) ) {
+            final long fileSize = fileChannel.size();
+            if ( fileSize > Integer.MAX_VALUE ) {
+                throw new IOException( "Response file too large to map: " + responseFile );
+            }
+
+            return wrap( fileChannel.map( FileChannel.MapMode.READ_ONLY, 0L, fileSize ) );
+        }
+    }
+
+    private static MultiEntryResponse parse( final ByteBuffer buffer ) throws IOException {
+        if ( ( buffer.remaining() < HEADER_LENGTH ) || ( buffer.getInt() != MAGIC ) ) {
+            throw new IOException( "Not a multi-entry response" );
+        }
+        final byte version = buffer.get();
+        if ( version != VERSION ) {
+            throw new IOException( "Unsupported multi-entry response version: " + version );
+        }
+        buffer.position( buffer.position() + 3 );
+
+        final int numberOfEntries = buffer.getInt();
+        final int indexLength = buffer.getInt();
+        final long dataStart = ( long ) HEADER_LENGTH + indexLength;
+        if ( ( numberOfEntries < 0 ) || ( indexLength < 0 ) || ( dataStart > buffer.limit() ) ) {
+            throw new IOException( "Malformed multi-entry response index" );
+        }
+
+        final Map< String, ResponseEntry > entries = new LinkedHashMap<>( Math
+                .min( numberOfEntries, 1024 ) * 2 );
+        for ( int entryIndex = 0; entryIndex < numberOfEntries; entryIndex++ ) {
+            final int nameLength = buffer.getShort() & 0xffff;
+            final byte[] nameBytes = new byte[ nameLength ];
+            buffer.get( nameBytes );
+            final String name = new String( nameBytes, StandardCharsets.UTF_8 );
+
+            final byte compression = buffer.get();
+            final long dataOffset = buffer.getLong();
+            final long storedLength = buffer.getLong();
+            final long length = buffer.getLong();
+            final long crc32 = buffer.getInt() & 0xffffffffL;
+
+            if ( ( compression != COMPRESSION_NONE ) && ( compression != COMPRESSION_DEFLATE ) ) {
+                throw new IOException( "Unsupported compression for entry: " + name );
+            }
+            if ( ( dataOffset < 0L ) || ( storedLength < 0L ) || ( length < 0L )
+                    || ( ( dataStart + dataOffset + storedLength ) > buffer.limit() ) ) {
+                throw new IOException( "Entry lies outside of the response: " + name );
+            }
+            if ( ( compression == COMPRESSION_NONE ) && ( storedLength != length ) ) {
+                throw new IOException( "Inconsistent length for entry: " + name );
+            }
+            if ( entries.containsKey( name ) ) {
+                throw new IOException( "Duplicate entry name: " + name );
+            }
+
+            // Slice out the entry's bytes, without copying them.
+            final ByteBuffer storedData = buffer.duplicate();
+            storedData.limit( ( int ) ( dataStart + dataOffset + storedLength ) );
+            storedData.position( ( int ) ( dataStart + dataOffset ) );
+            entries.put( name,
+                         new ResponseEntry( name,
+                                            compression == COMPRESSION_DEFLATE,
+                                            storedData.slice().asReadOnlyBuffer(),
+                                            length,
+                                            crc32 ) );
+        }
+
+        if ( buffer.position() > dataStart ) {
+            throw new IOException( "Multi-entry response index overruns its length" );
+        }
+
+        return new MultiEntryResponse( Collections.unmodifiableMap( entries ) );
+    }
+
+    /**
+     * Returns the entry with the given name.
+     *
+     * @param entryName The name of the entry
+     * @return The entry, or null if there is no such entry
+     */
+    public ResponseEntry getEntry( final String entryName ) {
+        return entries.get( entryName );
+    }
+
+    public boolean containsEntry( final String entryName ) {
+        return entries.containsKey( entryName );
+    }
+
+    /**
+     * Returns the names of all of the entries, in index order.
+     *
+     * @return The names of all of the entries
+     */
+    public List< String > getEntryNames() {
+        return new ArrayList<>( entries.keySet() );
+    }
+
+    /**
+     * Returns all of the entries, in index order.
+     *
+     * @return All of the entries
+     */
+    public List< ResponseEntry > getEntries() {
+        return new ArrayList<>( entries.values() );
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
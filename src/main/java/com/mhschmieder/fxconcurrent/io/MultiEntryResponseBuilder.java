@@ -0,0 +1,191 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Assembles a {@link MultiEntryResponse}, for servlets (or test fixtures)
+ * that send several files in one response.
+ */
+public final class MultiEntryResponseBuilder {
+
+    /** The largest entry name, in UTF-8 bytes, that the index can hold. */
+    private static final int MAXIMUM_NAME_LENGTH = 0xffff;
+
+    private final List< PendingEntry > pendingEntries;
+    private final Set< String > entryNames;
+
+    public MultiEntryResponseBuilder() {
+        pendingEntries = new ArrayList<>();
+        entryNames = new HashSet<>();
+    }
+
+    /**
+     * Adds an entry to the response.
+     *
+     * @param entryName The name of the entry, unique within the response
+     * @param content The content of the entry
+     * @param compress true to deflate the entry, which is skipped if it
+     *                 doesn't actually make the entry smaller
+     * @return This builder, for chaining
+     * @throws IOException If the entry can't be compressed
+     */
+    public MultiEntryResponseBuilder addEntry( final String entryName,
+                                               final byte[] content,
+                                               final boolean compress )
+            throws IOException {
+        final byte[] nameBytes = entryName.getBytes( StandardCharsets.UTF_8 );
+        if ( nameBytes.length > MAXIMUM_NAME_LENGTH ) {
+            throw new IllegalArgumentException( "Entry name is too long" );
+        }
+        if ( !entryNames.add( entryName ) ) {
+            throw new IllegalArgumentException( "Duplicate entry name: " + entryName );
+        }
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update( content, 0, content.length );
+
+        byte[] storedData = content;
+        byte compression = MultiEntryResponse.COMPRESSION_NONE;
+        if ( compress ) {
+            final ByteArrayOutputStream compressedStream = new ByteArrayOutputStream( content.length
+                    / 2 );
+            final Deflater deflater = new Deflater();
+            try ( final DeflaterOutputStream deflaterStream = new DeflaterOutputStream( compressedStream,
+                                                                                        deflater ) ) {
+                deflaterStream.write( content );
+            }
+            finally {
+                deflater.end();
+            }
+            if ( compressedStream.size() < content.length ) {
+                storedData = compressedStream.toByteArray();
+                compression = MultiEntryResponse.COMPRESSION_DEFLATE;
+            }
+        }
+
+        pendingEntries.add( new PendingEntry( nameBytes,
+                                              compression,
+                                              storedData,
+                                              content.length,
+                                              crc32.getValue() ) );
+        return this;
+    }
+
+    /**
+     * Writes the response, index first, to a stream.
+     *
+     * @param outputStream The stream to write the response to
+     * @throws IOException If the stream can't be written to
+     */
+    public void writeTo( final OutputStream outputStream ) throws IOException {
+        int indexLength = 0;
+        for ( final PendingEntry pendingEntry : pendingEntries ) {
+            indexLength += 2 + pendingEntry.nameBytes.length + 1 + 8 + 8 + 8 + 4;
+        }
+
+        final DataOutputStream dataStream = new DataOutputStream( outputStream );
+        dataStream.writeInt( MultiEntryResponse.MAGIC );
+        dataStream.writeByte( MultiEntryResponse.VERSION );
+        dataStream.write( new byte[ 3 ] );
+        dataStream.writeInt( pendingEntries.size() );
+        dataStream.writeInt( indexLength );
+
+        long dataOffset = 0L;
+        for ( final PendingEntry pendingEntry : pendingEntries ) {
+            dataStream.writeShort( pendingEntry.nameBytes.length );
+            dataStream.write( pendingEntry.nameBytes );
+            dataStream.writeByte( pendingEntry.compression );
+            dataStream.writeLong( dataOffset );
+            dataStream.writeLong( pendingEntry.storedData.length );
+            dataStream.writeLong( pendingEntry.length );
+            dataStream.writeInt( ( int ) pendingEntry.crc32 );
+            dataOffset += pendingEntry.storedData.length;
+        }
+
+        for ( final PendingEntry pendingEntry : pendingEntries ) {
+            dataStream.write( pendingEntry.storedData );
+        }
+        dataStream.flush();
+    }
+
+    /**
+     * Returns the response as a byte array.
+     *
+     * @return The complete multi-entry response
+     */
+    public byte[] toByteArray() {
+        final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        try {
+            writeTo( responseStream );
+        }
+        catch ( final IOException ioe ) {
+            // A byte array stream never fails.
+            throw new IllegalStateException( ioe );
+        }
+        return responseStream.toByteArray();
+    }
+
+    /**
+     * An entry that has been added but not yet written.
+     */
+    private static final class PendingEntry {
+        final byte[] nameBytes;
+        final byte compression;
+        final byte[] storedData;
+        final long length;
+        final long crc32;
+
+        PendingEntry( final byte[] pNameBytes,
+                      final byte pCompression,
+                      final byte[] pStoredData,
+                      final long pLength,
+                      final long pCrc32 ) {
+            nameBytes = pNameBytes;
+            compression = pCompression;
+            storedData = pStoredData;
+            length = pLength;
+            crc32 = pCrc32;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A server response body that is held in a chain of buffers borrowed from a
+ * {@link ByteBufferPool}, rather than in a freshly allocated byte array.
+ * <p>
+ * The body must be released (directly or via try-with-resources) once the
+ * consumer is done with it, so that its buffers return to the pool; reading
+ * from a released body is an error.
+ */
+public final class PooledResponseBody implements AutoCloseable {
+
+    /** The size of the per-thread transfer array used for direct buffers. */
+    private static final int TRANSFER_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Per-thread transfer array for filling direct buffers from a stream, as
+     * request threads are pooled and thus reuse the same array.
+     */
+    private static final ThreadLocal< byte[] > TRANSFER_BUFFER = ThreadLocal
+            .withInitial( () -> new byte[ TRANSFER_BUFFER_SIZE ] );
+
+    /** The pool that the buffers were borrowed from. */
+    private final ByteBufferPool byteBufferPool;
+
+    /** The borrowed buffers, each flipped so that it is ready for reading. */
+    private final List< ByteBuffer > buffers;
+
+    /** The total number of bytes in the body. */
+    private long size;
+
+    /** Flag for whether the buffers have already gone back to the pool. */
+    private final AtomicBoolean released;
+
+    /** The actions to run once the buffers have gone back to the pool. */
+    private final List< Runnable > releaseActions;
+
+    private PooledResponseBody( final ByteBufferPool pByteBufferPool ) {
+        byteBufferPool = pByteBufferPool;
+        buffers = new ArrayList<>( 4 );
+        size = 0L;
+        released = new AtomicBoolean( false );
+        releaseActions = new ArrayList<>( 1 );
+    }
+
+    /**
+     * Reads a stream to its end into buffers borrowed from the given pool.
+     * <p>
+     * NOTE: The stream is not closed, as its owner may need it afterwards.
+     *
+     * @param inputStream The stream to read the response body from
+     * @param byteBufferPool The pool to borrow the buffers from
+     * @return The response body, which the caller must release
+     * @throws IOException If the stream could not be read, in which case all
+     *                     borrowed buffers have already been released
+     */
+    public static PooledResponseBody read( final InputStream inputStream,
+                                           final ByteBufferPool byteBufferPool )
+            throws IOException {
+        return read( inputStream, byteBufferPool, () -> false );
+    }
+
+    /**
+     * Reads a stream to its end into buffers borrowed from the given pool,
+     * checking between chunks whether the read should be abandoned.
+     *
+     * @param inputStream The stream to read the response body from
+     * @param byteBufferPool The pool to borrow the buffers from
+     * @param abortCheck Returns true when the read should be abandoned, such
+     *                   as when the owning task has been cancelled
+     * @return The response body, which the caller must release
+     * @throws IOException If the stream could not be read or the read was
+     *                     abandoned, in which case all borrowed buffers have
+     *                     already been released
+     */
+    public static PooledResponseBody read( final InputStream inputStream,
+                                           final ByteBufferPool byteBufferPool,
+                                           final BooleanSupplier abortCheck )
+            throws IOException {
+        final PooledResponseBody pooledResponseBody = new PooledResponseBody( byteBufferPool );
+
+        try {
+            ByteBuffer buffer = null;
+            int numberOfBytesRead = 0;
+            while ( numberOfBytesRead != -1 ) {
+                if ( abortCheck.getAsBoolean() ) {
+                    throw new InterruptedIOException( "Response Body Read Abandoned" );
+                }
+
+                if ( ( buffer == null ) || !buffer.hasRemaining() ) {
+                    buffer = byteBufferPool.acquire();
+                    pooledResponseBody.buffers.add( buffer );
+                }
+
+                numberOfBytesRead = readInto( inputStream, buffer );
+                if ( numberOfBytesRead > 0 ) {
+                    pooledResponseBody.size += numberOfBytesRead;
+                }
+            }
+        }
+        catch ( final IOException | RuntimeException e ) {
+            pooledResponseBody.release();
+            throw e;
+        }
+
+        for ( final ByteBuffer buffer : pooledResponseBody.buffers ) {
+            buffer.flip();
+        }
+
+        return pooledResponseBody;
+    }
+
+    private static int readInto( final InputStream inputStream, final ByteBuffer buffer )
+            throws IOException {
+        if ( buffer.hasArray() ) {
+            final int numberOfBytesRead = inputStream.read( buffer.array(),
+                                                            buffer.arrayOffset()
+                                                                    + buffer.position(),
+                                                            buffer.remaining() );
+            if ( numberOfBytesRead > 0 ) {
+                buffer.position( buffer.position() + numberOfBytesRead );
+            }
+            return numberOfBytesRead;
+        }
+
+        final byte[] transferBuffer = TRANSFER_BUFFER.get();
+        final int numberOfBytesRead = inputStream
+                .read( transferBuffer, 0, Math.min( transferBuffer.length, buffer.remaining() ) );
+        if ( numberOfBytesRead > 0 ) {
+            buffer.put( transferBuffer, 0, numberOfBytesRead );
+        }
+        return numberOfBytesRead;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isReleased() {
+        return released.get();
+    }
+
+    /**
+     * Returns read-only views of the borrowed buffers, in order, for zero-copy
+     * access to the body.
+     *
+     * @return Read-only views of the buffers, valid until the body is released
+     */
+    public List< ByteBuffer > getBuffers() {
+        checkNotReleased();
+
+        final List< ByteBuffer > bufferViews = new ArrayList<>( buffers.size() );
+        for ( final ByteBuffer buffer : buffers ) {
+            bufferViews.add( buffer.asReadOnlyBuffer() );
+        }
+
+        return Collections.unmodifiableList( bufferViews );
+    }
+
+    /**
+     * Returns a new stream over the whole body, independent of any others.
+     *
+     * @return A new stream over the whole body
+     */
+    public InputStream newInputStream() {
+        checkNotReleased();
+
+        return new InputStream() {
+            private int bufferIndex = 0;
+            private ByteBuffer current = null;
+
+            private boolean advance() {
+                while ( ( current == null ) || !current.hasRemaining() ) {
+                    if ( released.get() || ( bufferIndex >= buffers.size() ) ) {
+                        return false;
+                    }
+                    current = buffers.get( bufferIndex++ ).duplicate();
+                }
+                return true;
+            }
+
+            @Override
+            public int read() {
+                return advance() ? ( current.get() & 0xff ) : -1;
+            }
+
+            @Override
+            public int read( final byte[] b, final int off, final int len ) {
+                if ( len == 0 ) {
+                    return 0;
+                }
+                if ( !advance() ) {
+                    return -1;
+                }
+                final int numberOfBytes = Math.min( len, current.remaining() );
+                current.get( b, off, numberOfBytes );
+                return numberOfBytes;
+            }
+        };
+    }
+
+    /**
+     * Writes the whole body to the given stream.
+     *
+     * @param outputStream The stream to write the body to
+     * @throws IOException If the body could not be written
+     */
+    public void writeTo( final OutputStream outputStream ) throws IOException {
+        checkNotReleased();
+
+        final byte[] transferBuffer = TRANSFER_BUFFER.get();
+        for ( final ByteBuffer buffer : buffers ) {
+            if ( buffer.hasArray() ) {
+                outputStream.write( buffer.array(),
+                                    buffer.arrayOffset() + buffer.position(),
+                                    buffer.remaining() );
+            }
+            else {
+                final ByteBuffer view = buffer.duplicate();
+                while ( view.hasRemaining() ) {
+                    final int numberOfBytes = Math.min( transferBuffer.length, view.remaining() );
+                    view.get( transferBuffer, 0, numberOfBytes );
+                    outputStream.write( transferBuffer, 0, numberOfBytes );
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the whole body into a new exactly-sized byte array.
+     * <p>
+     * NOTE: This allocates, so it is only meant for consumers that need the
+     *  legacy byte array form of the Server Response Data.
+     *
+     * @return A new byte array with the contents of the body
+     */
+    public byte[] toByteArray() {
+        checkNotReleased();
+
+        if ( size > Integer.MAX_VALUE ) {
+            throw new IllegalStateException( "Response body too large for a byte array" );
+        }
+
+        final byte[] data = new byte[ ( int ) size ];
+        int offset = 0;
+        for ( final ByteBuffer buffer : buffers ) {
+            final int numberOfBytes = buffer.remaining();
+            buffer.duplicate().get( data, offset, numberOfBytes );
+            offset += numberOfBytes;
+        }
+
+        return data;
+    }
+
+    /**
+     * Adds an action to run once this body is released, such as giving back
+     * the memory budget that was reserved for it, so that it happens however
+     * the consumer releases the body. The action runs right away if the body
+     * has already been released.
+     *
+     * @param releaseAction The action to run once this body is released
+     */
+    public void addReleaseAction( final Runnable releaseAction ) {
+        synchronized ( releaseActions ) {
+            if ( !released.get() ) {
+                releaseActions.add( releaseAction );
+                return;
+            }
+        }
+
+        releaseAction.run();
+    }
+
+    /**
+     * Returns all of the borrowed buffers to the pool, and then runs any
+     * release actions. This is idempotent.
+     */
+    public void release() {
+        if ( released.compareAndSet( false, true ) ) {
+            for ( final ByteBuffer buffer : buffers ) {
+                byteBufferPool.release( buffer );
+            }
+            buffers.clear();
+
+            final List< Runnable > pendingReleaseActions;
+            synchronized ( releaseActions ) {
+                pendingReleaseActions = new ArrayList<>( releaseActions );
+                releaseActions.clear();
+            }
+            for ( final Runnable releaseAction : pendingReleaseActions ) {
+                releaseAction.run();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private void checkNotReleased() {
+        if ( released.get() ) {
+            throw new IllegalStateException( "Response body has already been released" );
+        }
+    }
+}
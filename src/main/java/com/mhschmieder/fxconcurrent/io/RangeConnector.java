@@ -0,0 +1,69 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * Re-issues a request for just a byte range of its response, for resuming an
+ * interrupted download or for fetching one segment of a parallel download.
+ */
+@FunctionalInterface
+public interface RangeConnector {
+
+    /**
+     * Re-issues the request with an HTTP Range header, and returns the
+     * connection once the server has answered with the requested range.
+     *
+     * @param firstByte The position of the first byte to fetch
+     * @param lastByte The position of the last byte to fetch, inclusive
+     * @return A connection whose input stream starts at the first byte
+     * @throws IOException If the request failed, or the server didn't honor
+     *                     the byte range
+     */
+    HttpURLConnection connect( long firstByte, long lastByte ) throws IOException;
+
+    /**
+     * Closes a connection that was returned by {@link #connect}, once its
+     * range is transferred or has failed.
+     * <p>
+     * NOTE: Override this to give back whatever was taken on behalf of the
+     *  range request, such as rate or concurrency limits.
+     *
+     * @param rangeConnection The connection to close
+     * @param transferred true if the whole range was transferred from it
+     */
+    default void release( final HttpURLConnection rangeConnection,
+                          final boolean transferred ) {
+        rangeConnection.disconnect();
+    }
+}
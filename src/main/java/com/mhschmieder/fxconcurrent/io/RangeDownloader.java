@@ -0,0 +1,324 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Utility methods for downloading a response by HTTP byte ranges, resuming
+ * from the last received byte after a dropped connection rather than from
+ * byte zero, and optionally fetching several ranges in parallel.
+ */
+public final class RangeDownloader {
+
+    /** The size of the transfer buffer used for each range. */
+    public static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private RangeDownloader() {}
+
+    /**
+     * Transfers one byte range of a response into a sink, resuming with a new
+     * range request from the last received byte whenever the stream fails.
+     *
+     * @param initialStream An already open stream positioned at the first
+     *                      byte, or null to start with a range request
+     * @param rangeConnector Re-issues the request for a byte range
+     * @param firstByte The position of the first byte of the range
+     * @param lastByte The position of the last byte of the range, inclusive
+     * @param responseSink The sink to write the bytes to
+     * @param maximumResumeAttempts The number of resumes allowed
+     * @param abortCheck Returns true when the transfer should be abandoned
+     * @return The number of times the transfer had to resume
+     * @throws IOException If the range could not be transferred
+     */
+    public static int transferRange( final InputStream initialStream,
+                                     final RangeConnector rangeConnector,
+                                     final long firstByte,
+                                     final long lastByte,
+                                     final ResponseSink responseSink,
+                                     final int maximumResumeAttempts,
+                                     final BooleanSupplier abortCheck )
+            throws IOException {
+        final byte[] transferBuffer = new byte[ TRANSFER_BUFFER_SIZE ];
+        long position = firstByte;
+        int numberOfResumes = 0;
+
+        InputStream inputStream = initialStream;
+        HttpURLConnection rangeConnection = null;
+        try {
+            while ( position <= lastByte ) {
+                try {
+                    if ( inputStream == null ) {
+                        // Don't open a new connection for a transfer that's over.
+                        if ( abortCheck.getAsBoolean() ) {
+                            throw new InterruptedIOException( "Range Transfer Abandoned" );
+                        }
+                        rangeConnection = rangeConnector.connect( position, lastByte );
+                        inputStream = rangeConnection.getInputStream();
+                    }
+
+                    while ( position <= lastByte ) {
+                        if ( abortCheck.getAsBoolean() ) {
+                            throw new InterruptedIOException( "Range Transfer Abandoned" );
+                        }
+
+                        final int numberOfBytesWanted = ( int ) Math
+                                .min( transferBuffer.length, ( lastByte - position ) + 1L );
+                        final int numberOfBytesRead = inputStream
+                                .read( transferBuffer, 0, numberOfBytesWanted );
+                        if ( numberOfBytesRead == -1 ) {
+                            throw new EOFException( "Response ended early at byte " + position );
+                        }
+
+                        responseSink.write( position, transferBuffer, 0, numberOfBytesRead );
+                        position += numberOfBytesRead;
+                    }
+                }
+                catch ( final IOException ioe ) {
+                    if ( abortCheck.getAsBoolean() || ( numberOfResumes >= maximumResumeAttempts ) ) {
+                        throw ioe;
+                    }
+
+                    // Drop the broken stream and resume from where it stopped.
+                    numberOfResumes++;
+                    closeQuietly( inputStream );
+                    inputStream = null;
+                    if ( rangeConnection != null ) {
+                        rangeConnector.release( rangeConnection, false );
+                        rangeConnection = null;
+                    }
+                }
+            }
+        }
+        finally {
+            closeQuietly( inputStream );
+            if ( rangeConnection != null ) {
+                rangeConnector.release( rangeConnection, position > lastByte );
+            }
+        }
+
+        return numberOfResumes;
+    }
+
+    /**
+     * Transfers a whole response of known length as several byte ranges in
+     * parallel, with the first range read from the already open stream of
+     * the original request, and each range resuming independently.
+     * <p>
+     * NOTE: The first range to fail abandons all of the others, and this
+     *  only returns once every range has stopped, so that the caller can
+     *  safely close the sink and give back what it took for the ranges.
+     *
+     * @param initialStream The open stream of the original request
+     * @param rangeConnector Re-issues the request for a byte range
+     * @param contentLength The total length of the response, in bytes
+     * @param numberOfSegments The number of ranges to split the response into
+     * @param responseSink The sink to reassemble the response in
+     * @param maximumResumeAttempts The number of resumes allowed per range
+     * @param executorService The executor that runs all but the first range
+     * @param abortCheck Returns true when the transfer should be abandoned
+     * @return The total number of times that any range had to resume
+     * @throws IOException If any range could not be transferred
+     * @throws InterruptedException If interrupted while waiting for ranges
+     */
+    public static int transferSegments( final InputStream initialStream,
+                                        final RangeConnector rangeConnector,
+                                        final long contentLength,
+                                        final int numberOfSegments,
+                                        final ResponseSink responseSink,
+                                        final int maximumResumeAttempts,
+                                        final ExecutorService executorService,
+                                        final BooleanSupplier abortCheck )
+            throws IOException, InterruptedException {
+        final long segmentSize = ( contentLength + numberOfSegments - 1L ) / numberOfSegments;
+
+        // Track the open range connections, so that a failure can disconnect
+        // them, as that is the only way to unblock a range stuck in a read,
+        // and the range threads, to wake any that wait for a request quota.
+        final AtomicBoolean segmentFailed = new AtomicBoolean( false );
+        final Set< HttpURLConnection > segmentConnections = ConcurrentHashMap.newKeySet();
+        final Set< Thread > segmentThreads = ConcurrentHashMap.newKeySet();
+        final BooleanSupplier segmentAbortCheck = () -> segmentFailed.get()
+                || abortCheck.getAsBoolean();
+        final RangeConnector segmentConnector = new RangeConnector() {
+            @Override
+            public HttpURLConnection connect( final long firstByte, final long lastByte )
+                    throws IOException {
+                final HttpURLConnection rangeConnection = rangeConnector
+                        .connect( firstByte, lastByte );
+                segmentConnections.add( rangeConnection );
+                if ( segmentFailed.get() ) {
+                    rangeConnection.disconnect();
+                }
+                return rangeConnection;
+            }
+
+            @Override
+            public void release( final HttpURLConnection rangeConnection,
+                                 final boolean transferred ) {
+                segmentConnections.remove( rangeConnection );
+                rangeConnector.release( rangeConnection, transferred );
+            }
+        };
+
+        final List< Future< Integer > > segmentFutures = new ArrayList<>( numberOfSegments - 1 );
+        for ( int segmentIndex = 1; segmentIndex < numberOfSegments; segmentIndex++ ) {
+            final long firstByte = segmentIndex * segmentSize;
+            final long lastByte = Math.min( contentLength, firstByte + segmentSize ) - 1L;
+            if ( firstByte > lastByte ) {
+                break;
+            }
+            segmentFutures.add( executorService.submit( () -> {
+                segmentThreads.add( Thread.currentThread() );
+                try {
+                    return transferRange( null,
+                                          segmentConnector,
+                                          firstByte,
+                                          lastByte,
+                                          responseSink,
+                                          maximumResumeAttempts,
+                                          segmentAbortCheck );
+                }
+                catch ( final IOException | RuntimeException e ) {
+                    abandonSegments( segmentFailed, segmentConnections, segmentThreads );
+                    throw e;
+                }
+                finally {
+                    segmentThreads.remove( Thread.currentThread() );
+                }
+            } ) );
+        }
+
+        int numberOfResumes = 0;
+        boolean transferred = false;
+        try {
+            numberOfResumes += transferRange( initialStream,
+                                              segmentConnector,
+                                              0L,
+                                              Math.min( contentLength, segmentSize ) - 1L,
+                                              responseSink,
+                                              maximumResumeAttempts,
+                                              segmentAbortCheck );
+
+            for ( final Future< Integer > segmentFuture : segmentFutures ) {
+                numberOfResumes += segmentFuture.get();
+            }
+            transferred = true;
+        }
+        catch ( final ExecutionException ee ) {
+            final Throwable cause = ee.getCause();
+            if ( cause instanceof IOException ) {
+                throw ( IOException ) cause;
+            }
+            throw new IOException( cause );
+        }
+        finally {
+            // Stop any ranges that are still running after a failure, and
+            // wait for them to let go of their connections and the sink.
+            if ( !transferred ) {
+                abandonSegments( segmentFailed, segmentConnections, segmentThreads );
+            }
+            awaitSegments( segmentFutures );
+        }
+
+        return numberOfResumes;
+    }
+
+    private static void abandonSegments( final AtomicBoolean segmentFailed,
+                                         final Set< HttpURLConnection > segmentConnections,
+                                         final Set< Thread > segmentThreads ) {
+        if ( segmentFailed.getAndSet( true ) ) {
+            return;
+        }
+
+        for ( final HttpURLConnection segmentConnection : segmentConnections ) {
+            segmentConnection.disconnect();
+        }
+        for ( final Thread segmentThread : segmentThreads ) {
+            if ( segmentThread != Thread.currentThread() ) {
+                segmentThread.interrupt();
+            }
+        }
+    }
+
+    private static void awaitSegments( final List< Future< Integer > > segmentFutures ) {
+        boolean interrupted = false;
+        for ( final Future< Integer > segmentFuture : segmentFutures ) {
+            while ( true ) {
+                try {
+                    segmentFuture.get();
+                    break;
+                }
+                catch ( final InterruptedException ie ) {
+                    // Keep waiting, as the ranges are already being abandoned.
+                    interrupted = true;
+                }
+                catch ( final ExecutionException | CancellationException e ) {
+                    break;
+                }
+            }
+        }
+
+        if ( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly( final InputStream inputStream ) {
+        if ( inputStream == null ) {
+            return;
+        }
+
+        try {
+            inputStream.close();
+        }
+        catch ( final IOException ioe ) {
+            // Nothing more can be done about a stream that fails to close.
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the fingerprint of the last response to each distinct request,
+ * so that a repeated request (such as a dynamic update poll) can be marked as
+ * unchanged when the server sends back identical data, and consumers can skip
+ * re-parsing and repainting it.
+ * <p>
+ * Only fingerprints are kept, never the data, and only for the most recently
+ * used requests, so the memory cost is small and bounded.
+ */
+public final class ResponseChangeTracker {
+
+    /** The default number of distinct requests to remember. */
+    public static final int MAXIMUM_ENTRIES_DEFAULT = 256;
+
+    /** Maps request parameters to the key that identifies "the same request". */
+    private final Function< DataRequestParameters, Object > requestKeyFunction;
+
+    /** The last response fingerprint per request key, least recent first. */
+    private final Map< Object, ResponseFingerprint > lastFingerprints;
+
+    private long numberOfUnchangedResponses;
+    private long numberOfChangedResponses;
+
+    /**
+     * Makes a Response Change Tracker that matches requests by equality of
+     * their request parameters.
+     */
+    public ResponseChangeTracker() {
+        this( dataRequestParameters -> dataRequestParameters, MAXIMUM_ENTRIES_DEFAULT );
+    }
+
+    /**
+     * Makes a Response Change Tracker with all parameters specified.
+     *
+     * @param pRequestKeyFunction Maps request parameters to a matching key
+     * @param maximumEntries The number of distinct requests to remember
+     */
+    public ResponseChangeTracker( final Function< DataRequestParameters, Object > pRequestKeyFunction,
+                                  final int maximumEntries ) {
+        requestKeyFunction = pRequestKeyFunction;
+
+        // Evict the least recently used request once the limit is reached.
+        lastFingerprints = new LinkedHashMap< Object, ResponseFingerprint >( 16, 0.75f, true ) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< Object, ResponseFingerprint > eldest ) {
+                return size() > maximumEntries;
+            }
+        };
+    }
+
+    /**
+     * Records the fingerprint of a new response to a request, and returns
+     * whether it matches the previous response to the same request.
+     *
+     * @param dataRequestParameters The parameters of the request
+     * @param responseFingerprint The fingerprint of the new response
+     * @return true if the response is identical to the previous one
+     */
+    public synchronized boolean update( final DataRequestParameters dataRequestParameters,
+                                        final ResponseFingerprint responseFingerprint ) {
+        final ResponseFingerprint lastFingerprint = lastFingerprints
+                .put( requestKeyFunction.apply( dataRequestParameters ), responseFingerprint );
+        final boolean unchanged = responseFingerprint.equals( lastFingerprint );
+        if ( unchanged ) {
+            numberOfUnchangedResponses++;
+        }
+        else {
+            numberOfChangedResponses++;
+        }
+
+        return unchanged;
+    }
+
+    /**
+     * Forgets the last response to a request, so that the next response is
+     * treated as changed (e.g. after the consumer has discarded its state).
+     *
+     * @param dataRequestParameters The parameters of the request
+     */
+    public synchronized void forget( final DataRequestParameters dataRequestParameters ) {
+        lastFingerprints.remove( requestKeyFunction.apply( dataRequestParameters ) );
+    }
+
+    public synchronized void clear() {
+        lastFingerprints.clear();
+    }
+
+    public synchronized long getNumberOfUnchangedResponses() {
+        return numberOfUnchangedResponses;
+    }
+
+    public synchronized long getNumberOfChangedResponses() {
+        return numberOfChangedResponses;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * A streaming checksum of a response body that accumulates a Response
+ * Fingerprint as the body is read, so that no second pass over the data is
+ * needed. As a standard Checksum, it also plugs into a CheckedInputStream.
+ * <p>
+ * Both checksums are hardware-assisted on current JVMs, so the cost is small
+ * next to the download itself.
+ */
+public final class ResponseChecksum implements Checksum {
+
+    private final CRC32 crc32;
+    private final Adler32 adler32;
+    private long length;
+
+    public ResponseChecksum() {
+        crc32 = new CRC32();
+        adler32 = new Adler32();
+        length = 0L;
+    }
+
+    @Override
+    public void update( final int b ) {
+        crc32.update( b );
+        adler32.update( b );
+        length++;
+    }
+
+    @Override
+    public void update( final byte[] b, final int off, final int len ) {
+        crc32.update( b, off, len );
+        adler32.update( b, off, len );
+        length += len;
+    }
+
+    /**
+     * Returns both checksums packed into one value, CRC32 in the high half.
+     *
+     * @return The combined 64-bit checksum value
+     */
+    @Override
+    public long getValue() {
+        return ( crc32.getValue() << 32 ) | adler32.getValue();
+    }
+
+    @Override
+    public void reset() {
+        crc32.reset();
+        adler32.reset();
+        length = 0L;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the fingerprint of all of the data seen so far.
+     *
+     * @return The fingerprint of the data seen so far
+     */
+    public ResponseFingerprint getFingerprint() {
+        return new ResponseFingerprint( length, crc32.getValue(), adler32.getValue() );
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One named entry (file) of a {@link MultiEntryResponse}, which is a view
+ * onto the entry's bytes within the response rather than a copy of them.
+ * <p>
+ * Compressed entries are only decompressed when they are actually read, so
+ * consumers pay for just the entries they need.
+ */
+public final class ResponseEntry {
+
+    /** The name of this entry, unique within the response. */
+    private final String name;
+
+    /** Flag for whether the stored bytes are compressed (zlib/deflate). */
+    private final boolean compressed;
+
+    /** A read-only view of the stored bytes of this entry. */
+    private final ByteBuffer storedData;
+
+    /** The length of the entry once decompressed. */
+    private final long length;
+
+    /** The CRC32 of the decompressed entry, for optional verification. */
+    private final long crc32;
+
+    ResponseEntry( final String pName,
+                   final boolean pCompressed,
+                   final ByteBuffer pStoredData,
+                   final long pLength,
+                   final long pCrc32 ) {
+        name = pName;
+        compressed = pCompressed;
+        storedData = pStoredData;
+        length = pLength;
+        crc32 = pCrc32;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Returns the length of the entry's content, once decompressed.
+     *
+     * @return The length of the entry's content
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes the entry takes up within the response.
+     *
+     * @return The stored (possibly compressed) length of the entry
+     */
+    public int getStoredLength() {
+        return storedData.remaining();
+    }
+
+    public long getCrc32() {
+        return crc32;
+    }
+
+    /**
+     * Returns the content of this entry as a read-only buffer, which is a
+     * view into the response for uncompressed entries, and is decompressed
+     * on every call for compressed entries.
+     *
+     * @return The content of this entry
+     * @throws IOException If a compressed entry can't be decompressed
+     */
+    public ByteBuffer getData() throws IOException {
+        if ( !compressed ) {
+            return storedData.duplicate();
+        }
+
+        return ByteBuffer.wrap( toByteArray() ).asReadOnlyBuffer();
+    }
+
+    /**
+     * Opens a stream over the content of this entry, decompressing it on the
+     * fly if needed, so that even large entries never need to be held whole.
+     * <p>
+     * NOTE: Close the stream when done, as that is what frees the native
+     *  memory of the inflater behind a compressed entry's stream.
+     *
+     * @return A stream over the content of this entry
+     */
+    public InputStream openStream() {
+        final InputStream storedStream = new ByteBufferInputStream( storedData.duplicate() );
+        return compressed
+            ? new InflaterInputStream( storedStream )
+            : storedStream;
+    }
+
+    /**
+     * Returns a copy of the content of this entry, decompressing it if needed.
+     *
+     * @return A copy of the content of this entry
+     * @throws IOException If a compressed entry can't be decompressed, or is
+     *                     too big to fit in an array
+     */
+    public byte[] toByteArray() throws IOException {
+        if ( length > Integer.MAX_VALUE - 8 ) {
+            throw new IOException( "Response entry too large for an array: " + name );
+        }
+
+        final byte[] content = new byte[ ( int ) length ];
+        try ( final InputStream inputStream = openStream() ) {
+            int offset = 0;
+            while ( offset < content.length ) {
+                final int numberOfBytesRead = inputStream
+                        .read( content, offset, content.length - offset );
+                if ( numberOfBytesRead < 0 ) {
+                    throw new IOException( "Response entry is truncated: " + name );
+                }
+                offset += numberOfBytesRead;
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Verifies the content of this entry against its CRC32 from the index.
+     *
+     * @return true if the content matches its checksum
+     * @throws IOException If a compressed entry can't be decompressed
+     */
+    public boolean verify() throws IOException {
+        final CRC32 checksum = new CRC32();
+        long numberOfBytesChecked = 0L;
+        try ( final InputStream inputStream = openStream() ) {
+            final byte[] readBuffer = new byte[ 8 * 1024 ];
+            int numberOfBytesRead;
+            while ( ( numberOfBytesRead = inputStream.read( readBuffer ) ) != -1 ) {
+                checksum.update( readBuffer, 0, numberOfBytesRead );
+                numberOfBytesChecked += numberOfBytesRead;
+            }
+        }
+
+        return ( numberOfBytesChecked == length ) && ( checksum.getValue() == crc32 );
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return name + " (" + length + " bytes" + ( compressed ? ", compressed)" : ")" );
+    }
+
+    /**
+     * A minimal stream over the remaining bytes of a buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer byteBuffer;
+
+        ByteBufferInputStream( final ByteBuffer pByteBuffer ) {
+            byteBuffer = pByteBuffer;
+        }
+
+        @Override
+        public int read() {
+            return byteBuffer.hasRemaining() ? ( byteBuffer.get() & 0xff ) : -1;
+        }
+
+        @Override
+        public int read( final byte[] b, final int off, final int len ) {
+            if ( len == 0 ) {
+                return 0;
+            }
+            if ( !byteBuffer.hasRemaining() ) {
+                return -1;
+            }
+
+            final int numberOfBytes = Math.min( len, byteBuffer.remaining() );
+            byteBuffer.get( b, off, numberOfBytes );
+            return numberOfBytes;
+        }
+
+        @Override
+        public long skip( final long n ) {
+            final int numberOfBytes = ( int ) Math.max( 0L, Math.min( n, byteBuffer.remaining() ) );
+            byteBuffer.position( byteBuffer.position() + numberOfBytes );
+            return numberOfBytes;
+        }
+
+        @Override
+        public int available() {
+            return byteBuffer.remaining();
+        }
+    }
+}
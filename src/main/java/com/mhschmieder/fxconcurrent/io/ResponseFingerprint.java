@@ -0,0 +1,91 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+/**
+ * A compact fingerprint of a response body, made up of its length and two
+ * independent 32-bit checksums, for telling whether a response differs from
+ * an earlier one without keeping the earlier one around.
+ * <p>
+ * NOTE: This detects changes, not tampering; two different bodies of the
+ *  same length match by accident with a probability of about 2^-64.
+ */
+public final class ResponseFingerprint {
+
+    private final long length;
+    private final long crc32;
+    private final long adler32;
+
+    public ResponseFingerprint( final long pLength,
+                                final long pCrc32,
+                                final long pAdler32 ) {
+        length = pLength;
+        crc32 = pCrc32;
+        adler32 = pAdler32;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getCrc32() {
+        return crc32;
+    }
+
+    public long getAdler32() {
+        return adler32;
+    }
+
+    @Override
+    public boolean equals( final Object other ) {
+        if ( this == other ) {
+            return true;
+        }
+        if ( !( other instanceof ResponseFingerprint ) ) {
+            return false;
+        }
+
+        final ResponseFingerprint otherFingerprint = ( ResponseFingerprint ) other;
+        return ( length == otherFingerprint.length ) && ( crc32 == otherFingerprint.crc32 )
+                && ( adler32 == otherFingerprint.adler32 );
+    }
+
+    @Override
+    public int hashCode() {
+        return ( int ) ( crc32 ^ ( adler32 * 31L ) ^ length );
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return String.format( "%d bytes, CRC32 %08x, Adler32 %08x", length, crc32, adler32 );
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A destination for response bytes that may arrive out of order, such as
+ * when a response is downloaded as several byte ranges in parallel.
+ * <p>
+ * Writes to disjoint ranges may happen concurrently from different threads.
+ */
+public interface ResponseSink extends Closeable {
+
+    /**
+     * Writes response bytes at the given absolute position in the response.
+     *
+     * @param position The position of the first byte within the response
+     * @param buffer The array holding the bytes
+     * @param offset The offset of the first byte within the array
+     * @param length The number of bytes to write
+     * @throws IOException If the bytes could not be written
+     */
+    void write( long position, byte[] buffer, int offset, int length ) throws IOException;
+
+    /**
+     * Releases any resources held by this sink, keeping what was written.
+     * <p>
+     * NOTE: The default implementation is blank, as in-memory sinks hold no
+     *  resources beyond their memory.
+     *
+     * @throws IOException If the resources could not be released
+     */
+    @Override
+    default void close() throws IOException {}
+}
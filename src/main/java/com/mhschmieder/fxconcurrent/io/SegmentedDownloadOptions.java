@@ -0,0 +1,109 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import java.nio.file.Path;
+
+/**
+ * Options for downloading a response via HTTP byte ranges, which allow an
+ * interrupted download to resume from its last received byte, and a large
+ * download to be split into several ranges that are fetched in parallel.
+ */
+public final class SegmentedDownloadOptions {
+
+    /** The default number of times a range may resume after a failure. */
+    public static final int MAXIMUM_RESUME_ATTEMPTS_DEFAULT = 3;
+
+    /** The default smallest response that is worth splitting up. */
+    public static final long MINIMUM_SEGMENTED_SIZE_DEFAULT = 8L * 1024L * 1024L;
+
+    /** The number of times each range may resume after a failure. */
+    private final int maximumResumeAttempts;
+
+    /** The number of parallel ranges for large responses; 1 for none. */
+    private final int numberOfSegments;
+
+    /** The smallest response, in bytes, that is split into ranges. */
+    private final long minimumSegmentedSize;
+
+    /** The directory for file-backed responses, or null to stay in memory. */
+    private final Path spoolDirectory;
+
+    /**
+     * Makes options for resumable single-stream downloads kept in memory.
+     */
+    public SegmentedDownloadOptions() {
+        this( MAXIMUM_RESUME_ATTEMPTS_DEFAULT, 1, MINIMUM_SEGMENTED_SIZE_DEFAULT, null );
+    }
+
+    /**
+     * Makes Segmented Download Options with all parameters specified.
+     *
+     * @param pMaximumResumeAttempts The resume attempts allowed per range
+     * @param pNumberOfSegments The number of parallel ranges; 1 for none
+     * @param pMinimumSegmentedSize The smallest response split into ranges
+     * @param pSpoolDirectory The directory for file-backed responses, or null
+     *                        to reassemble responses in memory
+     */
+    public SegmentedDownloadOptions( final int pMaximumResumeAttempts,
+                                     final int pNumberOfSegments,
+                                     final long pMinimumSegmentedSize,
+                                     final Path pSpoolDirectory ) {
+        if ( ( pMaximumResumeAttempts < 0 ) || ( pNumberOfSegments < 1 ) ) {
+            throw new IllegalArgumentException( "Invalid segmented download options" );
+        }
+
+        maximumResumeAttempts = pMaximumResumeAttempts;
+        numberOfSegments = pNumberOfSegments;
+        minimumSegmentedSize = pMinimumSegmentedSize;
+        spoolDirectory = pSpoolDirectory;
+    }
+
+    public int getMaximumResumeAttempts() {
+        return maximumResumeAttempts;
+    }
+
+    public int getNumberOfSegments() {
+        return numberOfSegments;
+    }
+
+    public long getMinimumSegmentedSize() {
+        return minimumSegmentedSize;
+    }
+
+    public Path getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public boolean isFileBacked() {
+        return spoolDirectory != null;
+    }
+}
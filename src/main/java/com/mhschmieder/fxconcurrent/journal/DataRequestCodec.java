@@ -0,0 +1,63 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.journal;
+
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+
+import java.io.IOException;
+
+/**
+ * Converts Data Request Parameters to and from the bytes that are stored in
+ * a Request Journal.
+ * <p>
+ * NOTE: This is supplied by the application, as only it knows which of its
+ *  parameter subclasses and input parameter files must be preserved.
+ */
+public interface DataRequestCodec {
+
+    /**
+     * Encodes the given request parameters for storage in a journal.
+     *
+     * @param dataRequestParameters The request parameters to encode
+     * @return The encoded request parameters
+     * @throws IOException If the parameters cannot be encoded
+     */
+    byte[] encode( DataRequestParameters dataRequestParameters ) throws IOException;
+
+    /**
+     * Decodes request parameters that were previously stored in a journal.
+     *
+     * @param encodedDataRequestParameters The encoded request parameters
+     * @return The decoded request parameters
+     * @throws IOException If the parameters cannot be decoded
+     */
+    DataRequestParameters decode( byte[] encodedDataRequestParameters ) throws IOException;
+}
@@ -0,0 +1,336 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A durable, append-only write-ahead journal of opaque request records.
+ * <p>
+ * Each record is appended (and optionally forced to disk) before the request
+ * is considered queued, and a separate completion record marks it as done.
+ * On reopening, the journal is replayed from the start to rebuild the set of
+ * live records, and any torn record at the tail from a crash is truncated.
+ * Compaction rewrites just the live records to a new file that atomically
+ * replaces the old one.
+ * <p>
+ * Record layout: type (1 byte), sequence number (8 bytes), payload length
+ * (4 bytes), payload, and a CRC-32 of all of the preceding fields (4 bytes).
+ */
+public final class RequestJournal implements Closeable {
+
+    /** Record type for a newly queued request. */
+    private static final byte RECORD_TYPE_APPEND = 1;
+
+    /** Record type for the completion of a previously queued request. */
+    private static final byte RECORD_TYPE_COMPLETE = 2;
+
+    /** The size of the fixed part of each record, before the payload. */
+    private static final int RECORD_HEADER_SIZE = 1 + 8 + 4;
+
+    /** The size of the checksum that ends each record. */
+    private static final int RECORD_TRAILER_SIZE = 4;
+
+    /** The largest payload that is accepted, as a guard against corruption. */
+    public static final int MAXIMUM_PAYLOAD_SIZE = 64 * 1024 * 1024;
+
+    /** The number of dead records that makes compaction worthwhile. */
+    public static final int COMPACTION_THRESHOLD_DEFAULT = 256;
+
+    /** The path of the journal file. */
+    private final Path journalPath;
+
+    /** Flag for whether every write is forced to the storage device. */
+    private final boolean syncOnWrite;
+
+    /** The channel that records are appended to. */
+    private FileChannel fileChannel;
+
+    /** The records that have been appended but not yet completed, in order. */
+    private final LinkedHashMap< Long, byte[] > liveRecords;
+
+    /** The sequence number to give to the next appended record. */
+    private long nextSequenceNumber;
+
+    /** The number of records in the file that no longer need to be kept. */
+    private long numberOfDeadRecords;
+
+    /**
+     * Opens (or creates) a journal, recovering its live records.
+     *
+     * @param pJournalPath The path of the journal file
+     * @param pSyncOnWrite true to force every write to the storage device,
+     *                     which survives power loss at a cost in latency
+     * @throws IOException If the journal cannot be opened or recovered
+     */
+    public RequestJournal( final Path pJournalPath, final boolean pSyncOnWrite )
+            throws IOException {
+        journalPath = pJournalPath;
+        syncOnWrite = pSyncOnWrite;
+
+        liveRecords = new LinkedHashMap<>();
+        nextSequenceNumber = 1L;
+        numberOfDeadRecords = 0L;
+
+        final Path parentDirectory = journalPath.toAbsolutePath().getParent();
+        if ( parentDirectory != null ) {
+            Files.createDirectories( parentDirectory );
+        }
+
+        final long validLength = recover();
+
+        fileChannel = FileChannel.open( journalPath,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE );
+
+        // Drop any torn record left at the tail by a crash mid-append.
+        if ( fileChannel.size() > validLength ) {
+            fileChannel.truncate( validLength );
+            fileChannel.force( true );
+        }
+        fileChannel.position( validLength );
+    }
+
+    /**
+     * Replays the journal file to rebuild the live records.
+     *
+     * @return The length of the valid prefix of the file
+     */
+    private long recover() throws IOException {
+        if ( !Files.exists( journalPath ) ) {
+            return 0L;
+        }
+
+        long validLength = 0L;
+        try ( final InputStream inputStream = Files.newInputStream( journalPath );
+                final DataInputStream dataInputStream =
+                                                      new DataInputStream( new BufferedInputStream( inputStream ) ) ) {
+            final CRC32 crc32 = new CRC32();
+            while ( true ) {
+                final byte recordType;
+                final long sequenceNumber;
+                final byte[] payload;
+                try {
+                    recordType = dataInputStream.readByte();
+                    sequenceNumber = dataInputStream.readLong();
+                    final int payloadLength = dataInputStream.readInt();
+                    if ( ( payloadLength < 0 ) || ( payloadLength > MAXIMUM_PAYLOAD_SIZE ) ) {
+                        break;
+                    }
+                    payload = new byte[ payloadLength ];
+                    dataInputStream.readFully( payload );
+
+                    final int checksum = dataInputStream.readInt();
+                    crc32.reset();
+                    updateChecksum( crc32, recordType, sequenceNumber, payload );
+                    if ( checksum != ( int ) crc32.getValue() ) {
+                        break;
+                    }
+                }
+                catch ( final EOFException eofe ) {
+                    break;
+                }
+
+                if ( recordType == RECORD_TYPE_APPEND ) {
+                    liveRecords.put( sequenceNumber, payload );
+                }
+                else if ( recordType == RECORD_TYPE_COMPLETE ) {
+                    if ( liveRecords.remove( sequenceNumber ) != null ) {
+                        numberOfDeadRecords += 2;
+                    }
+                }
+                else {
+                    break;
+                }
+
+                nextSequenceNumber = Math.max( nextSequenceNumber, sequenceNumber + 1L );
+                validLength += RECORD_HEADER_SIZE + payload.length + RECORD_TRAILER_SIZE;
+            }
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Durably appends a new record to the journal.
+     *
+     * @param payload The opaque contents of the record
+     * @return The sequence number that identifies the record
+     * @throws IOException If the record could not be written
+     */
+    public synchronized long append( final byte[] payload ) throws IOException {
+        if ( payload.length > MAXIMUM_PAYLOAD_SIZE ) {
+            throw new IOException( "Journal record exceeds the maximum payload size" );
+        }
+
+        final long sequenceNumber = nextSequenceNumber++;
+        writeRecord( fileChannel, RECORD_TYPE_APPEND, sequenceNumber, payload );
+        liveRecords.put( sequenceNumber, payload );
+
+        return sequenceNumber;
+    }
+
+    /**
+     * Durably marks a record as completed, so it won't be replayed again.
+     *
+     * @param sequenceNumber The sequence number of the completed record
+     * @throws IOException If the completion could not be written
+     */
+    public synchronized void complete( final long sequenceNumber ) throws IOException {
+        if ( !liveRecords.containsKey( sequenceNumber ) ) {
+            return;
+        }
+
+        writeRecord( fileChannel, RECORD_TYPE_COMPLETE, sequenceNumber, new byte[ 0 ] );
+        liveRecords.remove( sequenceNumber );
+        numberOfDeadRecords += 2;
+    }
+
+    /**
+     * Returns a snapshot of the live records, in the order they were queued.
+     *
+     * @return A copy of the live records, keyed by sequence number
+     */
+    public synchronized Map< Long, byte[] > getLiveRecords() {
+        return new LinkedHashMap<>( liveRecords );
+    }
+
+    public synchronized int getNumberOfLiveRecords() {
+        return liveRecords.size();
+    }
+
+    public synchronized long getNumberOfDeadRecords() {
+        return numberOfDeadRecords;
+    }
+
+    /**
+     * Returns whether enough dead records have built up for compaction to be
+     * worth the rewrite.
+     *
+     * @return true if the journal should be compacted
+     */
+    public synchronized boolean needsCompaction() {
+        return ( numberOfDeadRecords >= COMPACTION_THRESHOLD_DEFAULT )
+                || ( liveRecords.isEmpty() && ( numberOfDeadRecords > 0L ) );
+    }
+
+    /**
+     * Rewrites the journal with just its live records, atomically replacing
+     * the old file so that a crash mid-compaction loses nothing.
+     *
+     * @throws IOException If the journal could not be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        final Path compactedPath = journalPath
+                .resolveSibling( journalPath.getFileName() + ".compact" );
+
+        try ( final FileChannel compactedChannel = FileChannel
+                .open( compactedPath,
+                       StandardOpenOption.CREATE,
+                       StandardOpenOption.WRITE,
+                       StandardOpenOption.TRUNCATE_EXISTING ) ) {
+            for ( final Map.Entry< Long, byte[] > liveRecord : liveRecords.entrySet() ) {
+                writeRecord( compactedChannel,
+                             RECORD_TYPE_APPEND,
+                             liveRecord.getKey(),
+                             liveRecord.getValue() );
+            }
+            compactedChannel.force( true );
+        }
+
+        fileChannel.close();
+        Files.move( compactedPath,
+                    journalPath,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE );
+
+        fileChannel = FileChannel.open( journalPath, StandardOpenOption.WRITE );
+        fileChannel.position( fileChannel.size() );
+        numberOfDeadRecords = 0L;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        fileChannel.close();
+    }
+
+    private void writeRecord( final FileChannel channel,
+                              final byte recordType,
+                              final long sequenceNumber,
+                              final byte[] payload )
+            throws IOException {
+        final CRC32 crc32 = new CRC32();
+        updateChecksum( crc32, recordType, sequenceNumber, payload );
+
+        final ByteBuffer recordBuffer = ByteBuffer
+                .allocate( RECORD_HEADER_SIZE + payload.length + RECORD_TRAILER_SIZE );
+        recordBuffer.put( recordType );
+        recordBuffer.putLong( sequenceNumber );
+        recordBuffer.putInt( payload.length );
+        recordBuffer.put( payload );
+        recordBuffer.putInt( ( int ) crc32.getValue() );
+        recordBuffer.flip();
+
+        while ( recordBuffer.hasRemaining() ) {
+            channel.write( recordBuffer );
+        }
+
+        if ( syncOnWrite && ( channel == fileChannel ) ) {
+            channel.force( false );
+        }
+    }
+
+    private static void updateChecksum( final CRC32 crc32,
+                                        final byte recordType,
+                                        final long sequenceNumber,
+                                        final byte[] payload ) {
+        final ByteBuffer headerBuffer = ByteBuffer.allocate( RECORD_HEADER_SIZE );
+        headerBuffer.put( recordType );
+        headerBuffer.putLong( sequenceNumber );
+        headerBuffer.putInt( payload.length );
+        crc32.update( headerBuffer.array(), 0, RECORD_HEADER_SIZE );
+        crc32.update( payload, 0, payload.length );
+    }
+}
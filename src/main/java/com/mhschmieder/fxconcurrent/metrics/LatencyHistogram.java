@@ -0,0 +1,210 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram in the style of HdrHistogram: values are counted in
+ * log-linear buckets, so that every recorded value is reproduced to within
+ * a fixed relative precision (about 1.6%) across the whole range, from one
+ * microsecond to days, using a small fixed amount of memory.
+ * <p>
+ * Recording is lock-free and wait-free, so request threads never contend
+ * with each other or with the monitor that reads the histogram.
+ * <p>
+ * NOTE: Values are in microseconds, and values beyond the trackable range
+ *  are clamped to its top rather than discarded.
+ */
+public final class LatencyHistogram {
+
+    /** The number of bits of linear sub-buckets in each power of two. */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /** The number of linear sub-buckets below the first power of two. */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** The number of linear sub-buckets in each further power of two. */
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    /** The number of powers of two above the linear range that are tracked. */
+    private static final int NUMBER_OF_SHIFTS = 34;
+
+    /** The highest value that can be tracked, in microseconds. */
+    public static final long HIGHEST_TRACKABLE_VALUE = ( ( long ) SUB_BUCKET_COUNT << NUMBER_OF_SHIFTS )
+            - 1L;
+
+    private static final int NUMBER_OF_BUCKETS = SUB_BUCKET_COUNT
+            + ( NUMBER_OF_SHIFTS * SUB_BUCKET_HALF_COUNT );
+
+    /** The count of recorded values in each bucket. */
+    private final AtomicLongArray counts;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray( NUMBER_OF_BUCKETS );
+    }
+
+    private LatencyHistogram( final long[] pCounts ) {
+        counts = new AtomicLongArray( pCounts );
+    }
+
+    private static int getBucketIndex( final long value ) {
+        final long clampedValue = Math.max( 0L, Math.min( value, HIGHEST_TRACKABLE_VALUE ) );
+        if ( clampedValue < SUB_BUCKET_COUNT ) {
+            return ( int ) clampedValue;
+        }
+
+        // Keep the top SUB_BUCKET_BITS bits of the value, which sets the
+        // precision, and use the number of dropped bits as the magnitude.
+        final int shift = ( 63 - Long.numberOfLeadingZeros( clampedValue ) )
+                - ( SUB_BUCKET_BITS - 1 );
+        final int subBucketIndex = ( int ) ( clampedValue >>> shift );
+        return SUB_BUCKET_COUNT + ( ( shift - 1 ) * SUB_BUCKET_HALF_COUNT )
+                + ( subBucketIndex - SUB_BUCKET_HALF_COUNT );
+    }
+
+    private static long getHighestValueInBucket( final int bucketIndex ) {
+        if ( bucketIndex < SUB_BUCKET_COUNT ) {
+            return bucketIndex;
+        }
+
+        final int shift = ( ( bucketIndex - SUB_BUCKET_COUNT ) / SUB_BUCKET_HALF_COUNT ) + 1;
+        final long subBucketIndex = ( ( bucketIndex - SUB_BUCKET_COUNT ) % SUB_BUCKET_HALF_COUNT )
+                + SUB_BUCKET_HALF_COUNT;
+        return ( ( subBucketIndex + 1L ) << shift ) - 1L;
+    }
+
+    /**
+     * Records a single value.
+     *
+     * @param value The value to record, in microseconds
+     */
+    public void recordValue( final long value ) {
+        counts.incrementAndGet( getBucketIndex( value ) );
+    }
+
+    /**
+     * Returns the total number of recorded values.
+     *
+     * @return The total number of recorded values
+     */
+    public long getTotalCount() {
+        long totalCount = 0L;
+        for ( int bucketIndex = 0; bucketIndex < NUMBER_OF_BUCKETS; bucketIndex++ ) {
+            totalCount += counts.get( bucketIndex );
+        }
+        return totalCount;
+    }
+
+    /**
+     * Returns the value that the given percentage of recorded values are at
+     * or below, to within the precision of the histogram.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The value at the percentile, or zero if nothing was recorded
+     */
+    public long getValueAtPercentile( final double percentile ) {
+        final long totalCount = getTotalCount();
+        if ( totalCount == 0L ) {
+            return 0L;
+        }
+
+        final double clampedPercentile = Math.max( 0.0d, Math.min( percentile, 100.0d ) );
+        final long countAtPercentile = Math.max( 1L,
+                                                 ( long ) Math.ceil( ( clampedPercentile
+                                                         / 100.0d ) * totalCount ) );
+        long cumulativeCount = 0L;
+        for ( int bucketIndex = 0; bucketIndex < NUMBER_OF_BUCKETS; bucketIndex++ ) {
+            cumulativeCount += counts.get( bucketIndex );
+            if ( cumulativeCount >= countAtPercentile ) {
+                return getHighestValueInBucket( bucketIndex );
+            }
+        }
+
+        return getMaximumValue();
+    }
+
+    /**
+     * Returns the largest recorded value, to within the histogram precision.
+     *
+     * @return The largest recorded value, or zero if nothing was recorded
+     */
+    public long getMaximumValue() {
+        for ( int bucketIndex = NUMBER_OF_BUCKETS - 1; bucketIndex >= 0; bucketIndex-- ) {
+            if ( counts.get( bucketIndex ) > 0L ) {
+                return getHighestValueInBucket( bucketIndex );
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Returns an independent copy of this histogram.
+     * <p>
+     * NOTE: Values recorded while copying may or may not be included.
+     *
+     * @return A copy of this histogram
+     */
+    public LatencyHistogram copy() {
+        final long[] countsCopy = new long[ NUMBER_OF_BUCKETS ];
+        for ( int bucketIndex = 0; bucketIndex < NUMBER_OF_BUCKETS; bucketIndex++ ) {
+            countsCopy[ bucketIndex ] = counts.get( bucketIndex );
+        }
+        return new LatencyHistogram( countsCopy );
+    }
+
+    /**
+     * Returns a histogram of the values recorded since an earlier copy of
+     * this histogram was taken, for interval (rather than lifetime) views.
+     *
+     * @param earlierCopy An earlier copy of this histogram
+     * @return A histogram of just the values recorded since the copy
+     */
+    public LatencyHistogram minus( final LatencyHistogram earlierCopy ) {
+        final long[] intervalCounts = new long[ NUMBER_OF_BUCKETS ];
+        for ( int bucketIndex = 0; bucketIndex < NUMBER_OF_BUCKETS; bucketIndex++ ) {
+            intervalCounts[ bucketIndex ] = Math.max( 0L,
+                                                      counts.get( bucketIndex )
+                                                              - earlierCopy.counts
+                                                                      .get( bucketIndex ) );
+        }
+        return new LatencyHistogram( intervalCounts );
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        for ( int bucketIndex = 0; bucketIndex < NUMBER_OF_BUCKETS; bucketIndex++ ) {
+            counts.set( bucketIndex, 0L );
+        }
+    }
+}
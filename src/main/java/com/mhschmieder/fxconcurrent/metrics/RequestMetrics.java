@@ -0,0 +1,143 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of the traffic through the request layer, which request
+ * tasks report to as they run, and monitors sample at their own pace.
+ * <p>
+ * NOTE: Share one instance across all services whose traffic should be
+ *  monitored together.
+ */
+public final class RequestMetrics {
+
+    private final LongAdder numberOfRequestsStarted;
+    private final LongAdder numberOfRequestsSucceeded;
+    private final LongAdder numberOfRequestsFailed;
+    private final LongAdder numberOfRequestsCancelled;
+    private final LongAdder numberOfBytesReceived;
+    private final LongAdder numberOfCacheHits;
+    private final LongAdder numberOfCacheMisses;
+
+    /** The number of requests that have started but not yet finished. */
+    private final AtomicInteger numberOfInFlightRequests;
+
+    /** The latencies of finished requests, in microseconds. */
+    private final LatencyHistogram latencyHistogram;
+
+    public RequestMetrics() {
+        numberOfRequestsStarted = new LongAdder();
+        numberOfRequestsSucceeded = new LongAdder();
+        numberOfRequestsFailed = new LongAdder();
+        numberOfRequestsCancelled = new LongAdder();
+        numberOfBytesReceived = new LongAdder();
+        numberOfCacheHits = new LongAdder();
+        numberOfCacheMisses = new LongAdder();
+        numberOfInFlightRequests = new AtomicInteger();
+        latencyHistogram = new LatencyHistogram();
+    }
+
+    public void onRequestStarted() {
+        numberOfRequestsStarted.increment();
+        numberOfInFlightRequests.incrementAndGet();
+    }
+
+    /**
+     * Records a request that received a usable response.
+     *
+     * @param latencyNanos The time from start to finish of the request
+     * @param numberOfBytes The size of the response body
+     */
+    public void onRequestSucceeded( final long latencyNanos, final long numberOfBytes ) {
+        numberOfInFlightRequests.decrementAndGet();
+        numberOfRequestsSucceeded.increment();
+        numberOfBytesReceived.add( Math.max( 0L, numberOfBytes ) );
+        latencyHistogram.recordValue( latencyNanos / 1000L );
+    }
+
+    /**
+     * Records a request that ended in a connection, server or read error.
+     *
+     * @param latencyNanos The time from start to failure of the request
+     */
+    public void onRequestFailed( final long latencyNanos ) {
+        numberOfInFlightRequests.decrementAndGet();
+        numberOfRequestsFailed.increment();
+        latencyHistogram.recordValue( latencyNanos / 1000L );
+    }
+
+    /**
+     * Records a request that was cancelled, which is left out of the latency
+     * distribution as it says nothing about the server.
+     */
+    public void onRequestCancelled() {
+        numberOfInFlightRequests.decrementAndGet();
+        numberOfRequestsCancelled.increment();
+    }
+
+    /**
+     * Records a request that was served from a cache (such as prefetching).
+     */
+    public void onCacheHit() {
+        numberOfCacheHits.increment();
+    }
+
+    /**
+     * Records a request that had to go to the server despite a cache.
+     */
+    public void onCacheMiss() {
+        numberOfCacheMisses.increment();
+    }
+
+    /**
+     * Takes a consistent-enough snapshot of the metrics for display.
+     * <p>
+     * NOTE: The counters are read one at a time without locking, so a request
+     *  that finishes mid-snapshot may be counted in some values but not others.
+     *
+     * @return A snapshot of the metrics as of now
+     */
+    public RequestMetricsSnapshot snapshot() {
+        return new RequestMetricsSnapshot( System.nanoTime(),
+                                           numberOfRequestsStarted.sum(),
+                                           numberOfRequestsSucceeded.sum(),
+                                           numberOfRequestsFailed.sum(),
+                                           numberOfRequestsCancelled.sum(),
+                                           Math.max( 0, numberOfInFlightRequests.get() ),
+                                           numberOfBytesReceived.sum(),
+                                           numberOfCacheHits.sum(),
+                                           numberOfCacheMisses.sum(),
+                                           latencyHistogram.copy() );
+    }
+}
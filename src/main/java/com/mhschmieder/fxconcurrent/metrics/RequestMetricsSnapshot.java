@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.metrics;
+
+/**
+ * An immutable snapshot of Request Metrics, which also derives the rates and
+ * interval latencies between itself and an earlier snapshot.
+ */
+public final class RequestMetricsSnapshot {
+
+    private final long timestampNanos;
+    private final long numberOfRequestsStarted;
+    private final long numberOfRequestsSucceeded;
+    private final long numberOfRequestsFailed;
+    private final long numberOfRequestsCancelled;
+    private final int numberOfInFlightRequests;
+    private final long numberOfBytesReceived;
+    private final long numberOfCacheHits;
+    private final long numberOfCacheMisses;
+    private final LatencyHistogram latencyHistogram;
+
+    public RequestMetricsSnapshot( final long pTimestampNanos,
+                                   final long pNumberOfRequestsStarted,
+                                   final long pNumberOfRequestsSucceeded,
+                                   final long pNumberOfRequestsFailed,
+                                   final long pNumberOfRequestsCancelled,
+                                   final int pNumberOfInFlightRequests,
+                                   final long pNumberOfBytesReceived,
+                                   final long pNumberOfCacheHits,
+                                   final long pNumberOfCacheMisses,
+                                   final LatencyHistogram pLatencyHistogram ) {
+        timestampNanos = pTimestampNanos;
+        numberOfRequestsStarted = pNumberOfRequestsStarted;
+        numberOfRequestsSucceeded = pNumberOfRequestsSucceeded;
+        numberOfRequestsFailed = pNumberOfRequestsFailed;
+        numberOfRequestsCancelled = pNumberOfRequestsCancelled;
+        numberOfInFlightRequests = pNumberOfInFlightRequests;
+        numberOfBytesReceived = pNumberOfBytesReceived;
+        numberOfCacheHits = pNumberOfCacheHits;
+        numberOfCacheMisses = pNumberOfCacheMisses;
+        latencyHistogram = pLatencyHistogram;
+    }
+
+    private double getElapsedSeconds( final RequestMetricsSnapshot earlierSnapshot ) {
+        return Math.max( 1L, timestampNanos - earlierSnapshot.timestampNanos ) * 1.0e-9d;
+    }
+
+    /**
+     * Returns the rate of finished requests since an earlier snapshot.
+     *
+     * @param earlierSnapshot An earlier snapshot of the same metrics
+     * @return The number of requests finished per second
+     */
+    public double getRequestRate( final RequestMetricsSnapshot earlierSnapshot ) {
+        final long numberOfRequestsFinished = ( getNumberOfRequestsFinished()
+                - earlierSnapshot.getNumberOfRequestsFinished() );
+        return numberOfRequestsFinished / getElapsedSeconds( earlierSnapshot );
+    }
+
+    /**
+     * Returns the rate of received response bytes since an earlier snapshot.
+     *
+     * @param earlierSnapshot An earlier snapshot of the same metrics
+     * @return The number of response bytes received per second
+     */
+    public double getByteRate( final RequestMetricsSnapshot earlierSnapshot ) {
+        return ( numberOfBytesReceived - earlierSnapshot.numberOfBytesReceived )
+                / getElapsedSeconds( earlierSnapshot );
+    }
+
+    /**
+     * Returns the latency histogram of just the requests that finished since
+     * an earlier snapshot.
+     *
+     * @param earlierSnapshot An earlier snapshot of the same metrics
+     * @return The latency histogram of the interval, in microseconds
+     */
+    public LatencyHistogram getIntervalLatencyHistogram( final RequestMetricsSnapshot earlierSnapshot ) {
+        return latencyHistogram.minus( earlierSnapshot.latencyHistogram );
+    }
+
+    /**
+     * Returns the fraction of cache lookups that were hits, over the lifetime
+     * of the metrics.
+     *
+     * @return The cache hit rate from 0 to 1, or zero if there were no lookups
+     */
+    public double getCacheHitRate() {
+        final long numberOfCacheLookups = numberOfCacheHits + numberOfCacheMisses;
+        return ( numberOfCacheLookups > 0L )
+            ? ( double ) numberOfCacheHits / numberOfCacheLookups
+            : 0.0d;
+    }
+
+    public long getNumberOfRequestsFinished() {
+        return numberOfRequestsSucceeded + numberOfRequestsFailed + numberOfRequestsCancelled;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public long getNumberOfRequestsStarted() {
+        return numberOfRequestsStarted;
+    }
+
+    public long getNumberOfRequestsSucceeded() {
+        return numberOfRequestsSucceeded;
+    }
+
+    public long getNumberOfRequestsFailed() {
+        return numberOfRequestsFailed;
+    }
+
+    public long getNumberOfRequestsCancelled() {
+        return numberOfRequestsCancelled;
+    }
+
+    public int getNumberOfInFlightRequests() {
+        return numberOfInFlightRequests;
+    }
+
+    public long getNumberOfBytesReceived() {
+        return numberOfBytesReceived;
+    }
+
+    public long getNumberOfCacheHits() {
+        return numberOfCacheHits;
+    }
+
+    public long getNumberOfCacheMisses() {
+        return numberOfCacheMisses;
+    }
+
+    /**
+     * Returns the latency histogram over the lifetime of the metrics.
+     *
+     * @return The lifetime latency histogram, in microseconds
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+}
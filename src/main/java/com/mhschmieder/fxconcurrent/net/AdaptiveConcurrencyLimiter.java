@@ -0,0 +1,255 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+/**
+ * An adaptive limit on the number of concurrent requests to one servlet
+ * endpoint, which tracks the server's actual capacity instead of relying on
+ * a fixed thread pool size.
+ * <p>
+ * The limit follows an AIMD (additive increase, multiplicative decrease)
+ * scheme steered by latency: it grows by about one request per round trip
+ * while response times stay near the best observed (no-load) latency, backs
+ * off gently as queueing inflates response times, and is cut in half on
+ * errors that signal overload. Requests beyond the limit wait in line, so
+ * throughput tracks server capacity while tail latency stays flat.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /** The default starting limit on concurrent requests. */
+    public static final int INITIAL_LIMIT_DEFAULT = 4;
+
+    /** The default lowest limit, so that progress is always possible. */
+    public static final int MINIMUM_LIMIT_DEFAULT = 1;
+
+    /** The default highest limit on concurrent requests. */
+    public static final int MAXIMUM_LIMIT_DEFAULT = 64;
+
+    /** How much slower than no-load a response may be before backing off. */
+    public static final double LATENCY_TOLERANCE_DEFAULT = 2.0d;
+
+    /** The factor applied to the limit when latency is above tolerance. */
+    private static final double LATENCY_BACKOFF_FACTOR = 0.9d;
+
+    /** The factor applied to the limit on overload errors. */
+    private static final double ERROR_BACKOFF_FACTOR = 0.5d;
+
+    /** How quickly the no-load latency estimate forgets old minimums. */
+    private static final double MINIMUM_LATENCY_DECAY = 1.01d;
+
+    private final int minimumLimit;
+    private final int maximumLimit;
+    private final double latencyTolerance;
+
+    /** The current limit, kept fractional so small increases accumulate. */
+    private double limit;
+
+    /** The number of requests currently holding a permit. */
+    private int numberOfInFlightRequests;
+
+    /** The number of requests currently waiting for a permit. */
+    private int numberOfQueuedRequests;
+
+    /** The estimate of the no-load latency, in nanoseconds; 0 if unknown. */
+    private double minimumLatencyNanos;
+
+    private long numberOfDroppedRequests;
+
+    /**
+     * Makes an Adaptive Concurrency Limiter with default settings.
+     */
+    public AdaptiveConcurrencyLimiter() {
+        this( INITIAL_LIMIT_DEFAULT,
+              MINIMUM_LIMIT_DEFAULT,
+              MAXIMUM_LIMIT_DEFAULT,
+              LATENCY_TOLERANCE_DEFAULT );
+    }
+
+    /**
+     * Makes an Adaptive Concurrency Limiter with all parameters specified.
+     *
+     * @param initialLimit The starting limit on concurrent requests
+     * @param pMinimumLimit The lowest limit on concurrent requests
+     * @param pMaximumLimit The highest limit on concurrent requests
+     * @param pLatencyTolerance How much slower than no-load a response may be
+     *                          before the limit stops growing and backs off
+     */
+    public AdaptiveConcurrencyLimiter( final int initialLimit,
+                                       final int pMinimumLimit,
+                                       final int pMaximumLimit,
+                                       final double pLatencyTolerance ) {
+        if ( ( pMinimumLimit < 1 ) || ( pMaximumLimit < pMinimumLimit )
+                || ( pLatencyTolerance < 1.0d ) ) {
+            throw new IllegalArgumentException( "Invalid concurrency limits" );
+        }
+
+        minimumLimit = pMinimumLimit;
+        maximumLimit = pMaximumLimit;
+        latencyTolerance = pLatencyTolerance;
+
+        limit = Math.max( minimumLimit, Math.min( maximumLimit, initialLimit ) );
+        numberOfInFlightRequests = 0;
+        numberOfQueuedRequests = 0;
+        minimumLatencyNanos = 0.0d;
+    }
+
+    /**
+     * Waits in line until the number of in-flight requests is under the
+     * current limit, and then takes a permit for one more request.
+     * <p>
+     * NOTE: Every acquired permit must be given back via exactly one of the
+     *  {@link #onSuccess}, {@link #onDropped} or {@link #onIgnored} calls.
+     *
+     * @throws InterruptedException If interrupted (e.g. cancelled) while waiting
+     */
+    public synchronized void acquire() throws InterruptedException {
+        numberOfQueuedRequests++;
+        try {
+            while ( numberOfInFlightRequests >= ( int ) limit ) {
+                wait();
+            }
+        }
+        finally {
+            numberOfQueuedRequests--;
+        }
+
+        numberOfInFlightRequests++;
+    }
+
+    /**
+     * Takes a permit for one more request only if the number of in-flight
+     * requests is under the current limit, without waiting in line.
+     * <p>
+     * NOTE: This is for requests that are optional extras to one that already
+     *  holds a permit, and that would deadlock against it if they waited.
+     *
+     * @return true if a permit was taken, which must be given back as usual
+     */
+    public synchronized boolean tryAcquire() {
+        if ( numberOfInFlightRequests >= ( int ) limit ) {
+            return false;
+        }
+
+        numberOfInFlightRequests++;
+        return true;
+    }
+
+    /**
+     * Gives back a permit for a request that the server answered, adjusting
+     * the limit according to how its latency compares to the no-load latency.
+     *
+     * @param latencyNanos The response time of the request, in nanoseconds
+     */
+    public synchronized void onSuccess( final long latencyNanos ) {
+        // Let the no-load estimate drift up slowly, so that it can recover
+        // from a lucky outlier or a permanent change in the network path.
+        minimumLatencyNanos = ( minimumLatencyNanos <= 0.0d )
+            ? latencyNanos
+            : Math.min( latencyNanos, minimumLatencyNanos * MINIMUM_LATENCY_DECAY );
+
+        if ( latencyNanos <= ( minimumLatencyNanos * latencyTolerance ) ) {
+            // Only grow while the limit is actually being used, as otherwise
+            // it would drift up without ever being tested against the server.
+            if ( ( 2 * numberOfInFlightRequests ) >= ( int ) limit ) {
+                limit = Math.min( maximumLimit, limit + ( 1.0d / limit ) );
+            }
+        }
+        else {
+            limit = Math.max( minimumLimit, limit * LATENCY_BACKOFF_FACTOR );
+        }
+
+        release();
+    }
+
+    /**
+     * Gives back a permit for a request that failed in a way that signals
+     * overload (connection failure, timeout, or an HTTP 429/502/503/504),
+     * cutting the limit in half.
+     */
+    public synchronized void onDropped() {
+        numberOfDroppedRequests++;
+        limit = Math.max( minimumLimit, limit * ERROR_BACKOFF_FACTOR );
+
+        release();
+    }
+
+    /**
+     * Gives back a permit for a request whose outcome says nothing about the
+     * server's capacity, such as a cancelled request.
+     */
+    public synchronized void onIgnored() {
+        release();
+    }
+
+    private void release() {
+        numberOfInFlightRequests = Math.max( 0, numberOfInFlightRequests - 1 );
+        notifyAll();
+    }
+
+    /**
+     * Returns whether an HTTP response code signals that the server is
+     * overloaded or unavailable, rather than a problem with the request.
+     *
+     * @param httpResponseCode The HTTP response code of the request
+     * @return true if the response code signals overload
+     */
+    public static boolean isOverloadResponseCode( final int httpResponseCode ) {
+        switch ( httpResponseCode ) {
+        case 429:
+        case 502:
+        case 503:
+        case 504:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    public synchronized int getLimit() {
+        return ( int ) limit;
+    }
+
+    public synchronized int getNumberOfInFlightRequests() {
+        return numberOfInFlightRequests;
+    }
+
+    public synchronized int getNumberOfQueuedRequests() {
+        return numberOfQueuedRequests;
+    }
+
+    public synchronized long getNumberOfDroppedRequests() {
+        return numberOfDroppedRequests;
+    }
+
+    public synchronized double getMinimumLatencyMillis() {
+        return minimumLatencyNanos * 1.0e-6d;
+    }
+}
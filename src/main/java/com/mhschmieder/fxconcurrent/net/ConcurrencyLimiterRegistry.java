@@ -0,0 +1,83 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The set of Adaptive Concurrency Limiters for all servlet endpoints, keyed
+ * by servlet URL, so that each endpoint's limit adapts to its own capacity.
+ * <p>
+ * A single registry is normally shared by all of the services that talk to
+ * the same servers, so that their requests count against the same limits.
+ */
+public final class ConcurrencyLimiterRegistry {
+
+    /** Makes the limiter for an endpoint the first time it is used. */
+    private final Supplier< AdaptiveConcurrencyLimiter > limiterFactory;
+
+    /** The limiters made so far, keyed by servlet URL. */
+    private final Map< String, AdaptiveConcurrencyLimiter > concurrencyLimiters;
+
+    /**
+     * Makes a Concurrency Limiter Registry with default limiter settings.
+     */
+    public ConcurrencyLimiterRegistry() {
+        this( AdaptiveConcurrencyLimiter::new );
+    }
+
+    /**
+     * Makes a Concurrency Limiter Registry with custom limiter settings.
+     *
+     * @param pLimiterFactory Makes the limiter for each new endpoint
+     */
+    public ConcurrencyLimiterRegistry( final Supplier< AdaptiveConcurrencyLimiter > pLimiterFactory ) {
+        limiterFactory = pLimiterFactory;
+        concurrencyLimiters = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the limiter for the given servlet URL, making it if needed.
+     *
+     * @param servletUrl The URL of the servlet endpoint
+     * @return The limiter for the servlet endpoint
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter( final String servletUrl ) {
+        return concurrencyLimiters.computeIfAbsent( servletUrl, url -> limiterFactory.get() );
+    }
+
+    public Map< String, AdaptiveConcurrencyLimiter > getConcurrencyLimiters() {
+        return Collections.unmodifiableMap( concurrencyLimiters );
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+import com.mhschmieder.fxconcurrent.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The set of Token Bucket Rate Limiters that outgoing servlet requests must
+ * pass, keyed both by servlet URL and by data request type, so that requests
+ * stay within per-endpoint as well as per-request-type server quotas.
+ * <p>
+ * A request needs a token from the bucket of its endpoint (if endpoints are
+ * limited) and from the bucket of its request type (if that type is limited),
+ * and waits for whichever comes later.
+ * <p>
+ * A single registry is normally shared by all of the services that talk to
+ * the same servers, as that is how server-side quotas are counted.
+ */
+public final class RateLimiterRegistry {
+
+    /** The default longest time a request will wait for its turn. */
+    public static final long MAXIMUM_WAIT_MILLISECONDS_DEFAULT = 10000L;
+
+    /** Makes the limiter for an endpoint the first time it is used. */
+    private final Supplier< TokenBucketRateLimiter > endpointLimiterFactory;
+
+    /** The longest time a request will wait before it is rejected. */
+    private final long maximumWaitNanos;
+
+    /** The endpoint limiters made or set so far, keyed by servlet URL. */
+    private final Map< String, TokenBucketRateLimiter > endpointRateLimiters;
+
+    /** The request type limiters, keyed by data request type. */
+    private final Map< String, TokenBucketRateLimiter > requestTypeRateLimiters;
+
+    /** The time that each permitted request had to wait, in microseconds. */
+    private final LatencyHistogram waitHistogram;
+
+    private final LongAdder numberOfRejectedRequests;
+
+    /**
+     * Makes a Rate Limiter Registry that limits every endpoint to the same
+     * rate, and no request types until they are set.
+     *
+     * @param endpointPermitsPerSecond The sustained requests per second that
+     *                                 each endpoint is limited to
+     * @param endpointBurstCapacity The largest burst each endpoint allows
+     */
+    public RateLimiterRegistry( final double endpointPermitsPerSecond,
+                                final double endpointBurstCapacity ) {
+        this( () -> new TokenBucketRateLimiter( endpointPermitsPerSecond,
+                                                endpointBurstCapacity ),
+              MAXIMUM_WAIT_MILLISECONDS_DEFAULT );
+    }
+
+    /**
+     * Makes a Rate Limiter Registry with all parameters specified.
+     *
+     * @param pEndpointLimiterFactory Makes the limiter for each new endpoint,
+     *                                or null to only limit request types
+     * @param maximumWaitMilliseconds The longest time a request will wait
+     *                                for its turn before it is rejected
+     */
+    public RateLimiterRegistry( final Supplier< TokenBucketRateLimiter > pEndpointLimiterFactory,
+                                final long maximumWaitMilliseconds ) {
+        endpointLimiterFactory = pEndpointLimiterFactory;
+        maximumWaitNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 0L, maximumWaitMilliseconds ) );
+
+        endpointRateLimiters = new ConcurrentHashMap<>();
+        requestTypeRateLimiters = new ConcurrentHashMap<>();
+        waitHistogram = new LatencyHistogram();
+        numberOfRejectedRequests = new LongAdder();
+    }
+
+    /**
+     * Sets the limiter for the given servlet URL, in place of the default.
+     *
+     * @param servletUrl The URL of the servlet endpoint
+     * @param rateLimiter The limiter for the servlet endpoint
+     */
+    public void setEndpointRateLimiter( final String servletUrl,
+                                        final TokenBucketRateLimiter rateLimiter ) {
+        endpointRateLimiters.put( servletUrl, rateLimiter );
+    }
+
+    /**
+     * Limits the given data request type, across all endpoints, to a rate.
+     *
+     * @param dataRequestType The data request type, as sent to the server
+     * @param permitsPerSecond The sustained requests per second permitted
+     * @param burstCapacity The largest burst of requests permitted
+     */
+    public void setRequestTypeRateLimit( final String dataRequestType,
+                                         final double permitsPerSecond,
+                                         final double burstCapacity ) {
+        requestTypeRateLimiters.put( dataRequestType,
+                                     new TokenBucketRateLimiter( permitsPerSecond,
+                                                                 burstCapacity ) );
+    }
+
+    /**
+     * Returns the limiter for the given servlet URL, making it if needed.
+     *
+     * @param servletUrl The URL of the servlet endpoint
+     * @return The limiter for the servlet endpoint, or null if endpoints
+     *         aren't limited
+     */
+    public TokenBucketRateLimiter getEndpointRateLimiter( final String servletUrl ) {
+        if ( endpointLimiterFactory == null ) {
+            return endpointRateLimiters.get( servletUrl );
+        }
+        return endpointRateLimiters.computeIfAbsent( servletUrl,
+                                                     url -> endpointLimiterFactory.get() );
+    }
+
+    /**
+     * Returns the limiter for the given data request type.
+     *
+     * @param dataRequestType The data request type, as sent to the server
+     * @return The limiter for the request type, or null if it isn't limited
+     */
+    public TokenBucketRateLimiter getRequestTypeRateLimiter( final String dataRequestType ) {
+        return ( dataRequestType != null ) ? requestTypeRateLimiters.get( dataRequestType ) : null;
+    }
+
+    /**
+     * Reserves the tokens that a request needs to be sent to an endpoint.
+     * <p>
+     * NOTE: Pass a null request type when failing over to another endpoint,
+     *  as the request type's token was already reserved on the first attempt.
+     *
+     * @param servletUrl The URL of the servlet endpoint
+     * @param dataRequestType The data request type, or null to not limit it
+     * @return The time to wait before sending the request, in nanoseconds, or
+     *         -1 if the request is rejected
+     */
+    public long reserve( final String servletUrl, final String dataRequestType ) {
+        final TokenBucketRateLimiter endpointRateLimiter = getEndpointRateLimiter( servletUrl );
+        final long endpointWaitNanos = ( endpointRateLimiter != null )
+            ? endpointRateLimiter.reserve( maximumWaitNanos )
+            : 0L;
+        if ( endpointWaitNanos < 0L ) {
+            numberOfRejectedRequests.increment();
+            return -1L;
+        }
+
+        final TokenBucketRateLimiter requestTypeRateLimiter = getRequestTypeRateLimiter( dataRequestType );
+        final long requestTypeWaitNanos = ( requestTypeRateLimiter != null )
+            ? requestTypeRateLimiter.reserve( maximumWaitNanos )
+            : 0L;
+        if ( requestTypeWaitNanos < 0L ) {
+            // Don't let a rejected request use up the endpoint's quota.
+            if ( endpointRateLimiter != null ) {
+                endpointRateLimiter.cancelReservation( endpointWaitNanos );
+            }
+            numberOfRejectedRequests.increment();
+            return -1L;
+        }
+
+        final long waitNanos = Math.max( endpointWaitNanos, requestTypeWaitNanos );
+        waitHistogram.recordValue( TimeUnit.NANOSECONDS.toMicros( waitNanos ) );
+        return waitNanos;
+    }
+
+    /**
+     * Returns the distribution of the time that permitted requests waited.
+     *
+     * @return The histogram of wait times, in microseconds
+     */
+    public LatencyHistogram getWaitHistogram() {
+        return waitHistogram;
+    }
+
+    public long getNumberOfRejectedRequests() {
+        return numberOfRejectedRequests.sum();
+    }
+
+    public double getMaximumWaitMillis() {
+        return maximumWaitNanos * 1.0e-6d;
+    }
+
+    public Map< String, TokenBucketRateLimiter > getEndpointRateLimiters() {
+        return Collections.unmodifiableMap( endpointRateLimiters );
+    }
+
+    public Map< String, TokenBucketRateLimiter > getRequestTypeRateLimiters() {
+        return Collections.unmodifiableMap( requestTypeRateLimiters );
+    }
+}
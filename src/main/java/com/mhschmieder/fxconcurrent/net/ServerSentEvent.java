@@ -0,0 +1,82 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+/**
+ * One event received over a Server-Sent Events (SSE) stream.
+ */
+public final class ServerSentEvent {
+
+    /** The default event type, for events that don't name one. */
+    public static final String EVENT_TYPE_DEFAULT = "message";
+
+    /** The ID of the last event seen, which resumes the stream after this. */
+    private final String lastEventId;
+
+    /** The type of the event. */
+    private final String eventType;
+
+    /** The data lines of the event, joined by line feeds. */
+    private final String data;
+
+    public ServerSentEvent( final String pLastEventId,
+                            final String pEventType,
+                            final String pData ) {
+        lastEventId = pLastEventId;
+        eventType = pEventType;
+        data = pData;
+    }
+
+    /**
+     * Returns the ID to send as "Last-Event-ID" when reconnecting, so that the
+     * server resumes the stream right after this event.
+     *
+     * @return The last event ID, or an empty string if the server sets none
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return "ServerSentEvent[id=" + lastEventId + ", event=" + eventType + ", "
+                + data.length() + " chars]";
+    }
+}
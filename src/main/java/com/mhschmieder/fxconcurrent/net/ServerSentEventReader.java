@@ -0,0 +1,219 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads events from a Server-Sent Events (SSE) stream, as specified for the
+ * "text/event-stream" media type: UTF-8 lines ending in CR, LF or CRLF, with
+ * "id", "event", "data" and "retry" fields, comment lines that start with a
+ * colon, and a blank line to dispatch each event.
+ * <p>
+ * NOTE: This is not thread-safe, and is meant to be used by the one thread
+ *  that reads the stream.
+ */
+public final class ServerSentEventReader implements AutoCloseable {
+
+    /** The UTF-8 byte order mark, which may start the stream. */
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final InputStream inputStream;
+
+    /** The reusable buffer for the bytes of the current line. */
+    private final ByteArrayOutputStream lineBuffer;
+
+    /** The ID of the last event, which persists across events. */
+    private String lastEventId;
+
+    /** The reconnection delay last requested by the server, or -1. */
+    private long retryMilliseconds;
+
+    /** Flag for whether the previous line ended with a carriage return. */
+    private boolean pendingLineFeed;
+
+    /** Flag for whether the first line has been read yet. */
+    private boolean firstLine;
+
+    /**
+     * Makes a Server-Sent Event Reader that resumes after the given event.
+     *
+     * @param pInputStream The event stream to read
+     * @param pLastEventId The ID of the last event already received, or null
+     */
+    public ServerSentEventReader( final InputStream pInputStream, final String pLastEventId ) {
+        inputStream = new BufferedInputStream( pInputStream );
+        lineBuffer = new ByteArrayOutputStream( 256 );
+        lastEventId = ( pLastEventId != null ) ? pLastEventId : "";
+        retryMilliseconds = -1L;
+        pendingLineFeed = false;
+        firstLine = true;
+    }
+
+    /**
+     * Reads the next line, without its line ending.
+     *
+     * @return The next line, or null at the end of the stream
+     * @throws IOException If the stream can't be read
+     */
+    private String readLine() throws IOException {
+        lineBuffer.reset();
+        while ( true ) {
+            final int b = inputStream.read();
+            if ( b == -1 ) {
+                // A partial line at the end of the stream is discarded.
+                return null;
+            }
+
+            // Skip the line feed of a CRLF pair, whose CR ended the line.
+            if ( pendingLineFeed ) {
+                pendingLineFeed = false;
+                if ( b == '\n' ) {
+                    continue;
+                }
+            }
+
+            if ( b == '\r' ) {
+                pendingLineFeed = true;
+                break;
+            }
+            if ( b == '\n' ) {
+                break;
+            }
+            lineBuffer.write( b );
+        }
+
+        String line = new String( lineBuffer.toByteArray(), StandardCharsets.UTF_8 );
+        if ( firstLine ) {
+            firstLine = false;
+            if ( !line.isEmpty() && ( line.charAt( 0 ) == BYTE_ORDER_MARK ) ) {
+                line = line.substring( 1 );
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Reads until the next complete event, skipping comments and blocks that
+     * carry no data.
+     *
+     * @return The next event, or null at the end of the stream
+     * @throws IOException If the stream can't be read
+     */
+    @SuppressWarnings("nls")
+    public ServerSentEvent readEvent() throws IOException {
+        String eventType = "";
+        final StringBuilder dataBuilder = new StringBuilder();
+        boolean hasData = false;
+
+        String line;
+        while ( ( line = readLine() ) != null ) {
+            if ( line.isEmpty() ) {
+                // A blank line dispatches the event, if it has any data.
+                if ( hasData ) {
+                    return new ServerSentEvent( lastEventId,
+                                                eventType.isEmpty()
+                                                    ? ServerSentEvent.EVENT_TYPE_DEFAULT
+                                                    : eventType,
+                                                dataBuilder.toString() );
+                }
+                eventType = "";
+                continue;
+            }
+            if ( line.charAt( 0 ) == ':' ) {
+                // Comments are often sent as keep-alive heartbeats.
+                continue;
+            }
+
+            final int colonIndex = line.indexOf( ':' );
+            final String fieldName = ( colonIndex < 0 ) ? line : line.substring( 0, colonIndex );
+            String fieldValue = ( colonIndex < 0 ) ? "" : line.substring( colonIndex + 1 );
+            if ( fieldValue.startsWith( " " ) ) {
+                fieldValue = fieldValue.substring( 1 );
+            }
+
+            switch ( fieldName ) {
+            case "event":
+                eventType = fieldValue;
+                break;
+            case "data":
+                if ( hasData ) {
+                    dataBuilder.append( '\n' );
+                }
+                dataBuilder.append( fieldValue );
+                hasData = true;
+                break;
+            case "id":
+                if ( fieldValue.indexOf( '\0' ) < 0 ) {
+                    lastEventId = fieldValue;
+                }
+                break;
+            case "retry":
+                if ( !fieldValue.isEmpty() && fieldValue.chars().allMatch( Character::isDigit ) ) {
+                    try {
+                        retryMilliseconds = Long.parseLong( fieldValue );
+                    }
+                    catch ( final NumberFormatException nfe ) {
+                        // Ignore values that are too large to be meaningful.
+                    }
+                }
+                break;
+            default:
+                // Unknown fields are ignored, as per the specification.
+                break;
+            }
+        }
+
+        return null;
+    }
+
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the reconnection delay that the server last asked for.
+     *
+     * @return The reconnection delay in milliseconds, or -1 if none was sent
+     */
+    public long getRetryMilliseconds() {
+        return retryMilliseconds;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+/**
+ * One of several equivalent servlet endpoints (server replicas), along with
+ * the live statistics that drive latency-aware selection and failover.
+ * <p>
+ * Latency is tracked as an exponentially weighted moving average (EWMA) of
+ * response times, and health as a count of consecutive failures that takes
+ * the endpoint out of rotation for an exponentially growing cool-down.
+ */
+public final class ServletEndpoint {
+
+    /** The weight of each new latency sample in the moving average. */
+    public static final double EWMA_WEIGHT_DEFAULT = 0.3d;
+
+    /** The number of consecutive failures that marks an endpoint unhealthy. */
+    public static final int FAILURE_THRESHOLD_DEFAULT = 2;
+
+    /** The first cool-down of an unhealthy endpoint, in milliseconds. */
+    public static final long INITIAL_COOL_DOWN_MILLISECONDS_DEFAULT = 1000L;
+
+    /** The longest cool-down of an unhealthy endpoint, in milliseconds. */
+    public static final long MAXIMUM_COOL_DOWN_MILLISECONDS_DEFAULT = 60000L;
+
+    /** The URL of this endpoint's servlet. */
+    private final String servletUrl;
+
+    /** The moving average of response times, in nanoseconds; 0 if unknown. */
+    private double averageLatencyNanos;
+
+    /** The number of requests currently in flight to this endpoint. */
+    private int numberOfOutstandingRequests;
+
+    /** The number of failures in a row, reset by any success. */
+    private int numberOfConsecutiveFailures;
+
+    /** The time before which this endpoint is out of rotation. */
+    private long coolDownEndMillis;
+
+    private long numberOfRequests;
+    private long numberOfFailures;
+
+    public ServletEndpoint( final String pServletUrl ) {
+        servletUrl = pServletUrl;
+
+        averageLatencyNanos = 0.0d;
+        numberOfOutstandingRequests = 0;
+        numberOfConsecutiveFailures = 0;
+        coolDownEndMillis = 0L;
+    }
+
+    public String getServletUrl() {
+        return servletUrl;
+    }
+
+    /**
+     * Records the start of a request to this endpoint.
+     */
+    public synchronized void onRequestStarted() {
+        numberOfOutstandingRequests++;
+        numberOfRequests++;
+    }
+
+    /**
+     * Records a request that reached the servlet, along with its latency.
+     *
+     * @param latencyNanos The response time of the request, in nanoseconds
+     */
+    public synchronized void onRequestSucceeded( final long latencyNanos ) {
+        numberOfOutstandingRequests = Math.max( 0, numberOfOutstandingRequests - 1 );
+        numberOfConsecutiveFailures = 0;
+        coolDownEndMillis = 0L;
+
+        averageLatencyNanos = ( averageLatencyNanos <= 0.0d )
+            ? latencyNanos
+            : ( EWMA_WEIGHT_DEFAULT * latencyNanos )
+                    + ( ( 1.0d - EWMA_WEIGHT_DEFAULT ) * averageLatencyNanos );
+    }
+
+    /**
+     * Records a request that failed to reach the servlet, taking the endpoint
+     * out of rotation once it has failed too many times in a row.
+     */
+    public synchronized void onRequestFailed() {
+        numberOfOutstandingRequests = Math.max( 0, numberOfOutstandingRequests - 1 );
+        numberOfConsecutiveFailures++;
+        numberOfFailures++;
+
+        if ( numberOfConsecutiveFailures >= FAILURE_THRESHOLD_DEFAULT ) {
+            final int numberOfDoublings = Math
+                    .min( 16, numberOfConsecutiveFailures - FAILURE_THRESHOLD_DEFAULT );
+            final long coolDownMillis = Math
+                    .min( MAXIMUM_COOL_DOWN_MILLISECONDS_DEFAULT,
+                          INITIAL_COOL_DOWN_MILLISECONDS_DEFAULT << numberOfDoublings );
+            coolDownEndMillis = System.currentTimeMillis() + coolDownMillis;
+        }
+    }
+
+    /**
+     * Records a request that was abandoned (such as by cancellation), which
+     * says nothing about the health or latency of the endpoint.
+     */
+    public synchronized void onRequestAbandoned() {
+        numberOfOutstandingRequests = Math.max( 0, numberOfOutstandingRequests - 1 );
+    }
+
+    /**
+     * Returns whether this endpoint is in rotation; an unhealthy endpoint is
+     * given one trial request again once its cool-down has passed.
+     *
+     * @return true if this endpoint may be selected for new requests
+     */
+    public synchronized boolean isHealthy() {
+        return System.currentTimeMillis() >= coolDownEndMillis;
+    }
+
+    /**
+     * Returns the selection cost of this endpoint, which grows with both its
+     * typical latency and its current load (least outstanding requests).
+     * <p>
+     * NOTE: An endpoint without latency samples is costed at the given prior
+     *  latency, so that its outstanding requests still count and it doesn't
+     *  attract every concurrent request until its first response arrives.
+     *
+     * @param priorLatencyNanos The latency to assume if there are no samples
+     * @return The selection cost; lower is better
+     */
+    public synchronized double getSelectionCost( final double priorLatencyNanos ) {
+        final double latencyNanos = ( averageLatencyNanos > 0.0d )
+            ? averageLatencyNanos
+            : priorLatencyNanos;
+        return latencyNanos * ( numberOfOutstandingRequests + 1 );
+    }
+
+    /**
+     * Returns whether any latency samples have been taken for this endpoint.
+     *
+     * @return true if the average latency is known
+     */
+    public synchronized boolean hasLatencySamples() {
+        return averageLatencyNanos > 0.0d;
+    }
+
+    public synchronized long getCoolDownEndMillis() {
+        return coolDownEndMillis;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        return averageLatencyNanos * 1.0e-6d;
+    }
+
+    public synchronized int getNumberOfOutstandingRequests() {
+        return numberOfOutstandingRequests;
+    }
+
+    public synchronized long getNumberOfRequests() {
+        return numberOfRequests;
+    }
+
+    public synchronized long getNumberOfFailures() {
+        return numberOfFailures;
+    }
+
+    @Override
+    public String toString() {
+        return servletUrl;
+    }
+}
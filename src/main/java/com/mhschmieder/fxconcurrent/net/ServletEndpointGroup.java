@@ -0,0 +1,152 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A set of equivalent servlet endpoints (server replicas) that requests are
+ * balanced across on the client side, with automatic failover.
+ * <p>
+ * Selection uses the "power of two choices": two healthy endpoints are
+ * picked at random and the one with the lower selection cost (latency EWMA
+ * scaled by outstanding requests) wins. This spreads load nearly as well as
+ * always picking the best endpoint, without every client piling onto
+ * whichever replica happened to look fastest a moment ago.
+ */
+public final class ServletEndpointGroup {
+
+    /** The endpoints in this group, in their configured order. */
+    private final List< ServletEndpoint > servletEndpoints;
+
+    /**
+     * Makes a Servlet Endpoint Group for the given servlet URLs.
+     *
+     * @param servletUrls The URLs of the equivalent servlet endpoints
+     */
+    public ServletEndpointGroup( final Collection< String > servletUrls ) {
+        if ( ( servletUrls == null ) || servletUrls.isEmpty() ) {
+            throw new IllegalArgumentException( "At least one servlet URL is required" );
+        }
+
+        final List< ServletEndpoint > endpoints = new ArrayList<>( servletUrls.size() );
+        for ( final String servletUrl : servletUrls ) {
+            endpoints.add( new ServletEndpoint( servletUrl ) );
+        }
+        servletEndpoints = Collections.unmodifiableList( endpoints );
+    }
+
+    public List< ServletEndpoint > getServletEndpoints() {
+        return servletEndpoints;
+    }
+
+    public int size() {
+        return servletEndpoints.size();
+    }
+
+    /**
+     * Selects the endpoint for the next request, skipping any endpoints that
+     * have already failed for this request.
+     *
+     * @param excludedEndpoints The endpoints already tried for this request
+     * @return The selected endpoint, or null if every endpoint was excluded
+     */
+    public ServletEndpoint select( final Set< ServletEndpoint > excludedEndpoints ) {
+        final List< ServletEndpoint > healthyEndpoints = new ArrayList<>( servletEndpoints.size() );
+        ServletEndpoint leastCooledEndpoint = null;
+        for ( final ServletEndpoint servletEndpoint : servletEndpoints ) {
+            if ( excludedEndpoints.contains( servletEndpoint ) ) {
+                continue;
+            }
+
+            if ( servletEndpoint.isHealthy() ) {
+                healthyEndpoints.add( servletEndpoint );
+            }
+            else if ( ( leastCooledEndpoint == null ) || ( servletEndpoint
+                    .getCoolDownEndMillis() < leastCooledEndpoint.getCoolDownEndMillis() ) ) {
+                leastCooledEndpoint = servletEndpoint;
+            }
+        }
+
+        // If every remaining endpoint is down, try the one due back soonest
+        // rather than failing the request outright.
+        switch ( healthyEndpoints.size() ) {
+        case 0:
+            return leastCooledEndpoint;
+        case 1:
+            return healthyEndpoints.get( 0 );
+        default:
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int firstIndex = random.nextInt( healthyEndpoints.size() );
+            int secondIndex = random.nextInt( healthyEndpoints.size() - 1 );
+            if ( secondIndex >= firstIndex ) {
+                secondIndex++;
+            }
+
+            final ServletEndpoint firstEndpoint = healthyEndpoints.get( firstIndex );
+            final ServletEndpoint secondEndpoint = healthyEndpoints.get( secondIndex );
+            final double priorLatencyNanos = getMeanLatencyNanos();
+            return ( secondEndpoint.getSelectionCost( priorLatencyNanos ) < firstEndpoint
+                    .getSelectionCost( priorLatencyNanos ) )
+                ? secondEndpoint
+                : firstEndpoint;
+        }
+    }
+
+    /**
+     * Returns the mean of the average latencies of the endpoints that have
+     * been sampled, as the prior for endpoints that haven't been yet.
+     * <p>
+     * NOTE: Before any samples, every endpoint is assumed equally fast, so
+     *  that selection falls back to least outstanding requests.
+     *
+     * @return The mean endpoint latency in nanoseconds, or 1 if unknown
+     */
+    private double getMeanLatencyNanos() {
+        double totalLatencyNanos = 0.0d;
+        int numberOfSampledEndpoints = 0;
+        for ( final ServletEndpoint servletEndpoint : servletEndpoints ) {
+            if ( servletEndpoint.hasLatencySamples() ) {
+                totalLatencyNanos += servletEndpoint.getAverageLatencyMillis() * 1.0e6d;
+                numberOfSampledEndpoints++;
+            }
+        }
+
+        return ( numberOfSampledEndpoints > 0 )
+            ? totalLatencyNanos / numberOfSampledEndpoints
+            : 1.0d;
+    }
+}
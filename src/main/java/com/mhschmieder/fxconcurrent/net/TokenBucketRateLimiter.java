@@ -0,0 +1,165 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+/**
+ * A token bucket that smooths bursts of requests down to a sustained rate,
+ * so that the client stays within a server-enforced request quota instead
+ * of finding out about it from an error response a full round trip later.
+ * <p>
+ * The bucket refills continuously at the permitted rate, up to its burst
+ * capacity. A request that finds a token goes right away; otherwise it
+ * reserves the next token and is told how long to wait for it, unless that
+ * is longer than it is willing to wait, in which case it is rejected.
+ */
+public final class TokenBucketRateLimiter {
+
+    /** The sustained number of requests permitted per second. */
+    private final double permitsPerSecond;
+
+    /** The largest number of requests that may go in a single burst. */
+    private final double burstCapacity;
+
+    /** The number of tokens available; negative when tokens are reserved. */
+    private double numberOfTokens;
+
+    /** The time at which the tokens were last refilled. */
+    private long lastRefillNanos;
+
+    private long numberOfPermittedRequests;
+    private long numberOfDelayedRequests;
+    private long numberOfRejectedRequests;
+    private long totalWaitNanos;
+
+    /**
+     * Makes a Token Bucket Rate Limiter that starts with a full bucket.
+     *
+     * @param pPermitsPerSecond The sustained number of requests per second
+     * @param pBurstCapacity The largest number of requests in a single burst
+     */
+    public TokenBucketRateLimiter( final double pPermitsPerSecond,
+                                   final double pBurstCapacity ) {
+        if ( ( pPermitsPerSecond <= 0.0d ) || ( pBurstCapacity < 1.0d ) ) {
+            throw new IllegalArgumentException( "Invalid rate limit" );
+        }
+
+        permitsPerSecond = pPermitsPerSecond;
+        burstCapacity = pBurstCapacity;
+
+        numberOfTokens = burstCapacity;
+        lastRefillNanos = System.nanoTime();
+    }
+
+    private void refill( final long nowNanos ) {
+        final double refilledTokens = ( ( nowNanos - lastRefillNanos ) * 1.0e-9d )
+                * permitsPerSecond;
+        numberOfTokens = Math.min( burstCapacity, numberOfTokens + refilledTokens );
+        lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Reserves a token for one request, if it would become available within
+     * the given maximum wait.
+     * <p>
+     * NOTE: The caller is responsible for waiting out the returned time before
+     *  sending the request, as the token is only reserved, not yet available.
+     *
+     * @param maximumWaitNanos The longest the request is willing to wait
+     * @return The time to wait before sending the request, in nanoseconds, or
+     *         -1 if the request is rejected
+     */
+    public synchronized long reserve( final long maximumWaitNanos ) {
+        refill( System.nanoTime() );
+
+        if ( numberOfTokens >= 1.0d ) {
+            numberOfTokens -= 1.0d;
+            numberOfPermittedRequests++;
+            return 0L;
+        }
+
+        final long waitNanos = ( long ) Math.ceil( ( ( 1.0d - numberOfTokens ) / permitsPerSecond )
+                * 1.0e9d );
+        if ( waitNanos > maximumWaitNanos ) {
+            numberOfRejectedRequests++;
+            return -1L;
+        }
+
+        numberOfTokens -= 1.0d;
+        numberOfPermittedRequests++;
+        numberOfDelayedRequests++;
+        totalWaitNanos += waitNanos;
+        return waitNanos;
+    }
+
+    /**
+     * Gives back a reserved token whose request was never sent, along with
+     * the wait that was counted against it.
+     *
+     * @param waitNanos The time to wait that the reservation returned
+     */
+    public synchronized void cancelReservation( final long waitNanos ) {
+        numberOfTokens = Math.min( burstCapacity, numberOfTokens + 1.0d );
+        numberOfPermittedRequests = Math.max( 0L, numberOfPermittedRequests - 1L );
+        if ( waitNanos > 0L ) {
+            numberOfDelayedRequests = Math.max( 0L, numberOfDelayedRequests - 1L );
+            totalWaitNanos = Math.max( 0L, totalWaitNanos - waitNanos );
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public double getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    public synchronized double getNumberOfAvailableTokens() {
+        refill( System.nanoTime() );
+        return Math.max( 0.0d, numberOfTokens );
+    }
+
+    public synchronized long getNumberOfPermittedRequests() {
+        return numberOfPermittedRequests;
+    }
+
+    public synchronized long getNumberOfDelayedRequests() {
+        return numberOfDelayedRequests;
+    }
+
+    public synchronized long getNumberOfRejectedRequests() {
+        return numberOfRejectedRequests;
+    }
+
+    public synchronized double getTotalWaitMillis() {
+        return totalWaitNanos * 1.0e-6d;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.pipeline;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A pipeline stage that incrementally inflates deflate-compressed response
+ * chunks, so decompression of early chunks overlaps with the download of
+ * later chunks.
+ * <p>
+ * NOTE: Both ZLIB-wrapped and raw deflate streams are supported; GZIP framing
+ *  must be stripped by the server or by an earlier stage.
+ */
+public final class DecompressionStage implements ResponsePipelineStage< byte[], byte[] > {
+
+    /** The size of the buffer used for each inflated output chunk. */
+    public static final int OUTPUT_CHUNK_SIZE_DEFAULT = 64 * 1024;
+
+    /** The stateful inflater for this stage's single response stream. */
+    private final Inflater inflater;
+
+    /** Scratch buffer for inflated output, which is copied before handoff. */
+    private final byte[] outputBuffer;
+
+    /**
+     * Makes a Decompression Stage for ZLIB-wrapped deflate streams.
+     */
+    public DecompressionStage() {
+        this( false );
+    }
+
+    /**
+     * Makes a Decompression Stage for either raw or ZLIB-wrapped streams.
+     *
+     * @param rawDeflate true if the stream has no ZLIB header or checksum
+     */
+    public DecompressionStage( final boolean rawDeflate ) {
+        inflater = new Inflater( rawDeflate );
+        outputBuffer = new byte[ OUTPUT_CHUNK_SIZE_DEFAULT ];
+    }
+
+    @Override
+    public void process( final byte[] input,
+                         final Consumer< ? super byte[] > downstream )
+            throws DataFormatException {
+        inflater.setInput( input );
+        drain( downstream );
+    }
+
+    @Override
+    public void finish( final Consumer< ? super byte[] > downstream )
+            throws DataFormatException {
+        try {
+            drain( downstream );
+
+            // A stream that ends before its final block was cut short, and
+            // would otherwise pass for a complete (but shorter) response.
+            if ( !inflater.finished() ) {
+                throw new DataFormatException( "Truncated deflate stream" );
+            }
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public void abort() {
+        // Free the inflater's native memory now, rather than at collection.
+        inflater.end();
+    }
+
+    private void drain( final Consumer< ? super byte[] > downstream )
+            throws DataFormatException {
+        while ( !inflater.finished() ) {
+            final int numberOfBytesInflated = inflater.inflate( outputBuffer );
+            if ( numberOfBytesInflated > 0 ) {
+                downstream.accept( Arrays.copyOf( outputBuffer, numberOfBytesInflated ) );
+            }
+            else if ( inflater.needsInput() || inflater.needsDictionary() ) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * A Response Pipeline is a reusable template for a chain of stages (such as
+ * decompress, parse, and publish) that post-process server response data in
+ * chunks while the rest of the response is still being downloaded.
+ * <p>
+ * Each call to {@link #open} makes a fresh {@link ResponsePipelineRun} with
+ * new stage instances and bounded queues between the stages, so the same
+ * pipeline can be attached to every Data Request Task made by a service.
+ */
+public final class ResponsePipeline {
+
+    /** The default number of chunks that may be queued between two stages. */
+    public static final int QUEUE_CAPACITY_DEFAULT = 16;
+
+    /** The default size of the raw chunks that are read from the network. */
+    public static final int CHUNK_SIZE_DEFAULT = 64 * 1024;
+
+    /** The Fork-Join Pool that runs the stage workers. */
+    private final ForkJoinPool forkJoinPool;
+
+    /** The maximum number of items that may be queued between two stages. */
+    private final int queueCapacity;
+
+    /** The size of the raw chunks that are fed to the first stage. */
+    private final int chunkSize;
+
+    /** The suppliers of fresh stage instances, in pipeline order. */
+    private final List< Supplier< ? extends ResponsePipelineStage< ?, ? > > > stageSuppliers;
+
+    /**
+     * Makes a Response Pipeline that runs on the common Fork-Join Pool with
+     * default queue capacity and chunk size.
+     */
+    public ResponsePipeline() {
+        this( ForkJoinPool.commonPool(), QUEUE_CAPACITY_DEFAULT, CHUNK_SIZE_DEFAULT );
+    }
+
+    /**
+     * Makes a Response Pipeline with all parameters specified.
+     *
+     * @param pForkJoinPool The Fork-Join Pool that runs the stage workers
+     * @param pQueueCapacity The maximum number of items queued between stages
+     * @param pChunkSize The size of the raw chunks fed to the first stage
+     */
+    public ResponsePipeline( final ForkJoinPool pForkJoinPool,
+                             final int pQueueCapacity,
+                             final int pChunkSize ) {
+        if ( ( pQueueCapacity < 1 ) || ( pChunkSize < 1 ) ) {
+            throw new IllegalArgumentException( "Queue capacity and chunk size must be positive" );
+        }
+
+        forkJoinPool = pForkJoinPool;
+        queueCapacity = pQueueCapacity;
+        chunkSize = pChunkSize;
+
+        stageSuppliers = new ArrayList<>();
+    }
+
+    /**
+     * Appends a stage to the end of this pipeline.
+     * <p>
+     * NOTE: A supplier is taken rather than a stage instance, as stages such
+     *  as decompressors are stateful and must not be shared between runs.
+     *
+     * @param stageSupplier The supplier of fresh instances of the stage
+     * @return This pipeline, for chaining of stage declarations
+     */
+    public ResponsePipeline addStage( final Supplier< ? extends ResponsePipelineStage< ?, ? > > stageSupplier ) {
+        stageSuppliers.add( stageSupplier );
+        return this;
+    }
+
+    public List< Supplier< ? extends ResponsePipelineStage< ?, ? > > > getStageSuppliers() {
+        return Collections.unmodifiableList( stageSuppliers );
+    }
+
+    public int getNumberOfStages() {
+        return stageSuppliers.size();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Starts a new run of this pipeline, with fresh stages already waiting on
+     * their input queues for the first chunk of the response.
+     *
+     * @return A new run of this pipeline, to be fed with raw response chunks
+     */
+    public ResponsePipelineRun open() {
+        if ( stageSuppliers.isEmpty() ) {
+            throw new IllegalStateException( "A Response Pipeline needs at least one stage" );
+        }
+
+        final List< ResponsePipelineStage< ?, ? > > stages = new ArrayList<>( stageSuppliers
+                .size() );
+        for ( final Supplier< ? extends ResponsePipelineStage< ?, ? > > stageSupplier : stageSuppliers ) {
+            stages.add( stageSupplier.get() );
+        }
+
+        return new ResponsePipelineRun( forkJoinPool, queueCapacity, stages );
+    }
+}
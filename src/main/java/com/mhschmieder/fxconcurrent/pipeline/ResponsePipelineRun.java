@@ -0,0 +1,294 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A single run of a {@link ResponsePipeline}, which is fed raw chunks of one
+ * server response by the downloading thread while its stages process earlier
+ * chunks concurrently on the pipeline's Fork-Join Pool.
+ * <p>
+ * The queues between stages are bounded, so a slow stage exerts backpressure
+ * all the way back to the network read loop rather than buffering the whole
+ * response in memory.
+ */
+public final class ResponsePipelineRun {
+
+    /** Marker that is passed down the queues at the end of the response. */
+    private static final Object END_OF_RESPONSE = new Object();
+
+    /** How often blocked queue operations re-check for an aborted run. */
+    private static final long POLL_INTERVAL_MILLISECONDS = 50L;
+
+    /** The queues that feed each stage, in pipeline order. */
+    private final List< BlockingQueue< Object > > stageQueues;
+
+    /** The workers that run each stage, in pipeline order. */
+    private final List< ForkJoinTask< ? > > stageWorkers;
+
+    /** The first failure reported by any stage, if any. */
+    private volatile Throwable failure;
+
+    /** Flag for whether this run was aborted due to failure or cancellation. */
+    private volatile boolean aborted;
+
+    ResponsePipelineRun( final ForkJoinPool forkJoinPool,
+                         final int queueCapacity,
+                         final List< ResponsePipelineStage< ?, ? > > stages ) {
+        final int numberOfStages = stages.size();
+
+        stageQueues = new ArrayList<>( numberOfStages );
+        for ( int stageIndex = 0; stageIndex < numberOfStages; stageIndex++ ) {
+            stageQueues.add( new ArrayBlockingQueue<>( queueCapacity ) );
+        }
+
+        failure = null;
+        aborted = false;
+
+        // Start all of the stage workers up front, so that they are already
+        // waiting when the first chunk arrives from the network.
+        stageWorkers = new ArrayList<>( numberOfStages );
+        for ( int stageIndex = 0; stageIndex < numberOfStages; stageIndex++ ) {
+            final ResponsePipelineStage< ?, ? > stage = stages.get( stageIndex );
+            final BlockingQueue< Object > inputQueue = stageQueues.get( stageIndex );
+            final BlockingQueue< Object > outputQueue = ( stageIndex < ( numberOfStages - 1 ) )
+                ? stageQueues.get( stageIndex + 1 )
+                : null;
+            stageWorkers.add( forkJoinPool
+                    .submit( () -> runStage( stage, inputQueue, outputQueue ) ) );
+        }
+    }
+
+    /**
+     * Feeds the next raw chunk of the response to the first stage, blocking
+     * while that stage's input queue is full.
+     * <p>
+     * NOTE: The chunk is handed off to another thread, so the caller must not
+     *  reuse the array afterwards.
+     *
+     * @param chunk The next raw chunk of the response
+     * @throws ExecutionException If any stage has already failed
+     * @throws InterruptedException If the caller was interrupted while blocked
+     */
+    public void submit( final byte[] chunk ) throws ExecutionException, InterruptedException {
+        checkFailure();
+        if ( !put( stageQueues.get( 0 ), chunk ) ) {
+            checkFailure();
+            throw new CancellationException( "Response Pipeline Aborted" );
+        }
+    }
+
+    /**
+     * Signals the end of the response to the first stage and then waits for
+     * every stage to finish processing.
+     *
+     * @throws ExecutionException If any stage failed
+     * @throws InterruptedException If the caller was interrupted while waiting
+     */
+    public void complete() throws ExecutionException, InterruptedException {
+        put( stageQueues.get( 0 ), END_OF_RESPONSE );
+
+        for ( final ForkJoinTask< ? > stageWorker : stageWorkers ) {
+            stageWorker.get();
+        }
+
+        checkFailure();
+        if ( aborted ) {
+            throw new CancellationException( "Response Pipeline Aborted" );
+        }
+    }
+
+    /**
+     * Aborts this run, discarding everything still queued between the stages
+     * and releasing every stage worker that is blocked on a queue.
+     */
+    public void abort() {
+        aborted = true;
+
+        for ( final BlockingQueue< Object > stageQueue : stageQueues ) {
+            stageQueue.clear();
+        }
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runStage( final ResponsePipelineStage< ?, ? > stage,
+                           final BlockingQueue< Object > inputQueue,
+                           final BlockingQueue< Object > outputQueue ) {
+        final ResponsePipelineStage< Object, Object > typedStage =
+                                                                 ( ResponsePipelineStage< Object, Object > ) stage;
+        final Consumer< Object > downstream = item -> {
+            if ( ( outputQueue != null ) && !put( outputQueue, item ) ) {
+                throw new CancellationException( "Response Pipeline Aborted" );
+            }
+        };
+
+        boolean finishing = false;
+        try {
+            while ( !aborted ) {
+                final Object item = take( inputQueue );
+                if ( item == null ) {
+                    return;
+                }
+
+                if ( item == END_OF_RESPONSE ) {
+                    finishing = true;
+                    typedStage.finish( downstream );
+                    if ( outputQueue != null ) {
+                        put( outputQueue, END_OF_RESPONSE );
+                    }
+                    return;
+                }
+
+                typedStage.process( item, downstream );
+            }
+        }
+        catch ( final CancellationException ce ) {
+            // Another stage already aborted the run; nothing more to report.
+            return;
+        }
+        catch ( final Throwable t ) {
+            if ( failure == null ) {
+                failure = t;
+            }
+            abort();
+        }
+        finally {
+            // A stage that never got to finish still has to let go of its
+            // resources, as nothing else will tell it the run is over.
+            if ( !finishing ) {
+                try {
+                    typedStage.abort();
+                }
+                catch ( final RuntimeException re ) {
+                    re.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void checkFailure() throws ExecutionException {
+        final Throwable stageFailure = failure;
+        if ( stageFailure != null ) {
+            throw new ExecutionException( stageFailure );
+        }
+    }
+
+    /**
+     * Puts an item on a bounded queue, cooperating with the Fork-Join Pool
+     * while blocked so that a full queue doesn't starve the other stages.
+     *
+     * @return true if the item was queued; false if the run was aborted
+     */
+    private boolean put( final BlockingQueue< Object > queue, final Object item ) {
+        final ForkJoinPool.ManagedBlocker blocker = new ForkJoinPool.ManagedBlocker() {
+            private boolean queued = false;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if ( !queued ) {
+                    queued = queue.offer( item,
+                                          POLL_INTERVAL_MILLISECONDS,
+                                          TimeUnit.MILLISECONDS );
+                }
+                return queued || aborted;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                if ( !queued ) {
+                    queued = queue.offer( item );
+                }
+                return queued || aborted;
+            }
+        };
+
+        try {
+            ForkJoinPool.managedBlock( blocker );
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+            abort();
+        }
+
+        return !aborted;
+    }
+
+    /**
+     * Takes the next item from a bounded queue, cooperating with the
+     * Fork-Join Pool while blocked.
+     *
+     * @return The next item, or null if the run was aborted
+     */
+    private Object take( final BlockingQueue< Object > queue ) {
+        final Object[] next = new Object[ 1 ];
+        final ForkJoinPool.ManagedBlocker blocker = new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                if ( next[ 0 ] == null ) {
+                    next[ 0 ] = queue.poll( POLL_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS );
+                }
+                return ( next[ 0 ] != null ) || aborted;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                if ( next[ 0 ] == null ) {
+                    next[ 0 ] = queue.poll();
+                }
+                return ( next[ 0 ] != null ) || aborted;
+            }
+        };
+
+        try {
+            ForkJoinPool.managedBlock( blocker );
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+            abort();
+        }
+
+        return aborted ? null : next[ 0 ];
+    }
+}
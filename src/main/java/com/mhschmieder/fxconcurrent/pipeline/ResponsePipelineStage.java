@@ -0,0 +1,81 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.pipeline;
+
+import java.util.function.Consumer;
+
+/**
+ * A single stage of a Response Pipeline, such as decompression, parsing, or
+ * publishing of parsed results to the application's model.
+ * <p>
+ * Each stage runs on its own worker of the pipeline's Fork-Join Pool, and is
+ * fed in arrival order from a bounded queue, so a stage only needs to be
+ * thread-safe with respect to state that it shares outside of the pipeline.
+ *
+ * @param <I> The type of the items consumed by this stage
+ * @param <O> The type of the items produced by this stage
+ */
+public interface ResponsePipelineStage< I, O > {
+
+    /**
+     * Processes one item from the upstream stage, forwarding zero or more
+     * results to the downstream stage.
+     * <p>
+     * NOTE: The downstream consumer blocks when the next stage falls behind,
+     *  which is what keeps the memory footprint of the pipeline bounded.
+     *
+     * @param input The next item from the upstream stage
+     * @param downstream The consumer that feeds the downstream stage
+     * @throws Exception If the item could not be processed, which aborts the
+     *                   entire pipeline run
+     */
+    void process( I input, Consumer< ? super O > downstream ) throws Exception;
+
+    /**
+     * Flushes any state that is still buffered in this stage, once the
+     * upstream stage has signaled the end of the response.
+     * <p>
+     * NOTE: The default implementation is blank, as most stages are stateless.
+     *
+     * @param downstream The consumer that feeds the downstream stage
+     * @throws Exception If the remaining state could not be flushed
+     */
+    default void finish( final Consumer< ? super O > downstream ) throws Exception {}
+
+    /**
+     * Releases any resources held by this stage when the pipeline run ends
+     * without reaching {@link #finish}, such as after a failure in any stage
+     * or a cancellation.
+     * <p>
+     * NOTE: The default implementation is blank, as most stages are stateless.
+     */
+    default void abort() {}
+}
@@ -0,0 +1,301 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local HTTP server that stands in for the real servlets by serving
+ * recorded traffic back, with the original server-side timing, so that
+ * client performance can be tested repeatably without the backend.
+ * <p>
+ * Each request is matched to recorded traffic by its method, path and query,
+ * and optionally by some of its headers (such as the data request type).
+ * Matching requests are answered in recorded order, and once only the last
+ * one is left it is served repeatedly, which suits polled data.
+ * <p>
+ * Each response is held back by the recorded time to first byte, and its
+ * body is then paced out over the recorded transfer time; a Time Scale other
+ * than 1 speeds this up or slows it down, and 0 serves everything at once.
+ */
+public final class ReplayServer implements Closeable {
+
+    /** The size of the chunks that response bodies are paced out in. */
+    private static final int CHUNK_SIZE = 8192;
+
+    /** The HTTP server, which listens on the loopback interface only. */
+    private final HttpServer httpServer;
+
+    /** The threads that serve requests, so that delays overlap. */
+    private final ExecutorService requestExecutor;
+
+    /** The recorded traffic for each request key, in recorded order. */
+    private final Map< String, ArrayDeque< TrafficRecord > > recordedResponses;
+
+    /** The names of the request headers that requests are matched on. */
+    private final String[] matchedHeaderNames;
+
+    /** The factor applied to all recorded timings. */
+    private volatile double timeScale;
+
+    private final AtomicLong numberOfServedRequests;
+    private final AtomicLong numberOfUnmatchedRequests;
+
+    /**
+     * Makes a Replay Server for the given recorded traffic, on the given
+     * local port; it doesn't accept requests until it is started.
+     *
+     * @param trafficRecords The recorded traffic to serve
+     * @param port The local port to listen on, or 0 for any free port
+     * @param pMatchedHeaderNames The names of the request headers that must
+     *                            also match, beyond the method and URI
+     * @throws IOException If the port can't be bound
+     */
+    public ReplayServer( final Collection< TrafficRecord > trafficRecords,
+                         final int port,
+                         final String... pMatchedHeaderNames )
+            throws IOException {
+        matchedHeaderNames = pMatchedHeaderNames.clone();
+        timeScale = 1.0d;
+        numberOfServedRequests = new AtomicLong();
+        numberOfUnmatchedRequests = new AtomicLong();
+
+        recordedResponses = new HashMap<>();
+        for ( final TrafficRecord trafficRecord : trafficRecords ) {
+            final String requestKey = getRequestKey( trafficRecord.getRequestMethod(),
+                                                     trafficRecord.getRequestUri(),
+                                                     trafficRecord::getRequestHeader );
+            recordedResponses.computeIfAbsent( requestKey, key -> new ArrayDeque<>() )
+                    .add( trafficRecord );
+        }
+
+        httpServer = HttpServer
+                .create( new InetSocketAddress( InetAddress.getLoopbackAddress(), port ), 0 );
+        httpServer.createContext( "/", this::serveRequest ); //$NON-NLS-1$
+        requestExecutor = Executors.newCachedThreadPool( runnable -> {
+            final Thread requestThread = new Thread( runnable, "Replay Server" ); //$NON-NLS-1$
+            requestThread.setDaemon( true );
+            return requestThread;
+        } );
+        httpServer.setExecutor( requestExecutor );
+    }
+
+    /**
+     * Makes a Replay Server for the traffic in an archive.
+     *
+     * @param archivePath The path of the archive file
+     * @param port The local port to listen on, or 0 for any free port
+     * @param matchedHeaderNames The names of the request headers that must
+     *                           also match, beyond the method and URI
+     * @return The Replay Server, not yet started
+     * @throws IOException If the archive can't be read or the port bound
+     */
+    public static ReplayServer open( final Path archivePath,
+                                     final int port,
+                                     final String... matchedHeaderNames )
+            throws IOException {
+        return new ReplayServer( TrafficArchive.read( archivePath ).getTrafficRecords(),
+                                 port,
+                                 matchedHeaderNames );
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop( 0 );
+        requestExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the base URL that servlet URLs should be redirected to, in
+     * place of the scheme, host and port of the recorded servers.
+     *
+     * @return The base URL of this server, e.g. "http://127.0.0.1:8080"
+     */
+    @SuppressWarnings("nls")
+    public String getBaseUrl() {
+        final InetSocketAddress serverAddress = httpServer.getAddress();
+        return "http://" + serverAddress.getAddress().getHostAddress() + ":"
+                + serverAddress.getPort();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Sets the factor that all recorded timings are multiplied by.
+     *
+     * @param pTimeScale The timing factor: 1 for the original timing, less to
+     *                   speed it up, or 0 to serve without any delays
+     */
+    public void setTimeScale( final double pTimeScale ) {
+        timeScale = Math.max( 0.0d, pTimeScale );
+    }
+
+    public long getNumberOfServedRequests() {
+        return numberOfServedRequests.get();
+    }
+
+    /**
+     * Returns the number of requests that had no recorded traffic to serve,
+     * which means the test drove requests that weren't recorded.
+     *
+     * @return The number of unmatched requests
+     */
+    public long getNumberOfUnmatchedRequests() {
+        return numberOfUnmatchedRequests.get();
+    }
+
+    private interface HeaderLookup {
+        String getHeader( String headerName );
+    }
+
+    private String getRequestKey( final String requestMethod,
+                                  final String requestUri,
+                                  final HeaderLookup headerLookup ) {
+        final StringBuilder requestKey = new StringBuilder( requestMethod ).append( ' ' )
+                .append( requestUri );
+        for ( final String matchedHeaderName : matchedHeaderNames ) {
+            requestKey.append( '\n' ).append( matchedHeaderName ).append( '=' )
+                    .append( headerLookup.getHeader( matchedHeaderName ) );
+        }
+        return requestKey.toString();
+    }
+
+    private TrafficRecord nextRecordedResponse( final String requestKey ) {
+        synchronized ( recordedResponses ) {
+            final ArrayDeque< TrafficRecord > trafficRecords = recordedResponses.get( requestKey );
+            if ( trafficRecords == null ) {
+                return null;
+            }
+            return ( trafficRecords.size() > 1 ) ? trafficRecords.poll() : trafficRecords.peek();
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private void serveRequest( final HttpExchange httpExchange ) throws IOException {
+        try {
+            // Drain the request body, which isn't part of the match.
+            try ( final InputStream requestBody = httpExchange.getRequestBody() ) {
+                final byte[] buffer = new byte[ CHUNK_SIZE ];
+                while ( requestBody.read( buffer ) >= 0 ) {
+                    // Discard.
+                }
+            }
+
+            final String requestKey = getRequestKey( httpExchange.getRequestMethod(),
+                                                     httpExchange.getRequestURI().toString(),
+                                                     httpExchange.getRequestHeaders()::getFirst );
+            final TrafficRecord trafficRecord = nextRecordedResponse( requestKey );
+            if ( trafficRecord == null ) {
+                numberOfUnmatchedRequests.incrementAndGet();
+                final byte[] errorBody = ( "No recorded response for " + requestKey )
+                        .getBytes( StandardCharsets.UTF_8 );
+                httpExchange.sendResponseHeaders( 404, errorBody.length );
+                try ( final OutputStream responseBody = httpExchange.getResponseBody() ) {
+                    responseBody.write( errorBody );
+                }
+                return;
+            }
+            numberOfServedRequests.incrementAndGet();
+
+            // Hold the response back for as long as the server took to answer.
+            final long requestStartNanos = System.nanoTime();
+            final double scale = timeScale;
+            sleepUntil( requestStartNanos
+                    + ( long ) ( trafficRecord.getFirstByteNanos() * scale ) );
+
+            for ( final Map.Entry< String, String > responseHeader : trafficRecord
+                    .getResponseHeaders().entrySet() ) {
+                httpExchange.getResponseHeaders().set( responseHeader.getKey(),
+                                                       responseHeader.getValue() );
+            }
+            final byte[] body = trafficRecord.getResponseBody();
+            httpExchange.sendResponseHeaders( trafficRecord.getResponseCode(),
+                                              ( body.length > 0 ) ? body.length : -1L );
+
+            // Pace the body out over the recorded transfer time.
+            final long bodyStartNanos = System.nanoTime();
+            final long transferNanos = ( long ) ( ( trafficRecord.getCompletionNanos()
+                    - trafficRecord.getFirstByteNanos() ) * scale );
+            try ( final OutputStream responseBody = httpExchange.getResponseBody() ) {
+                for ( int offset = 0; offset < body.length; offset += CHUNK_SIZE ) {
+                    final int length = Math.min( CHUNK_SIZE, body.length - offset );
+                    responseBody.write( body, offset, length );
+                    if ( transferNanos > 0L ) {
+                        responseBody.flush();
+                        sleepUntil( bodyStartNanos + ( long ) ( transferNanos
+                                * ( ( double ) ( offset + length ) / body.length ) ) );
+                    }
+                }
+            }
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            httpExchange.close();
+        }
+    }
+
+    private static void sleepUntil( final long deadlineNanos ) throws InterruptedException {
+        final long remainingNanos = deadlineNanos - System.nanoTime();
+        if ( remainingNanos > 0L ) {
+            TimeUnit.NANOSECONDS.sleep( remainingNanos );
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads the compact archives written by a Traffic Recorder.
+ * <p>
+ * Archive layout: a magic number and format version (8 bytes) and the wall
+ * clock time that the recording started (8 bytes), followed by a deflated
+ * stream of records. Each record holds its timing, request and response, but
+ * a response body that repeats an earlier one is stored as a reference to it
+ * rather than again, as polled data often doesn't change between requests.
+ * A record type of zero marks the end of a cleanly closed archive.
+ */
+public final class TrafficArchive {
+
+    /** The magic number that starts every archive ("FXTA"). */
+    static final int MAGIC_NUMBER = 0x46585441;
+
+    /** The version of the archive layout. */
+    static final int FORMAT_VERSION = 1;
+
+    /** Record type for the end of the archive. */
+    static final byte RECORD_TYPE_END = 0;
+
+    /** Record type for one recorded request and response. */
+    static final byte RECORD_TYPE_TRAFFIC = 1;
+
+    /** The body reference that means the body follows inline. */
+    static final int INLINE_BODY = -1;
+
+    /** The largest string or body that is accepted, as a guard against corruption. */
+    static final int MAXIMUM_FIELD_SIZE = 256 * 1024 * 1024;
+
+    /** The wall clock time that the recording started. */
+    private final long recordingStartMillis;
+
+    /** The recorded traffic, in the order it was recorded. */
+    private final List< TrafficRecord > trafficRecords;
+
+    /** Flag for whether the archive was cut short, e.g. by a crash. */
+    private final boolean truncated;
+
+    private TrafficArchive( final long pRecordingStartMillis,
+                            final List< TrafficRecord > pTrafficRecords,
+                            final boolean pTruncated ) {
+        recordingStartMillis = pRecordingStartMillis;
+        trafficRecords = Collections.unmodifiableList( pTrafficRecords );
+        truncated = pTruncated;
+    }
+
+    /**
+     * Reads a whole archive into memory.
+     * <p>
+     * NOTE: An archive that was never closed (e.g. after a crash) is read up
+     *  to its last complete record, and reported as truncated.
+     *
+     * @param archivePath The path of the archive file
+     * @return The archive's recorded traffic
+     * @throws IOException If the file can't be read or isn't an archive
+     */
+    @SuppressWarnings("nls")
+    public static TrafficArchive read( final Path archivePath ) throws IOException {
+        try ( final InputStream inputStream = new BufferedInputStream( Files
+                .newInputStream( archivePath ) );
+                final DataInputStream headerInputStream = new DataInputStream( inputStream ) ) {
+            if ( ( headerInputStream.readInt() != MAGIC_NUMBER )
+                    || ( headerInputStream.readInt() != FORMAT_VERSION ) ) {
+                throw new IOException( "Not a traffic archive: " + archivePath );
+            }
+            final long recordingStartMillis = headerInputStream.readLong();
+
+            final DataInputStream dataInputStream = new DataInputStream(
+                    new InflaterInputStream( inputStream ) );
+            final List< TrafficRecord > trafficRecords = new ArrayList<>();
+            boolean truncated = true;
+            try {
+                while ( true ) {
+                    final byte recordType = dataInputStream.readByte();
+                    if ( recordType == RECORD_TYPE_END ) {
+                        truncated = false;
+                        break;
+                    }
+                    if ( recordType != RECORD_TYPE_TRAFFIC ) {
+                        throw new IOException( "Corrupt traffic archive: " + archivePath );
+                    }
+                    trafficRecords.add( readRecord( dataInputStream, trafficRecords ) );
+                }
+            }
+            catch ( final EOFException eofe ) {
+                // Keep the records that were complete before the cut.
+            }
+
+            return new TrafficArchive( recordingStartMillis, trafficRecords, truncated );
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private static TrafficRecord readRecord( final DataInputStream dataInputStream,
+                                             final List< TrafficRecord > previousRecords )
+            throws IOException {
+        final long startOffsetMillis = dataInputStream.readLong();
+        final long firstByteNanos = dataInputStream.readLong();
+        final long completionNanos = dataInputStream.readLong();
+        final String requestMethod = readString( dataInputStream );
+        final String requestUri = readString( dataInputStream );
+        final Map< String, String > requestHeaders = readHeaders( dataInputStream );
+        final byte[] encodedRequestParameters = readBytes( dataInputStream );
+        final int responseCode = dataInputStream.readInt();
+        final Map< String, String > responseHeaders = readHeaders( dataInputStream );
+
+        final int bodyReference = dataInputStream.readInt();
+        final byte[] responseBody;
+        if ( bodyReference == INLINE_BODY ) {
+            responseBody = readBytes( dataInputStream );
+        }
+        else if ( ( bodyReference >= 0 ) && ( bodyReference < previousRecords.size() ) ) {
+            responseBody = previousRecords.get( bodyReference ).getResponseBody();
+        }
+        else {
+            throw new IOException( "Corrupt traffic archive: bad body reference" );
+        }
+
+        return new TrafficRecord( startOffsetMillis,
+                                  requestMethod,
+                                  requestUri,
+                                  requestHeaders,
+                                  encodedRequestParameters,
+                                  responseCode,
+                                  responseHeaders,
+                                  responseBody,
+                                  firstByteNanos,
+                                  completionNanos );
+    }
+
+    private static Map< String, String > readHeaders( final DataInputStream dataInputStream )
+            throws IOException {
+        final int numberOfHeaders = readLength( dataInputStream );
+        final Map< String, String > headers = new LinkedHashMap<>( 2 * numberOfHeaders );
+        for ( int i = 0; i < numberOfHeaders; i++ ) {
+            final String headerName = readString( dataInputStream );
+            headers.put( headerName, readString( dataInputStream ) );
+        }
+        return headers;
+    }
+
+    private static String readString( final DataInputStream dataInputStream )
+            throws IOException {
+        final byte[] stringBytes = readBytes( dataInputStream );
+        return ( stringBytes != null ) ? new String( stringBytes, StandardCharsets.UTF_8 ) : null;
+    }
+
+    private static byte[] readBytes( final DataInputStream dataInputStream ) throws IOException {
+        final int length = dataInputStream.readInt();
+        if ( length < 0 ) {
+            return null;
+        }
+        if ( length > MAXIMUM_FIELD_SIZE ) {
+            throw new IOException( "Corrupt traffic archive: field too large" );
+        }
+        final byte[] bytes = new byte[ length ];
+        dataInputStream.readFully( bytes );
+        return bytes;
+    }
+
+    private static int readLength( final DataInputStream dataInputStream ) throws IOException {
+        final int length = dataInputStream.readInt();
+        if ( ( length < 0 ) || ( length > MAXIMUM_FIELD_SIZE ) ) {
+            throw new IOException( "Corrupt traffic archive: bad count" );
+        }
+        return length;
+    }
+
+    static void writeHeaders( final DataOutputStream dataOutputStream,
+                              final Map< String, String > headers )
+            throws IOException {
+        dataOutputStream.writeInt( headers.size() );
+        for ( final Map.Entry< String, String > header : headers.entrySet() ) {
+            writeString( dataOutputStream, header.getKey() );
+            writeString( dataOutputStream, header.getValue() );
+        }
+    }
+
+    static void writeString( final DataOutputStream dataOutputStream, final String string )
+            throws IOException {
+        writeBytes( dataOutputStream,
+                    ( string != null ) ? string.getBytes( StandardCharsets.UTF_8 ) : null );
+    }
+
+    static void writeBytes( final DataOutputStream dataOutputStream, final byte[] bytes )
+            throws IOException {
+        if ( bytes == null ) {
+            dataOutputStream.writeInt( -1 );
+            return;
+        }
+        dataOutputStream.writeInt( bytes.length );
+        dataOutputStream.write( bytes );
+    }
+
+    public long getRecordingStartMillis() {
+        return recordingStartMillis;
+    }
+
+    public List< TrafficRecord > getTrafficRecords() {
+        return trafficRecords;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.replay;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One recorded request to a servlet, along with the response it got and how
+ * long the server took to produce it.
+ * <p>
+ * NOTE: Header names are kept as recorded; multiple values of one header are
+ *  joined with commas, as allowed by HTTP.
+ */
+public final class TrafficRecord {
+
+    /** When the request was sent, relative to the start of the recording. */
+    private final long startOffsetMillis;
+
+    private final String requestMethod;
+
+    /** The path and query of the request URL. */
+    private final String requestUri;
+
+    private final Map< String, String > requestHeaders;
+
+    /** The codec-encoded Data Request Parameters, or null if not recorded. */
+    private final byte[] encodedRequestParameters;
+
+    private final int responseCode;
+
+    private final Map< String, String > responseHeaders;
+
+    private final byte[] responseBody;
+
+    /** The time from sending the request until the response headers arrived. */
+    private final long firstByteNanos;
+
+    /** The time from sending the request until the response body was read. */
+    private final long completionNanos;
+
+    /**
+     * Makes a Traffic Record with all parameters specified.
+     *
+     * @param pStartOffsetMillis When the request was sent, relative to the
+     *                           start of the recording
+     * @param pRequestMethod The HTTP method of the request
+     * @param pRequestUri The path and query of the request URL
+     * @param pRequestHeaders The headers of the request
+     * @param pEncodedRequestParameters The codec-encoded Data Request
+     *                                  Parameters, or null if not recorded
+     * @param pResponseCode The HTTP status code of the response
+     * @param pResponseHeaders The headers of the response
+     * @param pResponseBody The body of the response
+     * @param pFirstByteNanos The time until the response headers arrived
+     * @param pCompletionNanos The time until the response body was read
+     */
+    public TrafficRecord( final long pStartOffsetMillis,
+                          final String pRequestMethod,
+                          final String pRequestUri,
+                          final Map< String, String > pRequestHeaders,
+                          final byte[] pEncodedRequestParameters,
+                          final int pResponseCode,
+                          final Map< String, String > pResponseHeaders,
+                          final byte[] pResponseBody,
+                          final long pFirstByteNanos,
+                          final long pCompletionNanos ) {
+        startOffsetMillis = pStartOffsetMillis;
+        requestMethod = pRequestMethod;
+        requestUri = pRequestUri;
+        requestHeaders = Collections.unmodifiableMap( new LinkedHashMap<>( pRequestHeaders ) );
+        encodedRequestParameters = pEncodedRequestParameters;
+        responseCode = pResponseCode;
+        responseHeaders = Collections.unmodifiableMap( new LinkedHashMap<>( pResponseHeaders ) );
+        responseBody = pResponseBody;
+        firstByteNanos = pFirstByteNanos;
+        completionNanos = Math.max( pFirstByteNanos, pCompletionNanos );
+    }
+
+    public long getStartOffsetMillis() {
+        return startOffsetMillis;
+    }
+
+    public String getRequestMethod() {
+        return requestMethod;
+    }
+
+    public String getRequestUri() {
+        return requestUri;
+    }
+
+    public Map< String, String > getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Returns the request header with the given name, ignoring case as HTTP
+     * header names are case-insensitive.
+     *
+     * @param headerName The name of the request header
+     * @return The value of the request header, or null if it wasn't sent
+     */
+    public String getRequestHeader( final String headerName ) {
+        for ( final Map.Entry< String, String > requestHeader : requestHeaders.entrySet() ) {
+            if ( requestHeader.getKey().equalsIgnoreCase( headerName ) ) {
+                return requestHeader.getValue();
+            }
+        }
+        return null;
+    }
+
+    public byte[] getEncodedRequestParameters() {
+        return encodedRequestParameters;
+    }
+
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    public Map< String, String > getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    public long getCompletionNanos() {
+        return completionNanos;
+    }
+}
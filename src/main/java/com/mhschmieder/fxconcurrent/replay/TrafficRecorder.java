@@ -0,0 +1,387 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.replay;
+
+import com.mhschmieder.fxconcurrent.journal.DataRequestCodec;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Records live servlet traffic (request headers and parameters, response
+ * bodies and timings) to a compact archive, for replay by a Replay Server.
+ * <p>
+ * Every record is flushed through the compressor as it is written, so an
+ * archive that is cut short by a crash can still be read up to its last
+ * complete record.
+ * <p>
+ * NOTE: The raw request body is written by the Data Request Parameters
+ *  straight to the connection, so it isn't captured; instead, the parameters
+ *  themselves are recorded via the application's codec if one is supplied.
+ *  Standard credential headers are left out, but any application-specific
+ *  ones are recorded, so archives should be treated as sensitive.
+ */
+public final class TrafficRecorder implements Closeable {
+
+    /** Request headers that carry credentials, so are never recorded. */
+    @SuppressWarnings("nls")
+    private static final String[] UNRECORDED_REQUEST_HEADERS = {
+        "Authorization", "Cookie", "Proxy-Authorization" };
+
+    /** Response headers that are per-connection, so aren't replayed. */
+    @SuppressWarnings("nls")
+    private static final String[] UNRECORDED_RESPONSE_HEADERS = {
+        "Connection", "Content-Length", "Keep-Alive", "Transfer-Encoding" };
+
+    /** The stream that records are compressed into. */
+    private final DataOutputStream dataOutputStream;
+
+    /** The codec for recording request parameters, or null for none. */
+    private final DataRequestCodec dataRequestCodec;
+
+    /** The wall clock time that the recording started. */
+    private final long recordingStartMillis;
+
+    /** The digest that response bodies are identified by. */
+    private final MessageDigest bodyDigest;
+
+    /**
+     * The index of the first record with each response body, keyed by the
+     * body's SHA-256 digest, as a weaker checksum could let two different
+     * bodies collide and silently corrupt the replay of one of them.
+     */
+    private final Map< ByteBuffer, Integer > responseBodyIndices;
+
+    private int numberOfRecords;
+    private long numberOfBodyBytes;
+    private long numberOfDeduplicatedBodyBytes;
+    private boolean closed;
+
+    /**
+     * Makes a Traffic Recorder that writes a new archive, replacing any
+     * existing file at that path.
+     *
+     * @param archivePath The path of the archive file
+     * @param pDataRequestCodec The codec for recording the Data Request
+     *                          Parameters of each request, or null for none
+     * @throws IOException If the archive can't be created
+     */
+    public TrafficRecorder( final Path archivePath,
+                            final DataRequestCodec pDataRequestCodec )
+            throws IOException {
+        dataRequestCodec = pDataRequestCodec;
+        recordingStartMillis = System.currentTimeMillis();
+        try {
+            bodyDigest = MessageDigest.getInstance( "SHA-256" ); //$NON-NLS-1$
+        }
+        catch ( final NoSuchAlgorithmException nsae ) {
+            throw new IOException( nsae );
+        }
+        responseBodyIndices = new HashMap<>();
+        numberOfRecords = 0;
+        numberOfBodyBytes = 0L;
+        numberOfDeduplicatedBodyBytes = 0L;
+        closed = false;
+
+        final Path parentDirectory = archivePath.toAbsolutePath().getParent();
+        if ( parentDirectory != null ) {
+            Files.createDirectories( parentDirectory );
+        }
+
+        final OutputStream outputStream = new BufferedOutputStream( Files
+                .newOutputStream( archivePath ) );
+        final DataOutputStream headerOutputStream = new DataOutputStream( outputStream );
+        headerOutputStream.writeInt( TrafficArchive.MAGIC_NUMBER );
+        headerOutputStream.writeInt( TrafficArchive.FORMAT_VERSION );
+        headerOutputStream.writeLong( recordingStartMillis );
+
+        dataOutputStream = new DataOutputStream( new DeflaterOutputStream(
+                outputStream, new Deflater( Deflater.BEST_COMPRESSION ), 8192, true ) );
+    }
+
+    /**
+     * Records one request and its response.
+     *
+     * @param requestStartMillis The wall clock time the request was sent
+     * @param requestMethod The HTTP method of the request
+     * @param requestUrl The URL of the request
+     * @param requestHeaders The headers of the request, as recorded from the
+     *                       connection before it was connected
+     * @param dataRequestParameters The parameters of the request, or null
+     * @param responseCode The HTTP status code of the response
+     * @param responseHeaders The headers of the response
+     * @param responseBody The body of the response, or null if not available
+     * @param firstByteNanos The time until the response headers arrived
+     * @param completionNanos The time until the response body was read
+     * @throws IOException If the record can't be written
+     */
+    public synchronized void record( final long requestStartMillis,
+                                     final String requestMethod,
+                                     final URL requestUrl,
+                                     final Map< String, List< String > > requestHeaders,
+                                     final DataRequestParameters dataRequestParameters,
+                                     final int responseCode,
+                                     final Map< String, List< String > > responseHeaders,
+                                     final byte[] responseBody,
+                                     final long firstByteNanos,
+                                     final long completionNanos )
+            throws IOException {
+        if ( closed ) {
+            return;
+        }
+
+        final byte[] body = ( responseBody != null ) ? responseBody : new byte[ 0 ];
+        final byte[] bodyHash = bodyDigest.digest( body );
+
+        writeRecord( requestStartMillis,
+                     requestMethod,
+                     requestUrl,
+                     requestHeaders,
+                     dataRequestParameters,
+                     responseCode,
+                     responseHeaders,
+                     bodyHash,
+                     body.length,
+                     outputStream -> outputStream.write( body ),
+                     firstByteNanos,
+                     completionNanos );
+    }
+
+    /**
+     * Records one request and its response, streaming the body from a file
+     * rather than loading it all into memory.
+     *
+     * @param requestStartMillis The wall clock time the request was sent
+     * @param requestMethod The HTTP method of the request
+     * @param requestUrl The URL of the request
+     * @param requestHeaders The headers of the request, as recorded from the
+     *                       connection before it was connected
+     * @param dataRequestParameters The parameters of the request, or null
+     * @param responseCode The HTTP status code of the response
+     * @param responseHeaders The headers of the response
+     * @param responseBodyFile The file holding the body of the response
+     * @param firstByteNanos The time until the response headers arrived
+     * @param completionNanos The time until the response body was read
+     * @throws IOException If the file can't be read, is too large for an
+     *                     archive, or the record can't be written
+     */
+    public synchronized void record( final long requestStartMillis,
+                                     final String requestMethod,
+                                     final URL requestUrl,
+                                     final Map< String, List< String > > requestHeaders,
+                                     final DataRequestParameters dataRequestParameters,
+                                     final int responseCode,
+                                     final Map< String, List< String > > responseHeaders,
+                                     final Path responseBodyFile,
+                                     final long firstByteNanos,
+                                     final long completionNanos )
+            throws IOException {
+        if ( closed ) {
+            return;
+        }
+
+        // Check the body before anything is written, so that a failure can't
+        // leave a partial record behind.
+        final long bodyLength = Files.size( responseBodyFile );
+        if ( bodyLength > TrafficArchive.MAXIMUM_FIELD_SIZE ) {
+            throw new IOException( "Response body too large to record: " + bodyLength
+                    + " bytes" );
+        }
+
+        // Hash the file in a first pass, as it is only copied if it is new.
+        final byte[] transferBuffer = new byte[ 8192 ];
+        bodyDigest.reset();
+        try ( final InputStream inputStream = Files.newInputStream( responseBodyFile ) ) {
+            int numberOfBytesRead;
+            while ( ( numberOfBytesRead = inputStream.read( transferBuffer ) ) != -1 ) {
+                bodyDigest.update( transferBuffer, 0, numberOfBytesRead );
+            }
+        }
+        final byte[] bodyHash = bodyDigest.digest();
+
+        writeRecord( requestStartMillis,
+                     requestMethod,
+                     requestUrl,
+                     requestHeaders,
+                     dataRequestParameters,
+                     responseCode,
+                     responseHeaders,
+                     bodyHash,
+                     bodyLength,
+                     outputStream -> Files.copy( responseBodyFile, outputStream ),
+                     firstByteNanos,
+                     completionNanos );
+    }
+
+    /**
+     * Writes the body of a record to the archive.
+     */
+    @FunctionalInterface
+    private interface BodyWriter {
+        void writeTo( OutputStream outputStream ) throws IOException;
+    }
+
+    private void writeRecord( final long requestStartMillis,
+                              final String requestMethod,
+                              final URL requestUrl,
+                              final Map< String, List< String > > requestHeaders,
+                              final DataRequestParameters dataRequestParameters,
+                              final int responseCode,
+                              final Map< String, List< String > > responseHeaders,
+                              final byte[] bodyHash,
+                              final long bodyLength,
+                              final BodyWriter bodyWriter,
+                              final long firstByteNanos,
+                              final long completionNanos )
+            throws IOException {
+        final byte[] encodedRequestParameters = ( ( dataRequestCodec != null )
+                && ( dataRequestParameters != null ) )
+            ? dataRequestCodec.encode( dataRequestParameters )
+            : null;
+
+        dataOutputStream.writeByte( TrafficArchive.RECORD_TYPE_TRAFFIC );
+        dataOutputStream.writeLong( Math.max( 0L, requestStartMillis - recordingStartMillis ) );
+        dataOutputStream.writeLong( firstByteNanos );
+        dataOutputStream.writeLong( completionNanos );
+        TrafficArchive.writeString( dataOutputStream, requestMethod );
+        TrafficArchive.writeString( dataOutputStream, requestUrl.getFile() );
+        TrafficArchive.writeHeaders( dataOutputStream,
+                                     flattenHeaders( requestHeaders,
+                                                     UNRECORDED_REQUEST_HEADERS ) );
+        TrafficArchive.writeBytes( dataOutputStream, encodedRequestParameters );
+        dataOutputStream.writeInt( responseCode );
+        TrafficArchive.writeHeaders( dataOutputStream,
+                                     flattenHeaders( responseHeaders,
+                                                     UNRECORDED_RESPONSE_HEADERS ) );
+
+        // Refer back to an identical earlier body rather than storing it again.
+        final ByteBuffer bodyKey = ByteBuffer.wrap( bodyHash );
+        final Integer bodyIndex = responseBodyIndices.get( bodyKey );
+        if ( bodyIndex != null ) {
+            dataOutputStream.writeInt( bodyIndex );
+            numberOfDeduplicatedBodyBytes += bodyLength;
+        }
+        else {
+            dataOutputStream.writeInt( TrafficArchive.INLINE_BODY );
+            dataOutputStream.writeInt( ( int ) bodyLength );
+            bodyWriter.writeTo( dataOutputStream );
+            responseBodyIndices.put( bodyKey, numberOfRecords );
+        }
+        numberOfBodyBytes += bodyLength;
+        numberOfRecords++;
+
+        dataOutputStream.flush();
+    }
+
+    private static Map< String, String > flattenHeaders( final Map< String, List< String > > headers,
+                                                         final String[] excludedHeaderNames ) {
+        final Map< String, String > flattenedHeaders = new LinkedHashMap<>();
+        if ( headers == null ) {
+            return flattenedHeaders;
+        }
+
+        for ( final Map.Entry< String, List< String > > header : headers.entrySet() ) {
+            // The status line is reported under a null header name.
+            if ( ( header.getKey() != null ) && ( header.getValue() != null )
+                    && !isExcludedHeader( header.getKey(), excludedHeaderNames ) ) {
+                flattenedHeaders.put( header.getKey(), String.join( ", ", header.getValue() ) ); //$NON-NLS-1$
+            }
+        }
+        return flattenedHeaders;
+    }
+
+    private static boolean isExcludedHeader( final String headerName,
+                                             final String[] excludedHeaderNames ) {
+        if ( excludedHeaderNames != null ) {
+            for ( final String excludedHeaderName : excludedHeaderNames ) {
+                if ( excludedHeaderName.equalsIgnoreCase( headerName ) ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ends the archive cleanly; later records are silently dropped.
+     *
+     * @throws IOException If the archive can't be finished
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if ( closed ) {
+            return;
+        }
+        closed = true;
+
+        dataOutputStream.writeByte( TrafficArchive.RECORD_TYPE_END );
+        dataOutputStream.close();
+    }
+
+    public long getRecordingStartMillis() {
+        return recordingStartMillis;
+    }
+
+    public synchronized int getNumberOfRecords() {
+        return numberOfRecords;
+    }
+
+    public synchronized long getNumberOfBodyBytes() {
+        return numberOfBodyBytes;
+    }
+
+    /**
+     * Returns how many response body bytes were not stored because they
+     * repeated an earlier response body.
+     *
+     * @return The number of deduplicated response body bytes
+     */
+    public synchronized long getNumberOfDeduplicatedBodyBytes() {
+        return numberOfDeduplicatedBodyBytes;
+    }
+}
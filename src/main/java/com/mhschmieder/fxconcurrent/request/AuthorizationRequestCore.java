@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import com.mhschmieder.jcommons.net.AuthorizationServerResponse;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.net.NetworkUtilities;
+import com.mhschmieder.jcommons.security.LoginCredentials;
+import com.mhschmieder.jcommons.security.ServerLoginCredentials;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.Callable;
+
+/**
+ * The toolkit-independent core of a server authorization request, which runs
+ * on any thread; the JavaFX Authorization Request Task is a thin adapter
+ * over it.
+ */
+public class AuthorizationRequestCore implements Callable< AuthorizationServerResponse > {
+
+    /** The default Request Type name that this request passes to the server. */
+    @SuppressWarnings("nls") public static final String AUTHORIZATION_REQUEST_TYPE_DEFAULT = "Authorize User";
+
+    /** The Request Type name that this request will pass to the server. */
+    private String authorizationRequestType;
+
+    /** Cache the Login Credentials to use for authorizing the request. */
+    protected final LoginCredentials loginCredentials;
+
+    /**
+     * Cache the Server Request Properties (Build ID, Client Type, etc.).
+     */
+    protected final HttpServletRequestProperties httpServletRequestProperties;
+
+    /**
+     * Cache the Client Properties (System Type, Locale, etc.).
+     */
+    protected final ClientProperties clientProperties;
+
+    /**
+     * The screen size to send with the request.
+     */
+    private double screenWidth;
+    private double screenHeight;
+
+    public AuthorizationRequestCore( final LoginCredentials pLoginCredentials,
+                                     final HttpServletRequestProperties pServerRequestProperties,
+                                     final ClientProperties pClientProperties ) {
+        loginCredentials = pLoginCredentials;
+        httpServletRequestProperties = pServerRequestProperties;
+        clientProperties = pClientProperties;
+
+        authorizationRequestType = AUTHORIZATION_REQUEST_TYPE_DEFAULT;
+
+        screenWidth = 0.0d;
+        screenHeight = 0.0d;
+    }
+
+    /**
+     * Sets the Request Type name to pass to the server, for servers that use
+     * another name than the default for their authorization requests.
+     *
+     * @param pAuthorizationRequestType The Request Type name for the server
+     */
+    public final void setAuthorizationRequestType( final String pAuthorizationRequestType ) {
+        authorizationRequestType = pAuthorizationRequestType;
+    }
+
+    public final String getAuthorizationRequestType() {
+        return authorizationRequestType;
+    }
+
+    /**
+     * Sets the screen size to send with the request, for Full Screen Mode and
+     * user statistics; headless clients may leave it at zero.
+     *
+     * @param pScreenWidth The width of the user's screen
+     * @param pScreenHeight The height of the user's screen
+     */
+    public final void setScreenSize( final double pScreenWidth, final double pScreenHeight ) {
+        screenWidth = pScreenWidth;
+        screenHeight = pScreenHeight;
+    }
+
+    @Override
+    public AuthorizationServerResponse call() {
+        // Open a connection to the Authorization Servlet.
+        final HttpURLConnection httpURLConnection = NetworkUtilities
+                .getHttpURLConnection( httpServletRequestProperties.httpServletUrl );
+        if ( httpURLConnection == null ) {
+            final String urlConnectionStatus =
+                                             "Server Connection Error: Authorization Service Not Found"; //$NON-NLS-1$
+            final AuthorizationServerResponse authorizationServerResponse =
+                                                                          new AuthorizationServerResponse( urlConnectionStatus,
+                                                                                                           null,
+                                                                                                           true,
+                                                                                                           null,
+                                                                                                           ServerLoginCredentials.EXPIRATION_DATE_DEFAULT,
+                                                                                                           null,
+                                                                                                           HttpURLConnection.HTTP_UNAVAILABLE );
+            return authorizationServerResponse;
+        }
+
+        // Add the HTTP request properties for the Authorization Servlet.
+        NetworkUtilities.addServerRequestProperties( httpURLConnection,
+                                                     authorizationRequestType,
+                                                     loginCredentials,
+                                                     httpServletRequestProperties,
+                                                     clientProperties,
+                                                     screenWidth,
+                                                     screenHeight );
+
+        // Request a user authorization based on Login Credentials.
+        final String servletErrorMessage = NetworkUtilities.connectToServlet( httpURLConnection,
+                                                                              "authorization" ); //$NON-NLS-1$
+        if ( servletErrorMessage != null ) {
+            final AuthorizationServerResponse authorizationServerResponse =
+                                                                          new AuthorizationServerResponse( null,
+                                                                                                           servletErrorMessage,
+                                                                                                           true,
+                                                                                                           null,
+                                                                                                           ServerLoginCredentials.EXPIRATION_DATE_DEFAULT,
+                                                                                                           null,
+                                                                                                           HttpURLConnection.HTTP_UNAVAILABLE );
+            return authorizationServerResponse;
+        }
+
+        // Handle the authorization servlet's HTTP status, and echo the
+        // formatted error response to the user if an HTTP error code is
+        // detected and/or the authorization failed.
+        final AuthorizationServerResponse authorizationServerResponse = NetworkUtilities
+                .getAuthorizationServerResponse( httpURLConnection );
+        final String serverStatusMessage = authorizationServerResponse.getServerStatusMessage();
+        if ( serverStatusMessage != null ) {
+            authorizationServerResponse.setServerStatusMessage( serverStatusMessage );
+            authorizationServerResponse
+                    .setHttpResponseCode( authorizationServerResponse.getHttpResponseCode() );
+        }
+
+        return authorizationServerResponse;
+    }
+}
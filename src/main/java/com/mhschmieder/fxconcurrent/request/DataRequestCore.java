@@ -0,0 +1,1806 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2024 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import com.mhschmieder.fxconcurrent.io.ByteArrayResponseSink;
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.io.ByteBufferPool;
+import com.mhschmieder.fxconcurrent.io.FileResponseSink;
+import com.mhschmieder.fxconcurrent.io.PooledResponseBody;
+import com.mhschmieder.fxconcurrent.io.RangeConnector;
+import com.mhschmieder.fxconcurrent.io.RangeDownloader;
+import com.mhschmieder.fxconcurrent.io.ResponseChangeTracker;
+import com.mhschmieder.fxconcurrent.io.ResponseChecksum;
+import com.mhschmieder.fxconcurrent.io.ResponseFingerprint;
+import com.mhschmieder.fxconcurrent.io.ResponseSink;
+import com.mhschmieder.fxconcurrent.io.SegmentedDownloadOptions;
+import com.mhschmieder.fxconcurrent.metrics.RequestMetrics;
+import com.mhschmieder.fxconcurrent.net.AdaptiveConcurrencyLimiter;
+import com.mhschmieder.fxconcurrent.net.ConcurrencyLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.RateLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.ServletEndpoint;
+import com.mhschmieder.fxconcurrent.net.ServletEndpointGroup;
+import com.mhschmieder.fxconcurrent.pipeline.ResponsePipeline;
+import com.mhschmieder.fxconcurrent.pipeline.ResponsePipelineRun;
+import com.mhschmieder.fxconcurrent.replay.TrafficRecorder;
+import com.mhschmieder.jcommons.io.IoUtilities;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.net.NetworkUtilities;
+import com.mhschmieder.jcommons.security.LoginCredentials;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import com.mhschmieder.jcommons.util.DataUpdateType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * The toolkit-independent core of a server data request, which speaks the
+ * data servlet protocol and carries out every optional request layer feature
+ * (endpoint balancing, limits, budgets, range downloads, pipelines, etc.).
+ * <p>
+ * This runs on any thread, such as in a plain Java executor on a headless
+ * batch server, and reports its progress to a Request Progress Listener; the
+ * JavaFX Data Request Task is a thin adapter over it.
+ * <p>
+ * NOTE: Each core is meant for one request, just like a Task, as it holds
+ *  the outcome of its request (response file, fingerprint, etc.).
+ */
+public class DataRequestCore implements Callable< DataServerResponse > {
+
+    /** The smallest step that a reservation on the Byte Budget grows by. */
+    private static final long BYTE_BUDGET_GROWTH_STEP = 256L * 1024L;
+
+    /**
+     * Cache the Server Request Properties (Build ID, Request Type, etc.).
+     */
+    protected final HttpServletRequestProperties httpServletRequestProperties;
+    
+    /**
+     * Cache the Data Request Parameters (Login Credentials, Data Type, etc.).
+     */
+    protected final DataRequestParameters dataRequestParameters;
+
+    /**
+     * Cache the Client Properties (System Type, Locale, etc.).
+     */
+    protected final ClientProperties clientProperties;
+
+    /**
+     * Optional pipeline of post-processing stages (decompress, parse, publish,
+     * etc.) that consume the response in chunks while it is downloading.
+     * <p>
+     * NOTE: When a pipeline is attached, the stages own the response data, so
+     *  the Server Response Data is not also accumulated in the response.
+     */
+    protected ResponsePipeline responsePipeline;
+
+    /**
+     * Optional pool of reusable buffers for reading the response body, which
+     * avoids the growth buffers of a plain byte array download.
+     */
+    protected ByteBufferPool responseBufferPool;
+
+    /**
+     * Flag for whether a pooled response body is also copied into the Server
+     * Response Data byte array, or is instead handed to the consumer as-is.
+     */
+    protected boolean materializeResponseData;
+
+    /**
+     * The pooled response body of the last run, if it wasn't materialized.
+     */
+    private volatile PooledResponseBody responseBody;
+
+    /**
+     * The connection that is currently in use, so that cancellation from
+     * another thread can abort any blocking connect, upload or read on it.
+     */
+    private volatile HttpURLConnection activeConnection;
+
+    /**
+     * Optional settings for resumable and parallel byte range downloads.
+     */
+    protected SegmentedDownloadOptions segmentedDownloadOptions;
+
+    /**
+     * A byte range request that is in flight, along with the endpoint that it
+     * counts against and how long the endpoint took to answer it.
+     */
+    private static final class RangeRequest {
+        final ServletEndpoint servletEndpoint;
+        long latencyNanos;
+
+        RangeRequest( final ServletEndpoint pServletEndpoint ) {
+            servletEndpoint = pServletEndpoint;
+            latencyNanos = 0L;
+        }
+    }
+
+    /**
+     * The extra connections opened for byte ranges, so that cancellation can
+     * abort them along with the main connection.
+     */
+    private final Map< HttpURLConnection, RangeRequest > rangeConnections;
+
+    /**
+     * The file holding the response, if it was downloaded to a file-backed
+     * store rather than into the Server Response Data.
+     */
+    private volatile Path responseFile;
+
+    /**
+     * The throughput of the last byte range download, in bytes per second.
+     */
+    private volatile double downloadThroughput;
+
+    /**
+     * Optional set of equivalent servlet endpoints to balance requests across.
+     */
+    protected ServletEndpointGroup servletEndpointGroup;
+
+    /**
+     * The endpoint that this request was sent to, if balancing is enabled.
+     */
+    private ServletEndpoint servletEndpoint;
+
+    /**
+     * The servlet URL that this request was sent to.
+     */
+    private volatile String servletUrl;
+
+    /**
+     * The time at which the request to the current endpoint started, once
+     * it is no longer waiting in line for limits or quotas.
+     */
+    private long requestStartNanos;
+
+    /**
+     * The time from connecting to the current endpoint until the response
+     * headers arrived, which is what the endpoint's latency is judged by.
+     */
+    private long responseLatencyNanos;
+
+    /**
+     * Optional registry of adaptive per-endpoint limits on in-flight requests.
+     */
+    protected ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    /**
+     * Optional registry of client-side request rate limits (quotas), kept per
+     * endpoint and per data request type.
+     */
+    protected RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * The limiter that this request currently holds a permit from, if any.
+     */
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Optional memory budget, shared across requests, to reserve the size of
+     * the response from before buffering it in memory.
+     */
+    protected ByteBudget byteBudget;
+
+    /**
+     * The number of bytes currently reserved from the Byte Budget.
+     */
+    private final AtomicLong reservedBytes;
+
+    /**
+     * Optional tracker of the previous response to each request, for telling
+     * whether this response is identical to the last one.
+     */
+    protected ResponseChangeTracker responseChangeTracker;
+
+    /**
+     * The streaming checksum of the response body, while it is downloading.
+     */
+    private ResponseChecksum responseChecksum;
+
+    /**
+     * The fingerprint of the response body, once it is fully downloaded.
+     */
+    private volatile ResponseFingerprint responseFingerprint;
+
+    /**
+     * Flag for whether the response matched the previous one to this request.
+     */
+    private volatile boolean responseUnchanged;
+
+    /**
+     * Optional metrics of request layer traffic, to report this request to.
+     */
+    protected RequestMetrics requestMetrics;
+
+    /**
+     * The size of the response body that was received, for the metrics.
+     */
+    private long numberOfResponseBytes;
+
+    /**
+     * Optional recorder of live traffic, for replay in offline testing.
+     */
+    protected TrafficRecorder trafficRecorder;
+
+    /**
+     * The request headers and start time, captured while recording traffic.
+     */
+    private Map< String, List< String > > recordedRequestHeaders;
+    private long requestStartMillis;
+
+    /**
+     * The screen size sent with the request, cached for any range requests.
+     */
+    private volatile double screenWidth;
+    private volatile double screenHeight;
+
+    /**
+     * The listener that progress is reported to while the request runs.
+     */
+    private volatile RequestProgressListener requestProgressListener;
+
+    /**
+     * Flag for whether the request has been cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * The thread that is executing the request, if any, so that cancellation
+     * can wake it from waiting on limits, quotas or budget.
+     */
+    private Thread executingThread;
+
+    /**
+     * Guards the Executing Thread, so that cancellation never interrupts a
+     * thread that has already moved on to other work.
+     */
+    private final Object executingThreadLock;
+
+    public DataRequestCore( final HttpServletRequestProperties pServerRequestProperties,
+                            final DataRequestParameters pDataRequestParameters,
+                            final ClientProperties pClientProperties ) {
+        httpServletRequestProperties = pServerRequestProperties;
+        dataRequestParameters = pDataRequestParameters;
+        clientProperties = pClientProperties;
+
+        responsePipeline = null;
+        responseBufferPool = null;
+        materializeResponseData = true;
+        responseBody = null;
+        activeConnection = null;
+        segmentedDownloadOptions = null;
+        rangeConnections = new ConcurrentHashMap<>();
+        responseFile = null;
+        downloadThroughput = 0.0d;
+        screenWidth = 0.0d;
+        screenHeight = 0.0d;
+        servletEndpointGroup = null;
+        servletEndpoint = null;
+        servletUrl = pServerRequestProperties.httpServletUrl;
+        requestStartNanos = 0L;
+        responseLatencyNanos = 0L;
+        concurrencyLimiterRegistry = null;
+        concurrencyLimiter = null;
+        rateLimiterRegistry = null;
+        requestMetrics = null;
+        numberOfResponseBytes = 0L;
+        byteBudget = null;
+        reservedBytes = new AtomicLong();
+        responseChangeTracker = null;
+        responseChecksum = null;
+        responseFingerprint = null;
+        responseUnchanged = false;
+        trafficRecorder = null;
+        recordedRequestHeaders = null;
+        requestStartMillis = 0L;
+        requestProgressListener = RequestProgressListener.NONE;
+        cancelled = false;
+        executingThread = null;
+        executingThreadLock = new Object();
+    }
+
+    /**
+     * Cancels this request and immediately disconnects its active connection,
+     * so that a thread blocked in a socket read or upload is released right
+     * away rather than after the whole transfer completes.
+     * <p>
+     * NOTE: The executing thread is interrupted as well, in case it is still
+     *  waiting in line for a concurrency limit, rate limit or memory budget,
+     *  as headless callers don't necessarily interrupt it themselves.
+     */
+    public void cancel() {
+        cancelled = true;
+        disconnectActiveConnection();
+
+        synchronized ( executingThreadLock ) {
+            if ( executingThread != null ) {
+                executingThread.interrupt();
+            }
+        }
+    }
+
+    public final boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void disconnectActiveConnection() {
+        final HttpURLConnection httpURLConnection = activeConnection;
+        if ( httpURLConnection != null ) {
+            httpURLConnection.disconnect();
+        }
+
+        for ( final HttpURLConnection rangeConnection : rangeConnections.keySet() ) {
+            rangeConnection.disconnect();
+        }
+    }
+
+    /**
+     * Runs the request without reporting its progress.
+     *
+     * @return The Data Server Response, which holds a status message if the
+     *         request failed
+     * @throws InterruptedException If the request was cancelled
+     */
+    @Override
+    public DataServerResponse call() throws InterruptedException {
+        return execute( RequestProgressListener.NONE );
+    }
+
+    /**
+     * Runs the request, reporting its progress to the given listener.
+     *
+     * @param pRequestProgressListener The listener to report progress to
+     * @return The Data Server Response, which holds a status message if the
+     *         request failed
+     * @throws InterruptedException If the request was cancelled
+     */
+    public DataServerResponse execute( final RequestProgressListener pRequestProgressListener )
+            throws InterruptedException {
+        synchronized ( executingThreadLock ) {
+            executingThread = Thread.currentThread();
+        }
+
+        try {
+            return executeRequest( pRequestProgressListener );
+        }
+        finally {
+            synchronized ( executingThreadLock ) {
+                executingThread = null;
+            }
+
+            // A cancelled request is reported via its interrupted exception,
+            // so don't leave the interrupt pending on the caller's thread.
+            if ( isCancelled() ) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private DataServerResponse executeRequest( final RequestProgressListener pRequestProgressListener )
+            throws InterruptedException {
+        requestProgressListener = pRequestProgressListener;
+
+        // Report the start of the request to any live traffic metrics.
+        final long callStartNanos = System.nanoTime();
+        if ( requestMetrics != null ) {
+            requestMetrics.onRequestStarted();
+        }
+
+        // Create an empty server response, even if it never gets set.
+        DataServerResponse dataServerResponse = new DataServerResponse();
+        String serverStatusMessage = null;
+
+        // Declare the number of sub-tasks involved.
+        final double numberOfSubTasks = 6.0d;
+
+        // Keep track of whether the server answered, for endpoint health.
+        boolean dataServiceResponded = false;
+        int httpResponseCode = -1;
+        boolean dataResponseLoaded = false;
+
+        try {
+            // Default to an initial placeholder status message.
+            updateMessage( "Searching for Data Service" );
+            updateProgress( 0.0d, numberOfSubTasks );
+
+            // Open a connection to the data servlet, failing over to another
+            // endpoint if several are configured and the chosen one is down.
+            serverStatusMessage = connectToDataService( numberOfSubTasks );
+            if ( serverStatusMessage != null ) {
+                dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                return dataServerResponse;
+            }
+            final HttpURLConnection httpURLConnection = activeConnection;
+            if ( isCancelled() || ( httpURLConnection == null ) ) {
+                return dataServerResponse;
+            }
+            updateMessage( "Server Connection Established" );
+            updateMessage( "Logging into Server and Sending Data Request" );
+            updateProgress( 2.0d, numberOfSubTasks );
+
+            // Send the optional data request input parameters to the server.
+            if ( isCancelled() ) {
+                return dataServerResponse;
+            }
+            serverStatusMessage = sendDataRequestInputParameters( httpURLConnection );
+            if ( serverStatusMessage != null ) {
+                dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                return dataServerResponse;
+            }
+
+            // Handle the data request servlet's HTTP status, and echo the
+            // formatted error response to the user if an HTTP error code is
+            // detected and/or an error message is returned.
+            // NOTE: We set to indeterminate at this point, so the user doesn't
+            // think the application is stuck/frozen.
+            updateMessage( "Waiting for Data Response from Server" );
+            // updateProgress( 3.0d, numberOfSubTasks );
+            updateProgress( -1d, numberOfSubTasks );
+            dataServerResponse = NetworkUtilities
+                    .getDataServerResponse( httpURLConnection );
+            final long firstByteNanos = System.nanoTime() - requestStartNanos;
+            responseLatencyNanos = firstByteNanos;
+            dataServiceResponded = dataServerResponse != null;
+            if ( dataServiceResponded ) {
+                httpResponseCode = httpURLConnection.getResponseCode();
+            }
+            if ( ( dataServerResponse == null )
+                    || ( dataServerResponse.getServerStatusMessage() != null )
+                    || ( dataServerResponse.getServletErrorMessage() != null ) ) {
+                recordTraffic( httpURLConnection, dataServerResponse, firstByteNanos );
+                return dataServerResponse;
+            }
+            updateMessage( "Data Response Received" );
+            if ( isCancelled() ) {
+                return dataServerResponse;
+            }
+
+            // Reserve memory for the response from the shared budget, either
+            // waiting in line or spilling to a file if it is used up.
+            final boolean spillToFile = ( byteBudget != null ) && isResponseBufferedInMemory()
+                    && !reserveByteBudget( httpURLConnection.getContentLengthLong() );
+            if ( isCancelled() ) {
+                return dataServerResponse;
+            }
+
+            // Fingerprint the response as it streams in, if it is to be
+            // compared to the previous response to the same request.
+            responseChecksum = ( responseChangeTracker != null ) ? new ResponseChecksum() : null;
+
+            // Load the data response files from the returned servlet stream.
+            updateMessage( "Loading Data Response from Server" );
+            updateProgress( 4.0d, numberOfSubTasks );
+            if ( spillToFile ) {
+                // Download to a file, as there is no memory left to buffer in.
+                serverStatusMessage = loadDataResponseIntoSpillFile( httpURLConnection );
+                if ( serverStatusMessage != null ) {
+                    dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                    return dataServerResponse;
+                }
+                updateMessage( "Data Response Loaded" );
+                updateProgress( 5.0d, numberOfSubTasks );
+            }
+            else if ( responsePipeline != null ) {
+                // Stream the response through the post-processing stages, so
+                // that parsing overlaps with the rest of the download.
+                serverStatusMessage = loadDataResponseThroughPipeline( httpURLConnection,
+                                                                       4.0d,
+                                                                       numberOfSubTasks );
+                if ( serverStatusMessage != null ) {
+                    dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                    return dataServerResponse;
+                }
+                updateMessage( "Data Response Loaded" );
+                updateProgress( 5.0d, numberOfSubTasks );
+            }
+            else if ( segmentedDownloadOptions != null ) {
+                // Download by byte ranges, so a dropped connection resumes
+                // where it left off, and large responses can be parallel.
+                serverStatusMessage = loadDataResponseByRanges( httpURLConnection,
+                                                                dataServerResponse );
+                if ( serverStatusMessage != null ) {
+                    dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                    return dataServerResponse;
+                }
+                updateMessage( "Data Response Loaded" );
+                updateProgress( 5.0d, numberOfSubTasks );
+            }
+            else if ( responseBufferPool != null ) {
+                // Read the response into reusable pooled buffers, and only
+                // allocate the final byte array if the consumer needs one.
+                serverStatusMessage = loadDataResponseIntoPooledBuffers( httpURLConnection,
+                                                                         dataServerResponse );
+                if ( serverStatusMessage != null ) {
+                    dataServerResponse.setServerStatusMessage( serverStatusMessage );
+                    return dataServerResponse;
+                }
+                updateMessage( "Data Response Loaded" );
+                updateProgress( 5.0d, numberOfSubTasks );
+            }
+            else {
+                final StringBuilder messageBuilder = new StringBuilder();
+                final byte[] serverResponseData = loadDataResponseIntoByteArray( httpURLConnection,
+                                                                                 messageBuilder );
+                if ( messageBuilder.length() > 0 ) {
+                    dataServerResponse.setServerStatusMessage( messageBuilder.toString() );
+                    return dataServerResponse;
+                }
+                updateMessage( "Data Response Loaded" );
+                updateProgress( 5.0d, numberOfSubTasks );
+
+                // Cache the Server Response Data for post-processing.
+                dataServerResponse.setServerResponseData( serverResponseData );
+                numberOfResponseBytes = ( serverResponseData != null )
+                    ? serverResponseData.length
+                    : 0L;
+                updateResponseChecksum( serverResponseData );
+            }
+
+            // Compare the response to the previous one to the same request,
+            // so that consumers can skip reprocessing identical data.
+            if ( responseChecksum != null ) {
+                responseFingerprint = responseChecksum.getFingerprint();
+                responseUnchanged = responseChangeTracker.update( dataRequestParameters,
+                                                                  responseFingerprint );
+            }
+
+            dataResponseLoaded = true;
+            recordTraffic( httpURLConnection, dataServerResponse, firstByteNanos );
+        }
+        catch ( final Exception e ) {
+            // A cancelled request fails its I/O on purpose, so don't log that.
+            if ( !isCancelled() ) {
+                e.printStackTrace();
+            }
+        }
+        finally {
+            // Make sure a cancelled request leaves nothing open or borrowed.
+            if ( isCancelled() ) {
+                disconnectActiveConnection();
+                releaseResponseBody();
+            }
+            activeConnection = null;
+
+            // Ranges that are still running after a failure are abandoned, so
+            // their outcome doesn't count against the endpoint.
+            for ( final HttpURLConnection rangeConnection : rangeConnections.keySet() ) {
+                final RangeRequest rangeRequest = rangeConnections.remove( rangeConnection );
+                if ( ( rangeRequest != null ) && ( rangeRequest.servletEndpoint != null ) ) {
+                    rangeRequest.servletEndpoint.onRequestAbandoned();
+                }
+                rangeConnection.disconnect();
+            }
+
+            // The response is no longer in flight once it has been handed
+            // over, unless it stays in pooled buffers for the consumer, in
+            // which case the reservation goes back along with the buffers.
+            final PooledResponseBody pooledResponseBody = responseBody;
+            if ( pooledResponseBody == null ) {
+                releaseByteBudget();
+            }
+            else {
+                final long numberOfBytes = reservedBytes.getAndSet( 0L );
+                final ByteBudget responseByteBudget = byteBudget;
+                if ( ( numberOfBytes > 0L ) && ( responseByteBudget != null ) ) {
+                    pooledResponseBody.addReleaseAction( () -> responseByteBudget
+                            .release( numberOfBytes ) );
+                }
+            }
+
+            // Feed the outcome back into latency-aware endpoint selection and
+            // into the endpoint's adaptive concurrency limit.
+            // NOTE: The latency is the time to first byte, as the download
+            //  time of the body depends on its size rather than on the load.
+            final long latencyNanos = responseLatencyNanos;
+            final boolean serverOverloaded = !dataServiceResponded
+                    || AdaptiveConcurrencyLimiter.isOverloadResponseCode( httpResponseCode );
+            if ( servletEndpoint != null ) {
+                if ( isCancelled() ) {
+                    servletEndpoint.onRequestAbandoned();
+                }
+                else if ( !serverOverloaded ) {
+                    servletEndpoint.onRequestSucceeded( latencyNanos );
+                }
+                else {
+                    servletEndpoint.onRequestFailed();
+                }
+                servletEndpoint = null;
+            }
+            if ( concurrencyLimiter != null ) {
+                if ( isCancelled() ) {
+                    concurrencyLimiter.onIgnored();
+                }
+                else if ( !serverOverloaded ) {
+                    concurrencyLimiter.onSuccess( latencyNanos );
+                }
+                else {
+                    concurrencyLimiter.onDropped();
+                }
+                concurrencyLimiter = null;
+            }
+
+            if ( requestMetrics != null ) {
+                final long requestNanos = System.nanoTime() - callStartNanos;
+                if ( isCancelled() ) {
+                    requestMetrics.onRequestCancelled();
+                }
+                else if ( dataResponseLoaded ) {
+                    requestMetrics.onRequestSucceeded( requestNanos, numberOfResponseBytes );
+                }
+                else {
+                    requestMetrics.onRequestFailed( requestNanos );
+                }
+            }
+
+            // Indicate that we are done with the request.
+            updateProgress( numberOfSubTasks, numberOfSubTasks );
+        }
+
+        // If the user cancelled, throw an interrupted exception.
+        if ( isCancelled() ) {
+            throw new InterruptedException();
+        }
+
+        return dataServerResponse;
+    }
+   
+    /**
+     * Connects to the data servlet, selecting among the endpoints of the
+     * Servlet Endpoint Group if there is one, and failing over to the next
+     * best endpoint whenever the chosen one can't be reached.
+     * <p>
+     * NOTE: Failover only happens before any request data has been sent, so
+     *  a request is never delivered to more than one server.
+     *
+     * @param numberOfSubTasks The total number of sub-tasks for progress
+     * @return A server status message if no endpoint could be reached, or
+     *         null if the Active Connection is established (or cancelled)
+     * @throws InterruptedException If cancelled while waiting for a request
+     *                              quota or an endpoint's concurrency limit
+     */
+    protected String connectToDataService( final double numberOfSubTasks )
+            throws InterruptedException {
+        final Set< ServletEndpoint > failedEndpoints = new HashSet<>();
+        while ( true ) {
+            servletEndpoint = ( servletEndpointGroup != null )
+                ? servletEndpointGroup.select( failedEndpoints )
+                : null;
+            servletUrl = ( servletEndpoint != null )
+                ? servletEndpoint.getServletUrl()
+                : httpServletRequestProperties.httpServletUrl;
+
+            // Wait for this request's turn within the client-side quotas, or
+            // give up locally rather than provoke a server-side rejection.
+            // NOTE: The request type's token is only needed once, even if
+            //  the request fails over to other endpoints.
+            if ( rateLimiterRegistry != null ) {
+                final long waitNanos = rateLimiterRegistry
+                        .reserve( servletUrl,
+                                  failedEndpoints.isEmpty() ? getDataRequestType() : null );
+                if ( waitNanos < 0L ) {
+                    servletEndpoint = null;
+                    return "Request Rate Limit Exceeded: Please Try Again Later";
+                }
+                if ( waitNanos > 0L ) {
+                    updateMessage( "Waiting for Request Quota" );
+                    TimeUnit.NANOSECONDS.sleep( waitNanos );
+                }
+            }
+
+            if ( servletEndpoint != null ) {
+                servletEndpoint.onRequestStarted();
+            }
+
+            final String serverStatusMessage = connectToServletUrl( servletUrl,
+                                                                    numberOfSubTasks );
+            if ( ( serverStatusMessage == null ) || ( servletEndpoint == null )
+                    || isCancelled() ) {
+                return serverStatusMessage;
+            }
+
+            // Take the failed endpoint out of the running for this request.
+            final HttpURLConnection failedConnection = activeConnection;
+            activeConnection = null;
+            if ( failedConnection != null ) {
+                failedConnection.disconnect();
+            }
+            servletEndpoint.onRequestFailed();
+            if ( concurrencyLimiter != null ) {
+                concurrencyLimiter.onDropped();
+                concurrencyLimiter = null;
+            }
+            failedEndpoints.add( servletEndpoint );
+            servletEndpoint = null;
+            if ( failedEndpoints.size() >= servletEndpointGroup.size() ) {
+                return serverStatusMessage;
+            }
+            updateMessage( "Trying Another Data Service" );
+        }
+    }
+
+    /**
+     * Opens and connects the Active Connection to the given servlet URL.
+     *
+     * @param targetServletUrl The URL of the data servlet to connect to
+     * @param numberOfSubTasks The total number of sub-tasks for progress
+     * @return A server status message if the servlet couldn't be reached, or
+     *         null if the connection is established (or cancelled)
+     * @throws InterruptedException If cancelled while waiting in line for the
+     *                              endpoint's concurrency limit
+     */
+    private String connectToServletUrl( final String targetServletUrl,
+                                        final double numberOfSubTasks )
+            throws InterruptedException {
+        // Wait in line if the endpoint already has as many requests in flight
+        // as it has recently shown it can handle.
+        if ( concurrencyLimiterRegistry != null ) {
+            final AdaptiveConcurrencyLimiter endpointLimiter = concurrencyLimiterRegistry
+                    .getConcurrencyLimiter( targetServletUrl );
+            if ( endpointLimiter.getNumberOfInFlightRequests() >= endpointLimiter.getLimit() ) {
+                updateMessage( "Waiting for Data Service Capacity" );
+            }
+            endpointLimiter.acquire();
+            concurrencyLimiter = endpointLimiter;
+        }
+        requestStartNanos = System.nanoTime();
+        responseLatencyNanos = 0L;
+
+        // Open a connection to the data servlet.
+        // TODO: Make an HttpServerRequest class that holds the reused
+        //  fields and only resets the ones that change per data request?
+        // TODO: Throw exceptions with these messages instead, so we can
+        //  consolidate the handling to the failure callback?
+        final HttpURLConnection httpURLConnection = NetworkUtilities
+                .getHttpURLConnection( targetServletUrl );
+        if ( httpURLConnection == null ) {
+            return "Server Connection Error: Data Service Not Found"; 
+        }
+
+        // Publish the connection before checking for cancellation, so a
+        // concurrent cancel either sees it and disconnects, or is seen.
+        activeConnection = httpURLConnection;
+        if ( isCancelled() ) {
+            return null;
+        }
+        updateMessage( "Data Service Found" );
+        updateProgress( 1.0d, numberOfSubTasks );
+
+        // Add the HTTP request properties for the Data Servlet.
+        updateMessage( "Generating Data Request" );
+        updateMessage( "Preparing Data Request" );
+        NetworkUtilities.addServerRequestProperties( httpURLConnection,
+                                                     getDataRequestType(),
+                                                     getLoginCredentials(),
+                                                     httpServletRequestProperties,
+                                                     clientProperties,
+                                                     screenWidth,
+                                                     screenHeight );
+
+        // Add optional HTTP properties specific to this Data Request Type.
+        addDataRequestProperties( httpURLConnection );
+
+        // Capture the request headers for recording, as the connection
+        // doesn't expose them anymore once it is connected.
+        if ( trafficRecorder != null ) {
+            recordedRequestHeaders = new LinkedHashMap<>( httpURLConnection
+                    .getRequestProperties() );
+            requestStartMillis = System.currentTimeMillis();
+        }
+
+        // Request a data update from the server.
+        updateMessage( "Connecting to Server" ); //$NON-NLS-1$
+        return NetworkUtilities.connectToServlet( httpURLConnection, "data update" );
+    }
+
+    /**
+     * Records the request and its response to the Traffic Recorder, if any;
+     * a response that was streamed through a pipeline is recorded without
+     * its body, as the body isn't kept.
+     * <p>
+     * NOTE: Recording is best effort, so failures don't fail the request.
+     *
+     * @param httpURLConnection The connection that the response came from
+     * @param dataServerResponse The response, or null if there was none
+     * @param firstByteNanos The time until the response headers arrived
+     */
+    private void recordTraffic( final HttpURLConnection httpURLConnection,
+                                final DataServerResponse dataServerResponse,
+                                final long firstByteNanos ) {
+        if ( ( trafficRecorder == null ) || ( dataServerResponse == null ) || isCancelled() ) {
+            return;
+        }
+
+        final long completionNanos = System.nanoTime() - requestStartNanos;
+        try {
+            byte[] serverResponseData = dataServerResponse.getServerResponseData();
+
+            // Stream a file-backed response into the archive, as it may well
+            // be too large to load into memory just to record it.
+            if ( ( serverResponseData == null ) && ( responseBody == null )
+                    && ( responseFile != null ) ) {
+                trafficRecorder.record( requestStartMillis,
+                                        httpURLConnection.getRequestMethod(),
+                                        httpURLConnection.getURL(),
+                                        recordedRequestHeaders,
+                                        dataRequestParameters,
+                                        httpURLConnection.getResponseCode(),
+                                        httpURLConnection.getHeaderFields(),
+                                        responseFile,
+                                        firstByteNanos,
+                                        completionNanos );
+                return;
+            }
+
+            if ( serverResponseData == null ) {
+                if ( responseBody != null ) {
+                    serverResponseData = responseBody.toByteArray();
+                }
+                else if ( dataServerResponse.getServletErrorMessage() != null ) {
+                    serverResponseData = dataServerResponse.getServletErrorMessage()
+                            .getBytes( StandardCharsets.UTF_8 );
+                }
+            }
+
+            trafficRecorder.record( requestStartMillis,
+                                    httpURLConnection.getRequestMethod(),
+                                    httpURLConnection.getURL(),
+                                    recordedRequestHeaders,
+                                    dataRequestParameters,
+                                    httpURLConnection.getResponseCode(),
+                                    httpURLConnection.getHeaderFields(),
+                                    serverResponseData,
+                                    firstByteNanos,
+                                    completionNanos );
+        }
+        catch ( final IOException ioe ) {
+            ioe.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns whether the response is going to be buffered in memory, which
+     * is what the Byte Budget limits; pipelines are already bounded by their
+     * queues, and file-backed downloads don't use the heap.
+     *
+     * @return true if the response is buffered in memory
+     */
+    protected boolean isResponseBufferedInMemory() {
+        return ( responsePipeline == null ) && ( ( segmentedDownloadOptions == null )
+                || !segmentedDownloadOptions.isFileBacked() );
+    }
+
+    /**
+     * Reserves the size of the response from the Byte Budget, waiting in line
+     * if it is used up, unless the budget prefers spilling responses to files.
+     *
+     * @param contentLength The announced length of the response, or -1
+     * @return true if the bytes were reserved; false to spill to a file
+     * @throws InterruptedException If cancelled while waiting for budget
+     */
+    protected boolean reserveByteBudget( final long contentLength ) throws InterruptedException {
+        final long reservation = byteBudget.getReservation( contentLength );
+        if ( byteBudget.isSpillable() ) {
+            if ( !byteBudget.tryAcquire( reservation ) ) {
+                byteBudget.onSpilled();
+                return false;
+            }
+        }
+        else {
+            if ( !byteBudget.isAvailable( reservation ) ) {
+                updateMessage( "Waiting for Memory to Load Data Response" );
+            }
+            byteBudget.acquire( reservation );
+        }
+
+        reservedBytes.addAndGet( reservation );
+        return true;
+    }
+
+    /**
+     * Wraps a response stream that is buffered in memory so that, once more
+     * bytes have arrived than were reserved (such as for a chunked response
+     * of unknown length), the reservation on the Byte Budget grows with them.
+     *
+     * @param inputStream The response stream to read
+     * @return A stream that accounts for what is read, or the stream itself
+     */
+    private InputStream budgeted( final InputStream inputStream ) {
+        if ( byteBudget == null ) {
+            return inputStream;
+        }
+
+        return new FilterInputStream( inputStream ) {
+            private long numberOfBytesBuffered = 0L;
+
+            @Override
+            public int read() throws IOException {
+                final int byteValue = super.read();
+                if ( byteValue >= 0 ) {
+                    onBytesBuffered( 1 );
+                }
+                return byteValue;
+            }
+
+            @Override
+            public int read( final byte[] bytes, final int offset, final int length )
+                    throws IOException {
+                final int numberOfBytesRead = super.read( bytes, offset, length );
+                if ( numberOfBytesRead > 0 ) {
+                    onBytesBuffered( numberOfBytesRead );
+                }
+                return numberOfBytesRead;
+            }
+
+            private void onBytesBuffered( final int numberOfBytes ) {
+                numberOfBytesBuffered += numberOfBytes;
+                growByteBudget( numberOfBytesBuffered );
+            }
+        };
+    }
+
+    /**
+     * Grows the reservation on the Byte Budget to cover the bytes buffered so
+     * far, in steps so that the budget isn't locked on every read.
+     *
+     * @param numberOfBytesBuffered The number of response bytes buffered
+     */
+    private void growByteBudget( final long numberOfBytesBuffered ) {
+        final long shortfall = numberOfBytesBuffered - reservedBytes.get();
+        if ( shortfall > 0L ) {
+            final long growth = Math.max( shortfall, BYTE_BUDGET_GROWTH_STEP );
+            byteBudget.grow( growth );
+            reservedBytes.addAndGet( growth );
+        }
+    }
+
+    /**
+     * Reads the whole response body into a byte array. Without a Byte Budget
+     * this is left to the shared I/O utilities; with one, the body is read
+     * through a stream that grows the reservation as bytes arrive.
+     *
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * @param messageBuilder Collects a server status message on failure
+     * @return The response data, or null on failure
+     */
+    protected byte[] loadDataResponseIntoByteArray( final HttpURLConnection httpURLConnection,
+                                                    final StringBuilder messageBuilder ) {
+        if ( byteBudget == null ) {
+            return IoUtilities.saveRemoteStreamToByteArray( httpURLConnection, messageBuilder );
+        }
+
+        final long contentLength = httpURLConnection.getContentLengthLong();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream( ( int ) Math
+                .max( 32L, Math.min( contentLength, Integer.MAX_VALUE - 8L ) ) );
+        try ( final InputStream inputStream = budgeted( httpURLConnection.getInputStream() ) ) {
+            final byte[] transferBuffer = new byte[ 8192 ];
+            int numberOfBytesRead;
+            while ( ( numberOfBytesRead = inputStream.read( transferBuffer ) ) != -1 ) {
+                if ( isCancelled() ) {
+                    messageBuilder.append( "Data Response Read Abandoned" );
+                    return null;
+                }
+                outputStream.write( transferBuffer, 0, numberOfBytesRead );
+            }
+        }
+        catch ( final IOException ioe ) {
+            messageBuilder.append( "Data Response Read Error: " ).append( ioe.getMessage() );
+            return null;
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Gives back any reservation held on the Byte Budget.
+     */
+    private void releaseByteBudget() {
+        final long numberOfBytes = reservedBytes.getAndSet( 0L );
+        if ( ( numberOfBytes > 0L ) && ( byteBudget != null ) ) {
+            byteBudget.release( numberOfBytes );
+        }
+    }
+
+    /**
+     * Wraps a response stream so that it feeds the Response Checksum, if the
+     * response is being fingerprinted.
+     *
+     * @param inputStream The response stream to read
+     * @return A stream that checksums what is read, or the stream itself
+     */
+    private InputStream checksummed( final InputStream inputStream ) {
+        return ( responseChecksum != null )
+            ? new CheckedInputStream( inputStream, responseChecksum )
+            : inputStream;
+    }
+
+    /**
+     * Feeds a fully downloaded response to the Response Checksum, if the
+     * response is being fingerprinted.
+     *
+     * @param serverResponseData The response data, which may be null
+     */
+    private void updateResponseChecksum( final byte[] serverResponseData ) {
+        if ( ( responseChecksum != null ) && ( serverResponseData != null ) ) {
+            responseChecksum.update( serverResponseData, 0, serverResponseData.length );
+        }
+    }
+
+    /**
+     * Downloads the response body to a file in the spill directory of the
+     * Byte Budget, for when there is no memory left to buffer it in.
+     *
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * @return A server status message if the download failed, or null
+     */
+    protected String loadDataResponseIntoSpillFile( final HttpURLConnection httpURLConnection ) {
+        Path spillFile = null;
+        try {
+            final Path spillDirectory = byteBudget.getSpillDirectory();
+            Files.createDirectories( spillDirectory );
+            spillFile = Files.createTempFile( spillDirectory, "dataResponse", ".bin" );
+            try ( final InputStream inputStream = checksummed( httpURLConnection
+                    .getInputStream() ) ) {
+                numberOfResponseBytes = Files.copy( inputStream,
+                                                    spillFile,
+                                                    StandardCopyOption.REPLACE_EXISTING );
+            }
+
+            responseFile = spillFile;
+            spillFile = null;
+        }
+        catch ( final IOException ioe ) {
+            return "Data Response Read Error: " + ioe.getMessage();
+        }
+        finally {
+            // Don't leave a partial file behind after a failed download.
+            if ( spillFile != null ) {
+                try {
+                    Files.deleteIfExists( spillFile );
+                }
+                catch ( final IOException ioe ) {
+                    ioe.printStackTrace();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the response body in chunks and feeds each chunk to a fresh run
+     * of the Response Pipeline, returning once every stage has finished.
+     *
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * @param startingProgress The progress value at the start of the download
+     * @param numberOfSubTasks The total number of sub-tasks for progress
+     * @return A server status message if the download or any stage failed,
+     *         or null if the whole response was processed
+     * @throws InterruptedException If the request was interrupted while blocked
+     *                              on a full pipeline queue
+     */
+    protected String loadDataResponseThroughPipeline( final HttpURLConnection httpURLConnection,
+                                                      final double startingProgress,
+                                                      final double numberOfSubTasks )
+            throws InterruptedException {
+        final long contentLength = httpURLConnection.getContentLengthLong();
+        final byte[] readBuffer = new byte[ responsePipeline.getChunkSize() ];
+        long numberOfBytesRead = 0L;
+
+        final ResponsePipelineRun responsePipelineRun = responsePipeline.open();
+        try ( final InputStream inputStream = httpURLConnection.getInputStream() ) {
+            int chunkLength;
+            while ( ( chunkLength = inputStream.read( readBuffer ) ) != -1 ) {
+                if ( isCancelled() ) {
+                    responsePipelineRun.abort();
+                    return null;
+                }
+
+                // Each chunk crosses threads, so it gets its own copy.
+                if ( responseChecksum != null ) {
+                    responseChecksum.update( readBuffer, 0, chunkLength );
+                }
+                responsePipelineRun.submit( Arrays.copyOf( readBuffer, chunkLength ) );
+                numberOfBytesRead += chunkLength;
+
+                if ( contentLength > 0L ) {
+                    updateProgress( startingProgress
+                            + Math.min( 1.0d, ( double ) numberOfBytesRead / contentLength ),
+                                    numberOfSubTasks );
+                }
+            }
+
+            responsePipelineRun.complete();
+            numberOfResponseBytes = numberOfBytesRead;
+        }
+        catch ( final IOException ioe ) {
+            responsePipelineRun.abort();
+            return "Data Response Read Error: " + ioe.getMessage();
+        }
+        catch ( final ExecutionException ee ) {
+            responsePipelineRun.abort();
+            return "Data Response Processing Error: " + ee.getCause();
+        }
+        catch ( final InterruptedException ie ) {
+            responsePipelineRun.abort();
+            throw ie;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the response body into buffers borrowed from the Response Buffer
+     * Pool, and then either copies it into the Server Response Data or keeps
+     * it as the pooled Response Body for the consumer to release.
+     *
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * @param dataServerResponse The response to cache the data in
+     * @return A server status message if the download failed, or null
+     */
+    protected String loadDataResponseIntoPooledBuffers( final HttpURLConnection httpURLConnection,
+                                                        final DataServerResponse dataServerResponse ) {
+        final PooledResponseBody pooledResponseBody;
+        try ( final InputStream inputStream = checksummed( budgeted( httpURLConnection
+                .getInputStream() ) ) ) {
+            pooledResponseBody = PooledResponseBody.read( inputStream,
+                                                          responseBufferPool,
+                                                          this::isCancelled );
+        }
+        catch ( final IOException ioe ) {
+            return "Data Response Read Error: " + ioe.getMessage();
+        }
+        numberOfResponseBytes = pooledResponseBody.size();
+
+        if ( materializeResponseData ) {
+            try {
+                dataServerResponse.setServerResponseData( pooledResponseBody.toByteArray() );
+            }
+            finally {
+                pooledResponseBody.release();
+            }
+        }
+        else {
+            responseBody = pooledResponseBody;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the response body by HTTP byte ranges, resuming from the last
+     * received byte after a dropped connection, and splitting large responses
+     * into parallel ranges when so configured.
+     * <p>
+     * NOTE: This requires the data servlet to advertise "Accept-Ranges: bytes"
+     *  and a Content-Length, and to honor the Range header on repeated data
+     *  requests; otherwise the response is read as a single plain stream.
+     *
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * @param dataServerResponse The response to cache the data in
+     * @return A server status message if the download failed, or null
+     * @throws InterruptedException If interrupted while waiting for ranges
+     */
+    protected String loadDataResponseByRanges( final HttpURLConnection httpURLConnection,
+                                               final DataServerResponse dataServerResponse )
+            throws InterruptedException {
+        final long contentLength = httpURLConnection.getContentLengthLong();
+        final boolean rangesAccepted = "bytes"
+                .equalsIgnoreCase( httpURLConnection.getHeaderField( "Accept-Ranges" ) );
+        if ( !rangesAccepted || ( contentLength < 0L ) ) {
+            final StringBuilder messageBuilder = new StringBuilder();
+            final byte[] serverResponseData = loadDataResponseIntoByteArray( httpURLConnection,
+                                                                             messageBuilder );
+            if ( messageBuilder.length() > 0 ) {
+                return messageBuilder.toString();
+            }
+            dataServerResponse.setServerResponseData( serverResponseData );
+            numberOfResponseBytes = ( serverResponseData != null )
+                ? serverResponseData.length
+                : 0L;
+            updateResponseChecksum( serverResponseData );
+            return null;
+        }
+
+        final boolean segmented = ( segmentedDownloadOptions.getNumberOfSegments() > 1 )
+                && ( contentLength >= segmentedDownloadOptions.getMinimumSegmentedSize() );
+        final long startTimeNanos = System.nanoTime();
+
+        final RangeConnector rangeConnector = new RangeConnector() {
+            @Override
+            public HttpURLConnection connect( final long firstByte, final long lastByte )
+                    throws IOException {
+                return openRangeConnection( firstByte, lastByte );
+            }
+
+            @Override
+            public void release( final HttpURLConnection rangeConnection,
+                                 final boolean transferred ) {
+                releaseRangeConnection( rangeConnection, transferred );
+            }
+        };
+
+        // Each extra segment keeps a range request in flight for the whole
+        // download, so it takes a permit of its own from the endpoint's
+        // concurrency limit, which its resumes then reuse. A resume of the
+        // whole response replaces the main connection, and reuses its permit.
+        // NOTE: Waiting for more permits while holding this request's own
+        //  could deadlock, so the download gets fewer segments instead.
+        final AdaptiveConcurrencyLimiter segmentLimiter = concurrencyLimiter;
+        int numberOfSegments = segmented ? segmentedDownloadOptions.getNumberOfSegments() : 1;
+        int numberOfSegmentPermits = 0;
+        if ( segmentLimiter != null ) {
+            while ( ( numberOfSegmentPermits < ( numberOfSegments - 1 ) )
+                    && segmentLimiter.tryAcquire() ) {
+                numberOfSegmentPermits++;
+            }
+            numberOfSegments = numberOfSegmentPermits + 1;
+        }
+
+        Path spoolFile = null;
+        ExecutorService segmentExecutor = null;
+        try {
+            final ResponseSink responseSink;
+            if ( segmentedDownloadOptions.isFileBacked() ) {
+                final Path spoolDirectory = segmentedDownloadOptions.getSpoolDirectory();
+                Files.createDirectories( spoolDirectory );
+                spoolFile = Files.createTempFile( spoolDirectory, "dataResponse", ".bin" );
+                responseSink = new FileResponseSink( spoolFile );
+            }
+            else {
+                responseSink = new ByteArrayResponseSink( contentLength );
+            }
+
+            try ( final ResponseSink sink = responseSink;
+                    final InputStream inputStream = httpURLConnection.getInputStream() ) {
+                if ( numberOfSegments > 1 ) {
+                    segmentExecutor = Executors.newFixedThreadPool( numberOfSegments - 1 );
+                    RangeDownloader.transferSegments( inputStream,
+                                                      rangeConnector,
+                                                      contentLength,
+                                                      numberOfSegments,
+                                                      sink,
+                                                      segmentedDownloadOptions
+                                                              .getMaximumResumeAttempts(),
+                                                      segmentExecutor,
+                                                      this::isCancelled );
+                }
+                else {
+                    RangeDownloader.transferRange( inputStream,
+                                                   rangeConnector,
+                                                   0L,
+                                                   contentLength - 1L,
+                                                   sink,
+                                                   segmentedDownloadOptions
+                                                           .getMaximumResumeAttempts(),
+                                                   this::isCancelled );
+                }
+            }
+
+            final long elapsedNanos = Math.max( 1L, System.nanoTime() - startTimeNanos );
+            downloadThroughput = ( contentLength * 1.0e9d ) / elapsedNanos;
+            numberOfResponseBytes = contentLength;
+
+            if ( responseSink instanceof ByteArrayResponseSink ) {
+                final byte[] serverResponseData = ( ( ByteArrayResponseSink ) responseSink )
+                        .getData();
+                dataServerResponse.setServerResponseData( serverResponseData );
+
+                // Ranges can arrive out of order, so checksum once reassembled.
+                updateResponseChecksum( serverResponseData );
+            }
+            else {
+                responseFile = spoolFile;
+                spoolFile = null;
+
+                // Don't re-read a file-backed response just to fingerprint it.
+                responseChecksum = null;
+            }
+        }
+        catch ( final IOException ioe ) {
+            return "Data Response Read Error: " + ioe.getMessage();
+        }
+        finally {
+            if ( segmentExecutor != null ) {
+                segmentExecutor.shutdownNow();
+            }
+
+            // The outcome of the download is fed back through this request's
+            // own permit, so the segment permits are just given back.
+            for ( int i = 0; i < numberOfSegmentPermits; i++ ) {
+                segmentLimiter.onIgnored();
+            }
+
+            // Don't leave a partial file behind after a failed download.
+            if ( spoolFile != null ) {
+                try {
+                    Files.deleteIfExists( spoolFile );
+                }
+                catch ( final IOException ioe ) {
+                    ioe.printStackTrace();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Re-issues this data request for a byte range of its response.
+     *
+     * @param firstByte The position of the first byte to fetch
+     * @param lastByte The position of the last byte to fetch, inclusive
+     * @return A connection whose input stream starts at the first byte
+     * @throws IOException If the request failed or the range wasn't honored
+     */
+    protected HttpURLConnection openRangeConnection( final long firstByte, final long lastByte )
+            throws IOException {
+        if ( isCancelled() ) {
+            throw new IOException( "Data Request Cancelled" );
+        }
+
+        // Every range request is sent to the server in full, so it waits for
+        // its own turn within the client-side quotas, as any request does.
+        if ( rateLimiterRegistry != null ) {
+            final long waitNanos = rateLimiterRegistry.reserve( servletUrl,
+                                                                getDataRequestType() );
+            if ( waitNanos < 0L ) {
+                throw new IOException( "Request Rate Limit Exceeded: Please Try Again Later" );
+            }
+            if ( waitNanos > 0L ) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep( waitNanos );
+                }
+                catch ( final InterruptedException ie ) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException( "Data Request Cancelled" );
+                }
+            }
+        }
+
+        final HttpURLConnection rangeConnection = NetworkUtilities
+                .getHttpURLConnection( servletUrl );
+        if ( rangeConnection == null ) {
+            throw new IOException( "Server Connection Error: Data Service Not Found" );
+        }
+        final RangeRequest rangeRequest = new RangeRequest( servletEndpoint );
+        rangeConnections.put( rangeConnection, rangeRequest );
+        if ( rangeRequest.servletEndpoint != null ) {
+            rangeRequest.servletEndpoint.onRequestStarted();
+        }
+        final long rangeStartNanos = System.nanoTime();
+
+        try {
+            NetworkUtilities.addServerRequestProperties( rangeConnection,
+                                                         getDataRequestType(),
+                                                         getLoginCredentials(),
+                                                         httpServletRequestProperties,
+                                                         clientProperties,
+                                                         screenWidth,
+                                                         screenHeight );
+            addDataRequestProperties( rangeConnection );
+            rangeConnection.setRequestProperty( "Range", "bytes=" + firstByte + "-" + lastByte );
+
+            String serverStatusMessage = NetworkUtilities.connectToServlet( rangeConnection,
+                                                                            "data update" );
+            if ( serverStatusMessage == null ) {
+                serverStatusMessage = sendDataRequestInputParameters( rangeConnection );
+            }
+            if ( serverStatusMessage != null ) {
+                throw new IOException( serverStatusMessage );
+            }
+
+            if ( rangeConnection.getResponseCode() != HttpURLConnection.HTTP_PARTIAL ) {
+                throw new IOException( "Data Service did not honor the byte range request" );
+            }
+            rangeRequest.latencyNanos = System.nanoTime() - rangeStartNanos;
+        }
+        catch ( final IOException | RuntimeException e ) {
+            releaseRangeConnection( rangeConnection, false );
+            throw e;
+        }
+
+        // A range that is cancelled right after connecting is still caught by
+        // the disconnect of every tracked range connection.
+        if ( isCancelled() ) {
+            rangeConnection.disconnect();
+        }
+
+        return rangeConnection;
+    }
+
+    /**
+     * Closes a connection opened for a byte range, and records the outcome of
+     * its range request against the endpoint it was sent to.
+     *
+     * @param rangeConnection The connection opened for the byte range
+     * @param transferred true if the whole range was transferred from it
+     */
+    protected void releaseRangeConnection( final HttpURLConnection rangeConnection,
+                                           final boolean transferred ) {
+        rangeConnection.disconnect();
+
+        // A range request that was already abandoned has been accounted for.
+        final RangeRequest rangeRequest = rangeConnections.remove( rangeConnection );
+        if ( ( rangeRequest == null ) || ( rangeRequest.servletEndpoint == null ) ) {
+            return;
+        }
+
+        if ( isCancelled() ) {
+            rangeRequest.servletEndpoint.onRequestAbandoned();
+        }
+        else if ( transferred ) {
+            rangeRequest.servletEndpoint.onRequestSucceeded( rangeRequest.latencyNanos );
+        }
+        else {
+            rangeRequest.servletEndpoint.onRequestFailed();
+        }
+    }
+
+    /**
+     * Returns the file holding the response, if it was downloaded to a
+     * file-backed store or spilled to a file for lack of memory budget; the
+     * caller owns the file and should delete it.
+     *
+     * @return The file holding the response, or null if it is in memory
+     */
+    public final Path getResponseFile() {
+        return responseFile;
+    }
+
+    /**
+     * Returns the throughput of the last byte range download, for comparing
+     * single-stream and parallel downloads of the same response.
+     *
+     * @return The download throughput in bytes per second, or zero if unknown
+     */
+    public final double getDownloadThroughput() {
+        return downloadThroughput;
+    }
+
+    /**
+     * Returns the servlet URL that this request was (or will be) sent to.
+     *
+     * @return The servlet URL of this request
+     */
+    public final String getServletUrl() {
+        return servletUrl;
+    }
+
+    public final ServletEndpointGroup getServletEndpointGroup() {
+        return servletEndpointGroup;
+    }
+
+    /**
+     * Sets the group of equivalent servlet endpoints to select among for this
+     * request, or null to use the single servlet URL of the request properties.
+     *
+     * @param pServletEndpointGroup The equivalent servlet endpoints
+     */
+    public final void setServletEndpointGroup( final ServletEndpointGroup pServletEndpointGroup ) {
+        servletEndpointGroup = pServletEndpointGroup;
+    }
+
+    public final ConcurrencyLimiterRegistry getConcurrencyLimiterRegistry() {
+        return concurrencyLimiterRegistry;
+    }
+
+    /**
+     * Sets the registry of adaptive per-endpoint concurrency limits that this
+     * request must wait its turn in, or null for no limits.
+     *
+     * @param pConcurrencyLimiterRegistry The per-endpoint concurrency limits
+     */
+    public final void setConcurrencyLimiterRegistry( final ConcurrencyLimiterRegistry pConcurrencyLimiterRegistry ) {
+        concurrencyLimiterRegistry = pConcurrencyLimiterRegistry;
+    }
+
+    /**
+     * Returns whether the response was byte-for-byte identical to the previous
+     * response to the same request, according to the Response Change Tracker.
+     * <p>
+     * NOTE: This is always false without a tracker, for the first response to
+     *  a request, and for responses that are downloaded to a file.
+     *
+     * @return true if the response is known to be unchanged
+     */
+    public final boolean isResponseUnchanged() {
+        return responseUnchanged;
+    }
+
+    /**
+     * Returns the fingerprint of the response body, if it was fingerprinted.
+     *
+     * @return The response fingerprint, or null if none was taken
+     */
+    public final ResponseFingerprint getResponseFingerprint() {
+        return responseFingerprint;
+    }
+
+    public final ResponseChangeTracker getResponseChangeTracker() {
+        return responseChangeTracker;
+    }
+
+    /**
+     * Sets the tracker of previous responses that this response is compared
+     * to, via a streaming fingerprint, or null to not fingerprint it.
+     *
+     * @param pResponseChangeTracker The tracker of previous responses
+     */
+    public final void setResponseChangeTracker( final ResponseChangeTracker pResponseChangeTracker ) {
+        responseChangeTracker = pResponseChangeTracker;
+    }
+
+    public final ByteBudget getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Sets the memory budget, shared across requests, that this request must
+     * reserve its response size from before buffering it, or null for none.
+     *
+     * @param pByteBudget The shared memory budget for response bodies
+     */
+    public final void setByteBudget( final ByteBudget pByteBudget ) {
+        byteBudget = pByteBudget;
+    }
+
+    public final TrafficRecorder getTrafficRecorder() {
+        return trafficRecorder;
+    }
+
+    /**
+     * Sets the recorder to capture this request and its response to, for
+     * replay in offline performance testing, or null for none.
+     *
+     * @param pTrafficRecorder The Traffic Recorder to record to
+     */
+    public final void setTrafficRecorder( final TrafficRecorder pTrafficRecorder ) {
+        trafficRecorder = pTrafficRecorder;
+    }
+
+    public final RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
+    /**
+     * Sets the metrics of request layer traffic to report this request to,
+     * or null to not report it.
+     *
+     * @param pRequestMetrics The live traffic metrics to report to
+     */
+    public final void setRequestMetrics( final RequestMetrics pRequestMetrics ) {
+        requestMetrics = pRequestMetrics;
+    }
+
+    public final RateLimiterRegistry getRateLimiterRegistry() {
+        return rateLimiterRegistry;
+    }
+
+    /**
+     * Sets the registry of client-side request rate limits that this request
+     * must wait its turn in, or null for no rate limits.
+     *
+     * @param pRateLimiterRegistry The per-endpoint and per-type rate limits
+     */
+    public final void setRateLimiterRegistry( final RateLimiterRegistry pRateLimiterRegistry ) {
+        rateLimiterRegistry = pRateLimiterRegistry;
+    }
+
+    public final SegmentedDownloadOptions getSegmentedDownloadOptions() {
+        return segmentedDownloadOptions;
+    }
+
+    /**
+     * Sets the options for resumable and parallel byte range downloads, or
+     * null to read each response as one plain stream.
+     *
+     * @param pSegmentedDownloadOptions The byte range download options
+     */
+    public final void setSegmentedDownloadOptions( final SegmentedDownloadOptions pSegmentedDownloadOptions ) {
+        segmentedDownloadOptions = pSegmentedDownloadOptions;
+    }
+
+    /**
+     * Returns the pooled Response Body of the completed request, if the core
+     * was configured to not materialize the Server Response Data.
+     * <p>
+     * NOTE: The caller borrows the body and must release it when done, which
+     *  also gives back its reservation on the Byte Budget, if any.
+     *
+     * @return The pooled Response Body, or null if none was kept
+     */
+    public final PooledResponseBody getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Hands the pooled Response Body of the completed request over to the
+     * caller, so that it is no longer released along with this core.
+     * <p>
+     * NOTE: The caller owns the body and must release it when done, which
+     *  also gives back its reservation on the Byte Budget, if any.
+     *
+     * @return The pooled Response Body, or null if none was kept
+     */
+    public final PooledResponseBody takeResponseBody() {
+        final PooledResponseBody pooledResponseBody = responseBody;
+        responseBody = null;
+        return pooledResponseBody;
+    }
+
+    /**
+     * Returns the pooled Response Body, if any, to its pool.
+     */
+    public final void releaseResponseBody() {
+        final PooledResponseBody pooledResponseBody = responseBody;
+        responseBody = null;
+        if ( pooledResponseBody != null ) {
+            pooledResponseBody.release();
+            releaseByteBudget();
+        }
+    }
+
+    public final ByteBufferPool getResponseBufferPool() {
+        return responseBufferPool;
+    }
+
+    /**
+     * Sets the pool of buffers to read the response body into, or null to
+     * read into a freshly allocated byte array.
+     *
+     * @param pResponseBufferPool The pool to borrow response buffers from
+     * @param pMaterializeResponseData true to also copy the body into the
+     *                                 Server Response Data; false to keep it
+     *                                 as a pooled Response Body instead
+     */
+    public final void setResponseBufferPool( final ByteBufferPool pResponseBufferPool,
+                                             final boolean pMaterializeResponseData ) {
+        responseBufferPool = pResponseBufferPool;
+        materializeResponseData = pMaterializeResponseData;
+    }
+
+    public final ResponsePipeline getResponsePipeline() {
+        return responsePipeline;
+    }
+
+    /**
+     * Attaches a pipeline of post-processing stages to this request, or
+     * detaches the current one if null, before the request is run.
+     *
+     * @param pResponsePipeline The Response Pipeline to stream the data through
+     */
+    public final void setResponsePipeline( final ResponsePipeline pResponsePipeline ) {
+        responsePipeline = pResponsePipeline;
+    }
+
+    /**
+     * Sets the screen size to send with the request, for Full Screen Mode and
+     * user statistics; headless clients may leave it at zero.
+     *
+     * @param pScreenWidth The width of the user's screen
+     * @param pScreenHeight The height of the user's screen
+     */
+    public final void setScreenSize( final double pScreenWidth, final double pScreenHeight ) {
+        screenWidth = pScreenWidth;
+        screenHeight = pScreenHeight;
+    }
+
+    private void updateMessage( final String message ) {
+        requestProgressListener.onRequestMessage( message );
+    }
+
+    private void updateProgress( final double workDone, final double totalWork ) {
+        requestProgressListener.onRequestProgress( workDone, totalWork );
+    }
+
+    /**
+     * Returns the Request Type name that this request will pass to the server.
+     * 
+     * @return The Request Type name that this request will pass to the server
+     */
+    protected final String getDataRequestType() {
+        return dataRequestParameters.getDataRequestType();
+    }
+    
+    public final HttpServletRequestProperties getHttpServletRequestProperties() {
+        return httpServletRequestProperties;
+    }
+
+    public final ClientProperties getClientProperties() {
+        return clientProperties;
+    }
+
+    public final DataRequestParameters getDataRequestParameters() {
+        return dataRequestParameters;
+    }
+
+    public final DataUpdateType getDataUpdateType() {
+        return dataRequestParameters.getDataUpdateType();
+    }
+    
+    protected final LoginCredentials getLoginCredentials() {
+        return dataRequestParameters.getLoginCredentials();
+    }
+    
+    /**
+     * Adds data request properties to the HTTP Request.
+     * <p>
+     * NOTE: The base class implementation is blank, as most data requests
+     *  will use the file-based approach, but some requests are trivial
+     *  enough to instead tag a few custom HTTP parameters to the URL.
+     * 
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     */
+    public final void addDataRequestProperties( final HttpURLConnection httpURLConnection ) {
+        dataRequestParameters.addDataRequestProperties( httpURLConnection );
+    }
+    
+    /**
+     * Returns a server status message related to the sending of data request
+     * input parameters to the HTTP Request, or null if no message received,
+     * such as when this method is not needed due to no input parameters.
+     * <p>
+     * NOTE: Not all data  requests send additional input parameters.
+     * 
+     * @param httpURLConnection The HTTP URL Connection for the Request
+     * 
+     * @return The server status message, or null if no input parameters sent
+     */
+    public final String sendDataRequestInputParameters( final HttpURLConnection httpURLConnection ) {
+        return dataRequestParameters
+                .sendDataRequestInputParameters( httpURLConnection );
+   }
+}
@@ -0,0 +1,65 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+/**
+ * A listener for the progress of a server request, which is how a request
+ * core reports its status without depending on a GUI toolkit.
+ * <p>
+ * NOTE: Progress is reported on the thread that runs the request, so GUI
+ *  listeners must hand it over to their own thread (as Task does).
+ */
+public interface RequestProgressListener {
+
+    /** A listener that ignores all progress, for headless use. */
+    RequestProgressListener NONE = new RequestProgressListener() {
+        @Override
+        public void onRequestMessage( final String message ) {}
+
+        @Override
+        public void onRequestProgress( final double workDone, final double totalWork ) {}
+    };
+
+    /**
+     * Reports a change in the status message of the request.
+     *
+     * @param message The new status message
+     */
+    void onRequestMessage( String message );
+
+    /**
+     * Reports the progress of the request.
+     *
+     * @param workDone The amount of work done so far, or -1 if indeterminate
+     * @param totalWork The total amount of work
+     */
+    void onRequestProgress( double workDone, double totalWork );
+}
@@ -0,0 +1,73 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Merges the responses of the successful shards of a scatter-gather request
+ * into the single response of the logical request.
+ */
+@FunctionalInterface
+public interface ResponseCombiner {
+
+    /**
+     * A combiner that concatenates the response data of the shards, in shard
+     * order, which suits record-oriented data split by key range.
+     * <p>
+     * NOTE: The data is read from wherever each shard kept it, so shards may
+     *  use pooled buffers or spill files; shards whose responses were only
+     *  streamed through a pipeline can't be combined.
+     */
+    ResponseCombiner CONCATENATE = succeededShards -> {
+        final ByteArrayOutputStream combinedData = new ByteArrayOutputStream();
+        for ( final ShardResult shardResult : succeededShards ) {
+            shardResult.writeResponseDataTo( combinedData );
+        }
+
+        final DataServerResponse combinedResponse = new DataServerResponse();
+        combinedResponse.setServerResponseData( combinedData.toByteArray() );
+        return combinedResponse;
+    };
+
+    /**
+     * Combines the responses of the successful shards.
+     *
+     * @param succeededShards The successful shards, in shard order
+     * @return The combined response
+     * @throws IOException If the shard responses can't be combined
+     */
+    DataServerResponse combine( List< ShardResult > succeededShards ) throws IOException;
+}
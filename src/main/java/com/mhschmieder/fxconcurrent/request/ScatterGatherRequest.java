@@ -0,0 +1,421 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One logical data request that is scattered across several servlets (or
+ * shards of one servlet) in parallel, and whose shard responses are gathered
+ * and merged by a pluggable Response Combiner, so that the total latency is
+ * that of the slowest shard needed rather than the sum of all of them.
+ * <p>
+ * The Gather Policy decides how many shards must succeed, and shards that
+ * are no longer needed once that is decided are cancelled. The outcome and
+ * timing of every shard are kept for reporting.
+ * <p>
+ * NOTE: As with a single request, failure is reported in-band, as a server
+ *  status message on the returned response.
+ */
+public class ScatterGatherRequest implements Callable< DataServerResponse > {
+
+    /** How often the gathering checks for cancellation while waiting. */
+    private static final long CANCELLATION_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos( 100L );
+
+    /** The cores that carry out the shard requests, in shard order. */
+    protected final List< DataRequestCore > shardCores;
+
+    /** The executor that runs the shard requests in parallel. */
+    protected final Executor shardExecutor;
+
+    /** The combiner that merges the successful shard responses. */
+    protected final ResponseCombiner responseCombiner;
+
+    private GatherPolicy gatherPolicy;
+
+    /** The number of shards that must succeed under the Quorum policy. */
+    private int quorum;
+
+    /** The time allowed for gathering, or zero to wait indefinitely. */
+    private long timeoutMilliseconds;
+
+    private volatile boolean cancelled;
+
+    /** The outcome of every shard of the last run, in shard order. */
+    private volatile List< ShardResult > shardResults;
+
+    /** The time that the last run took, from scatter to combination. */
+    private volatile long elapsedNanos;
+
+    /**
+     * Makes a Scatter-Gather Request that requires every shard to succeed.
+     *
+     * @param pShardCores The cores that carry out the shard requests
+     * @param pShardExecutor The executor that runs the shard requests, which
+     *                       must allow them all to run at once
+     * @param pResponseCombiner The combiner for the shard responses
+     */
+    public ScatterGatherRequest( final Collection< DataRequestCore > pShardCores,
+                                 final Executor pShardExecutor,
+                                 final ResponseCombiner pResponseCombiner ) {
+        if ( pShardCores.isEmpty() ) {
+            throw new IllegalArgumentException( "A scatter-gather request needs shards" ); //$NON-NLS-1$
+        }
+
+        shardCores = Collections.unmodifiableList( new ArrayList<>( pShardCores ) );
+        shardExecutor = pShardExecutor;
+        responseCombiner = pResponseCombiner;
+
+        gatherPolicy = GatherPolicy.ALL;
+        quorum = ( shardCores.size() / 2 ) + 1;
+        timeoutMilliseconds = 0L;
+        cancelled = false;
+        shardResults = Collections.emptyList();
+        elapsedNanos = 0L;
+    }
+
+    /**
+     * Sets the policy for how many shards must succeed.
+     *
+     * @param pGatherPolicy The Gather Policy
+     * @param pQuorum The number of shards that must succeed under the Quorum
+     *                policy; ignored by the other policies
+     */
+    public final void setGatherPolicy( final GatherPolicy pGatherPolicy, final int pQuorum ) {
+        if ( ( pGatherPolicy == GatherPolicy.QUORUM )
+                && ( ( pQuorum < 1 ) || ( pQuorum > shardCores.size() ) ) ) {
+            throw new IllegalArgumentException( "Quorum must be between 1 and the number of shards" ); //$NON-NLS-1$
+        }
+
+        gatherPolicy = pGatherPolicy;
+        quorum = pQuorum;
+    }
+
+    public final GatherPolicy getGatherPolicy() {
+        return gatherPolicy;
+    }
+
+    public final int getQuorum() {
+        return quorum;
+    }
+
+    /**
+     * Sets how long to wait for shards before deciding with those that have
+     * responded, which bounds the latency of the Partial policy.
+     *
+     * @param pTimeoutMilliseconds The time allowed, or zero for no limit
+     */
+    public final void setTimeoutMilliseconds( final long pTimeoutMilliseconds ) {
+        timeoutMilliseconds = Math.max( 0L, pTimeoutMilliseconds );
+    }
+
+    public final long getTimeoutMilliseconds() {
+        return timeoutMilliseconds;
+    }
+
+    /**
+     * Sets the screen size to send with every shard request.
+     *
+     * @param screenWidth The width of the user's screen
+     * @param screenHeight The height of the user's screen
+     */
+    public final void setScreenSize( final double screenWidth, final double screenHeight ) {
+        for ( final DataRequestCore shardCore : shardCores ) {
+            shardCore.setScreenSize( screenWidth, screenHeight );
+        }
+    }
+
+    /**
+     * Cancels the request along with every shard that is still running.
+     */
+    public void cancel() {
+        cancelled = true;
+        for ( final DataRequestCore shardCore : shardCores ) {
+            shardCore.cancel();
+        }
+    }
+
+    public final boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Runs the request without reporting its progress.
+     *
+     * @return The combined response, which holds a status message if the
+     *         request failed
+     * @throws InterruptedException If the request was cancelled
+     */
+    @Override
+    public DataServerResponse call() throws InterruptedException {
+        return execute( RequestProgressListener.NONE );
+    }
+
+    /**
+     * Scatters the shard requests, gathers their responses according to the
+     * Gather Policy, and combines the successful ones.
+     *
+     * @param requestProgressListener The listener to report progress to
+     * @return The combined response, which holds a status message if the
+     *         request failed
+     * @throws InterruptedException If the request was cancelled
+     */
+    @SuppressWarnings("nls")
+    public DataServerResponse execute( final RequestProgressListener requestProgressListener )
+            throws InterruptedException {
+        final int numberOfShards = shardCores.size();
+        final int requiredSuccesses = getRequiredSuccesses();
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos = ( timeoutMilliseconds > 0L )
+            ? startNanos + TimeUnit.MILLISECONDS.toNanos( timeoutMilliseconds )
+            : Long.MAX_VALUE;
+
+        // Scatter all of the shard requests at once, keeping their futures so
+        // that stragglers can be cancelled even before they start running.
+        final CompletionService< ShardResult > completionService =
+                new ExecutorCompletionService<>( shardExecutor );
+        final List< Future< ShardResult > > shardFutures = new ArrayList<>( numberOfShards );
+        for ( int shardIndex = 0; shardIndex < numberOfShards; shardIndex++ ) {
+            final int index = shardIndex;
+            final DataRequestCore shardCore = shardCores.get( shardIndex );
+            shardFutures.add( completionService
+                    .submit( () -> runShard( index, shardCore, startNanos ) ) );
+        }
+        requestProgressListener.onRequestMessage( "Waiting for " + numberOfShards
+                + " Data Services" );
+        requestProgressListener.onRequestProgress( 0.0d, numberOfShards );
+
+        // Gather responses as they come in, until the outcome is decided.
+        final ShardResult[] results = new ShardResult[ numberOfShards ];
+        int numberOfSucceededShards = 0;
+        int numberOfFailedShards = 0;
+        try {
+            while ( ( ( numberOfSucceededShards + numberOfFailedShards ) < numberOfShards )
+                    && !isDecided( numberOfSucceededShards, numberOfFailedShards ) ) {
+                if ( cancelled ) {
+                    throw new InterruptedException();
+                }
+                final long remainingNanos = deadlineNanos - System.nanoTime();
+                if ( remainingNanos <= 0L ) {
+                    break;
+                }
+
+                final Future< ShardResult > shardFuture = completionService
+                        .poll( Math.min( remainingNanos, CANCELLATION_POLL_NANOS ),
+                               TimeUnit.NANOSECONDS );
+                if ( shardFuture == null ) {
+                    continue;
+                }
+
+                final ShardResult shardResult = getShardResult( shardFuture );
+                results[ shardResult.getShardIndex() ] = shardResult;
+                if ( shardResult.isSucceeded() ) {
+                    numberOfSucceededShards++;
+                }
+                else {
+                    numberOfFailedShards++;
+                }
+                requestProgressListener.onRequestProgress( numberOfSucceededShards
+                        + numberOfFailedShards, numberOfShards );
+            }
+        }
+        finally {
+            // Cancel the stragglers, whose responses are no longer needed.
+            final long cancellationNanos = System.nanoTime() - startNanos;
+            for ( int shardIndex = 0; shardIndex < numberOfShards; shardIndex++ ) {
+                if ( results[ shardIndex ] == null ) {
+                    final DataRequestCore shardCore = shardCores.get( shardIndex );
+                    shardCore.cancel();
+                    shardFutures.get( shardIndex ).cancel( true );
+                    results[ shardIndex ] = new ShardResult( shardIndex,
+                                                             shardCore,
+                                                             ShardResult.Outcome.CANCELLED,
+                                                             null,
+                                                             cancellationNanos );
+                }
+            }
+            shardResults = Collections.unmodifiableList( Arrays.asList( results ) );
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        if ( numberOfSucceededShards < requiredSuccesses ) {
+            final DataServerResponse failedResponse = new DataServerResponse();
+            failedResponse.setServerStatusMessage( "Scatter-Gather Error: Only "
+                    + numberOfSucceededShards + " of " + numberOfShards
+                    + " Data Services Responded" + getFirstErrorSuffix() );
+            return failedResponse;
+        }
+
+        // Combine the successful shards, in shard order.
+        requestProgressListener.onRequestMessage( "Combining Data Responses" );
+        final List< ShardResult > succeededShards = new ArrayList<>( numberOfSucceededShards );
+        for ( final ShardResult shardResult : results ) {
+            if ( shardResult.isSucceeded() ) {
+                succeededShards.add( shardResult );
+            }
+        }
+        DataServerResponse combinedResponse;
+        try {
+            combinedResponse = responseCombiner.combine( succeededShards );
+        }
+        catch ( final IOException | RuntimeException e ) {
+            combinedResponse = new DataServerResponse();
+            combinedResponse.setServerStatusMessage( "Data Response Combination Error: "
+                    + e.getMessage() );
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        requestProgressListener.onRequestMessage( "Data Responses Combined" );
+
+        return combinedResponse;
+    }
+
+    private static ShardResult runShard( final int shardIndex,
+                                         final DataRequestCore shardCore,
+                                         final long startNanos ) {
+        try {
+            final DataServerResponse dataServerResponse = shardCore.call();
+            final boolean succeeded = ( dataServerResponse != null )
+                    && ( dataServerResponse.getServerStatusMessage() == null )
+                    && ( dataServerResponse.getServletErrorMessage() == null );
+            return new ShardResult( shardIndex,
+                                    shardCore,
+                                    succeeded
+                                        ? ShardResult.Outcome.SUCCEEDED
+                                        : ShardResult.Outcome.FAILED,
+                                    dataServerResponse,
+                                    System.nanoTime() - startNanos );
+        }
+        catch ( final InterruptedException ie ) {
+            return new ShardResult( shardIndex,
+                                    shardCore,
+                                    ShardResult.Outcome.CANCELLED,
+                                    null,
+                                    System.nanoTime() - startNanos );
+        }
+    }
+
+    private static ShardResult getShardResult( final Future< ShardResult > shardFuture )
+            throws InterruptedException {
+        try {
+            return shardFuture.get();
+        }
+        catch ( final ExecutionException ee ) {
+            // Shards report their failures in-band, so this is a bug.
+            throw new IllegalStateException( ee.getCause() );
+        }
+    }
+
+    private int getRequiredSuccesses() {
+        switch ( gatherPolicy ) {
+        case QUORUM:
+            return quorum;
+        case PARTIAL:
+            return 1;
+        case ALL:
+        default:
+            return shardCores.size();
+        }
+    }
+
+    /**
+     * Returns whether the outcome is decided before every shard responded.
+     *
+     * @param numberOfSucceededShards The number of shards that succeeded
+     * @param numberOfFailedShards The number of shards that failed
+     * @return true if no further shard response can change the outcome
+     */
+    private boolean isDecided( final int numberOfSucceededShards,
+                               final int numberOfFailedShards ) {
+        switch ( gatherPolicy ) {
+        case ALL:
+            return numberOfFailedShards > 0;
+        case QUORUM:
+            return ( numberOfSucceededShards >= quorum )
+                    || ( numberOfFailedShards > ( shardCores.size() - quorum ) );
+        case PARTIAL:
+        default:
+            return false;
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private String getFirstErrorSuffix() {
+        for ( final ShardResult shardResult : shardResults ) {
+            if ( shardResult.getErrorMessage() != null ) {
+                return ": " + shardResult.getErrorMessage();
+            }
+        }
+        return "";
+    }
+
+    public final List< DataRequestCore > getShardCores() {
+        return shardCores;
+    }
+
+    /**
+     * Returns the outcome and timing of every shard of the last run.
+     *
+     * @return The shard results, in shard order
+     */
+    public final List< ShardResult > getShardResults() {
+        return shardResults;
+    }
+
+    /**
+     * Drops the shard responses of the last run, and returns any pooled
+     * Response Bodies that the shards kept, once the combined response has
+     * been consumed.
+     */
+    public final void releaseShardResults() {
+        shardResults = Collections.emptyList();
+        for ( final DataRequestCore shardCore : shardCores ) {
+            shardCore.releaseResponseBody();
+        }
+    }
+
+    public final long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
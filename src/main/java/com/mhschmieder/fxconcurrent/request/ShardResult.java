@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import com.mhschmieder.fxconcurrent.io.PooledResponseBody;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The outcome and timing of one shard of a scatter-gather request.
+ */
+public final class ShardResult {
+
+    /** The outcomes of a shard request. */
+    public enum Outcome {
+        SUCCEEDED, FAILED, CANCELLED
+    }
+
+    /** The position of the shard in the scatter-gather request. */
+    private final int shardIndex;
+
+    /** The core that carried out the shard request. */
+    private final DataRequestCore dataRequestCore;
+
+    private final Outcome outcome;
+
+    /** The shard's response, or null if it was cancelled before one came. */
+    private final DataServerResponse dataServerResponse;
+
+    /** The time from scattering the shard request until its outcome. */
+    private final long elapsedNanos;
+
+    public ShardResult( final int pShardIndex,
+                        final DataRequestCore pDataRequestCore,
+                        final Outcome pOutcome,
+                        final DataServerResponse pDataServerResponse,
+                        final long pElapsedNanos ) {
+        shardIndex = pShardIndex;
+        dataRequestCore = pDataRequestCore;
+        outcome = pOutcome;
+        dataServerResponse = pDataServerResponse;
+        elapsedNanos = pElapsedNanos;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Returns the core that carried out the shard request, for combiners that
+     * need more than the Server Response Data (e.g. a response file).
+     *
+     * @return The Data Request Core of this shard
+     */
+    public DataRequestCore getDataRequestCore() {
+        return dataRequestCore;
+    }
+
+    public String getServletUrl() {
+        return dataRequestCore.getServletUrl();
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isSucceeded() {
+        return outcome == Outcome.SUCCEEDED;
+    }
+
+    public DataServerResponse getDataServerResponse() {
+        return dataServerResponse;
+    }
+
+    /**
+     * Writes the data of the shard's response to a stream, wherever the data
+     * ended up: in the Server Response Data, in a pooled Response Body that
+     * wasn't materialized, or in a file it was spilled or downloaded to.
+     *
+     * @param outputStream The stream to write the response data to
+     * @throws IOException If the data can't be read or written, or if it was
+     *                     streamed through a pipeline and not kept at all
+     */
+    @SuppressWarnings("nls")
+    public void writeResponseDataTo( final OutputStream outputStream ) throws IOException {
+        final byte[] serverResponseData = ( dataServerResponse != null )
+            ? dataServerResponse.getServerResponseData()
+            : null;
+        if ( serverResponseData != null ) {
+            outputStream.write( serverResponseData, 0, serverResponseData.length );
+            return;
+        }
+
+        final PooledResponseBody responseBody = dataRequestCore.getResponseBody();
+        if ( responseBody != null ) {
+            responseBody.writeTo( outputStream );
+            return;
+        }
+
+        final Path responseFile = dataRequestCore.getResponseFile();
+        if ( responseFile != null ) {
+            Files.copy( responseFile, outputStream );
+            return;
+        }
+
+        if ( dataRequestCore.getResponsePipeline() != null ) {
+            throw new IOException( "Shard " + shardIndex
+                    + " Response Was Streamed Through a Pipeline and Not Kept" );
+        }
+    }
+
+    /**
+     * Returns the reason that the shard failed, if it did.
+     *
+     * @return The server status message or servlet error message, or null
+     */
+    public String getErrorMessage() {
+        if ( dataServerResponse == null ) {
+            return null;
+        }
+        return ( dataServerResponse.getServerStatusMessage() != null )
+            ? dataServerResponse.getServerStatusMessage()
+            : dataServerResponse.getServletErrorMessage();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos * 1.0e-6d;
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return "Shard " + shardIndex + " (" + getServletUrl() + "): " + outcome + " in "
+                + String.format( "%.1f", getElapsedMillis() ) + " ms";
+    }
+}
@@ -51,6 +51,9 @@ public class AuthorizationRequestService extends ServerRequestService< Authoriza
     /** Reference to a Login Dialog that instigates the authorization. */
     protected Dialog< Pair< String, String > > loginDialog;
 
+    /** The response to the authorization made during a warm-up, if any. */
+    protected volatile AuthorizationServerResponse preAuthorizationResponse;
+
     public AuthorizationRequestService( final HttpServletRequestProperties pServerRequestProperties,
                                         final ClientProperties pClientProperties ) {
         // Always call the superclass constructor first!
@@ -61,6 +64,7 @@ public class AuthorizationRequestService extends ServerRequestService< Authoriza
 
         // Not all authorization requests are launched from Login Dialogs.
         loginDialog = null;
+        preAuthorizationResponse = null;
         
         // Add callbacks for the Service API status tracking.
         addCallbacks();
@@ -90,6 +94,45 @@ public class AuthorizationRequestService extends ServerRequestService< Authoriza
         restart();
     }
 
+    /**
+     * Authorizes the cached Login Credentials as part of a warm-up, which
+     * exercises the whole authorization path ahead of the first login.
+     * <p>
+     * NOTE: This runs the task directly on the warm-up thread, as it must not
+     *  disturb the state of this Service or trigger its GUI callbacks. The
+     *  first real login still makes its own request, so the server sees one
+     *  extra login, and its time isn't counted as saved by the warm-up.
+     *
+     * @return true if an authorization request was made
+     */
+    @Override
+    protected boolean preAuthorize() {
+        if ( ( loginCredentials == null ) || !loginCredentials.isValid() ) {
+            return false;
+        }
+
+        final AuthorizationRequestTask authorizationRequestTask = createTask();
+        authorizationRequestTask.run();
+        try {
+            preAuthorizationResponse = authorizationRequestTask.get();
+        }
+        catch ( final Exception e ) {
+            e.printStackTrace();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the response to the authorization made during a warm-up.
+     *
+     * @return The pre-authorization response, or null if none was made
+     */
+    public AuthorizationServerResponse getPreAuthorizationResponse() {
+        return preAuthorizationResponse;
+    }
+
     public LoginCredentials getLoginCredentials() {
         return loginCredentials;
     }
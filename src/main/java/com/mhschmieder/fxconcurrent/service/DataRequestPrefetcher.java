@@ -0,0 +1,457 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import com.mhschmieder.fxconcurrent.task.DataRequestTask;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Speculatively fetches the data requests that the application predicts will
+ * be issued next, at low priority and only while the owning service is idle,
+ * so that a matching real request can be served instantly from memory.
+ * <p>
+ * Prefetched responses are held in a bounded buffer (by entry count and by
+ * total bytes) and expire after a maximum age, so that stale data is never
+ * served in place of a real request.
+ */
+public class DataRequestPrefetcher {
+
+    /** The default maximum number of predicted requests waiting to run. */
+    public static final int MAXIMUM_PREDICTIONS_DEFAULT = 8;
+
+    /** The default maximum number of prefetched responses kept in memory. */
+    public static final int MAXIMUM_ENTRIES_DEFAULT = 8;
+
+    /** The default maximum number of prefetched bytes kept in memory. */
+    public static final long MAXIMUM_BYTES_DEFAULT = 32L * 1024L * 1024L;
+
+    /** The default maximum age of a prefetched response, in milliseconds. */
+    public static final long MAXIMUM_AGE_MILLISECONDS_DEFAULT = 30000L;
+
+    /**
+     * A prefetched response, along with when it arrived and its size.
+     */
+    private static final class PrefetchEntry {
+        final DataServerResponse dataServerResponse;
+        final long arrivalTimeMillis;
+        final long numberOfBytes;
+
+        PrefetchEntry( final DataServerResponse pDataServerResponse,
+                       final long pArrivalTimeMillis,
+                       final long pNumberOfBytes ) {
+            dataServerResponse = pDataServerResponse;
+            arrivalTimeMillis = pArrivalTimeMillis;
+            numberOfBytes = pNumberOfBytes;
+        }
+    }
+
+    /** Makes a fresh task for a predicted request, as the service would. */
+    private final Function< DataRequestParameters, DataRequestTask > taskFactory;
+
+    /** Maps request parameters to the key that prefetch matching is done by. */
+    private final Function< DataRequestParameters, Object > requestKeyFunction;
+
+    private final int maximumPredictions;
+    private final int maximumEntries;
+    private final long maximumBytes;
+    private final long maximumAgeMillis;
+
+    /** The predicted requests that have not been fetched yet, in order. */
+    private final Deque< DataRequestParameters > predictedRequests;
+
+    /** The prefetched responses, in least recently arrived order. */
+    private final LinkedHashMap< Object, PrefetchEntry > prefetchBuffer;
+
+    /** The low-priority single thread that runs all prefetches. */
+    private final ExecutorService prefetchExecutor;
+
+    /** The prefetch that is currently running, if any. */
+    private DataRequestTask prefetchTask;
+    private DataRequestParameters prefetchParameters;
+
+    /** Flag for whether the owning service is idle, allowing prefetches. */
+    private boolean serviceIdle;
+
+    private long bufferedBytes;
+    private long numberOfHits;
+    private long numberOfMisses;
+    private long numberOfPrefetches;
+    private long prefetchedBytes;
+    private long wastedBytes;
+
+    /**
+     * Makes a Data Request Prefetcher with default limits, which matches real
+     * requests to predictions by equality of their request parameters.
+     *
+     * @param pTaskFactory Makes a fresh task for a predicted request
+     */
+    public DataRequestPrefetcher( final Function< DataRequestParameters, DataRequestTask > pTaskFactory ) {
+        this( pTaskFactory,
+              dataRequestParameters -> dataRequestParameters,
+              MAXIMUM_PREDICTIONS_DEFAULT,
+              MAXIMUM_ENTRIES_DEFAULT,
+              MAXIMUM_BYTES_DEFAULT,
+              MAXIMUM_AGE_MILLISECONDS_DEFAULT );
+    }
+
+    /**
+     * Makes a Data Request Prefetcher with all parameters specified.
+     *
+     * @param pTaskFactory Makes a fresh task for a predicted request
+     * @param pRequestKeyFunction Maps request parameters to a matching key
+     * @param pMaximumPredictions Maximum number of pending predictions
+     * @param pMaximumEntries Maximum number of prefetched responses kept
+     * @param pMaximumBytes Maximum number of prefetched bytes kept
+     * @param pMaximumAgeMillis Maximum age of a servable response
+     */
+    public DataRequestPrefetcher( final Function< DataRequestParameters, DataRequestTask > pTaskFactory,
+                                  final Function< DataRequestParameters, Object > pRequestKeyFunction,
+                                  final int pMaximumPredictions,
+                                  final int pMaximumEntries,
+                                  final long pMaximumBytes,
+                                  final long pMaximumAgeMillis ) {
+        taskFactory = pTaskFactory;
+        requestKeyFunction = pRequestKeyFunction;
+        maximumPredictions = pMaximumPredictions;
+        maximumEntries = pMaximumEntries;
+        maximumBytes = pMaximumBytes;
+        maximumAgeMillis = pMaximumAgeMillis;
+
+        predictedRequests = new ArrayDeque<>( pMaximumPredictions );
+        prefetchBuffer = new LinkedHashMap<>();
+
+        // Prefetching must never compete with real work, so it runs on a
+        // single minimum-priority daemon thread.
+        prefetchExecutor = Executors.newSingleThreadExecutor( runnable -> {
+            final Thread thread = new Thread( runnable, "Data Request Prefetcher" );
+            thread.setDaemon( true );
+            thread.setPriority( Thread.MIN_PRIORITY );
+            return thread;
+        } );
+
+        prefetchTask = null;
+        prefetchParameters = null;
+        serviceIdle = true;
+    }
+
+    /**
+     * Registers a predicted next data request, to be fetched the next time
+     * the service is idle. The oldest prediction is dropped when full.
+     *
+     * @param dataRequestParameters The parameters of the predicted request
+     */
+    public synchronized void addPredictedRequest( final DataRequestParameters dataRequestParameters ) {
+        if ( ( dataRequestParameters == null )
+                || predictedRequests.contains( dataRequestParameters ) ) {
+            return;
+        }
+
+        if ( predictedRequests.size() >= maximumPredictions ) {
+            predictedRequests.pollFirst();
+        }
+        predictedRequests.addLast( dataRequestParameters );
+
+        startNextPrefetch();
+    }
+
+    /**
+     * Drops all pending predictions and buffered responses, such as when the
+     * user's workflow changes direction.
+     */
+    public synchronized void clear() {
+        predictedRequests.clear();
+        cancelPrefetch( false );
+
+        for ( final PrefetchEntry prefetchEntry : prefetchBuffer.values() ) {
+            wastedBytes += prefetchEntry.numberOfBytes;
+        }
+        prefetchBuffer.clear();
+        bufferedBytes = 0L;
+    }
+
+    /**
+     * Takes the prefetched response for a real request, if one is available
+     * and still fresh, removing it from the buffer.
+     *
+     * @param dataRequestParameters The parameters of the real request
+     * @return The prefetched response, or null on a prefetch miss
+     */
+    public synchronized DataServerResponse take( final DataRequestParameters dataRequestParameters ) {
+        evictExpiredEntries();
+
+        final PrefetchEntry prefetchEntry = ( dataRequestParameters != null )
+            ? prefetchBuffer.remove( requestKeyFunction.apply( dataRequestParameters ) )
+            : null;
+        if ( prefetchEntry == null ) {
+            numberOfMisses++;
+            return null;
+        }
+
+        numberOfHits++;
+        bufferedBytes -= prefetchEntry.numberOfBytes;
+        return prefetchEntry.dataServerResponse;
+    }
+
+    /**
+     * Takes over the prefetch that is currently running, if it is for the
+     * same request as a real request that is about to start, so that the real
+     * request waits for it rather than cancelling it and then fetching the
+     * same response all over again.
+     *
+     * @param dataRequestParameters The parameters of the real request
+     * @return The running prefetch task, which now belongs to the caller, or
+     *         null if no prefetch is running for the same request
+     */
+    public synchronized DataRequestTask takeOver( final DataRequestParameters dataRequestParameters ) {
+        if ( ( prefetchTask == null ) || ( dataRequestParameters == null )
+                || !requestKeyFunction.apply( prefetchParameters )
+                        .equals( requestKeyFunction.apply( dataRequestParameters ) ) ) {
+            return null;
+        }
+
+        // Detach the prefetch, so that it is neither cancelled when the real
+        // request starts nor stored in the buffer when it completes.
+        final DataRequestTask takenOverTask = prefetchTask;
+        prefetchTask = null;
+        prefetchParameters = null;
+
+        numberOfHits++;
+        return takenOverTask;
+    }
+
+    /**
+     * Notifies the prefetcher that the owning service started a real request,
+     * so any running prefetch is abandoned to free up the connection.
+     * <p>
+     * NOTE: A prefetch for the same request as the real one should have been
+     *  taken over beforehand, as it would otherwise be wasted.
+     */
+    public synchronized void onServiceBusy() {
+        serviceIdle = false;
+        cancelPrefetch( true );
+    }
+
+    /**
+     * Notifies the prefetcher that the owning service has gone idle, so that
+     * pending predictions may be fetched.
+     */
+    public synchronized void onServiceIdle() {
+        serviceIdle = true;
+        startNextPrefetch();
+    }
+
+    /**
+     * Stops all prefetching and releases the prefetch thread.
+     */
+    public synchronized void shutdown() {
+        clear();
+        prefetchExecutor.shutdownNow();
+    }
+
+    private void startNextPrefetch() {
+        if ( !serviceIdle || ( prefetchTask != null ) || prefetchExecutor.isShutdown() ) {
+            return;
+        }
+
+        // Skip predictions that are already sitting in the buffer.
+        DataRequestParameters nextParameters;
+        do {
+            nextParameters = predictedRequests.pollFirst();
+        }
+        while ( ( nextParameters != null )
+                && prefetchBuffer.containsKey( requestKeyFunction.apply( nextParameters ) ) );
+        if ( nextParameters == null ) {
+            return;
+        }
+
+        final DataRequestTask dataRequestTask = taskFactory.apply( nextParameters );
+        prefetchTask = dataRequestTask;
+        prefetchParameters = nextParameters;
+
+        prefetchExecutor.execute( () -> runPrefetch( dataRequestTask ) );
+    }
+
+    private void runPrefetch( final DataRequestTask dataRequestTask ) {
+        // Run the task on this thread rather than via a Service, as it is not
+        // tracked by the GUI and must not disturb the owning service's state.
+        dataRequestTask.run();
+
+        DataServerResponse dataServerResponse = null;
+        try {
+            if ( !dataRequestTask.isCancelled() ) {
+                dataServerResponse = dataRequestTask.get();
+            }
+        }
+        catch ( final Exception e ) {
+            // A failed prefetch is simply a future prefetch miss.
+            dataServerResponse = null;
+        }
+
+        synchronized ( this ) {
+            if ( prefetchTask != dataRequestTask ) {
+                return;
+            }
+
+            if ( isUsable( dataServerResponse ) ) {
+                storeEntry( requestKeyFunction.apply( prefetchParameters ), dataServerResponse );
+            }
+
+            prefetchTask = null;
+            prefetchParameters = null;
+            startNextPrefetch();
+        }
+    }
+
+    private void cancelPrefetch( final boolean requeue ) {
+        if ( prefetchTask == null ) {
+            return;
+        }
+
+        // Put the abandoned prediction back at the head, so it is retried
+        // first the next time the service goes idle.
+        if ( requeue ) {
+            predictedRequests.addFirst( prefetchParameters );
+        }
+
+        final DataRequestTask cancelledTask = prefetchTask;
+        prefetchTask = null;
+        prefetchParameters = null;
+        cancelledTask.cancel();
+    }
+
+    private static boolean isUsable( final DataServerResponse dataServerResponse ) {
+        return ( dataServerResponse != null )
+                && ( dataServerResponse.getServerStatusMessage() == null )
+                && ( dataServerResponse.getServletErrorMessage() == null )
+                && ( dataServerResponse.getServerResponseData() != null );
+    }
+
+    private void storeEntry( final Object requestKey,
+                             final DataServerResponse dataServerResponse ) {
+        final long numberOfBytes = dataServerResponse.getServerResponseData().length;
+        if ( numberOfBytes > maximumBytes ) {
+            wastedBytes += numberOfBytes;
+            return;
+        }
+
+        // Remove any older response first, so the buffer stays in arrival order.
+        final PrefetchEntry previousEntry = prefetchBuffer.remove( requestKey );
+        if ( previousEntry != null ) {
+            bufferedBytes -= previousEntry.numberOfBytes;
+            wastedBytes += previousEntry.numberOfBytes;
+        }
+        prefetchBuffer.put( requestKey,
+                            new PrefetchEntry( dataServerResponse,
+                                               System.currentTimeMillis(),
+                                               numberOfBytes ) );
+
+        bufferedBytes += numberOfBytes;
+        numberOfPrefetches++;
+        prefetchedBytes += numberOfBytes;
+
+        // Evict the oldest responses until the buffer is back within bounds.
+        final Iterator< PrefetchEntry > iterator = prefetchBuffer.values().iterator();
+        while ( ( ( prefetchBuffer.size() > maximumEntries ) || ( bufferedBytes > maximumBytes ) )
+                && iterator.hasNext() ) {
+            final PrefetchEntry evictedEntry = iterator.next();
+            iterator.remove();
+            bufferedBytes -= evictedEntry.numberOfBytes;
+            wastedBytes += evictedEntry.numberOfBytes;
+        }
+    }
+
+    private void evictExpiredEntries() {
+        final long oldestArrivalTimeMillis = System.currentTimeMillis() - maximumAgeMillis;
+        final Iterator< Map.Entry< Object, PrefetchEntry > > iterator = prefetchBuffer.entrySet()
+                .iterator();
+        while ( iterator.hasNext() ) {
+            final PrefetchEntry prefetchEntry = iterator.next().getValue();
+            if ( prefetchEntry.arrivalTimeMillis >= oldestArrivalTimeMillis ) {
+                // Entries are in arrival order, so the rest are all fresher.
+                break;
+            }
+            iterator.remove();
+            bufferedBytes -= prefetchEntry.numberOfBytes;
+            wastedBytes += prefetchEntry.numberOfBytes;
+        }
+    }
+
+    public synchronized long getNumberOfHits() {
+        return numberOfHits;
+    }
+
+    public synchronized long getNumberOfMisses() {
+        return numberOfMisses;
+    }
+
+    /**
+     * Returns the fraction of real requests that were served from prefetched
+     * responses, or zero if no real requests have been made yet.
+     *
+     * @return The prefetch hit rate, from zero to one
+     */
+    public synchronized double getHitRate() {
+        final long numberOfRequests = numberOfHits + numberOfMisses;
+        return ( numberOfRequests > 0L ) ? ( double ) numberOfHits / numberOfRequests : 0.0d;
+    }
+
+    public synchronized long getNumberOfPrefetches() {
+        return numberOfPrefetches;
+    }
+
+    public synchronized long getPrefetchedBytes() {
+        return prefetchedBytes;
+    }
+
+    /**
+     * Returns the number of prefetched bytes that were never served, due to
+     * eviction, expiry, replacement or clearing of the buffer.
+     *
+     * @return The number of prefetched bytes that were wasted
+     */
+    public synchronized long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    public synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+}
@@ -30,10 +30,38 @@
  */
 package com.mhschmieder.fxconcurrent.service;
 
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.io.ByteBufferPool;
+import com.mhschmieder.fxconcurrent.io.MultiEntryResponse;
+import com.mhschmieder.fxconcurrent.io.PooledResponseBody;
+import com.mhschmieder.fxconcurrent.io.ResponseChangeTracker;
+import com.mhschmieder.fxconcurrent.io.SegmentedDownloadOptions;
+import com.mhschmieder.fxconcurrent.metrics.RequestMetrics;
+import com.mhschmieder.fxconcurrent.net.ConcurrencyLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.RateLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.ServletEndpoint;
+import com.mhschmieder.fxconcurrent.net.ServletEndpointGroup;
+import com.mhschmieder.fxconcurrent.pipeline.ResponsePipeline;
+import com.mhschmieder.fxconcurrent.replay.TrafficRecorder;
+import com.mhschmieder.fxconcurrent.request.DataRequestCore;
+import com.mhschmieder.fxconcurrent.task.DataRequestTask;
+import com.mhschmieder.fxconcurrent.task.PrefetchedDataRequestTask;
 import com.mhschmieder.jcommons.net.DataRequestParameters;
 import com.mhschmieder.jcommons.net.DataServerResponse;
 import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
 import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
 
 /**
  * Abstract base class for service commonality between server data requests.
@@ -45,14 +73,672 @@ public abstract class DataRequestService extends ServerRequestService< DataServe
      */
     protected DataRequestParameters dataRequestParameters;
 
+    /**
+     * Optional pipeline of post-processing stages to attach to each new task.
+     */
+    protected ResponsePipeline responsePipeline;
+
+    /**
+     * Optional pool of reusable buffers for reading response bodies.
+     */
+    protected ByteBufferPool responseBufferPool;
+
+    /**
+     * Flag for whether pooled response bodies are copied into the Server
+     * Response Data, or handed to consumers as pooled Response Bodies.
+     */
+    protected boolean materializeResponseData;
+
+    /**
+     * Optional settings for resumable and parallel byte range downloads.
+     */
+    protected SegmentedDownloadOptions segmentedDownloadOptions;
+
+    /**
+     * Optional set of equivalent servlet endpoints to balance requests across.
+     */
+    protected ServletEndpointGroup servletEndpointGroup;
+
+    /**
+     * Optional registry of adaptive per-endpoint limits on in-flight requests.
+     */
+    protected ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    /**
+     * Optional registry of client-side request rate limits (quotas).
+     */
+    protected RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * Optional tracker of the previous response to each request, for marking
+     * identical responses as unchanged.
+     */
+    protected ResponseChangeTracker responseChangeTracker;
+
+    /**
+     * Optional recorder of live traffic, for replay in offline testing.
+     */
+    protected TrafficRecorder trafficRecorder;
+
+    /**
+     * Whether the last successful response was identical to the previous
+     * response to the same request.
+     */
+    private final ReadOnlyBooleanWrapper responseUnchanged;
+
+    /**
+     * Optional memory budget for response bodies, shared across requests.
+     */
+    protected ByteBudget byteBudget;
+
+    /**
+     * Optional metrics of request layer traffic, for live monitoring.
+     */
+    protected RequestMetrics requestMetrics;
+
+    /**
+     * The most recently created task, for access to its pooled resources.
+     */
+    protected DataRequestTask dataRequestTask;
+
+    /**
+     * Optional prefetcher of predicted next requests, fetched while idle.
+     */
+    protected DataRequestPrefetcher dataRequestPrefetcher;
+
+    /**
+     * Optional durable queue for requests that could not reach the server.
+     */
+    protected OfflineRequestQueue offlineRequestQueue;
+
     public DataRequestService( final HttpServletRequestProperties pServerRequestProperties,
                                final ClientProperties pClientProperties ) {
         // Always call the superclass constructor first!
         super( pServerRequestProperties,
                pClientProperties );
+
+        responsePipeline = null;
+        responseBufferPool = null;
+        materializeResponseData = true;
+        segmentedDownloadOptions = null;
+        servletEndpointGroup = null;
+        concurrencyLimiterRegistry = null;
+        requestMetrics = null;
+        byteBudget = null;
+        rateLimiterRegistry = null;
+        responseChangeTracker = null;
+        trafficRecorder = null;
+        responseUnchanged = new ReadOnlyBooleanWrapper( this, "responseUnchanged", false ); //$NON-NLS-1$
+        dataRequestTask = null;
+        dataRequestPrefetcher = null;
+        offlineRequestQueue = null;
+
+        // Publish whether the response is unchanged before any "onSucceeded"
+        // callback runs, as event handlers are always called ahead of it.
+        addEventHandler( WorkerStateEvent.WORKER_STATE_SUCCEEDED,
+                         workerStateEvent -> responseUnchanged
+                                 .set( ( dataRequestTask != null )
+                                         && dataRequestTask.isResponseUnchanged() ) );
+        addEventHandler( WorkerStateEvent.WORKER_STATE_FAILED,
+                         workerStateEvent -> responseUnchanged.set( false ) );
+        addEventHandler( WorkerStateEvent.WORKER_STATE_CANCELLED,
+                         workerStateEvent -> responseUnchanged.set( false ) );
+
+        // Journal requests that never reached the server, which arms a replay
+        // that backs off until the server is back, and replay the journal
+        // right away as soon as any request gets through again.
+        // NOTE: This is an event handler rather than the "onSucceeded"
+        //  callback, so that it doesn't collide with subclass callbacks.
+        addEventHandler( WorkerStateEvent.WORKER_STATE_SUCCEEDED, workerStateEvent -> {
+            if ( ( offlineRequestQueue == null ) || ( dataRequestTask == null ) ) {
+                return;
+            }
+
+            if ( OfflineRequestQueue.isConnectionError( getValue() ) ) {
+                offlineRequestQueue.enqueue( dataRequestTask.getDataRequestParameters() );
+            }
+            else {
+                offlineRequestQueue.replay();
+            }
+        } );
+
+        // Let any prefetcher know when the connection is free for it to use.
+        stateProperty().addListener( ( observable, oldState, newState ) -> {
+            if ( dataRequestPrefetcher == null ) {
+                return;
+            }
+
+            switch ( newState ) {
+            case SCHEDULED:
+            case RUNNING:
+                dataRequestPrefetcher.onServiceBusy();
+                break;
+            case READY:
+            case SUCCEEDED:
+            case CANCELLED:
+            case FAILED:
+                dataRequestPrefetcher.onServiceIdle();
+                break;
+            default:
+                break;
+            }
+        } );
+    }
+
+    /**
+     * Returns a general DataRequestTask for the given request parameters.
+     * <p>
+     * NOTE: This method should be overridden by implementing classes that
+     *  use a more specific task class, as it is also used for prefetching.
+     *
+     * @param pDataRequestParameters The parameters of the data request
+     * @return A general DataRequestTask that holds the task parameters
+     */
+    protected DataRequestTask makeDataRequestTask( final DataRequestParameters pDataRequestParameters ) {
+        return new DataRequestTask( httpServletRequestProperties,
+                                    pDataRequestParameters,
+                                    clientProperties );
+    }
+
+    /**
+     * Returns a task that serves the current request from the prefetcher, or
+     * null on a prefetch miss (or if there is no prefetcher).
+     *
+     * @return A task that completes immediately, or once the prefetch still
+     *         running for the request completes, or null on a prefetch miss
+     */
+    protected DataRequestTask takePrefetchedDataRequestTask() {
+        if ( dataRequestPrefetcher == null ) {
+            return null;
+        }
+
+        // A prefetch that is still running for this request is waited for,
+        // rather than being cancelled and fetched all over again.
+        final DataRequestTask prefetchDataRequestTask = dataRequestPrefetcher
+                .takeOver( dataRequestParameters );
+        if ( prefetchDataRequestTask != null ) {
+            if ( requestMetrics != null ) {
+                requestMetrics.onCacheHit();
+            }
+
+            return trackDataRequestTask( new PrefetchedDataRequestTask( httpServletRequestProperties,
+                                                                        dataRequestParameters,
+                                                                        clientProperties,
+                                                                        prefetchDataRequestTask ) );
+        }
+
+        final DataServerResponse prefetchedDataServerResponse = dataRequestPrefetcher
+                .take( dataRequestParameters );
+        if ( prefetchedDataServerResponse == null ) {
+            if ( requestMetrics != null ) {
+                requestMetrics.onCacheMiss();
+            }
+            return null;
+        }
+        if ( requestMetrics != null ) {
+            requestMetrics.onCacheHit();
+        }
+
+        final DataRequestTask prefetchedDataRequestTask =
+                                                        new PrefetchedDataRequestTask( httpServletRequestProperties,
+                                                                                       dataRequestParameters,
+                                                                                       clientProperties,
+                                                                                       prefetchedDataServerResponse );
+
+        return trackDataRequestTask( prefetchedDataRequestTask );
+    }
+
+    /**
+     * Applies the service-level request configuration (pipeline, buffers,
+     * etc.) to a newly made task, and keeps track of it as the current task.
+     * <p>
+     * NOTE: Implementing classes should call this from their createTask().
+     *
+     * @param pDataRequestTask The newly made Data Request Task
+     * @return The same task, once configured
+     */
+    protected DataRequestTask configureDataRequestTask( final DataRequestTask pDataRequestTask ) {
+        configureDataRequestCore( pDataRequestTask.getDataRequestCore() );
+
+        return trackDataRequestTask( pDataRequestTask );
+    }
+
+    /**
+     * Keeps track of a newly made task as the current task, without applying
+     * any configuration to it, such as for a task that serves a prefetched
+     * response.
+     *
+     * @param pDataRequestTask The newly made Data Request Task
+     * @return The same task
+     */
+    protected DataRequestTask trackDataRequestTask( final DataRequestTask pDataRequestTask ) {
+        dataRequestTask = pDataRequestTask;
+
+        return pDataRequestTask;
+    }
+
+    /**
+     * Applies the service-level request configuration to a request core,
+     * which lets headless workers run requests on plain executors with the
+     * same endpoints, limits and budgets as this service.
+     *
+     * @param pDataRequestCore The request core to configure
+     * @return The same request core, once configured
+     */
+    public DataRequestCore configureDataRequestCore( final DataRequestCore pDataRequestCore ) {
+        pDataRequestCore.setResponsePipeline( responsePipeline );
+        pDataRequestCore.setResponseBufferPool( responseBufferPool,
+                                                materializeResponseData );
+        pDataRequestCore.setSegmentedDownloadOptions( segmentedDownloadOptions );
+        pDataRequestCore.setServletEndpointGroup( servletEndpointGroup );
+        pDataRequestCore.setConcurrencyLimiterRegistry( concurrencyLimiterRegistry );
+        pDataRequestCore.setRequestMetrics( requestMetrics );
+        pDataRequestCore.setByteBudget( byteBudget );
+        pDataRequestCore.setRateLimiterRegistry( rateLimiterRegistry );
+        pDataRequestCore.setResponseChangeTracker( responseChangeTracker );
+        pDataRequestCore.setTrafficRecorder( trafficRecorder );
+
+        return pDataRequestCore;
     }
 
     public void setDataRequestParameters( final DataRequestParameters pDataRequestParameters ) {
         dataRequestParameters = pDataRequestParameters;
     }
+
+    public ResponsePipeline getResponsePipeline() {
+        return responsePipeline;
+    }
+
+    /**
+     * Sets the pipeline of post-processing stages (decompress, parse, publish,
+     * etc.) to attach to each new data request task, or null for none.
+     *
+     * @param pResponsePipeline The Response Pipeline to attach to new tasks
+     */
+    public void setResponsePipeline( final ResponsePipeline pResponsePipeline ) {
+        responsePipeline = pResponsePipeline;
+    }
+
+    public ByteBufferPool getResponseBufferPool() {
+        return responseBufferPool;
+    }
+
+    /**
+     * Sets the pool of reusable buffers to read response bodies into, or null
+     * to read each response into a freshly allocated byte array.
+     * <p>
+     * NOTE: When the data is not materialized, consumers get the body from
+     *  {@link #getResponseBody()} and must release it once done, so that
+     *  steady-state requests generate next to no garbage. Releasing the body
+     *  also gives back its reservation on any Byte Budget.
+     *
+     * @param pResponseBufferPool The pool to borrow response buffers from
+     * @param pMaterializeResponseData true to also copy each body into the
+     *                                 Server Response Data byte array
+     */
+    public void setResponseBufferPool( final ByteBufferPool pResponseBufferPool,
+                                       final boolean pMaterializeResponseData ) {
+        responseBufferPool = pResponseBufferPool;
+        materializeResponseData = pMaterializeResponseData;
+    }
+
+    public ServletEndpointGroup getServletEndpointGroup() {
+        return servletEndpointGroup;
+    }
+
+    /**
+     * Sets the equivalent servlet endpoints (server replicas) to balance data
+     * requests across, or null to always use the single servlet URL of the
+     * HTTP Servlet Request Properties.
+     *
+     * @param pServletEndpointGroup The equivalent servlet endpoints
+     */
+    public void setServletEndpointGroup( final ServletEndpointGroup pServletEndpointGroup ) {
+        servletEndpointGroup = pServletEndpointGroup;
+    }
+
+    /**
+     * Returns the servlet URLs to warm up, which include every endpoint that
+     * data requests are balanced across.
+     *
+     * @return The servlet URLs to warm up
+     */
+    @Override
+    protected Collection< String > getWarmUpServletUrls() {
+        final Collection< String > servletUrls = super.getWarmUpServletUrls();
+        if ( servletEndpointGroup != null ) {
+            for ( final ServletEndpoint servletEndpoint : servletEndpointGroup
+                    .getServletEndpoints() ) {
+                if ( !servletUrls.contains( servletEndpoint.getServletUrl() ) ) {
+                    servletUrls.add( servletEndpoint.getServletUrl() );
+                }
+            }
+        }
+        return servletUrls;
+    }
+
+    /**
+     * Balances data requests across the given equivalent servlet URLs.
+     *
+     * @param servletUrls The URLs of the equivalent servlet endpoints
+     */
+    public void setServletUrls( final Collection< String > servletUrls ) {
+        setServletEndpointGroup( new ServletEndpointGroup( servletUrls ) );
+    }
+
+    public ConcurrencyLimiterRegistry getConcurrencyLimiterRegistry() {
+        return concurrencyLimiterRegistry;
+    }
+
+    /**
+     * Sets the registry of adaptive per-endpoint concurrency limits, which
+     * caps the data requests in flight to each endpoint according to its
+     * observed latency and errors, and queues the rest; or null for no limits.
+     * <p>
+     * NOTE: Share one registry across all services that use the same servers.
+     *
+     * @param pConcurrencyLimiterRegistry The per-endpoint concurrency limits
+     */
+    public void setConcurrencyLimiterRegistry( final ConcurrencyLimiterRegistry pConcurrencyLimiterRegistry ) {
+        concurrencyLimiterRegistry = pConcurrencyLimiterRegistry;
+    }
+
+    public TrafficRecorder getTrafficRecorder() {
+        return trafficRecorder;
+    }
+
+    /**
+     * Sets the recorder that each request and its response are captured to,
+     * so that a Replay Server can stand in for the servlets in repeatable
+     * performance tests; or null to stop recording.
+     *
+     * @param pTrafficRecorder The Traffic Recorder to record to
+     */
+    public void setTrafficRecorder( final TrafficRecorder pTrafficRecorder ) {
+        trafficRecorder = pTrafficRecorder;
+    }
+
+    public ResponseChangeTracker getResponseChangeTracker() {
+        return responseChangeTracker;
+    }
+
+    /**
+     * Sets the tracker that each response is fingerprinted and compared
+     * against, so that the responseUnchanged property tells consumers when
+     * they can skip re-parsing and repainting; or null to not fingerprint.
+     *
+     * @param pResponseChangeTracker The tracker of previous responses
+     */
+    public void setResponseChangeTracker( final ResponseChangeTracker pResponseChangeTracker ) {
+        responseChangeTracker = pResponseChangeTracker;
+    }
+
+    /**
+     * Enables change detection with a tracker of default size.
+     *
+     * @return The new tracker, for clearing or checking its statistics
+     */
+    public ResponseChangeTracker enableResponseChangeTracking() {
+        setResponseChangeTracker( new ResponseChangeTracker() );
+        return responseChangeTracker;
+    }
+
+    /**
+     * Returns whether the last successful response was byte-for-byte the same
+     * as the previous response to the same request, in which case consumers
+     * can skip reprocessing it.
+     * <p>
+     * NOTE: This is already up to date when "onSucceeded" callbacks run.
+     *
+     * @return true if the last response is known to be unchanged
+     */
+    public boolean isResponseUnchanged() {
+        return responseUnchanged.get();
+    }
+
+    public ReadOnlyBooleanProperty responseUnchangedProperty() {
+        return responseUnchanged.getReadOnlyProperty();
+    }
+
+    public RateLimiterRegistry getRateLimiterRegistry() {
+        return rateLimiterRegistry;
+    }
+
+    /**
+     * Sets the registry of token bucket rate limits, per endpoint and per
+     * data request type, that smooths bursts of data requests (such as from
+     * rapid restarts) to stay within server quotas, or null for no limits.
+     * <p>
+     * NOTE: Requests that would have to wait longer than the registry allows
+     *  are rejected locally, with a server status message to that effect.
+     *
+     * @param pRateLimiterRegistry The per-endpoint and per-type rate limits
+     */
+    public void setRateLimiterRegistry( final RateLimiterRegistry pRateLimiterRegistry ) {
+        rateLimiterRegistry = pRateLimiterRegistry;
+    }
+
+    public ByteBudget getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Sets the memory budget that each data request must reserve its response
+     * size from before buffering it, or null for no limit.
+     * <p>
+     * NOTE: Share one budget across all services, as it is only effective if
+     *  it covers every request that can be in flight at the same time.
+     *
+     * @param pByteBudget The shared memory budget for response bodies
+     */
+    public void setByteBudget( final ByteBudget pByteBudget ) {
+        byteBudget = pByteBudget;
+    }
+
+    public RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
+    /**
+     * Sets the metrics that each data request reports its outcome, latency
+     * and size to, along with prefetch hits and misses, or null for none.
+     * <p>
+     * NOTE: Share one instance across all services that a Request Performance
+     *  Monitor should show together.
+     *
+     * @param pRequestMetrics The live traffic metrics to report to
+     */
+    public void setRequestMetrics( final RequestMetrics pRequestMetrics ) {
+        requestMetrics = pRequestMetrics;
+    }
+
+    public SegmentedDownloadOptions getSegmentedDownloadOptions() {
+        return segmentedDownloadOptions;
+    }
+
+    /**
+     * Sets the options for resumable and parallel byte range downloads of
+     * large responses (such as full updates), or null for plain downloads.
+     *
+     * @param pSegmentedDownloadOptions The byte range download options
+     */
+    public void setSegmentedDownloadOptions( final SegmentedDownloadOptions pSegmentedDownloadOptions ) {
+        segmentedDownloadOptions = pSegmentedDownloadOptions;
+    }
+
+    /**
+     * Returns the pooled Response Body of the most recent request, if it was
+     * not materialized into the Server Response Data.
+     *
+     * @return The pooled Response Body, or null if there is none
+     */
+    public PooledResponseBody getResponseBody() {
+        return ( dataRequestTask != null ) ? dataRequestTask.getResponseBody() : null;
+    }
+
+    /**
+     * Hands the pooled Response Body of the last completed request over to
+     * the caller, for when the data is not materialized; this must be done
+     * before {@link #takeResponse()}, which otherwise returns the body to its
+     * pool along with the rest of the response.
+     * <p>
+     * NOTE: The caller owns the body and must release it once done, which
+     *  also gives back its reservation on any Byte Budget.
+     *
+     * @return The pooled Response Body, or null if there is none or a
+     *         request is still in progress
+     */
+    public PooledResponseBody takeResponseBody() {
+        return ( ( dataRequestTask != null ) && dataRequestTask.isDone() )
+            ? dataRequestTask.takeResponseBody()
+            : null;
+    }
+
+    /**
+     * Returns the most recent response as a set of named entries, for data
+     * servlets that bundle several files into one framed, indexed response;
+     * only the index is parsed, and entries are read on demand.
+     *
+     * @return The multi-entry view of the most recent response
+     * @throws IOException If there is no response data, or it isn't a well
+     *                     formed multi-entry response
+     */
+    public MultiEntryResponse getMultiEntryResponse() throws IOException {
+        final Path responseFile = ( dataRequestTask != null )
+            ? dataRequestTask.getResponseFile()
+            : null;
+        return ( responseFile != null )
+            ? MultiEntryResponse.open( responseFile )
+            : MultiEntryResponse.wrap( getValue() );
+    }
+
+    /**
+     * Releases the value and pooled Response Body of the last task, once it
+     * is done, and stops tracking it as the current task.
+     * <p>
+     * NOTE: The task may also be the one of a poll that borrowed this
+     *  service's configuration, so one that is still running is left alone.
+     */
+    @Override
+    protected void releaseTask() {
+        if ( ( dataRequestTask != null ) && dataRequestTask.isDone() ) {
+            dataRequestTask.releaseResponse();
+            dataRequestTask = null;
+        }
+    }
+
+    /**
+     * Subscribes to updates pushed by the data servlet for the current Data
+     * Request Parameters, via a standing event stream or long-poll that
+     * reconnects and resumes automatically, instead of polling for them.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread, as it
+     *  queries the screen size; updates are delivered on that thread too.
+     *
+     * @param updateListener The listener for each pushed update
+     * @return The started subscription, which must be closed when done
+     */
+    public DataSubscription subscribe( final Consumer< DataServerResponse > updateListener ) {
+        final String servletUrl = ( servletEndpointGroup != null )
+            ? servletEndpointGroup.select( Collections.emptySet() ).getServletUrl()
+            : httpServletRequestProperties.httpServletUrl;
+        final Rectangle2D visualBounds = Screen.getPrimary().getVisualBounds();
+        final DataSubscription dataSubscription = new DataSubscription( httpServletRequestProperties,
+                                                                        dataRequestParameters,
+                                                                        clientProperties,
+                                                                        servletUrl,
+                                                                        visualBounds.getWidth(),
+                                                                        visualBounds.getHeight(),
+                                                                        Platform::runLater );
+        dataSubscription.addUpdateListener( updateListener );
+        dataSubscription.start();
+        return dataSubscription;
+    }
+
+    public OfflineRequestQueue getOfflineRequestQueue() {
+        return offlineRequestQueue;
+    }
+
+    /**
+     * Sets the durable queue that journals requests which could not reach
+     * the server, for replay once connectivity returns, or null for none.
+     * <p>
+     * NOTE: Any requests left over from a previous session are replayed as
+     *  soon as the queue is set, in case the server is reachable again.
+     *
+     * @param pOfflineRequestQueue The durable queue for undelivered requests
+     */
+    public void setOfflineRequestQueue( final OfflineRequestQueue pOfflineRequestQueue ) {
+        offlineRequestQueue = pOfflineRequestQueue;
+
+        if ( offlineRequestQueue != null ) {
+            offlineRequestQueue.replay();
+        }
+    }
+
+    public DataRequestPrefetcher getDataRequestPrefetcher() {
+        return dataRequestPrefetcher;
+    }
+
+    /**
+     * Enables speculative prefetching of predicted next requests, using a
+     * prefetcher with default limits that makes tasks the same way as this
+     * service does.
+     *
+     * @return The new prefetcher, for registering predicted requests
+     */
+    public DataRequestPrefetcher enablePrefetching() {
+        setDataRequestPrefetcher( new DataRequestPrefetcher( this::makePrefetchDataRequestTask ) );
+        return dataRequestPrefetcher;
+    }
+
+    /**
+     * Returns a task for prefetching a predicted request, configured with the
+     * same endpoints, limits, budgets and metrics as this service's own tasks,
+     * without making it the current task.
+     * <p>
+     * NOTE: Prefetched responses are always materialized, as they are held
+     *  in the prefetch buffer rather than handed to a consumer, and they are
+     *  kept out of change tracking, which is only for responses that are
+     *  actually served.
+     *
+     * @param pDataRequestParameters The parameters of the predicted request
+     * @return A configured task for the predicted request
+     */
+    protected DataRequestTask makePrefetchDataRequestTask( final DataRequestParameters pDataRequestParameters ) {
+        final DataRequestTask prefetchDataRequestTask = makeDataRequestTask( pDataRequestParameters );
+
+        final DataRequestCore prefetchDataRequestCore = configureDataRequestCore(
+                prefetchDataRequestTask.getDataRequestCore() );
+        prefetchDataRequestCore.setResponseBufferPool( responseBufferPool, true );
+        prefetchDataRequestCore.setResponseChangeTracker( null );
+
+        return prefetchDataRequestTask;
+    }
+
+    /**
+     * Sets the prefetcher of predicted next requests, or null to disable
+     * prefetching, shutting down any prefetcher that it replaces.
+     *
+     * @param pDataRequestPrefetcher The prefetcher to serve requests from
+     */
+    public void setDataRequestPrefetcher( final DataRequestPrefetcher pDataRequestPrefetcher ) {
+        if ( ( dataRequestPrefetcher != null )
+                && ( dataRequestPrefetcher != pDataRequestPrefetcher ) ) {
+            dataRequestPrefetcher.shutdown();
+        }
+
+        dataRequestPrefetcher = pDataRequestPrefetcher;
+    }
+
+    /**
+     * Registers a predicted next data request with the prefetcher, if any.
+     *
+     * @param predictedDataRequestParameters The predicted request parameters
+     */
+    public void addPredictedRequest( final DataRequestParameters predictedDataRequestParameters ) {
+        if ( dataRequestPrefetcher != null ) {
+            dataRequestPrefetcher.addPredictedRequest( predictedDataRequestParameters );
+        }
+    }
 }
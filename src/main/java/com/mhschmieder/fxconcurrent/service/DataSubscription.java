@@ -0,0 +1,499 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import com.mhschmieder.fxconcurrent.net.ServerSentEvent;
+import com.mhschmieder.fxconcurrent.net.ServerSentEventReader;
+import com.mhschmieder.jcommons.io.IoUtilities;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.net.NetworkUtilities;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A standing subscription to a data servlet that pushes updates, rather than
+ * being polled for them, delivering each update to listeners as a Data Server
+ * Response as soon as the server sends it.
+ * <p>
+ * The servlet may either hold a Server-Sent Events stream open (responding
+ * with "text/event-stream"), delivering one update per event; or long-poll,
+ * holding each request until it has one update to send as the response body
+ * (or responding with 204 No Content if it has none by its own timeout).
+ * <p>
+ * The subscription reconnects automatically whenever the connection drops,
+ * sending the ID of the last received event as "Last-Event-ID" so that the
+ * server resumes right after it, and backing off exponentially while the
+ * server can't be reached.
+ */
+public final class DataSubscription implements Closeable {
+
+    /** The default delay before reconnecting after a stream ends. */
+    public static final long RECONNECT_DELAY_MILLISECONDS_DEFAULT = 3000L;
+
+    /** The default longest delay between failed reconnection attempts. */
+    public static final long MAXIMUM_RECONNECT_DELAY_MILLISECONDS_DEFAULT = 60000L;
+
+    /** The default time without any data (or heartbeat) that ends a stream. */
+    public static final int READ_TIMEOUT_MILLISECONDS_DEFAULT = 90000;
+
+    /** The shortest connection that counts as healthy even without updates. */
+    private static final long MINIMUM_HEALTHY_CONNECTION_MILLISECONDS = 1000L;
+
+    /** The content type of Server-Sent Events streams. */
+    private static final String EVENT_STREAM_CONTENT_TYPE = "text/event-stream";
+
+    private final HttpServletRequestProperties httpServletRequestProperties;
+    private final DataRequestParameters dataRequestParameters;
+    private final ClientProperties clientProperties;
+
+    /** The URL of the data servlet to subscribe to. */
+    private final String servletUrl;
+
+    /** The screen size to send with each (re)connection. */
+    private final double screenWidth;
+    private final double screenHeight;
+
+    /** The executor that listeners are called on, such as the FX thread. */
+    private final Executor deliveryExecutor;
+
+    /** The listeners for pushed updates. */
+    private final List< Consumer< DataServerResponse > > updateListeners;
+
+    /** Flag for whether event data is Base64 encoded binary data. */
+    private volatile boolean base64EncodedData;
+
+    private volatile int readTimeoutMilliseconds;
+    private volatile long maximumReconnectDelayMilliseconds;
+
+    /** The delay before reconnecting, which the server may change. */
+    private volatile long reconnectDelayMilliseconds;
+
+    /** The ID of the last received event, for resuming after a reconnect. */
+    private volatile String lastEventId;
+
+    /** The connection that is currently open, so that closing can abort it. */
+    private volatile HttpURLConnection activeConnection;
+
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile String lastErrorMessage;
+    private volatile long numberOfUpdates;
+    private volatile long numberOfReconnects;
+
+    /** The thread that holds the connection, once started. */
+    private Thread subscriptionThread;
+
+    /**
+     * Makes a Data Subscription with all parameters specified; it doesn't
+     * connect until it is started.
+     *
+     * @param pHttpServletRequestProperties The Server Request Properties
+     * @param pDataRequestParameters The parameters of the subscribed request
+     * @param pClientProperties The Client Properties
+     * @param pServletUrl The URL of the data servlet to subscribe to
+     * @param pScreenWidth The screen width to send with the request
+     * @param pScreenHeight The screen height to send with the request
+     * @param pDeliveryExecutor The executor to call listeners on, such as
+     *                          Platform::runLater for JavaFX consumers
+     */
+    public DataSubscription( final HttpServletRequestProperties pHttpServletRequestProperties,
+                             final DataRequestParameters pDataRequestParameters,
+                             final ClientProperties pClientProperties,
+                             final String pServletUrl,
+                             final double pScreenWidth,
+                             final double pScreenHeight,
+                             final Executor pDeliveryExecutor ) {
+        httpServletRequestProperties = pHttpServletRequestProperties;
+        dataRequestParameters = pDataRequestParameters;
+        clientProperties = pClientProperties;
+        servletUrl = pServletUrl;
+        screenWidth = pScreenWidth;
+        screenHeight = pScreenHeight;
+        deliveryExecutor = pDeliveryExecutor;
+
+        updateListeners = new CopyOnWriteArrayList<>();
+        base64EncodedData = false;
+        readTimeoutMilliseconds = READ_TIMEOUT_MILLISECONDS_DEFAULT;
+        maximumReconnectDelayMilliseconds = MAXIMUM_RECONNECT_DELAY_MILLISECONDS_DEFAULT;
+        reconnectDelayMilliseconds = RECONNECT_DELAY_MILLISECONDS_DEFAULT;
+        lastEventId = "";
+        activeConnection = null;
+        connected = false;
+        closed = false;
+        lastErrorMessage = null;
+        numberOfUpdates = 0L;
+        numberOfReconnects = 0L;
+        subscriptionThread = null;
+    }
+
+    public void addUpdateListener( final Consumer< DataServerResponse > updateListener ) {
+        updateListeners.add( updateListener );
+    }
+
+    public void removeUpdateListener( final Consumer< DataServerResponse > updateListener ) {
+        updateListeners.remove( updateListener );
+    }
+
+    /**
+     * Starts the subscription on its own daemon thread, if not yet started.
+     */
+    @SuppressWarnings("nls")
+    public synchronized void start() {
+        if ( ( subscriptionThread != null ) || closed ) {
+            return;
+        }
+
+        subscriptionThread = new Thread( this::runSubscription, "Data Subscription" );
+        subscriptionThread.setDaemon( true );
+        subscriptionThread.start();
+    }
+
+    /**
+     * Ends the subscription, aborting the open connection right away.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        final HttpURLConnection httpURLConnection = activeConnection;
+        if ( httpURLConnection != null ) {
+            httpURLConnection.disconnect();
+        }
+
+        synchronized ( this ) {
+            if ( subscriptionThread != null ) {
+                subscriptionThread.interrupt();
+            }
+        }
+    }
+
+    private void runSubscription() {
+        int numberOfConsecutiveFailures = 0;
+        while ( !closed ) {
+            final long connectionStartMillis = System.currentTimeMillis();
+            boolean updateReceived = false;
+            boolean streamed = false;
+            try {
+                final long numberOfUpdatesBefore = numberOfUpdates;
+                streamed = receiveUpdates();
+                updateReceived = numberOfUpdates > numberOfUpdatesBefore;
+                lastErrorMessage = null;
+            }
+            catch ( final IOException | RuntimeException e ) {
+                if ( closed ) {
+                    break;
+                }
+                lastErrorMessage = e.getMessage();
+            }
+            finally {
+                connected = false;
+                final HttpURLConnection httpURLConnection = activeConnection;
+                activeConnection = null;
+                if ( httpURLConnection != null ) {
+                    httpURLConnection.disconnect();
+                }
+            }
+            if ( closed ) {
+                break;
+            }
+
+            // A connection that delivered updates, or at least stayed up for
+            // a while without errors, is healthy; anything else backs off.
+            final boolean healthy = ( lastErrorMessage == null ) && ( updateReceived
+                    || ( ( System.currentTimeMillis()
+                            - connectionStartMillis ) >= MINIMUM_HEALTHY_CONNECTION_MILLISECONDS ) );
+            long delayMilliseconds;
+            if ( healthy ) {
+                numberOfConsecutiveFailures = 0;
+
+                // Long-polls go straight back out; streams wait as asked.
+                delayMilliseconds = streamed ? reconnectDelayMilliseconds : 0L;
+            }
+            else {
+                // NOTE: The backoff never starts below the default delay, as
+                //  a "retry: 0" from the server (or a zero delay set here) would
+                //  otherwise turn an outage into a tight reconnection loop.
+                numberOfConsecutiveFailures++;
+                final long backoffBaseMilliseconds = Math.max( reconnectDelayMilliseconds,
+                                                               RECONNECT_DELAY_MILLISECONDS_DEFAULT );
+                final long backoffMilliseconds = backoffBaseMilliseconds
+                        << Math.min( 16, numberOfConsecutiveFailures - 1 );
+                delayMilliseconds = Math.min( maximumReconnectDelayMilliseconds,
+                                              backoffMilliseconds );
+
+                // Spread out the reconnections of many clients after an outage.
+                delayMilliseconds = ( long ) ( delayMilliseconds
+                        * ThreadLocalRandom.current().nextDouble( 0.5d, 1.0d ) );
+            }
+
+            numberOfReconnects++;
+            if ( delayMilliseconds > 0L ) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep( delayMilliseconds );
+                }
+                catch ( final InterruptedException ie ) {
+                    if ( closed ) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Connects to the data servlet and delivers updates until the server ends
+     * the response.
+     *
+     * @return true if the response was an event stream, false if it was a
+     *         long-poll response
+     * @throws IOException If the connection fails or the server reports an
+     *                     error
+     */
+    @SuppressWarnings("nls")
+    private boolean receiveUpdates() throws IOException {
+        final HttpURLConnection httpURLConnection = NetworkUtilities
+                .getHttpURLConnection( servletUrl );
+        if ( httpURLConnection == null ) {
+            throw new IOException( "Server Connection Error: Data Service Not Found" );
+        }
+
+        // Publish the connection before checking for closure, so a concurrent
+        // close either sees it and disconnects, or is seen.
+        activeConnection = httpURLConnection;
+        if ( closed ) {
+            return false;
+        }
+
+        NetworkUtilities.addServerRequestProperties( httpURLConnection,
+                                                     dataRequestParameters.getDataRequestType(),
+                                                     dataRequestParameters.getLoginCredentials(),
+                                                     httpServletRequestProperties,
+                                                     clientProperties,
+                                                     screenWidth,
+                                                     screenHeight );
+        dataRequestParameters.addDataRequestProperties( httpURLConnection );
+        httpURLConnection.setRequestProperty( "Accept", EVENT_STREAM_CONTENT_TYPE );
+        httpURLConnection.setRequestProperty( "Cache-Control", "no-cache" );
+        if ( !lastEventId.isEmpty() ) {
+            httpURLConnection.setRequestProperty( "Last-Event-ID", lastEventId );
+        }
+        httpURLConnection.setReadTimeout( readTimeoutMilliseconds );
+
+        String serverStatusMessage = NetworkUtilities.connectToServlet( httpURLConnection,
+                                                                        "data subscription" );
+        if ( serverStatusMessage == null ) {
+            serverStatusMessage = dataRequestParameters
+                    .sendDataRequestInputParameters( httpURLConnection );
+        }
+        if ( serverStatusMessage != null ) {
+            throw new IOException( serverStatusMessage );
+        }
+
+        // A long-poll that timed out on the server side has nothing to send.
+        if ( httpURLConnection.getResponseCode() == HttpURLConnection.HTTP_NO_CONTENT ) {
+            connected = true;
+            return false;
+        }
+
+        final DataServerResponse statusResponse = NetworkUtilities
+                .getDataServerResponse( httpURLConnection );
+        if ( statusResponse == null ) {
+            throw new IOException( "Server Connection Error: No Response" );
+        }
+        if ( statusResponse.getServerStatusMessage() != null ) {
+            throw new IOException( statusResponse.getServerStatusMessage() );
+        }
+        if ( statusResponse.getServletErrorMessage() != null ) {
+            throw new IOException( statusResponse.getServletErrorMessage() );
+        }
+        connected = true;
+
+        final String contentType = httpURLConnection.getContentType();
+        if ( ( contentType != null ) && contentType.toLowerCase( Locale.ROOT )
+                .startsWith( EVENT_STREAM_CONTENT_TYPE ) ) {
+            try ( final ServerSentEventReader serverSentEventReader = new ServerSentEventReader(
+                    httpURLConnection.getInputStream(), lastEventId ) ) {
+                ServerSentEvent serverSentEvent;
+                while ( !closed
+                        && ( ( serverSentEvent = serverSentEventReader.readEvent() ) != null ) ) {
+                    lastEventId = serverSentEvent.getLastEventId();
+                    if ( serverSentEventReader.getRetryMilliseconds() >= 0L ) {
+                        reconnectDelayMilliseconds = serverSentEventReader.getRetryMilliseconds();
+                    }
+                    deliverUpdate( decodeEventData( serverSentEvent.getData() ) );
+                }
+
+                // The ID can be updated by a final event that has no data.
+                lastEventId = serverSentEventReader.getLastEventId();
+            }
+            return true;
+        }
+
+        // Otherwise the whole body is a single long-polled update.
+        final StringBuilder messageBuilder = new StringBuilder();
+        final byte[] serverResponseData = IoUtilities
+                .saveRemoteStreamToByteArray( httpURLConnection, messageBuilder );
+        if ( messageBuilder.length() > 0 ) {
+            throw new IOException( messageBuilder.toString() );
+        }
+        final String responseEventId = httpURLConnection.getHeaderField( "Last-Event-ID" );
+        if ( responseEventId != null ) {
+            lastEventId = responseEventId;
+        }
+        deliverUpdate( serverResponseData );
+        return false;
+    }
+
+    private byte[] decodeEventData( final String eventData ) throws IOException {
+        if ( !base64EncodedData ) {
+            return eventData.getBytes( StandardCharsets.UTF_8 );
+        }
+
+        try {
+            return Base64.getMimeDecoder().decode( eventData );
+        }
+        catch ( final IllegalArgumentException iae ) {
+            throw new IOException( "Malformed Base64 event data", iae );
+        }
+    }
+
+    private void deliverUpdate( final byte[] serverResponseData ) {
+        final DataServerResponse dataServerResponse = new DataServerResponse();
+        dataServerResponse.setServerResponseData( serverResponseData );
+        numberOfUpdates++;
+
+        deliveryExecutor.execute( () -> {
+            for ( final Consumer< DataServerResponse > updateListener : updateListeners ) {
+                updateListener.accept( dataServerResponse );
+            }
+        } );
+    }
+
+    /**
+     * Sets whether the data of each event is Base64 encoded binary data, as
+     * opposed to (UTF-8) text; this doesn't apply to long-poll responses.
+     *
+     * @param pBase64EncodedData true if event data is Base64 encoded
+     */
+    public void setBase64EncodedData( final boolean pBase64EncodedData ) {
+        base64EncodedData = pBase64EncodedData;
+    }
+
+    /**
+     * Sets how long a connection may go without any data, including the
+     * server's heartbeat comments, before it is considered dead.
+     *
+     * @param pReadTimeoutMilliseconds The read timeout in milliseconds
+     */
+    public void setReadTimeoutMilliseconds( final int pReadTimeoutMilliseconds ) {
+        readTimeoutMilliseconds = pReadTimeoutMilliseconds;
+    }
+
+    /**
+     * Sets the delays between reconnection attempts; the server can change
+     * the initial delay via the "retry" field of an event stream.
+     * <p>
+     * NOTE: A delay shorter than the default only applies after a healthy
+     *  connection ends; failed attempts always back off from the default.
+     *
+     * @param pReconnectDelayMilliseconds The delay after a stream ends
+     * @param pMaximumReconnectDelayMilliseconds The longest delay between
+     *                                           failed attempts
+     */
+    public void setReconnectDelays( final long pReconnectDelayMilliseconds,
+                                    final long pMaximumReconnectDelayMilliseconds ) {
+        reconnectDelayMilliseconds = pReconnectDelayMilliseconds;
+        maximumReconnectDelayMilliseconds = pMaximumReconnectDelayMilliseconds;
+    }
+
+    /**
+     * Returns the ID of the last received event, which is what the server is
+     * asked to resume after on the next reconnection.
+     *
+     * @return The last event ID, or an empty string if none was received
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Sets the ID of the last event already received (e.g. in a previous
+     * session), to resume after on the first connection.
+     *
+     * @param pLastEventId The ID of the last event already received
+     */
+    public void setLastEventId( final String pLastEventId ) {
+        lastEventId = ( pLastEventId != null ) ? pLastEventId : "";
+    }
+
+    public String getServletUrl() {
+        return servletUrl;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the error that ended the last connection attempt, if any.
+     *
+     * @return The last error message, or null if the last attempt was fine
+     */
+    public String getLastErrorMessage() {
+        return lastErrorMessage;
+    }
+
+    public long getNumberOfUpdates() {
+        return numberOfUpdates;
+    }
+
+    public long getNumberOfReconnects() {
+        return numberOfReconnects;
+    }
+}
@@ -0,0 +1,403 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import com.mhschmieder.fxconcurrent.journal.DataRequestCodec;
+import com.mhschmieder.fxconcurrent.journal.RequestJournal;
+import com.mhschmieder.fxconcurrent.task.DataRequestTask;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A durable queue of data requests that could not reach the server, which
+ * are journaled to a local append-only file and replayed once connectivity
+ * returns.
+ * <p>
+ * Replay is deliberately gentle on a recovering server: it starts after a
+ * random delay, runs in small batches with bounded concurrency and a pause
+ * between batches, and backs off exponentially (with jitter) for as long as
+ * the server stays unreachable, so that many clients coming back online at
+ * once do not turn into a reconnect storm.
+ */
+public class OfflineRequestQueue implements Closeable {
+
+    /** The status message prefix that marks a request as never delivered. */
+    @SuppressWarnings("nls") public static final String CONNECTION_ERROR_PREFIX = "Server Connection Error";
+
+    /** The default number of requests replayed per batch. */
+    public static final int BATCH_SIZE_DEFAULT = 8;
+
+    /** The default maximum number of requests replayed concurrently. */
+    public static final int MAXIMUM_CONCURRENCY_DEFAULT = 2;
+
+    /** The default pause between replay batches, in milliseconds. */
+    public static final long BATCH_INTERVAL_MILLISECONDS_DEFAULT = 500L;
+
+    /** The default first retry delay while still offline, in milliseconds. */
+    public static final long INITIAL_BACKOFF_MILLISECONDS_DEFAULT = 2000L;
+
+    /** The default longest retry delay while still offline, in milliseconds. */
+    public static final long MAXIMUM_BACKOFF_MILLISECONDS_DEFAULT = 120000L;
+
+    /** The durable journal of queued requests. */
+    protected final RequestJournal requestJournal;
+
+    /** The codec that turns request parameters into journal records. */
+    protected final DataRequestCodec dataRequestCodec;
+
+    /** Makes a fresh task for a replayed request, as the service would. */
+    protected final Function< DataRequestParameters, DataRequestTask > taskFactory;
+
+    protected final int batchSize;
+    protected final long batchIntervalMillis;
+    protected final long initialBackoffMillis;
+    protected final long maximumBackoffMillis;
+
+    /** Schedules replay batches and retries on a single daemon thread. */
+    private final ScheduledExecutorService replayScheduler;
+
+    /** Runs the requests of a replay batch with bounded concurrency. */
+    private final ExecutorService replayExecutor;
+
+    /** Optional listener for the responses to replayed requests. */
+    private volatile BiConsumer< DataRequestParameters, DataServerResponse > replayListener;
+
+    /** Flag for whether a replay batch or retry is already scheduled. */
+    private boolean replayScheduled;
+
+    /** The delay before the next retry while the server is unreachable. */
+    private long backoffMillis;
+
+    private long numberOfEnqueuedRequests;
+    private long numberOfReplayedRequests;
+
+    /**
+     * Makes an Offline Request Queue with default pacing.
+     *
+     * @param journalPath The path of the journal file
+     * @param pDataRequestCodec The codec for journaling request parameters
+     * @param pTaskFactory Makes a fresh task for a replayed request
+     * @throws IOException If the journal cannot be opened or recovered
+     */
+    public OfflineRequestQueue( final Path journalPath,
+                                final DataRequestCodec pDataRequestCodec,
+                                final Function< DataRequestParameters, DataRequestTask > pTaskFactory )
+            throws IOException {
+        this( journalPath,
+              pDataRequestCodec,
+              pTaskFactory,
+              BATCH_SIZE_DEFAULT,
+              MAXIMUM_CONCURRENCY_DEFAULT,
+              BATCH_INTERVAL_MILLISECONDS_DEFAULT,
+              INITIAL_BACKOFF_MILLISECONDS_DEFAULT,
+              MAXIMUM_BACKOFF_MILLISECONDS_DEFAULT );
+    }
+
+    /**
+     * Makes an Offline Request Queue with all parameters specified.
+     *
+     * @param journalPath The path of the journal file
+     * @param pDataRequestCodec The codec for journaling request parameters
+     * @param pTaskFactory Makes a fresh task for a replayed request
+     * @param pBatchSize The number of requests replayed per batch
+     * @param maximumConcurrency The maximum concurrent replayed requests
+     * @param pBatchIntervalMillis The pause between replay batches
+     * @param pInitialBackoffMillis The first retry delay while offline
+     * @param pMaximumBackoffMillis The longest retry delay while offline
+     * @throws IOException If the journal cannot be opened or recovered
+     */
+    public OfflineRequestQueue( final Path journalPath,
+                                final DataRequestCodec pDataRequestCodec,
+                                final Function< DataRequestParameters, DataRequestTask > pTaskFactory,
+                                final int pBatchSize,
+                                final int maximumConcurrency,
+                                final long pBatchIntervalMillis,
+                                final long pInitialBackoffMillis,
+                                final long pMaximumBackoffMillis )
+            throws IOException {
+        // Journal writes are forced to disk, as the whole point is to not
+        // lose the user's work.
+        requestJournal = new RequestJournal( journalPath, true );
+        dataRequestCodec = pDataRequestCodec;
+        taskFactory = pTaskFactory;
+        batchSize = pBatchSize;
+        batchIntervalMillis = pBatchIntervalMillis;
+        initialBackoffMillis = pInitialBackoffMillis;
+        maximumBackoffMillis = pMaximumBackoffMillis;
+
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread( runnable, "Offline Request Replay" );
+            thread.setDaemon( true );
+            return thread;
+        };
+        replayScheduler = Executors.newSingleThreadScheduledExecutor( threadFactory );
+        replayExecutor = Executors.newFixedThreadPool( maximumConcurrency, threadFactory );
+
+        replayListener = null;
+        replayScheduled = false;
+        backoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Returns whether a response shows that its request never reached the
+     * server, and so should be queued for replay.
+     *
+     * @param dataServerResponse The response to check
+     * @return true if the request failed to connect to the server
+     */
+    public static boolean isConnectionError( final DataServerResponse dataServerResponse ) {
+        if ( dataServerResponse == null ) {
+            return false;
+        }
+
+        final String serverStatusMessage = dataServerResponse.getServerStatusMessage();
+        return ( serverStatusMessage != null )
+                && serverStatusMessage.startsWith( CONNECTION_ERROR_PREFIX );
+    }
+
+    /**
+     * Durably queues a request that could not reach the server, and arms the
+     * replay, so that the queue drains once connectivity returns even if the
+     * application makes no further requests.
+     * <p>
+     * NOTE: As the server was just found to be unreachable, the first replay
+     *  attempt waits out the initial backoff rather than the batch interval.
+     *
+     * @param dataRequestParameters The parameters of the undelivered request
+     * @return true if the request was journaled; false if it was lost
+     */
+    public boolean enqueue( final DataRequestParameters dataRequestParameters ) {
+        try {
+            requestJournal.append( dataRequestCodec.encode( dataRequestParameters ) );
+        }
+        catch ( final IOException ioe ) {
+            ioe.printStackTrace();
+            return false;
+        }
+
+        synchronized ( this ) {
+            numberOfEnqueuedRequests++;
+            startReplay( initialBackoffMillis );
+        }
+
+        return true;
+    }
+
+    /**
+     * Starts replaying the queued requests, as connectivity appears to have
+     * returned. This does nothing if a replay is already under way.
+     */
+    public synchronized void replay() {
+        startReplay( batchIntervalMillis );
+    }
+
+    private void startReplay( final long maximumDelayMillis ) {
+        if ( replayScheduled || ( requestJournal.getNumberOfLiveRecords() == 0 )
+                || replayScheduler.isShutdown() ) {
+            return;
+        }
+
+        // Start after a random delay, so clients don't all replay at once.
+        replayScheduled = true;
+        backoffMillis = initialBackoffMillis;
+        scheduleBatch( ThreadLocalRandom.current().nextLong( maximumDelayMillis + 1L ) );
+    }
+
+    private void scheduleBatch( final long delayMillis ) {
+        replayScheduler.schedule( this::replayBatch, delayMillis, TimeUnit.MILLISECONDS );
+    }
+
+    private void replayBatch() {
+        final List< Long > sequenceNumbers = new ArrayList<>( batchSize );
+        final List< Future< DataServerResponse > > responseFutures = new ArrayList<>( batchSize );
+        final List< DataRequestParameters > batchParameters = new ArrayList<>( batchSize );
+
+        final Iterator< Map.Entry< Long, byte[] > > iterator = requestJournal.getLiveRecords()
+                .entrySet().iterator();
+        while ( iterator.hasNext() && ( sequenceNumbers.size() < batchSize ) ) {
+            final Map.Entry< Long, byte[] > liveRecord = iterator.next();
+
+            final DataRequestParameters dataRequestParameters;
+            try {
+                dataRequestParameters = dataRequestCodec.decode( liveRecord.getValue() );
+            }
+            catch ( final IOException ioe ) {
+                // A record that can't be decoded can never be replayed.
+                ioe.printStackTrace();
+                completeRecord( liveRecord.getKey() );
+                continue;
+            }
+
+            final DataRequestTask dataRequestTask = taskFactory.apply( dataRequestParameters );
+            sequenceNumbers.add( liveRecord.getKey() );
+            batchParameters.add( dataRequestParameters );
+            responseFutures.add( replayExecutor.submit( () -> {
+                dataRequestTask.run();
+                return dataRequestTask.get();
+            } ) );
+        }
+
+        boolean stillOffline = false;
+        for ( int requestIndex = 0; requestIndex < responseFutures.size(); requestIndex++ ) {
+            DataServerResponse dataServerResponse;
+            try {
+                dataServerResponse = responseFutures.get( requestIndex ).get();
+            }
+            catch ( final InterruptedException ie ) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch ( final Exception e ) {
+                dataServerResponse = null;
+            }
+
+            // Requests that still can't connect stay queued for the retry;
+            // anything else reached the server and is handed to the listener.
+            if ( ( dataServerResponse == null ) || isConnectionError( dataServerResponse ) ) {
+                stillOffline = true;
+                continue;
+            }
+
+            completeRecord( sequenceNumbers.get( requestIndex ) );
+            synchronized ( this ) {
+                numberOfReplayedRequests++;
+            }
+
+            final BiConsumer< DataRequestParameters, DataServerResponse > listener = replayListener;
+            if ( listener != null ) {
+                listener.accept( batchParameters.get( requestIndex ), dataServerResponse );
+            }
+        }
+
+        synchronized ( this ) {
+            if ( replayScheduler.isShutdown() ) {
+                return;
+            }
+
+            if ( stillOffline ) {
+                // Back off exponentially, with full jitter, while offline.
+                final long retryDelayMillis = ThreadLocalRandom.current()
+                        .nextLong( backoffMillis / 2L, backoffMillis + 1L );
+                backoffMillis = Math.min( maximumBackoffMillis, backoffMillis * 2L );
+                scheduleBatch( retryDelayMillis );
+            }
+            else if ( requestJournal.getNumberOfLiveRecords() > 0 ) {
+                scheduleBatch( batchIntervalMillis );
+            }
+            else {
+                replayScheduled = false;
+                compactIfNeeded();
+            }
+        }
+    }
+
+    private void completeRecord( final long sequenceNumber ) {
+        try {
+            requestJournal.complete( sequenceNumber );
+        }
+        catch ( final IOException ioe ) {
+            // The request may be replayed again after a restart, which is
+            // preferable to losing it.
+            ioe.printStackTrace();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if ( requestJournal.needsCompaction() ) {
+            try {
+                requestJournal.compact();
+            }
+            catch ( final IOException ioe ) {
+                ioe.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Sets the listener for responses to replayed requests, which is called
+     * on a replay thread rather than on the JavaFX Application Thread.
+     *
+     * @param pReplayListener The listener for replayed request responses
+     */
+    public void setReplayListener( final BiConsumer< DataRequestParameters, DataServerResponse > pReplayListener ) {
+        replayListener = pReplayListener;
+    }
+
+    public int getNumberOfQueuedRequests() {
+        return requestJournal.getNumberOfLiveRecords();
+    }
+
+    public synchronized long getNumberOfEnqueuedRequests() {
+        return numberOfEnqueuedRequests;
+    }
+
+    public synchronized long getNumberOfReplayedRequests() {
+        return numberOfReplayedRequests;
+    }
+
+    public synchronized boolean isReplaying() {
+        return replayScheduled;
+    }
+
+    /**
+     * Stops any replay under way and closes the journal. Queued requests are
+     * kept on disk for the next session.
+     *
+     * @throws IOException If the journal could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized ( this ) {
+            replayScheduler.shutdownNow();
+            replayExecutor.shutdownNow();
+        }
+
+        compactIfNeeded();
+        requestJournal.close();
+    }
+}
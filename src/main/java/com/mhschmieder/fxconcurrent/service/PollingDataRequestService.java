@@ -0,0 +1,387 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import com.mhschmieder.fxconcurrent.io.ResponseChangeTracker;
+import com.mhschmieder.fxconcurrent.task.DataRequestTask;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.ScheduledService;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.input.InputEvent;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A scheduled service that polls for data (typically dynamic updates) using
+ * the request configuration of an existing Data Request Service, and adapts
+ * its polling interval to what it observes.
+ * <p>
+ * Runs never overlap, as each poll is only scheduled once the previous one
+ * has finished. The interval backs off while the data stays unchanged and
+ * while the server is slow, snaps back to the minimum as soon as the data
+ * changes, and backs off exponentially on failures. Polling pauses while
+ * the application window is minimized, or while the user is idle.
+ * <p>
+ * NOTE: Consumers listen to this service's "onSucceeded" callback, and can
+ *  skip reprocessing whenever {@link #isResponseUnchanged()} is true.
+ */
+public class PollingDataRequestService extends ScheduledService< DataServerResponse > {
+
+    /** The default shortest time between the starts of consecutive polls. */
+    public static final Duration MINIMUM_PERIOD_DEFAULT = Duration.seconds( 2.0d );
+
+    /** The default longest time between the starts of consecutive polls. */
+    public static final Duration MAXIMUM_PERIOD_DEFAULT = Duration.minutes( 2.0d );
+
+    /** The default factor the period grows by for each unchanged response. */
+    public static final double BACKOFF_FACTOR_DEFAULT = 1.5d;
+
+    /** The default multiple of the poll latency that the period must exceed. */
+    public static final double LATENCY_FACTOR_DEFAULT = 4.0d;
+
+    /** The random spread of the period, so that clients don't synchronize. */
+    private static final double JITTER_FRACTION = 0.1d;
+
+    /** How often to check whether the user has gone idle. */
+    private static final Duration IDLE_CHECK_INTERVAL = Duration.seconds( 5.0d );
+
+    /**
+     * The reasons why polling can be paused; polling resumes once none apply.
+     */
+    private enum PauseReason {
+        REQUESTED, ICONIFIED, IDLE
+    }
+
+    /** The service whose request parameters and configuration are polled. */
+    protected final DataRequestService dataRequestService;
+
+    /** The tracker that tells changed responses from unchanged ones. */
+    protected final ResponseChangeTracker responseChangeTracker;
+
+    private final Duration minimumPeriod;
+    private final Duration maximumPeriod;
+    private final double backoffFactor;
+    private final double latencyFactor;
+
+    /** The period before jitter, which the scheduled period is based on. */
+    private double basePeriodMillis;
+
+    /** The task of the poll in progress, or of the last poll. */
+    private DataRequestTask pollTask;
+
+    /** The time that the poll in progress started running. */
+    private long pollStartNanos;
+
+    /** Whether the last poll returned the same data as the one before. */
+    private final ReadOnlyBooleanWrapper responseUnchanged;
+
+    /** The reasons that polling is currently paused for. */
+    private final Set< PauseReason > pauseReasons;
+
+    /** Flag for whether pausing interrupted polling that should resume. */
+    private boolean resumeWhenUnpaused;
+
+    /** The time of the last user input, for idle detection. */
+    private long lastUserActivityNanos;
+
+    /** The timer that checks for the user going idle, if tracking activity. */
+    private Timeline idleCheckTimeline;
+
+    /**
+     * Makes a Polling Data Request Service with default interval settings.
+     *
+     * @param pDataRequestService The service whose requests are polled
+     */
+    public PollingDataRequestService( final DataRequestService pDataRequestService ) {
+        this( pDataRequestService,
+              MINIMUM_PERIOD_DEFAULT,
+              MAXIMUM_PERIOD_DEFAULT,
+              BACKOFF_FACTOR_DEFAULT,
+              LATENCY_FACTOR_DEFAULT );
+    }
+
+    /**
+     * Makes a Polling Data Request Service with all parameters specified.
+     *
+     * @param pDataRequestService The service whose requests are polled
+     * @param pMinimumPeriod The shortest time between poll starts
+     * @param pMaximumPeriod The longest time between poll starts
+     * @param pBackoffFactor The factor the period grows by while unchanged
+     * @param pLatencyFactor The multiple of the latency of a poll that the
+     *                       period is kept above, so a slow server is polled
+     *                       less often
+     */
+    public PollingDataRequestService( final DataRequestService pDataRequestService,
+                                      final Duration pMinimumPeriod,
+                                      final Duration pMaximumPeriod,
+                                      final double pBackoffFactor,
+                                      final double pLatencyFactor ) {
+        // Always call the superclass constructor first!
+        super();
+
+        if ( ( pMinimumPeriod.toMillis() <= 0.0d )
+                || ( pMaximumPeriod.lessThan( pMinimumPeriod ) ) || ( pBackoffFactor < 1.0d )
+                || ( pLatencyFactor < 1.0d ) ) {
+            throw new IllegalArgumentException( "Invalid polling settings" );
+        }
+
+        dataRequestService = pDataRequestService;
+        minimumPeriod = pMinimumPeriod;
+        maximumPeriod = pMaximumPeriod;
+        backoffFactor = pBackoffFactor;
+        latencyFactor = pLatencyFactor;
+
+        // Share the service's change tracker, so that the service and its
+        // poller agree on what the last response was.
+        responseChangeTracker = ( pDataRequestService.getResponseChangeTracker() != null )
+            ? pDataRequestService.getResponseChangeTracker()
+            : new ResponseChangeTracker();
+
+        basePeriodMillis = minimumPeriod.toMillis();
+        pollTask = null;
+        pollStartNanos = 0L;
+        responseUnchanged = new ReadOnlyBooleanWrapper( this, "responseUnchanged", false ); //$NON-NLS-1$
+        pauseReasons = EnumSet.noneOf( PauseReason.class );
+        resumeWhenUnpaused = false;
+        lastUserActivityNanos = System.nanoTime();
+        idleCheckTimeline = null;
+
+        // Use the same background threads as the polled service, and back off
+        // exponentially on failures, up to the longest period.
+        setExecutor( pDataRequestService.getExecutor() );
+        setPeriod( minimumPeriod );
+        setBackoffStrategy( ScheduledService.EXPONENTIAL_BACKOFF_STRATEGY );
+        setMaximumCumulativePeriod( maximumPeriod );
+        setRestartOnFailure( true );
+    }
+
+    @Override
+    protected Task< DataServerResponse > createTask() {
+        // The previous poll has been superseded, so give back its pooled
+        // Response Body and Byte Budget reservation, if it still holds any.
+        if ( pollTask != null ) {
+            pollTask.releaseResponseBody();
+        }
+
+        // Make the task the same way as the polled service, but keep it out
+        // of that service's state and status tracking, as polls run in the
+        // background.
+        final DataRequestTask dataRequestTask = dataRequestService
+                .makeDataRequestTask( dataRequestService.dataRequestParameters );
+        dataRequestService.configureDataRequestCore( dataRequestTask.getDataRequestCore() );
+        dataRequestTask.setResponseChangeTracker( responseChangeTracker );
+
+        // Publish whether the response changed before any service callbacks
+        // run, as the task's own handlers are always called first.
+        dataRequestTask.addEventHandler( WorkerStateEvent.WORKER_STATE_RUNNING,
+                                         workerStateEvent -> pollStartNanos = System.nanoTime() );
+        dataRequestTask.addEventHandler( WorkerStateEvent.WORKER_STATE_SUCCEEDED,
+                                         workerStateEvent -> responseUnchanged
+                                                 .set( dataRequestTask.isResponseUnchanged() ) );
+
+        pollTask = dataRequestTask;
+        return dataRequestTask;
+    }
+
+    /**
+     * Adapts the polling period to the outcome of the poll that just ended,
+     * before the next poll is scheduled.
+     */
+    @Override
+    protected void succeeded() {
+        final DataServerResponse dataServerResponse = getValue();
+        final boolean pollFailed = ( dataServerResponse == null )
+                || ( dataServerResponse.getServerStatusMessage() != null )
+                || ( dataServerResponse.getServletErrorMessage() != null );
+
+        if ( pollFailed ) {
+            // Treat an error response like a failure, without restarting.
+            basePeriodMillis = Math.min( maximumPeriod.toMillis(), basePeriodMillis * 2.0d );
+        }
+        else if ( isResponseUnchanged() ) {
+            basePeriodMillis = Math.min( maximumPeriod.toMillis(),
+                                         basePeriodMillis * backoffFactor );
+        }
+        else {
+            basePeriodMillis = minimumPeriod.toMillis();
+        }
+
+        // Keep a slow server from spending more than a fraction of its time
+        // on this client's polls.
+        if ( pollStartNanos > 0L ) {
+            final double latencyMillis = ( System.nanoTime() - pollStartNanos ) * 1.0e-6d;
+            basePeriodMillis = Math.min( maximumPeriod.toMillis(),
+                                         Math.max( basePeriodMillis, latencyMillis * latencyFactor ) );
+        }
+
+        final double jitter = 1.0d + ( ThreadLocalRandom.current().nextDouble( -1.0d, 1.0d )
+                * JITTER_FRACTION );
+        setPeriod( Duration.millis( basePeriodMillis * jitter ) );
+
+        super.succeeded();
+    }
+
+    /**
+     * Pauses polling, which cancels any poll in progress, until resumed.
+     */
+    public void pause() {
+        addPauseReason( PauseReason.REQUESTED );
+    }
+
+    /**
+     * Resumes polling that was paused, unless it is still paused due to the
+     * application window being minimized or the user being idle.
+     */
+    public void resume() {
+        removePauseReason( PauseReason.REQUESTED );
+    }
+
+    private void addPauseReason( final PauseReason pauseReason ) {
+        final boolean wasPaused = !pauseReasons.isEmpty();
+        pauseReasons.add( pauseReason );
+        if ( !wasPaused ) {
+            // Polling that was never started stays that way when unpaused.
+            resumeWhenUnpaused = getState() != Worker.State.READY;
+            cancel();
+        }
+    }
+
+    private void removePauseReason( final PauseReason pauseReason ) {
+        if ( pauseReasons.remove( pauseReason ) && pauseReasons.isEmpty()
+                && resumeWhenUnpaused ) {
+            // Poll right away, as the data has most likely changed meanwhile.
+            basePeriodMillis = minimumPeriod.toMillis();
+            setPeriod( minimumPeriod );
+            restart();
+        }
+    }
+
+    public boolean isPaused() {
+        return !pauseReasons.isEmpty();
+    }
+
+    /**
+     * Pauses polling while the given stage is minimized (iconified).
+     *
+     * @param stage The main application stage
+     */
+    public void pauseWhileIconified( final Stage stage ) {
+        stage.iconifiedProperty().addListener( ( observable, wasIconified, iconified ) -> {
+            if ( iconified ) {
+                addPauseReason( PauseReason.ICONIFIED );
+            }
+            else {
+                removePauseReason( PauseReason.ICONIFIED );
+            }
+        } );
+        if ( stage.isIconified() ) {
+            addPauseReason( PauseReason.ICONIFIED );
+        }
+    }
+
+    /**
+     * Pauses polling while there is no user input to the given window for
+     * longer than the idle timeout, and resumes on the next user input.
+     *
+     * @param window The window to watch for user input
+     * @param idleTimeout How long without input counts as being idle
+     */
+    public void pauseWhileIdle( final Window window, final Duration idleTimeout ) {
+        final EventHandler< Event > userActivityHandler = inputEvent -> {
+            lastUserActivityNanos = System.nanoTime();
+            removePauseReason( PauseReason.IDLE );
+        };
+        window.addEventFilter( InputEvent.ANY, userActivityHandler );
+
+        if ( idleCheckTimeline != null ) {
+            idleCheckTimeline.stop();
+        }
+        final long idleTimeoutNanos = ( long ) ( idleTimeout.toMillis() * 1.0e6d );
+        idleCheckTimeline = new Timeline( new KeyFrame( IDLE_CHECK_INTERVAL, actionEvent -> {
+            if ( ( System.nanoTime() - lastUserActivityNanos ) > idleTimeoutNanos ) {
+                addPauseReason( PauseReason.IDLE );
+            }
+        } ) );
+        idleCheckTimeline.setCycleCount( Animation.INDEFINITE );
+        idleCheckTimeline.play();
+    }
+
+    /**
+     * Returns whether the last poll returned the same data as the previous
+     * one, in which case consumers can skip reprocessing it.
+     *
+     * @return true if the last poll's data is known to be unchanged
+     */
+    public boolean isResponseUnchanged() {
+        return responseUnchanged.get();
+    }
+
+    public ReadOnlyBooleanProperty responseUnchangedProperty() {
+        return responseUnchanged.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns the task of the poll in progress, or of the last poll, for
+     * access to its pooled Response Body or response file.
+     * <p>
+     * NOTE: The pooled Response Body of a poll is only valid until the next
+     *  poll starts, at which point it is returned to its pool.
+     *
+     * @return The task of the current or last poll
+     */
+    public DataRequestTask getPollTask() {
+        return pollTask;
+    }
+
+    /**
+     * Returns the polling period that the next poll is scheduled with, before
+     * any failure backoff.
+     *
+     * @return The current adaptive polling period
+     */
+    public Duration getAdaptivePeriod() {
+        return Duration.millis( basePeriodMillis );
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import com.mhschmieder.fxconcurrent.net.ServletEndpointGroup;
+import com.mhschmieder.fxconcurrent.request.DataRequestCore;
+import com.mhschmieder.fxconcurrent.request.GatherPolicy;
+import com.mhschmieder.fxconcurrent.request.ResponseCombiner;
+import com.mhschmieder.fxconcurrent.request.ScatterGatherRequest;
+import com.mhschmieder.fxconcurrent.request.ShardResult;
+import com.mhschmieder.fxconcurrent.task.ScatterGatherTask;
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A service for logical data requests that need data from several servlets
+ * (or several shards of one), which issues the shard requests in parallel
+ * and combines their responses, rather than chaining requests one by one.
+ * <p>
+ * Each shard has its own Data Request Parameters and, optionally, its own
+ * servlet URLs; a shard with several URLs is balanced and failed over across
+ * them as usual. The outcome and timing of each shard of the last request
+ * are available via getShardResults(), once the service has succeeded.
+ */
+public class ScatterGatherDataRequestService extends ServerRequestService< DataServerResponse > {
+
+    /**
+     * One shard of the logical request.
+     */
+    private static final class Shard {
+        private final DataRequestParameters dataRequestParameters;
+        private final List< String > servletUrls;
+
+        private Shard( final DataRequestParameters pDataRequestParameters,
+                       final Collection< String > pServletUrls ) {
+            dataRequestParameters = pDataRequestParameters;
+            servletUrls = new ArrayList<>( pServletUrls );
+        }
+    }
+
+    /** The shards of the logical request, in shard order. */
+    private final List< Shard > shards;
+
+    /** The combiner that merges the shard responses. */
+    protected ResponseCombiner responseCombiner;
+
+    protected GatherPolicy gatherPolicy;
+    protected int quorum;
+    protected long timeoutMilliseconds;
+
+    /**
+     * Optional data request service whose configuration (limits, budgets,
+     * metrics, etc.) is applied to every shard request.
+     */
+    protected DataRequestService shardConfigurationService;
+
+    /** The most recently created task, for its shard results. */
+    protected ScatterGatherTask scatterGatherTask;
+
+    public ScatterGatherDataRequestService( final HttpServletRequestProperties pServerRequestProperties,
+                                            final ClientProperties pClientProperties ) {
+        // Always call the superclass constructor first!
+        super( pServerRequestProperties,
+               pClientProperties );
+
+        shards = new ArrayList<>();
+        responseCombiner = ResponseCombiner.CONCATENATE;
+        gatherPolicy = GatherPolicy.ALL;
+        quorum = 1;
+        timeoutMilliseconds = 0L;
+        shardConfigurationService = null;
+        scatterGatherTask = null;
+    }
+
+    @Override
+    protected ScatterGatherTask createTask() {
+        final List< DataRequestCore > shardCores = new ArrayList<>( shards.size() );
+        for ( final Shard shard : shards ) {
+            final DataRequestCore shardCore = new DataRequestCore( httpServletRequestProperties,
+                                                                   shard.dataRequestParameters,
+                                                                   clientProperties );
+            if ( shardConfigurationService != null ) {
+                shardConfigurationService.configureDataRequestCore( shardCore );
+            }
+
+            // A shard only goes to its own servlet URLs, or to this service's
+            // servlet URL if it has none, never to the endpoints of the
+            // configuration service.
+            shardCore.setServletEndpointGroup( shard.servletUrls.isEmpty()
+                ? null
+                : new ServletEndpointGroup( shard.servletUrls ) );
+            shardCores.add( shardCore );
+        }
+
+        // Run the shards on this service's own thread pool, which grows to
+        // let them all run at once.
+        final ScatterGatherRequest scatterGatherRequest = new ScatterGatherRequest( shardCores,
+                                                                                    getExecutor(),
+                                                                                    responseCombiner );
+        scatterGatherRequest.setGatherPolicy( gatherPolicy,
+                                              Math.min( quorum, shardCores.size() ) );
+        scatterGatherRequest.setTimeoutMilliseconds( timeoutMilliseconds );
+
+        scatterGatherTask = new ScatterGatherTask( scatterGatherRequest );
+        return scatterGatherTask;
+    }
+
+    /**
+     * Adds a shard that is sent to the given servlet URLs, balanced and
+     * failed over across them if there are several.
+     *
+     * @param dataRequestParameters The parameters of the shard request
+     * @param servletUrls The servlet URLs for the shard, or an empty
+     *                    collection for the service's own servlet URL
+     */
+    public void addShard( final DataRequestParameters dataRequestParameters,
+                          final Collection< String > servletUrls ) {
+        shards.add( new Shard( dataRequestParameters, servletUrls ) );
+    }
+
+    /**
+     * Adds a shard that is sent to the service's own servlet URL.
+     *
+     * @param dataRequestParameters The parameters of the shard request
+     */
+    public void addShard( final DataRequestParameters dataRequestParameters ) {
+        addShard( dataRequestParameters, Collections.emptyList() );
+    }
+
+    public void clearShards() {
+        shards.clear();
+    }
+
+    public int getNumberOfShards() {
+        return shards.size();
+    }
+
+    public ResponseCombiner getResponseCombiner() {
+        return responseCombiner;
+    }
+
+    /**
+     * Sets the combiner that merges the shard responses into one response.
+     *
+     * @param pResponseCombiner The combiner for the shard responses
+     */
+    public void setResponseCombiner( final ResponseCombiner pResponseCombiner ) {
+        responseCombiner = pResponseCombiner;
+    }
+
+    public GatherPolicy getGatherPolicy() {
+        return gatherPolicy;
+    }
+
+    /**
+     * Sets the policy for how many shards must succeed.
+     *
+     * @param pGatherPolicy The Gather Policy
+     * @param pQuorum The number of shards that must succeed under the Quorum
+     *                policy; ignored by the other policies
+     */
+    public void setGatherPolicy( final GatherPolicy pGatherPolicy, final int pQuorum ) {
+        gatherPolicy = pGatherPolicy;
+        quorum = Math.max( 1, pQuorum );
+    }
+
+    public long getTimeoutMilliseconds() {
+        return timeoutMilliseconds;
+    }
+
+    /**
+     * Sets how long to wait for shards before deciding with those that have
+     * responded.
+     *
+     * @param pTimeoutMilliseconds The time allowed, or zero for no limit
+     */
+    public void setTimeoutMilliseconds( final long pTimeoutMilliseconds ) {
+        timeoutMilliseconds = pTimeoutMilliseconds;
+    }
+
+    public DataRequestService getShardConfigurationService() {
+        return shardConfigurationService;
+    }
+
+    /**
+     * Sets the data request service whose configuration (limits, budgets,
+     * metrics, etc.) is applied to every shard request, or null for none.
+     * <p>
+     * NOTE: The service's Servlet Endpoint Group is not applied, as each
+     *  shard is sent to the servlet URLs it was added with.
+     *
+     * @param pShardConfigurationService The service to copy configuration from
+     */
+    public void setShardConfigurationService( final DataRequestService pShardConfigurationService ) {
+        shardConfigurationService = pShardConfigurationService;
+    }
+
+    /**
+     * Returns the outcome and timing of every shard of the last request.
+     *
+     * @return The shard results in shard order, or an empty list if no
+     *         request has completed
+     */
+    public List< ShardResult > getShardResults() {
+        return ( scatterGatherTask != null )
+            ? scatterGatherTask.getScatterGatherRequest().getShardResults()
+            : Collections.emptyList();
+    }
+
+    @Override
+    protected void releaseTask() {
+        if ( ( scatterGatherTask != null ) && scatterGatherTask.isDone() ) {
+            scatterGatherTask.releaseResponse();
+            scatterGatherTask = null;
+        }
+    }
+}
@@ -34,6 +34,18 @@ import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import javafx.concurrent.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -42,6 +54,26 @@ import java.util.concurrent.Executors;
  */
 public abstract class ServerRequestService< T > extends Service< T > {
 
+    /**
+     * The request layer classes that are preloaded during a warm-up, so the
+     * first real request doesn't pay for loading the networking stack.
+     */
+    @SuppressWarnings("nls") private static final List< String > WARM_UP_CLASS_NAMES_DEFAULT = Arrays
+            .asList( "com.mhschmieder.jcommons.net.NetworkUtilities",
+                     "com.mhschmieder.jcommons.net.DataServerResponse",
+                     "com.mhschmieder.jcommons.net.AuthorizationServerResponse",
+                     "com.mhschmieder.jcommons.io.IoUtilities",
+                     "com.mhschmieder.fxconcurrent.task.DataRequestTask",
+                     "com.mhschmieder.fxconcurrent.task.AuthorizationRequestTask",
+                     "com.mhschmieder.fxconcurrent.request.DataRequestCore",
+                     "com.mhschmieder.fxconcurrent.request.AuthorizationRequestCore",
+                     "javax.net.ssl.HttpsURLConnection",
+                     "javax.net.ssl.SSLContext",
+                     "java.util.zip.Inflater" );
+
+    /** The connect and read timeout for warm-up connections, in milliseconds. */
+    private static final int WARM_UP_TIMEOUT_MILLISECONDS = 10000;
+
     /**
      * Cache the Server Request Properties (Build ID, Request Type, etc.).
      */
@@ -52,15 +84,241 @@ public abstract class ServerRequestService< T > extends Service< T > {
      */
     public ClientProperties clientProperties;
 
+    /**
+     * Additional application classes to preload during a warm-up.
+     */
+    protected final Set< String > warmUpClassNames;
+
     public ServerRequestService( final HttpServletRequestProperties pHttpServletRequestProperties,
                                  final ClientProperties pClientProperties ) {
         httpServletRequestProperties = pHttpServletRequestProperties;
         clientProperties = pClientProperties;
 
+        warmUpClassNames = new LinkedHashSet<>( WARM_UP_CLASS_NAMES_DEFAULT );
+
         // Set the Service to use a Cached Thread Pool vs. the default daemon,
         // to protect against run-time cross-threading issues (especially in a
         // hybrid app), suspended threads, and for better performance.
         final ExecutorService executorService = Executors.newCachedThreadPool();
         setExecutor( executorService );
     }
+
+    /**
+     * Adds application classes (such as response parsers) to preload during
+     * a warm-up, along with the request layer classes.
+     *
+     * @param classNames The fully qualified names of the classes to preload
+     */
+    public void addWarmUpClassNames( final Collection< String > classNames ) {
+        warmUpClassNames.addAll( classNames );
+    }
+
+    /**
+     * Warms up the request layer in the background, typically at application
+     * start-up, so that the first real request doesn't pay for DNS lookups,
+     * TCP/TLS handshakes, class loading and (optionally) login.
+     *
+     * @param preAuthorize true to also authorize with the cached credentials,
+     *                     for services that support authorization
+     * @return A future for the report of what the warm-up accomplished
+     */
+    public CompletableFuture< WarmUpReport > warmUp( final boolean preAuthorize ) {
+        return CompletableFuture.supplyAsync( () -> runWarmUp( preAuthorize ), getExecutor() );
+    }
+
+    private WarmUpReport runWarmUp( final boolean preAuthorize ) {
+        final List< URL > servletUrls = new ArrayList<>();
+        for ( final String servletUrl : getWarmUpServletUrls() ) {
+            try {
+                servletUrls.add( new URL( servletUrl ) );
+            }
+            catch ( final IOException ioe ) {
+                // A malformed URL will fail just the same on first use.
+                ioe.printStackTrace();
+            }
+        }
+
+        // Resolve each distinct host, so the results land in the DNS cache.
+        final long hostResolutionStartNanos = System.nanoTime();
+        final Set< String > hostNames = new LinkedHashSet<>();
+        int numberOfHostsResolved = 0;
+        for ( final URL servletUrl : servletUrls ) {
+            final String hostName = servletUrl.getHost();
+            if ( hostNames.add( hostName ) ) {
+                try {
+                    InetAddress.getAllByName( hostName );
+                    numberOfHostsResolved++;
+                }
+                catch ( final IOException ioe ) {
+                    // An unknown host will be reported by the first request.
+                }
+            }
+        }
+        final long hostResolutionNanos = System.nanoTime() - hostResolutionStartNanos;
+
+        // Pre-connect to each servlet, leaving the socket (and TLS session)
+        // in the keep-alive cache for the first real request to reuse.
+        // NOTE: Only successful pre-connects are timed, as a failed one
+        //  leaves nothing behind for the first request to reuse.
+        long connectionNanos = 0L;
+        int numberOfConnectionsOpened = 0;
+        for ( final URL servletUrl : servletUrls ) {
+            final long connectionStartNanos = System.nanoTime();
+            if ( preConnect( servletUrl ) ) {
+                connectionNanos += System.nanoTime() - connectionStartNanos;
+                numberOfConnectionsOpened++;
+            }
+        }
+
+        // Load and initialize the classes of the request path ahead of time.
+        final long classLoadingStartNanos = System.nanoTime();
+        final ClassLoader classLoader = getClass().getClassLoader();
+        int numberOfClassesLoaded = 0;
+        for ( final String className : warmUpClassNames ) {
+            try {
+                Class.forName( className, true, classLoader );
+                numberOfClassesLoaded++;
+            }
+            catch ( final ClassNotFoundException | LinkageError e ) {
+                // Classes that are absent from this deployment aren't needed.
+            }
+        }
+        final long classLoadingNanos = System.nanoTime() - classLoadingStartNanos;
+
+        final long authorizationStartNanos = System.nanoTime();
+        final boolean preAuthorized = preAuthorize && preAuthorize();
+        final long authorizationNanos = preAuthorized
+            ? System.nanoTime() - authorizationStartNanos
+            : 0L;
+
+        return new WarmUpReport( numberOfHostsResolved,
+                                 numberOfConnectionsOpened,
+                                 numberOfClassesLoaded,
+                                 preAuthorized,
+                                 hostResolutionNanos,
+                                 connectionNanos,
+                                 classLoadingNanos,
+                                 authorizationNanos );
+    }
+
+    /**
+     * Opens a lightweight connection to a servlet and fully drains the reply,
+     * which is what allows the socket to be kept alive for reuse.
+     *
+     * @param servletUrl The URL of the servlet to connect to
+     * @return true if the servlet answered at all
+     */
+    private static boolean preConnect( final URL servletUrl ) {
+        HttpURLConnection httpURLConnection = null;
+        try {
+            httpURLConnection = ( HttpURLConnection ) servletUrl.openConnection();
+            httpURLConnection.setRequestMethod( "HEAD" ); //$NON-NLS-1$
+            httpURLConnection.setConnectTimeout( WARM_UP_TIMEOUT_MILLISECONDS );
+            httpURLConnection.setReadTimeout( WARM_UP_TIMEOUT_MILLISECONDS );
+
+            // Any status will do, as even an error means the handshakes are done.
+            final int httpResponseCode = httpURLConnection.getResponseCode();
+            try ( final InputStream inputStream = ( httpResponseCode < 400 )
+                ? httpURLConnection.getInputStream()
+                : httpURLConnection.getErrorStream() ) {
+                if ( inputStream != null ) {
+                    final byte[] drainBuffer = new byte[ 1024 ];
+                    while ( inputStream.read( drainBuffer ) != -1 ) {
+                        // Discard the reply, which is only drained for reuse.
+                    }
+                }
+            }
+
+            return true;
+        }
+        catch ( final IOException | ClassCastException e ) {
+            if ( httpURLConnection != null ) {
+                httpURLConnection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the servlet URLs to pre-resolve and pre-connect to during a
+     * warm-up.
+     * <p>
+     * NOTE: Subclasses that talk to more than one endpoint should override.
+     *
+     * @return The servlet URLs to warm up
+     */
+    protected Collection< String > getWarmUpServletUrls() {
+        final List< String > servletUrls = new ArrayList<>( 1 );
+        if ( httpServletRequestProperties.httpServletUrl != null ) {
+            servletUrls.add( httpServletRequestProperties.httpServletUrl );
+        }
+        return servletUrls;
+    }
+
+    /**
+     * Authorizes with the server ahead of the first real request, as part of
+     * a warm-up, for services that support authorization.
+     * <p>
+     * NOTE: The base class implementation is blank, as most services do not
+     *  handle authorization themselves.
+     *
+     * @return true if an authorization was performed
+     */
+    protected boolean preAuthorize() {
+        return false;
+    }
+
+    /**
+     * Hands the response of the last completed request over to the caller,
+     * and drops every reference that the service and its task still hold to
+     * it, so that a large payload can be reclaimed as soon as the caller is
+     * done with it, rather than lingering until the next request.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread, typically
+     *  from the "onSucceeded" callback. The response can only be taken once,
+     *  and the service is left in the READY state. Any parts of the response
+     *  that are held outside of the value (such as pooled buffers) must be
+     *  taken over first, or they are released along with it.
+     *
+     * @return The response of the last request, or null if there is none or
+     *         a request is still in progress
+     */
+    public T takeResponse() {
+        if ( isRunning() ) {
+            return null;
+        }
+
+        final T response = getValue();
+        releaseResponse();
+
+        return response;
+    }
+
+    /**
+     * Drops the response of the last completed request without taking it,
+     * such as when a newer request made it obsolete.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread, and does
+     *  nothing while a request is still in progress.
+     */
+    public void releaseResponse() {
+        if ( isRunning() ) {
+            return;
+        }
+
+        releaseTask();
+
+        // Unbind and clear the value, along with the service's own reference
+        // to the completed task.
+        reset();
+    }
+
+    /**
+     * Releases the resources that the last completed task holds on to for
+     * its response, and drops any reference this service keeps to the task.
+     * <p>
+     * NOTE: The base class implementation is blank, as it keeps no task
+     *  references of its own.
+     */
+    protected void releaseTask() {}
 }
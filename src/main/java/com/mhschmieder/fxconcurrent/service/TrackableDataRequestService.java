@@ -62,14 +62,30 @@ public class TrackableDataRequestService extends DataRequestService {
     @Override
     protected Task< DataServerResponse > createTask() {
         // Create a new task based on the current Data Request Type.
-        final DataRequestTask dataRequestTask = makeDataRequestTask();
+        // NOTE: A prefetched response is served without contacting the server,
+        //  but either way the new task becomes the service's current task.
+        DataRequestTask newDataRequestTask = takePrefetchedDataRequestTask();
+        if ( newDataRequestTask == null ) {
+            newDataRequestTask = configureDataRequestTask( makeDataRequestTask() );
+        }
 
         // Add this task to the Task Progress View via its GUI host.
-        dataRequestStatusViewer.addTask( dataRequestTask );
+        dataRequestStatusViewer.addTask( newDataRequestTask );
 
-        return dataRequestTask;
+        return newDataRequestTask;
     }
-    
+
+    @Override
+    protected void releaseTask() {
+        // Take the released task out of the Task Progress View as well, as
+        // it would otherwise keep the response reachable until the next task.
+        if ( ( dataRequestTask != null ) && dataRequestTask.isDone() ) {
+            dataRequestStatusViewer.removeTask( dataRequestTask );
+        }
+
+        super.releaseTask();
+    }
+
     /**
      * Returns a general DataRequestTask that holds the task parameters.
      * <p>
@@ -79,9 +95,7 @@ public class TrackableDataRequestService extends DataRequestService {
      * @return A general DataRequestTask that holds the task parameters
      */
     protected DataRequestTask makeDataRequestTask() {
-        return new DataRequestTask( httpServletRequestProperties,
-                                    dataRequestParameters,
-                                    clientProperties );
+        return makeDataRequestTask( dataRequestParameters );
     }
     
     /**
@@ -0,0 +1,140 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+/**
+ * A summary of what an application start-up warm-up accomplished, and how
+ * long each phase took; that time would otherwise have been added to the
+ * latency of the first real server request.
+ */
+public final class WarmUpReport {
+
+    /** The number of servlet host names that were resolved. */
+    private final int numberOfHostsResolved;
+
+    /** The number of servlet connections that were pre-established. */
+    private final int numberOfConnectionsOpened;
+
+    /** The number of request layer classes that were preloaded. */
+    private final int numberOfClassesLoaded;
+
+    /** Flag for whether the user was pre-authorized. */
+    private final boolean preAuthorized;
+
+    private final long hostResolutionNanos;
+    private final long connectionNanos;
+    private final long classLoadingNanos;
+    private final long authorizationNanos;
+
+    public WarmUpReport( final int pNumberOfHostsResolved,
+                         final int pNumberOfConnectionsOpened,
+                         final int pNumberOfClassesLoaded,
+                         final boolean pPreAuthorized,
+                         final long pHostResolutionNanos,
+                         final long pConnectionNanos,
+                         final long pClassLoadingNanos,
+                         final long pAuthorizationNanos ) {
+        numberOfHostsResolved = pNumberOfHostsResolved;
+        numberOfConnectionsOpened = pNumberOfConnectionsOpened;
+        numberOfClassesLoaded = pNumberOfClassesLoaded;
+        preAuthorized = pPreAuthorized;
+        hostResolutionNanos = pHostResolutionNanos;
+        connectionNanos = pConnectionNanos;
+        classLoadingNanos = pClassLoadingNanos;
+        authorizationNanos = pAuthorizationNanos;
+    }
+
+    public int getNumberOfHostsResolved() {
+        return numberOfHostsResolved;
+    }
+
+    public int getNumberOfConnectionsOpened() {
+        return numberOfConnectionsOpened;
+    }
+
+    public int getNumberOfClassesLoaded() {
+        return numberOfClassesLoaded;
+    }
+
+    public boolean isPreAuthorized() {
+        return preAuthorized;
+    }
+
+    public double getHostResolutionMillis() {
+        return hostResolutionNanos * 1.0e-6d;
+    }
+
+    public double getConnectionMillis() {
+        return connectionNanos * 1.0e-6d;
+    }
+
+    public double getClassLoadingMillis() {
+        return classLoadingNanos * 1.0e-6d;
+    }
+
+    public double getAuthorizationMillis() {
+        return authorizationNanos * 1.0e-6d;
+    }
+
+    /**
+     * Returns an upper bound on the time taken off the first request's
+     * latency, which is the time spent on work that the first request would
+     * otherwise have done lazily: DNS lookups, successful TCP/TLS handshakes
+     * and class loading.
+     * <p>
+     * NOTE: The handshake time is only saved if the first request comes
+     *  before the pre-connected sockets idle out of the keep-alive cache,
+     *  which is after about 5 seconds unless the server asks for longer.
+     *  The pre-authorization time is left out, as the first real login still
+     *  makes its own round trip to the authorization servlet.
+     *
+     * @return The estimated time saved on first-request latency, at most
+     */
+    public double getEstimatedTimeSavedMillis() {
+        return ( hostResolutionNanos + connectionNanos + classLoadingNanos ) * 1.0e-6d;
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return String.format( "Warm-Up: %d hosts resolved in %.1f ms, %d connections opened in %.1f ms, "
+                + "%d classes loaded in %.1f ms, %s in %.1f ms; up to %.1f ms saved on first request",
+                              numberOfHostsResolved,
+                              getHostResolutionMillis(),
+                              numberOfConnectionsOpened,
+                              getConnectionMillis(),
+                              numberOfClassesLoaded,
+                              getClassLoadingMillis(),
+                              preAuthorized ? "pre-authorized" : "not pre-authorized",
+                              getAuthorizationMillis(),
+                              getEstimatedTimeSavedMillis() );
+    }
+}
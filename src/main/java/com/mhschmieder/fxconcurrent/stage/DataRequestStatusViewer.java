@@ -39,11 +39,15 @@ import com.mhschmieder.jcommons.util.SystemType;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Modality;
 import javafx.util.Callback;
 import org.controlsfx.control.TaskProgressView;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * This is a window-level wrapper for a Task Progress View, which can show
  * multiple tasks, but for our purposes will probably only ever show one at
@@ -63,9 +67,21 @@ public final class DataRequestStatusViewer extends XStage {
     // Declare a callback that will be used to determine the task icon.
     private Callback< DataRequestTask, Node > taskIconFactory;
 
-    // Pre-cache the task icons for each category of task, for efficiency.
-    protected ImageView fullUpdateTaskIcon;
-    protected ImageView dynamicUpdateTaskIcon;
+    // Pre-cache the task icon images for each category of task, for
+    // efficiency. These are decoded off the JavaFX Application Thread.
+    // NOTE: The images are shared, but each task gets its own Image View, as
+    //  a Node can only ever have one parent in the Scene Graph.
+    protected CompletableFuture< Image > fullUpdateTaskIconImage;
+    protected CompletableFuture< Image > dynamicUpdateTaskIconImage;
+
+    /** Flag for whether the stage and its content have been built yet. */
+    private boolean initialized;
+
+    /** The time it took to build the stage and its content, on first use. */
+    private long initializationNanos;
+
+    /** The time it took to decode the task icons, in the background. */
+    private final AtomicLong iconDecodingNanos;
     
     /**
      * Placeholder text to use in place of the default in TaskProgressView.
@@ -109,16 +125,85 @@ public final class DataRequestStatusViewer extends XStage {
         // thread, we need to make this window exempt from Full Screen Mode.
         _fullScreenModeExempt = true;
 
+        // Defer building the stage until the first task is added, as many
+        // sessions never make a data request, but start decoding the task
+        // icons right away so that they are ready by then.
+        initialized = false;
+        initializationNanos = 0L;
+        iconDecodingNanos = new AtomicLong();
+        fullUpdateTaskIconImage = CompletableFuture
+                .supplyAsync( () -> decodeIcon( fullUpdateIconJarRelativePath ) );
+        dynamicUpdateTaskIconImage = CompletableFuture
+                .supplyAsync( () -> decodeIcon( dynamicUpdateIconJarRelativePath ) );
+    }
+
+    private Image decodeIcon( final String iconJarRelativePath ) {
+        final long decodingStartNanos = System.nanoTime();
+        try {
+            // NOTE: An Image View that has no parent may be made on any
+            //  thread; we only keep its decoded Image, for sharing.
+            final ImageView icon = ImageUtilities.createIcon( iconJarRelativePath );
+            return ( icon != null ) ? icon.getImage() : null;
+        }
+        catch ( final Exception ex ) {
+            ex.printStackTrace();
+            return null;
+        }
+        finally {
+            iconDecodingNanos.addAndGet( System.nanoTime() - decodingStartNanos );
+        }
+    }
+
+    /**
+     * Builds the stage and its content if this hasn't been done yet.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread, and is
+     *  done automatically on the first added task, so it only needs to be
+     *  called directly when showing the window before any task is added.
+     */
+    public void ensureInitialized() {
+        if ( initialized ) {
+            return;
+        }
+        initialized = true;
+
+        final long initializationStartNanos = System.nanoTime();
         try {
-            initStage( fullUpdateIconJarRelativePath,
-                       dynamicUpdateIconJarRelativePath );
+            initStage();
         }
         catch ( final Exception ex ) {
             ex.printStackTrace();
         }
+        initializationNanos = System.nanoTime() - initializationStartNanos;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Returns the time spent building the stage and its content on first use,
+     * which used to be spent in the constructor, at application start-up.
+     *
+     * @return The stage initialization time, or zero if not yet initialized
+     */
+    public double getInitializationMillis() {
+        return initializationNanos * 1.0e-6d;
+    }
+
+    /**
+     * Returns the time spent decoding the task icons on a background thread,
+     * which used to be spent on the JavaFX Application Thread.
+     *
+     * @return The icon decoding time
+     */
+    public double getIconDecodingMillis() {
+        return iconDecodingNanos.get() * 1.0e-6d;
     }
 
     public void addTask( final DataRequestTask dataRequestTask ) {
+        ensureInitialized();
+
         // Add this task to the Task Progress View, whether any previous tasks
         // are still running or not. Clear any still-running tasks first.
         // TODO: Modify this if we decide to support multiple tasks later on.
@@ -128,9 +213,17 @@ public final class DataRequestStatusViewer extends XStage {
         dataRequestTasks.add( dataRequestTask );
     }
 
+    public void removeTask( final DataRequestTask dataRequestTask ) {
+        // Nothing can have been added before the content was initialized.
+        if ( taskProgressView == null ) {
+            return;
+        }
+
+        taskProgressView.getTasks().remove( dataRequestTask );
+    }
+
     @SuppressWarnings("nls")
-    protected void initStage( final String fullUpdateIconJarRelativePath,
-                              final String dynamicUpdateIconJarRelativePath ) {
+    protected void initStage() {
         final double preferredHeight = SystemType.MACOS.equals( clientProperties.systemType )
             ? 90
             : 110;
@@ -146,12 +239,6 @@ public final class DataRequestStatusViewer extends XStage {
             setMinHeight( preferredHeight );
             setMaxHeight( preferredHeight );
         } );
-
-        // Pre-cache the task icons for each category of task, for efficiency.
-        fullUpdateTaskIcon = ImageUtilities
-                .createIcon( fullUpdateIconJarRelativePath );
-        dynamicUpdateTaskIcon = ImageUtilities
-                .createIcon( dynamicUpdateIconJarRelativePath );
     }
 
     @Override
@@ -163,20 +250,32 @@ public final class DataRequestStatusViewer extends XStage {
         taskProgressView = new TaskProgressView<>();
 
         taskIconFactory = task -> {
-            Node content = null;
+            CompletableFuture< Image > iconImage = null;
             
             switch ( task.getDataUpdateType() ) {
             case DYNAMIC_UPDATE:
-                content = dynamicUpdateTaskIcon;
+                iconImage = dynamicUpdateTaskIconImage;
                 break;
             case FULL_UPDATE:
-                content = fullUpdateTaskIcon;
+                iconImage = fullUpdateTaskIconImage;
                 break;
             default:
                 break;
             }
             
-            return content;
+            if ( iconImage == null ) {
+                return null;
+            }
+
+            // Never wait on the background decoding here, as this is called
+            // on the JavaFX Application Thread. An icon that isn't decoded yet
+            // is filled in when it is; normally it's long done by now.
+            // NOTE: A failed decoding leaves the Image View empty.
+            final ImageView icon = new ImageView( iconImage.getNow( null ) );
+            if ( icon.getImage() == null ) {
+                iconImage.thenAcceptAsync( icon::setImage, Platform::runLater );
+            }
+            return icon;
         };
 
         taskProgressView.setGraphicFactory( taskIconFactory );
@@ -0,0 +1,286 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.stage;
+
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.metrics.LatencyHistogram;
+import com.mhschmieder.fxconcurrent.metrics.RequestMetrics;
+import com.mhschmieder.fxconcurrent.metrics.RequestMetricsSnapshot;
+import com.mhschmieder.fxgui.stage.XStage;
+import com.mhschmieder.jcommons.branding.ProductBranding;
+import com.mhschmieder.jcommons.util.ClientProperties;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Modality;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+
+/**
+ * This is a window-level live view of the traffic through the request layer:
+ * request rate, in-flight count, latency percentiles, throughput, cache hit
+ * rate and error counts.
+ * <p>
+ * The request tasks only ever update lock-free counters, and this window
+ * samples them at a fixed low rate on the JavaFX Application Thread, so
+ * neither side ever waits on the other, however busy the traffic gets.
+ */
+public final class RequestPerformanceMonitor extends XStage {
+
+    public static final String REQUEST_PERFORMANCE_MONITOR_TITLE_DEFAULT = "Request Performance Monitor";
+
+    /** The default time between refreshes of the displayed metrics. */
+    public static final Duration REFRESH_INTERVAL_DEFAULT = Duration.seconds( 1.0d );
+
+    /** The latency percentiles to show, over each refresh interval. */
+    private static final double[] LATENCY_PERCENTILES = { 50.0d, 90.0d, 99.0d, 99.9d };
+
+    /** The placeholder for values that have nothing to show yet. */
+    private static final String NO_VALUE = "--";
+
+    /** The metrics of the request layer traffic to monitor. */
+    protected final RequestMetrics requestMetrics;
+
+    /** The optional shared memory budget to show the usage of. */
+    protected ByteBudget byteBudget;
+
+    /** The timer that refreshes the displayed metrics while showing. */
+    protected final Timeline refreshTimeline;
+
+    /** The snapshot at the last refresh, for computing rates since then. */
+    private RequestMetricsSnapshot previousSnapshot;
+
+    // Declare the labels that display each of the metrics.
+    protected Label requestRateLabel;
+    protected Label inFlightLabel;
+    protected Label[] latencyPercentileLabels;
+    protected Label maximumLatencyLabel;
+    protected Label byteRateLabel;
+    protected Label bufferedLabel;
+    protected Label cacheHitRateLabel;
+    protected Label succeededLabel;
+    protected Label failedLabel;
+    protected Label cancelledLabel;
+
+    /**
+     * Makes a RequestPerformanceMonitor instance with all parameters specified.
+     *
+     * @param pProductBranding Product Branding to pass to frame titles etc.
+     * @param pClientProperties Client Properties for platform-specific GUI
+     * @param pRequestMetrics The metrics of the request layer to monitor
+     * @param refreshInterval The time between refreshes of the metrics
+     */
+    @SuppressWarnings("nls")
+    public RequestPerformanceMonitor( final ProductBranding pProductBranding,
+                                      final ClientProperties pClientProperties,
+                                      final RequestMetrics pRequestMetrics,
+                                      final Duration refreshInterval ) {
+        // Always call the superclass constructor first!
+        super( Modality.NONE,
+               REQUEST_PERFORMANCE_MONITOR_TITLE_DEFAULT,
+               "requestPerformanceMonitor",
+               false,
+               false,
+               pProductBranding,
+               pClientProperties );
+
+        requestMetrics = pRequestMetrics;
+        byteBudget = null;
+        previousSnapshot = null;
+
+        // Only sample the metrics while the window is showing.
+        refreshTimeline = new Timeline( new KeyFrame( refreshInterval,
+                                                      actionEvent -> refreshMetrics() ) );
+        refreshTimeline.setCycleCount( Animation.INDEFINITE );
+        addEventHandler( WindowEvent.WINDOW_SHOWN, windowEvent -> {
+            previousSnapshot = requestMetrics.snapshot();
+            refreshTimeline.play();
+        } );
+        addEventHandler( WindowEvent.WINDOW_HIDDEN, windowEvent -> refreshTimeline.stop() );
+
+        try {
+            initStage();
+        }
+        catch ( final Exception ex ) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Makes a RequestPerformanceMonitor instance that refreshes once a second.
+     *
+     * @param pProductBranding Product Branding to pass to frame titles etc.
+     * @param pClientProperties Client Properties for platform-specific GUI
+     * @param pRequestMetrics The metrics of the request layer to monitor
+     */
+    public RequestPerformanceMonitor( final ProductBranding pProductBranding,
+                                      final ClientProperties pClientProperties,
+                                      final RequestMetrics pRequestMetrics ) {
+        this( pProductBranding,
+              pClientProperties,
+              pRequestMetrics,
+              REFRESH_INTERVAL_DEFAULT );
+    }
+
+    public ByteBudget getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * Sets the shared memory budget for response bodies to show the usage of,
+     * or null to not show it.
+     *
+     * @param pByteBudget The shared memory budget for response bodies
+     */
+    public void setByteBudget( final ByteBudget pByteBudget ) {
+        byteBudget = pByteBudget;
+    }
+
+    @SuppressWarnings("nls")
+    protected void initStage() {
+        initStage( "/icons/glyphish/Calculator16.png", 320d, 340d, true );
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    protected Node loadContent() {
+        final GridPane gridPane = new GridPane();
+        gridPane.setHgap( 16d );
+        gridPane.setVgap( 6d );
+        gridPane.setPadding( new Insets( 12d ) );
+
+        int rowIndex = 0;
+        requestRateLabel = addMetricRow( gridPane, rowIndex++, "Request Rate" );
+        inFlightLabel = addMetricRow( gridPane, rowIndex++, "In Flight" );
+        latencyPercentileLabels = new Label[ LATENCY_PERCENTILES.length ];
+        for ( int i = 0; i < LATENCY_PERCENTILES.length; i++ ) {
+            latencyPercentileLabels[ i ] = addMetricRow( gridPane,
+                                                         rowIndex++,
+                                                         "Latency p"
+                                                                 + formatPercentile( LATENCY_PERCENTILES[ i ] ) );
+        }
+        maximumLatencyLabel = addMetricRow( gridPane, rowIndex++, "Latency Maximum" );
+        byteRateLabel = addMetricRow( gridPane, rowIndex++, "Throughput" );
+        bufferedLabel = addMetricRow( gridPane, rowIndex++, "Buffered" );
+        cacheHitRateLabel = addMetricRow( gridPane, rowIndex++, "Prefetch Hit Rate" );
+        succeededLabel = addMetricRow( gridPane, rowIndex++, "Succeeded" );
+        failedLabel = addMetricRow( gridPane, rowIndex++, "Errors" );
+        cancelledLabel = addMetricRow( gridPane, rowIndex++, "Cancelled" );
+
+        // Set the custom CSS Style Class.
+        // NOTE: Make sure that this stage loads the CSS that has this tag.
+        gridPane.getStyleClass().add( "status-box" );
+
+        return gridPane;
+    }
+
+    private static Label addMetricRow( final GridPane gridPane,
+                                       final int rowIndex,
+                                       final String metricName ) {
+        final Label valueLabel = new Label( NO_VALUE );
+        gridPane.addRow( rowIndex, new Label( metricName ), valueLabel );
+        return valueLabel;
+    }
+
+    /**
+     * Takes a new snapshot of the metrics and displays the rates and latency
+     * percentiles of the interval since the previous one.
+     */
+    @SuppressWarnings("nls")
+    protected void refreshMetrics() {
+        final RequestMetricsSnapshot snapshot = requestMetrics.snapshot();
+        if ( previousSnapshot == null ) {
+            previousSnapshot = snapshot;
+            return;
+        }
+
+        requestRateLabel.setText( String.format( "%.1f /s",
+                                                 snapshot.getRequestRate( previousSnapshot ) ) );
+        inFlightLabel.setText( Integer.toString( snapshot.getNumberOfInFlightRequests() ) );
+
+        final LatencyHistogram intervalHistogram = snapshot
+                .getIntervalLatencyHistogram( previousSnapshot );
+        final boolean noLatencies = intervalHistogram.getTotalCount() == 0L;
+        for ( int i = 0; i < LATENCY_PERCENTILES.length; i++ ) {
+            latencyPercentileLabels[ i ].setText( noLatencies
+                ? NO_VALUE
+                : formatLatency( intervalHistogram
+                        .getValueAtPercentile( LATENCY_PERCENTILES[ i ] ) ) );
+        }
+        maximumLatencyLabel.setText( noLatencies
+            ? NO_VALUE
+            : formatLatency( intervalHistogram.getMaximumValue() ) );
+
+        byteRateLabel.setText( formatByteRate( snapshot.getByteRate( previousSnapshot ) ) );
+        bufferedLabel.setText( ( byteBudget != null )
+            ? String.format( "%.1f of %.1f MB (%d waiting)",
+                             byteBudget.getUsedBytes() / ( 1024.0d * 1024.0d ),
+                             byteBudget.getCapacity() / ( 1024.0d * 1024.0d ),
+                             byteBudget.getNumberOfWaitingRequests() )
+            : NO_VALUE );
+        cacheHitRateLabel.setText( ( ( snapshot.getNumberOfCacheHits()
+                + snapshot.getNumberOfCacheMisses() ) > 0L )
+                    ? String.format( "%.1f%%", 100.0d * snapshot.getCacheHitRate() )
+                    : NO_VALUE );
+        succeededLabel.setText( Long.toString( snapshot.getNumberOfRequestsSucceeded() ) );
+        failedLabel.setText( Long.toString( snapshot.getNumberOfRequestsFailed() ) );
+        cancelledLabel.setText( Long.toString( snapshot.getNumberOfRequestsCancelled() ) );
+
+        previousSnapshot = snapshot;
+    }
+
+    @SuppressWarnings("nls")
+    private static String formatPercentile( final double percentile ) {
+        return ( percentile == Math.rint( percentile ) )
+            ? Long.toString( ( long ) percentile )
+            : Double.toString( percentile );
+    }
+
+    @SuppressWarnings("nls")
+    private static String formatLatency( final long latencyMicroseconds ) {
+        return String.format( "%.1f ms", latencyMicroseconds * 1.0e-3d );
+    }
+
+    @SuppressWarnings("nls")
+    private static String formatByteRate( final double bytesPerSecond ) {
+        if ( bytesPerSecond >= ( 1024.0d * 1024.0d ) ) {
+            return String.format( "%.1f MB/s", bytesPerSecond / ( 1024.0d * 1024.0d ) );
+        }
+        if ( bytesPerSecond >= 1024.0d ) {
+            return String.format( "%.1f KB/s", bytesPerSecond / 1024.0d );
+        }
+        return String.format( "%.0f B/s", bytesPerSecond );
+    }
+}
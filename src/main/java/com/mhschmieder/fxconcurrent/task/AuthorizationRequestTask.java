@@ -30,22 +30,28 @@
  */
 package com.mhschmieder.fxconcurrent.task;
 
+import com.mhschmieder.fxconcurrent.request.AuthorizationRequestCore;
 import com.mhschmieder.jcommons.net.AuthorizationServerResponse;
 import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
-import com.mhschmieder.jcommons.net.NetworkUtilities;
 import com.mhschmieder.jcommons.security.LoginCredentials;
-import com.mhschmieder.jcommons.security.ServerLoginCredentials;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import javafx.concurrent.Task;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Screen;
 
-import java.net.HttpURLConnection;
-
+/**
+ * A JavaFX adapter over the Authorization Request Core, which adds the
+ * user's screen size to the request.
+ */
 public class AuthorizationRequestTask extends Task< AuthorizationServerResponse > {
 
-    /** The Request Type name that this task will pass to the server. */
-    @SuppressWarnings("nls") public static String AUTHORIZATION_REQUEST_TYPE = "Authorize User";
+    /**
+     * The Request Type name that this task will pass to the server.
+     * <p>
+     * NOTE: This is read whenever a task runs, so an application may still
+     *  reassign it to use another Request Type name for all later tasks.
+     */
+    public static String AUTHORIZATION_REQUEST_TYPE = AuthorizationRequestCore.AUTHORIZATION_REQUEST_TYPE_DEFAULT;
 
     /** Cache the Login Credentials to use for authorizing the request. */
     protected LoginCredentials                    loginCredentials;
@@ -75,67 +81,20 @@ public class AuthorizationRequestTask extends Task< AuthorizationServerResponse
 
     @Override
     protected AuthorizationServerResponse call() throws InterruptedException {
-        // Open a connection to the Authorization Servlet.
-        final HttpURLConnection httpURLConnection = NetworkUtilities
-                .getHttpURLConnection( httpServletRequestProperties.httpServletUrl );
-        if ( httpURLConnection == null ) {
-            final String urlConnectionStatus =
-                                             "Server Connection Error: Authorization Service Not Found"; //$NON-NLS-1$
-            final AuthorizationServerResponse authorizationServerResponse =
-                                                                          new AuthorizationServerResponse( urlConnectionStatus,
-                                                                                                           null,
-                                                                                                           true,
-                                                                                                           null,
-                                                                                                           ServerLoginCredentials.EXPIRATION_DATE_DEFAULT,
-                                                                                                           null,
-                                                                                                           HttpURLConnection.HTTP_UNAVAILABLE );
-            return authorizationServerResponse;
-        }
+        final AuthorizationRequestCore authorizationRequestCore =
+                new AuthorizationRequestCore( loginCredentials,
+                                              httpServletRequestProperties,
+                                              clientProperties );
+        authorizationRequestCore.setAuthorizationRequestType( AUTHORIZATION_REQUEST_TYPE );
 
         // Get the user's screen size, for Full Screen Mode and user statistics.
         // TODO: Also get and cache the minimum point, which may not be zero.
         // NOTE: This query is done on-the-fly as the user may switch screens
         // between server calls.
         final Rectangle2D visualBounds = Screen.getPrimary().getVisualBounds();
-        final double screenWidth = visualBounds.getWidth();
-        final double screenHeight = visualBounds.getHeight();
-
-        // Add the HTTP request properties for the Authorization Servlet.
-        NetworkUtilities.addServerRequestProperties( httpURLConnection,
-                                                     AUTHORIZATION_REQUEST_TYPE,
-                                                     loginCredentials,
-                                                     httpServletRequestProperties,
-                                                     clientProperties,
-                                                     screenWidth,
-                                                     screenHeight );
-
-        // Request a user authorization based on Login Credentials.
-        final String servletErrorMessage = NetworkUtilities.connectToServlet( httpURLConnection,
-                                                                              "authorization" ); //$NON-NLS-1$
-        if ( servletErrorMessage != null ) {
-            final AuthorizationServerResponse authorizationServerResponse =
-                                                                          new AuthorizationServerResponse( null,
-                                                                                                           servletErrorMessage,
-                                                                                                           true,
-                                                                                                           null,
-                                                                                                           ServerLoginCredentials.EXPIRATION_DATE_DEFAULT,
-                                                                                                           null,
-                                                                                                           HttpURLConnection.HTTP_UNAVAILABLE );
-            return authorizationServerResponse;
-        }
-
-        // Handle the authorization servlet's HTTP status, and echo the
-        // formatted error response to the user if an HTTP error code is
-        // detected and/or the authorization failed.
-        final AuthorizationServerResponse authorizationServerResponse = NetworkUtilities
-                .getAuthorizationServerResponse( httpURLConnection );
-        final String serverStatusMessage = authorizationServerResponse.getServerStatusMessage();
-        if ( serverStatusMessage != null ) {
-            authorizationServerResponse.setServerStatusMessage( serverStatusMessage );
-            authorizationServerResponse
-                    .setHttpResponseCode( authorizationServerResponse.getHttpResponseCode() );
-        }
+        authorizationRequestCore.setScreenSize( visualBounds.getWidth(),
+                                                visualBounds.getHeight() );
 
-        return authorizationServerResponse;
+        return authorizationRequestCore.call();
     }
 }
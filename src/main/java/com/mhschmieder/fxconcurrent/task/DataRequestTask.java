@@ -30,11 +30,23 @@
  */
 package com.mhschmieder.fxconcurrent.task;
 
-import com.mhschmieder.jcommons.io.IoUtilities;
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.io.ByteBufferPool;
+import com.mhschmieder.fxconcurrent.io.PooledResponseBody;
+import com.mhschmieder.fxconcurrent.io.ResponseChangeTracker;
+import com.mhschmieder.fxconcurrent.io.ResponseFingerprint;
+import com.mhschmieder.fxconcurrent.io.SegmentedDownloadOptions;
+import com.mhschmieder.fxconcurrent.metrics.RequestMetrics;
+import com.mhschmieder.fxconcurrent.net.ConcurrencyLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.RateLimiterRegistry;
+import com.mhschmieder.fxconcurrent.net.ServletEndpointGroup;
+import com.mhschmieder.fxconcurrent.pipeline.ResponsePipeline;
+import com.mhschmieder.fxconcurrent.replay.TrafficRecorder;
+import com.mhschmieder.fxconcurrent.request.DataRequestCore;
+import com.mhschmieder.fxconcurrent.request.RequestProgressListener;
 import com.mhschmieder.jcommons.net.DataRequestParameters;
 import com.mhschmieder.jcommons.net.DataServerResponse;
 import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
-import com.mhschmieder.jcommons.net.NetworkUtilities;
 import com.mhschmieder.jcommons.security.LoginCredentials;
 import com.mhschmieder.jcommons.util.ClientProperties;
 import com.mhschmieder.jcommons.util.DataUpdateType;
@@ -43,11 +55,18 @@ import javafx.geometry.Rectangle2D;
 import javafx.stage.Screen;
 
 import java.net.HttpURLConnection;
+import java.nio.file.Path;
 
 /**
  * Base class for task commonality between server data requests.
+ * <p>
+ * This is a thin JavaFX adapter over the Data Request Core, which does the
+ * actual work on the task's thread: it adds the user's screen size to the
+ * request, and forwards the core's progress to the task's message and
+ * progress properties and its own cancellation to the core.
  */
-public class DataRequestTask extends Task< DataServerResponse > {
+public class DataRequestTask extends Task< DataServerResponse >
+        implements RequestProgressListener {
 
     /**
      * Cache the Server Request Properties (Build ID, Request Type, etc.).
@@ -64,15 +83,55 @@ public class DataRequestTask extends Task< DataServerResponse > {
      */
     public final ClientProperties clientProperties;
 
+    /**
+     * The toolkit-independent core that carries out the request.
+     */
+    protected final DataRequestCore dataRequestCore;
+
     public DataRequestTask( final HttpServletRequestProperties pServerRequestProperties,
                             final DataRequestParameters pDataRequestParameters,
                             final ClientProperties pClientProperties ) {
+        this( new DataRequestCore( pServerRequestProperties,
+                                   pDataRequestParameters,
+                                   pClientProperties ) );
+    }
+
+    /**
+     * Makes a Data Request Task that adapts the given core, which may be a
+     * subclass that customizes how the request is carried out.
+     *
+     * @param pDataRequestCore The core that carries out the request
+     */
+    public DataRequestTask( final DataRequestCore pDataRequestCore ) {
         // Always call the super-constructor first!
         super();
 
-        httpServletRequestProperties = pServerRequestProperties;
-        dataRequestParameters = pDataRequestParameters;
-        clientProperties = pClientProperties;
+        dataRequestCore = pDataRequestCore;
+        httpServletRequestProperties = pDataRequestCore.getHttpServletRequestProperties();
+        dataRequestParameters = pDataRequestCore.getDataRequestParameters();
+        clientProperties = pDataRequestCore.getClientProperties();
+    }
+
+    /**
+     * Cancels this task and immediately disconnects its active connection, so
+     * that a thread blocked in a socket read or upload is released right away
+     * rather than after the whole transfer completes.
+     * <p>
+     * NOTE: Service.cancel() and Service.restart() both end up here.
+     *
+     * @param mayInterruptIfRunning true if the running thread may be
+     *                              interrupted as well
+     * @return true if the task was cancelled by this call
+     */
+    @Override
+    public boolean cancel( final boolean mayInterruptIfRunning ) {
+        final boolean cancelled = super.cancel( mayInterruptIfRunning );
+
+        if ( cancelled ) {
+            dataRequestCore.cancel();
+        }
+
+        return cancelled;
     }
 
     @Override
@@ -81,124 +140,166 @@ public class DataRequestTask extends Task< DataServerResponse > {
         final String taskTitle = getTaskTitle();
         updateTitle( taskTitle );
 
-        // Create an empty server response, even if it never gets set.
-        DataServerResponse dataServerResponse = new DataServerResponse();
-        String serverStatusMessage = null;
-
-        // Declare the number of sub-tasks involved.
-        final double numberOfSubTasks = 6.0d;
+        // Get the user's screen size, for Full Screen Mode and user statistics.
+        // TODO: Also get and cache the minimum point, which may not be zero.
+        // NOTE: This query is done on-the-fly as the user may switch screens
+        //  between server calls.
+        final Rectangle2D visualBounds = Screen.getPrimary().getVisualBounds();
+        dataRequestCore.setScreenSize( visualBounds.getWidth(), visualBounds.getHeight() );
 
         try {
-            // Default to an initial placeholder status message.
-            updateMessage( "Searching for Data Service" );
-            updateProgress( 0.0d, numberOfSubTasks );
-
-            // Open a connection to the data servlet.
-            // TODO: Make an HttpServerRequest class that holds the reused
-            //  fields and only resets the ones that change per data request?
-            // TODO: Throw exceptions with these messages instead, so we can
-            //  consolidate the handling to the failure callback?
-            final HttpURLConnection httpURLConnection = NetworkUtilities
-                    .getHttpURLConnection( httpServletRequestProperties.httpServletUrl );
-            if ( httpURLConnection == null ) {
-                serverStatusMessage = "Server Connection Error: Data Service Not Found"; 
-                dataServerResponse.setServerStatusMessage( serverStatusMessage );
-                return dataServerResponse;
-            }
-            updateMessage( "Data Service Found" );
-            updateProgress( 1.0d, numberOfSubTasks );
-
-            // Get the user's screen size, for Full Screen Mode and user statistics.
-            // TODO: Also get and cache the minimum point, which may not be zero.
-            // NOTE: This query is done on-the-fly as the user may switch screens
-            //  between server calls.
-            final Rectangle2D visualBounds = Screen.getPrimary().getVisualBounds();
-            final double screenWidth = visualBounds.getWidth();
-            final double screenHeight = visualBounds.getHeight();
-
-            // Add the HTTP request properties for the Data Servlet.
-            updateMessage( "Generating Data Request" );
-            updateMessage( "Preparing Data Request" );
-            NetworkUtilities.addServerRequestProperties( httpURLConnection,
-                                                         getDataRequestType(),
-                                                         getLoginCredentials(),
-                                                         httpServletRequestProperties,
-                                                         clientProperties,
-                                                         screenWidth,
-                                                         screenHeight );
-
-            // Add optional HTTP properties specific to this Data Request Type.
-            addDataRequestProperties( httpURLConnection );
-
-            // Request a data update from the server.
-            updateMessage( "Connecting to Server" ); //$NON-NLS-1$
-            serverStatusMessage = NetworkUtilities.connectToServlet( httpURLConnection,
-                                                                     "data update" );
-            if ( serverStatusMessage != null ) {
-                dataServerResponse.setServerStatusMessage( serverStatusMessage );
-                return dataServerResponse;
-            }
-            updateMessage( "Server Connection Established" );
-            updateMessage( "Logging into Server and Sending Data Request" );
-            updateProgress( 2.0d, numberOfSubTasks );
-
-            // Send the optional data request input parameters to the server.
-            serverStatusMessage = sendDataRequestInputParameters( httpURLConnection );
-            if ( serverStatusMessage != null ) {
-                dataServerResponse.setServerStatusMessage( serverStatusMessage );
-                return dataServerResponse;
-            }
-
-            // Handle the data request servlet's HTTP status, and echo the
-            // formatted error response to the user if an HTTP error code is
-            // detected and/or an error message is returned.
-            // NOTE: We set to indeterminate at this point, so the user doesn't
-            // think the application is stuck/frozen.
-            updateMessage( "Waiting for Data Response from Server" );
-            // updateProgress( 3.0d, numberOfSubTasks );
-            updateProgress( -1d, numberOfSubTasks );
-            dataServerResponse = NetworkUtilities
-                    .getDataServerResponse( httpURLConnection );
-            if ( ( dataServerResponse == null )
-                    || ( dataServerResponse.getServerStatusMessage() != null )
-                    || ( dataServerResponse.getServletErrorMessage() != null ) ) {
-                return dataServerResponse;
-            }
-            updateMessage( "Data Response Received" );
-
-            // Load the data response files from the returned servlet stream.
-            updateMessage( "Loading Data Response from Server" );
-            updateProgress( 4.0d, numberOfSubTasks );
-            final StringBuilder messageBuilder = new StringBuilder();
-            final byte[] serverResponseData = IoUtilities
-                    .saveRemoteStreamToByteArray( httpURLConnection, messageBuilder );
-            if ( messageBuilder.length() > 0 ) {
-                dataServerResponse.setServerStatusMessage( messageBuilder.toString() );
-                return dataServerResponse;
-            }
-            updateMessage( "Data Response Loaded" );
-            updateProgress( 5.0d, numberOfSubTasks );
-
-            // Cache the Server Response Data for post-processing.
-            dataServerResponse.setServerResponseData( serverResponseData );
-        }
-        catch ( final Exception e ) {
-            e.printStackTrace();
+            return dataRequestCore.execute( this );
         }
-        finally {
-            // Indicate that we are done with the task.
-            updateProgress( numberOfSubTasks, numberOfSubTasks );
-        }
-
-        // If the user cancelled, throw an interrupted exception.
-        if ( isCancelled() ) {
+        catch ( final InterruptedException ie ) {
+            // If the user cancelled, pass on the interrupted exception.
             updateMessage( "Data Request Task Cancelled" );
-            throw new InterruptedException();
+            throw ie;
         }
+    }
+
+    @Override
+    public void onRequestMessage( final String message ) {
+        updateMessage( message );
+    }
+
+    @Override
+    public void onRequestProgress( final double workDone, final double totalWork ) {
+        updateProgress( workDone, totalWork );
+    }
+
+    public final DataRequestCore getDataRequestCore() {
+        return dataRequestCore;
+    }
+
+    /**
+     * Drops this task's references to its response once it is done: the
+     * value, which a service's value is bound to, and the pooled Response
+     * Body along with its share of the Byte Budget, unless the body has
+     * already been taken over via {@link #takeResponseBody()}.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread.
+     */
+    public void releaseResponse() {
+        dataRequestCore.releaseResponseBody();
+        updateValue( null );
+    }
+
+    // NOTE: The rest of the API is forwarded to the Data Request Core, which
+    //  documents it.
+
+    public final Path getResponseFile() {
+        return dataRequestCore.getResponseFile();
+    }
+
+    public final double getDownloadThroughput() {
+        return dataRequestCore.getDownloadThroughput();
+    }
+
+    public final String getServletUrl() {
+        return dataRequestCore.getServletUrl();
+    }
+
+    public final ServletEndpointGroup getServletEndpointGroup() {
+        return dataRequestCore.getServletEndpointGroup();
+    }
+
+    public final void setServletEndpointGroup( final ServletEndpointGroup pServletEndpointGroup ) {
+        dataRequestCore.setServletEndpointGroup( pServletEndpointGroup );
+    }
+
+    public final ConcurrencyLimiterRegistry getConcurrencyLimiterRegistry() {
+        return dataRequestCore.getConcurrencyLimiterRegistry();
+    }
+
+    public final void setConcurrencyLimiterRegistry( final ConcurrencyLimiterRegistry pConcurrencyLimiterRegistry ) {
+        dataRequestCore.setConcurrencyLimiterRegistry( pConcurrencyLimiterRegistry );
+    }
+
+    public final boolean isResponseUnchanged() {
+        return dataRequestCore.isResponseUnchanged();
+    }
+
+    public final ResponseFingerprint getResponseFingerprint() {
+        return dataRequestCore.getResponseFingerprint();
+    }
 
-        return dataServerResponse;
+    public final ResponseChangeTracker getResponseChangeTracker() {
+        return dataRequestCore.getResponseChangeTracker();
     }
-   
+
+    public final void setResponseChangeTracker( final ResponseChangeTracker pResponseChangeTracker ) {
+        dataRequestCore.setResponseChangeTracker( pResponseChangeTracker );
+    }
+
+    public final ByteBudget getByteBudget() {
+        return dataRequestCore.getByteBudget();
+    }
+
+    public final void setByteBudget( final ByteBudget pByteBudget ) {
+        dataRequestCore.setByteBudget( pByteBudget );
+    }
+
+    public final TrafficRecorder getTrafficRecorder() {
+        return dataRequestCore.getTrafficRecorder();
+    }
+
+    public final void setTrafficRecorder( final TrafficRecorder pTrafficRecorder ) {
+        dataRequestCore.setTrafficRecorder( pTrafficRecorder );
+    }
+
+    public final RequestMetrics getRequestMetrics() {
+        return dataRequestCore.getRequestMetrics();
+    }
+
+    public final void setRequestMetrics( final RequestMetrics pRequestMetrics ) {
+        dataRequestCore.setRequestMetrics( pRequestMetrics );
+    }
+
+    public final RateLimiterRegistry getRateLimiterRegistry() {
+        return dataRequestCore.getRateLimiterRegistry();
+    }
+
+    public final void setRateLimiterRegistry( final RateLimiterRegistry pRateLimiterRegistry ) {
+        dataRequestCore.setRateLimiterRegistry( pRateLimiterRegistry );
+    }
+
+    public final SegmentedDownloadOptions getSegmentedDownloadOptions() {
+        return dataRequestCore.getSegmentedDownloadOptions();
+    }
+
+    public final void setSegmentedDownloadOptions( final SegmentedDownloadOptions pSegmentedDownloadOptions ) {
+        dataRequestCore.setSegmentedDownloadOptions( pSegmentedDownloadOptions );
+    }
+
+    public final PooledResponseBody getResponseBody() {
+        return dataRequestCore.getResponseBody();
+    }
+
+    public final PooledResponseBody takeResponseBody() {
+        return dataRequestCore.takeResponseBody();
+    }
+
+    public final void releaseResponseBody() {
+        dataRequestCore.releaseResponseBody();
+    }
+
+    public final ByteBufferPool getResponseBufferPool() {
+        return dataRequestCore.getResponseBufferPool();
+    }
+
+    public final void setResponseBufferPool( final ByteBufferPool pResponseBufferPool,
+                                             final boolean pMaterializeResponseData ) {
+        dataRequestCore.setResponseBufferPool( pResponseBufferPool, pMaterializeResponseData );
+    }
+
+    public final ResponsePipeline getResponsePipeline() {
+        return dataRequestCore.getResponsePipeline();
+    }
+
+    public final void setResponsePipeline( final ResponsePipeline pResponsePipeline ) {
+        dataRequestCore.setResponsePipeline( pResponsePipeline );
+    }
+
     /**
      * Returns the text to use for updating the Title of this Task.
      * <p>
@@ -219,6 +320,10 @@ public class DataRequestTask extends Task< DataServerResponse > {
         return dataRequestParameters.getDataRequestType();
     }
     
+    public final DataRequestParameters getDataRequestParameters() {
+        return dataRequestParameters;
+    }
+
     public final DataUpdateType getDataUpdateType() {
         return dataRequestParameters.getDataUpdateType();
     }
@@ -226,33 +331,12 @@ public class DataRequestTask extends Task< DataServerResponse > {
     protected final LoginCredentials getLoginCredentials() {
         return dataRequestParameters.getLoginCredentials();
     }
-    
-    /**
-     * Adds data request properties to the HTTP Request.
-     * <p>
-     * NOTE: The base class implementation is blank, as most data requests
-     *  will use the file-based approach, but some requests are trivial
-     *  enough to instead tag a few custom HTTP parameters to the URL.
-     * 
-     * @param httpURLConnection The HTTP URL Connection for the Request
-     */
+
     public final void addDataRequestProperties( final HttpURLConnection httpURLConnection ) {
-        dataRequestParameters.addDataRequestProperties( httpURLConnection );
+        dataRequestCore.addDataRequestProperties( httpURLConnection );
     }
-    
-    /**
-     * Returns a server status message related to the sending of data request
-     * input parameters to the HTTP Request, or null if no message received,
-     * such as when this method is not needed due to no input parameters.
-     * <p>
-     * NOTE: Not all data  requests send additional input parameters.
-     * 
-     * @param httpURLConnection The HTTP URL Connection for the Request
-     * 
-     * @return The server status message, or null if no input parameters sent
-     */
+
     public final String sendDataRequestInputParameters( final HttpURLConnection httpURLConnection ) {
-        return dataRequestParameters
-                .sendDataRequestInputParameters( httpURLConnection );
-   }
+        return dataRequestCore.sendDataRequestInputParameters( httpURLConnection );
+    }
 }
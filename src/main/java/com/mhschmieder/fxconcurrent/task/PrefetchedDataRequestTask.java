@@ -0,0 +1,162 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.task;
+
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A data request task whose response was already fetched speculatively, so
+ * it completes immediately without contacting the server, or whose response
+ * is still being prefetched, so it only waits for that prefetch to complete.
+ * <p>
+ * This is still a Data Request Task so that it shows up in the status viewer
+ * and service callbacks exactly as a regular request would.
+ */
+public class PrefetchedDataRequestTask extends DataRequestTask {
+
+    /**
+     * The response that was prefetched for this task's request, which is
+     * handed off (and no longer referenced here) once the task runs.
+     */
+    protected DataServerResponse prefetchedDataServerResponse;
+
+    /**
+     * The prefetch that is still running for this task's request, if the
+     * response hadn't arrived yet when the real request was made.
+     */
+    protected final DataRequestTask prefetchDataRequestTask;
+
+    public PrefetchedDataRequestTask( final HttpServletRequestProperties pServerRequestProperties,
+                                      final DataRequestParameters pDataRequestParameters,
+                                      final ClientProperties pClientProperties,
+                                      final DataServerResponse pPrefetchedDataServerResponse ) {
+        // Always call the super-constructor first!
+        super( pServerRequestProperties, pDataRequestParameters, pClientProperties );
+
+        prefetchedDataServerResponse = pPrefetchedDataServerResponse;
+        prefetchDataRequestTask = null;
+    }
+
+    /**
+     * Makes a task that takes over a prefetch that is still running for the
+     * same request, and completes along with it.
+     *
+     * @param pServerRequestProperties The Server Request Properties
+     * @param pDataRequestParameters The parameters of the real request
+     * @param pClientProperties The Client Properties
+     * @param pPrefetchDataRequestTask The running prefetch to take over
+     */
+    public PrefetchedDataRequestTask( final HttpServletRequestProperties pServerRequestProperties,
+                                      final DataRequestParameters pDataRequestParameters,
+                                      final ClientProperties pClientProperties,
+                                      final DataRequestTask pPrefetchDataRequestTask ) {
+        // Always call the super-constructor first!
+        super( pServerRequestProperties, pDataRequestParameters, pClientProperties );
+
+        prefetchedDataServerResponse = null;
+        prefetchDataRequestTask = pPrefetchDataRequestTask;
+    }
+
+    /**
+     * Cancels this task, along with any prefetch that it has taken over.
+     *
+     * @param mayInterruptIfRunning true if the running thread may be
+     *                              interrupted as well
+     * @return true if the task was cancelled by this call
+     */
+    @Override
+    public boolean cancel( final boolean mayInterruptIfRunning ) {
+        final boolean cancelled = super.cancel( mayInterruptIfRunning );
+
+        if ( cancelled && ( prefetchDataRequestTask != null ) ) {
+            prefetchDataRequestTask.cancel( true );
+        }
+
+        return cancelled;
+    }
+
+    @Override
+    protected DataServerResponse call() throws InterruptedException {
+        updateTitle( getTaskTitle() );
+
+        if ( prefetchDataRequestTask != null ) {
+            return awaitPrefetch();
+        }
+
+        updateMessage( "Data Response Loaded from Prefetch Buffer" );
+        updateProgress( 1.0d, 1.0d );
+
+        if ( isCancelled() ) {
+            throw new InterruptedException();
+        }
+
+        final DataServerResponse dataServerResponse = prefetchedDataServerResponse;
+        prefetchedDataServerResponse = null;
+
+        return dataServerResponse;
+    }
+
+    @SuppressWarnings("nls")
+    private DataServerResponse awaitPrefetch() throws InterruptedException {
+        updateMessage( "Waiting for Data Response from Prefetch in Progress" );
+
+        try {
+            final DataServerResponse dataServerResponse = prefetchDataRequestTask.get();
+            updateMessage( "Data Response Loaded from Prefetch" );
+            updateProgress( 1.0d, 1.0d );
+            return dataServerResponse;
+        }
+        catch ( final CancellationException ce ) {
+            // The prefetch only gets cancelled along with this task.
+            updateMessage( "Data Request Task Cancelled" );
+            throw new InterruptedException();
+        }
+        catch ( final ExecutionException ee ) {
+            // Report the failure in-band, as a regular request would.
+            ee.printStackTrace();
+            final DataServerResponse failedResponse = new DataServerResponse();
+            failedResponse.setServerStatusMessage( "Data Request Error: "
+                    + ee.getCause() );
+            return failedResponse;
+        }
+        catch ( final InterruptedException ie ) {
+            // If the user cancelled, pass on the interrupted exception.
+            updateMessage( "Data Request Task Cancelled" );
+            throw ie;
+        }
+    }
+}
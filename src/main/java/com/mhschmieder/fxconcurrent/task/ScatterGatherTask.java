@@ -0,0 +1,131 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.task;
+
+import com.mhschmieder.fxconcurrent.request.RequestProgressListener;
+import com.mhschmieder.fxconcurrent.request.ScatterGatherRequest;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import javafx.concurrent.Task;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+/**
+ * A thin JavaFX adapter over a Scatter-Gather Request, which fans one logical
+ * data request out to several servlets in parallel and combines the results.
+ */
+public class ScatterGatherTask extends Task< DataServerResponse >
+        implements RequestProgressListener {
+
+    /**
+     * The toolkit-independent request that does the actual work.
+     */
+    protected final ScatterGatherRequest scatterGatherRequest;
+
+    public ScatterGatherTask( final ScatterGatherRequest pScatterGatherRequest ) {
+        // Always call the super-constructor first!
+        super();
+
+        scatterGatherRequest = pScatterGatherRequest;
+    }
+
+    /**
+     * Cancels this task along with every shard request that is still running.
+     *
+     * @param mayInterruptIfRunning true if the running thread may be
+     *                              interrupted as well
+     * @return true if the task was cancelled by this call
+     */
+    @Override
+    public boolean cancel( final boolean mayInterruptIfRunning ) {
+        final boolean cancelled = super.cancel( mayInterruptIfRunning );
+
+        if ( cancelled ) {
+            scatterGatherRequest.cancel();
+        }
+
+        return cancelled;
+    }
+
+    @Override
+    protected DataServerResponse call() throws InterruptedException {
+        // Set the task title.
+        updateTitle( getTaskTitle() );
+
+        // Get the user's screen size, for Full Screen Mode and user statistics.
+        final Rectangle2D visualBounds = Screen.getPrimary().getVisualBounds();
+        scatterGatherRequest.setScreenSize( visualBounds.getWidth(), visualBounds.getHeight() );
+
+        try {
+            return scatterGatherRequest.execute( this );
+        }
+        catch ( final InterruptedException ie ) {
+            // If the user cancelled, pass on the interrupted exception.
+            updateMessage( "Scatter-Gather Task Cancelled" );
+            throw ie;
+        }
+    }
+
+    @Override
+    public void onRequestMessage( final String message ) {
+        updateMessage( message );
+    }
+
+    @Override
+    public void onRequestProgress( final double workDone, final double totalWork ) {
+        updateProgress( workDone, totalWork );
+    }
+
+    /**
+     * Returns the text to use for updating the Title of this Task.
+     * <p>
+     * NOTE: This default implementation is generic and should be overridden.
+     *
+     * @return The text to use for updating the Title of this Task
+     */
+    protected String getTaskTitle() {
+        return "Data Update";
+    }
+
+    /**
+     * Drops this task's references to its combined response once it is done,
+     * along with the responses of the individual shards.
+     * <p>
+     * NOTE: This must be called on the JavaFX Application Thread.
+     */
+    public void releaseResponse() {
+        scatterGatherRequest.releaseShardResults();
+        updateValue( null );
+    }
+
+    public final ScatterGatherRequest getScatterGatherRequest() {
+        return scatterGatherRequest;
+    }
+}
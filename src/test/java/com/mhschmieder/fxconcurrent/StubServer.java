@@ -0,0 +1,129 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent;
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for a data servlet, serving every request on a loopback
+ * port through the given handler, in the same way as the Replay Server.
+ */
+public final class StubServer implements Closeable {
+
+    /** The server that accepts the connections. */
+    private final HttpServer httpServer;
+
+    /** The executor that runs the handler for each request. */
+    private final ExecutorService requestExecutor;
+
+    /** The number of requests that reached the handler. */
+    private final AtomicLong numberOfRequests;
+
+    /**
+     * Makes a Stub Server, which must then be started.
+     *
+     * @param port The local port to listen on, or 0 for any free port
+     * @param httpHandler The handler for all requests to the server
+     * @throws IOException If the port can't be bound
+     */
+    public StubServer( final int port, final HttpHandler httpHandler ) throws IOException {
+        numberOfRequests = new AtomicLong();
+
+        httpServer = HttpServer
+                .create( new InetSocketAddress( InetAddress.getLoopbackAddress(), port ), 0 );
+        httpServer.createContext( "/", httpExchange -> { //$NON-NLS-1$
+            numberOfRequests.incrementAndGet();
+            httpHandler.handle( httpExchange );
+        } );
+        requestExecutor = Executors.newCachedThreadPool( runnable -> {
+            final Thread requestThread = new Thread( runnable, "Stub Server" ); //$NON-NLS-1$
+            requestThread.setDaemon( true );
+            return requestThread;
+        } );
+        httpServer.setExecutor( requestExecutor );
+    }
+
+    /**
+     * Makes and starts a Stub Server on any free port.
+     *
+     * @param httpHandler The handler for all requests to the server
+     * @return The started Stub Server
+     * @throws IOException If no port can be bound
+     */
+    public static StubServer start( final HttpHandler httpHandler ) throws IOException {
+        final StubServer stubServer = new StubServer( 0, httpHandler );
+        stubServer.start();
+        return stubServer;
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Stops the server at once, dropping all open connections.
+     */
+    @Override
+    public void close() {
+        httpServer.stop( 0 );
+        requestExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the URL of the given path on this server.
+     *
+     * @param path The path, starting with a slash
+     * @return The URL, e.g. "http://127.0.0.1:8080/data"
+     */
+    @SuppressWarnings("nls")
+    public String getUrl( final String path ) {
+        final InetSocketAddress serverAddress = httpServer.getAddress();
+        return "http://" + serverAddress.getAddress().getHostAddress() + ":"
+                + serverAddress.getPort() + path;
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public long getNumberOfRequests() {
+        return numberOfRequests.get();
+    }
+}
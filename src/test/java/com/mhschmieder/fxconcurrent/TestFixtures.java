@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mhschmieder.jcommons.net.DataRequestParameters;
+import com.mhschmieder.jcommons.net.HttpServletRequestProperties;
+import com.mhschmieder.jcommons.security.LoginCredentials;
+import com.mhschmieder.jcommons.util.ClientProperties;
+
+/**
+ * Factory methods for the request settings that the requests under test
+ * need, which are mocked so that the tests don't depend on how the common
+ * library builds them.
+ * <p>
+ * NOTE: The mocks have no request properties and send no input parameters,
+ *  so the stub servers see bare requests.
+ */
+public final class TestFixtures {
+
+    /**
+     * The default constructor is disabled, as this is a static utilities class.
+     */
+    private TestFixtures() {}
+
+    /**
+     * Returns HTTP Servlet Request Properties for the given servlet.
+     *
+     * @param httpServletUrl The URL of the servlet to send requests to
+     * @return The HTTP Servlet Request Properties
+     */
+    public static HttpServletRequestProperties newHttpServletRequestProperties(
+            final String httpServletUrl ) {
+        final HttpServletRequestProperties httpServletRequestProperties = mock(
+                HttpServletRequestProperties.class );
+        httpServletRequestProperties.httpServletUrl = httpServletUrl;
+        return httpServletRequestProperties;
+    }
+
+    /**
+     * Returns Data Request Parameters for a request of the given type.
+     *
+     * @param dataRequestType The type of data request
+     * @return The Data Request Parameters
+     */
+    public static DataRequestParameters newDataRequestParameters(
+            final String dataRequestType ) {
+        final DataRequestParameters dataRequestParameters = mock(
+                DataRequestParameters.class );
+        when( dataRequestParameters.getDataRequestType() ).thenReturn( dataRequestType );
+        when( dataRequestParameters.getLoginCredentials() )
+                .thenReturn( new LoginCredentials() );
+        return dataRequestParameters;
+    }
+
+    public static ClientProperties newClientProperties() {
+        return mock( ClientProperties.class );
+    }
+}
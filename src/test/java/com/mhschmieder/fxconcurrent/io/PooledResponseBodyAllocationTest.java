@@ -0,0 +1,168 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Allocation-rate benchmark for the pooled read path, comparing the garbage
+ * left behind per steady-state small response with that of a growable byte
+ * array read, which is what the unpooled read path does.
+ * <p>
+ * NOTE: This relies on the per-thread allocation counter of HotSpot based
+ *  JVMs, and is skipped on JVMs that don't offer it.
+ */
+public final class PooledResponseBodyAllocationTest {
+
+    /** The size of each simulated dynamic update, in bytes. */
+    private static final int RESPONSE_SIZE = 4 * 1024;
+
+    /** The number of reads to make before measuring, to settle the pool. */
+    private static final int NUMBER_OF_WARM_UP_READS = 10_000;
+
+    /** The number of reads to measure. */
+    private static final int NUMBER_OF_MEASURED_READS = 100_000;
+
+    /**
+     * The most garbage a steady-state pooled read may leave behind, which
+     * covers the body bookkeeping objects but not a copy of the payload.
+     */
+    private static final long MAXIMUM_POOLED_BYTES_PER_READ = 512L;
+
+    /** Keeps the results observable so the JIT can't elide the reads. */
+    private long checksum;
+
+    @Test
+    public void pooledReadsLeaveNearZeroGarbagePerRequest() throws IOException {
+        final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+
+        final byte[] payload = new byte[ RESPONSE_SIZE ];
+        new Random( 42L ).nextBytes( payload );
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream( payload );
+        final ByteBufferPool byteBufferPool = new ByteBufferPool( 16 * 1024, 4, false );
+
+        for ( int i = 0; i < NUMBER_OF_WARM_UP_READS; i++ ) {
+            readPooled( inputStream, byteBufferPool );
+        }
+        final long numberOfAllocations = byteBufferPool.getNumberOfAllocations();
+
+        final long pooledBytesPerRead = measureBytesPerRead( threadMXBean, () -> readPooled(
+                inputStream, byteBufferPool ) );
+        final long unpooledBytesPerRead = measureBytesPerRead( threadMXBean, () -> readUnpooled(
+                inputStream ) );
+
+        System.out.println( "Allocated bytes per " + RESPONSE_SIZE + " byte response: pooled "
+                + pooledBytesPerRead + ", unpooled " + unpooledBytesPerRead );
+
+        // Steady-state reads must all be served from the pool.
+        assertEquals( numberOfAllocations, byteBufferPool.getNumberOfAllocations() );
+        assertTrue( "Pooled read allocates " + pooledBytesPerRead + " bytes per response",
+                    pooledBytesPerRead <= MAXIMUM_POOLED_BYTES_PER_READ );
+        assertTrue( "Unpooled read allocates only " + unpooledBytesPerRead
+                + " bytes per response", unpooledBytesPerRead >= RESPONSE_SIZE );
+    }
+
+    private long measureBytesPerRead( final com.sun.management.ThreadMXBean threadMXBean,
+                                      final IoAction readAction ) throws IOException {
+        // Run the read path hot before measuring, so that one-time allocations
+        // by the JIT and class loading don't count against it.
+        for ( int i = 0; i < NUMBER_OF_WARM_UP_READS; i++ ) {
+            readAction.run();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long startBytes = threadMXBean.getThreadAllocatedBytes( threadId );
+        for ( int i = 0; i < NUMBER_OF_MEASURED_READS; i++ ) {
+            readAction.run();
+        }
+        final long endBytes = threadMXBean.getThreadAllocatedBytes( threadId );
+
+        return ( endBytes - startBytes ) / NUMBER_OF_MEASURED_READS;
+    }
+
+    private void readPooled( final ByteArrayInputStream inputStream,
+                             final ByteBufferPool byteBufferPool ) throws IOException {
+        inputStream.reset();
+        final PooledResponseBody pooledResponseBody = PooledResponseBody
+                .read( inputStream, byteBufferPool );
+        try {
+            checksum += pooledResponseBody.size();
+        }
+        finally {
+            pooledResponseBody.release();
+        }
+    }
+
+    private void readUnpooled( final ByteArrayInputStream inputStream ) throws IOException {
+        inputStream.reset();
+        final byte[] data = readFully( inputStream );
+        checksum += data.length;
+    }
+
+    private static byte[] readFully( final InputStream inputStream ) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] transferBuffer = new byte[ 8 * 1024 ];
+        int numberOfBytesRead;
+        while ( ( numberOfBytesRead = inputStream.read( transferBuffer ) ) != -1 ) {
+            outputStream.write( transferBuffer, 0, numberOfBytesRead );
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory
+                .getThreadMXBean();
+        assumeTrue( threadMXBean instanceof com.sun.management.ThreadMXBean );
+
+        final com.sun.management.ThreadMXBean hotSpotThreadMXBean =
+                ( com.sun.management.ThreadMXBean ) threadMXBean;
+        assumeTrue( hotSpotThreadMXBean.isThreadAllocatedMemorySupported() );
+        hotSpotThreadMXBean.setThreadAllocatedMemoryEnabled( true );
+
+        return hotSpotThreadMXBean;
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.mhschmieder.fxconcurrent.StubServer;
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.mhschmieder.fxconcurrent.request.DataRequestCore;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for client-side balancing across a Servlet Endpoint Group, with data
+ * requests sent to several local stub servers standing in for replicas.
+ */
+public final class ServletEndpointGroupTest {
+
+    /** The stub servers, in the order of the endpoints of the group. */
+    private final List< StubServer > stubServers = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for ( final StubServer stubServer : stubServers ) {
+            stubServer.close();
+        }
+    }
+
+    @Test
+    public void prefersTheLowLatencyEndpoints() throws Exception {
+        final ServletEndpointGroup servletEndpointGroup = startReplicas( 5L, 5L, 100L );
+
+        // A cold JVM makes the very first response look slow, whichever
+        // replica it comes from, so warm up outside of the group.
+        runRequest( stubServers.get( 0 ).getUrl( "/data" ), null ); //$NON-NLS-1$
+
+        final int numberOfRequests = 60;
+        for ( int i = 0; i < numberOfRequests; i++ ) {
+            assertNotNull( runRequest( servletEndpointGroup ).getServerResponseData() );
+        }
+
+        final ServletEndpoint slowEndpoint = servletEndpointGroup.getServletEndpoints().get( 2 );
+        printEndpointStatistics( servletEndpointGroup );
+        assertTrue( slowEndpoint.getNumberOfRequests() <= ( numberOfRequests / 10 ) );
+        assertEquals( numberOfRequests, getTotalNumberOfRequests( servletEndpointGroup ) );
+        for ( final ServletEndpoint servletEndpoint : servletEndpointGroup.getServletEndpoints() ) {
+            assertEquals( 0, servletEndpoint.getNumberOfOutstandingRequests() );
+        }
+    }
+
+    @Test
+    public void spreadsConcurrentRequestsByOutstandingRequests() throws Exception {
+        final ServletEndpointGroup servletEndpointGroup = startReplicas( 200L, 200L, 200L );
+
+        final int numberOfRequests = 12;
+        final ExecutorService requestExecutor = Executors.newFixedThreadPool( numberOfRequests );
+        try {
+            final CountDownLatch startSignal = new CountDownLatch( 1 );
+            final List< Future< DataServerResponse > > responses = new ArrayList<>();
+            for ( int i = 0; i < numberOfRequests; i++ ) {
+                responses.add( requestExecutor.submit( () -> {
+                    startSignal.await();
+                    return runRequest( servletEndpointGroup );
+                } ) );
+            }
+            startSignal.countDown();
+            for ( final Future< DataServerResponse > response : responses ) {
+                assertNotNull( response.get( 10L, TimeUnit.SECONDS ).getServerResponseData() );
+            }
+        }
+        finally {
+            requestExecutor.shutdownNow();
+        }
+
+        // Equally fast replicas share the load, rather than one replica
+        // getting every request that arrives at the same moment.
+        printEndpointStatistics( servletEndpointGroup );
+        for ( final ServletEndpoint servletEndpoint : servletEndpointGroup.getServletEndpoints() ) {
+            assertTrue( servletEndpoint.getNumberOfRequests() >= 2L );
+        }
+    }
+
+    @Test
+    public void failsOverFromAnEndpointThatIsDown() throws Exception {
+        final ServletEndpointGroup servletEndpointGroup = startReplicas( 5L, 5L, 5L );
+        stubServers.get( 1 ).close();
+
+        final int numberOfRequests = 20;
+        for ( int i = 0; i < numberOfRequests; i++ ) {
+            final byte[] serverResponseData = runRequest( servletEndpointGroup )
+                    .getServerResponseData();
+            assertNotNull( serverResponseData );
+            assertFalse( "replica 1".equals( new String( serverResponseData, //$NON-NLS-1$
+                                                         StandardCharsets.UTF_8 ) ) );
+        }
+
+        final ServletEndpoint downEndpoint = servletEndpointGroup.getServletEndpoints().get( 1 );
+        assertTrue( downEndpoint.getNumberOfFailures() >= ServletEndpoint.FAILURE_THRESHOLD_DEFAULT );
+        assertFalse( downEndpoint.isHealthy() );
+        assertEquals( 0, downEndpoint.getNumberOfOutstandingRequests() );
+        assertEquals( numberOfRequests,
+                      stubServers.get( 0 ).getNumberOfRequests()
+                              + stubServers.get( 2 ).getNumberOfRequests() );
+    }
+
+    /**
+     * Starts one stub server per response delay, each identifying itself in
+     * its response, and returns the group of their endpoints.
+     */
+    @SuppressWarnings("nls")
+    private ServletEndpointGroup startReplicas( final long... responseDelaysMillis )
+            throws IOException {
+        final List< String > servletUrls = new ArrayList<>();
+        for ( int replicaIndex = 0; replicaIndex < responseDelaysMillis.length; replicaIndex++ ) {
+            final long responseDelayMillis = responseDelaysMillis[ replicaIndex ];
+            final byte[] responseData = ( "replica " + replicaIndex )
+                    .getBytes( StandardCharsets.UTF_8 );
+            final StubServer stubServer = StubServer.start( httpExchange -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep( responseDelayMillis );
+                }
+                catch ( final InterruptedException ie ) {
+                    Thread.currentThread().interrupt();
+                }
+                httpExchange.sendResponseHeaders( 200, responseData.length );
+                try ( final OutputStream outputStream = httpExchange.getResponseBody() ) {
+                    outputStream.write( responseData );
+                }
+            } );
+            stubServers.add( stubServer );
+            servletUrls.add( stubServer.getUrl( "/data" ) );
+        }
+
+        return new ServletEndpointGroup( servletUrls );
+    }
+
+    private static DataServerResponse runRequest( final ServletEndpointGroup servletEndpointGroup )
+            throws InterruptedException {
+        return runRequest( servletEndpointGroup.getServletEndpoints().get( 0 ).getServletUrl(),
+                           servletEndpointGroup );
+    }
+
+    private static DataServerResponse runRequest( final String servletUrl,
+                                                  final ServletEndpointGroup servletEndpointGroup )
+            throws InterruptedException {
+        final DataRequestCore dataRequestCore = new DataRequestCore( TestFixtures
+                .newHttpServletRequestProperties( servletUrl ),
+                                                                     TestFixtures
+                                                                             .newDataRequestParameters( "update" ), //$NON-NLS-1$
+                                                                     TestFixtures
+                                                                             .newClientProperties() );
+        dataRequestCore.setServletEndpointGroup( servletEndpointGroup );
+        return dataRequestCore.call();
+    }
+
+    @SuppressWarnings("nls")
+    private static void printEndpointStatistics( final ServletEndpointGroup servletEndpointGroup ) {
+        final StringBuilder endpointStatistics = new StringBuilder( "Requests per endpoint:" );
+        for ( final ServletEndpoint servletEndpoint : servletEndpointGroup.getServletEndpoints() ) {
+            endpointStatistics.append( String.format( " %d (%.1f ms)",
+                                                      servletEndpoint.getNumberOfRequests(),
+                                                      servletEndpoint.getAverageLatencyMillis() ) );
+        }
+        System.out.println( endpointStatistics );
+    }
+
+    private static long getTotalNumberOfRequests( final ServletEndpointGroup servletEndpointGroup ) {
+        long numberOfRequests = 0L;
+        for ( final ServletEndpoint servletEndpoint : servletEndpointGroup.getServletEndpoints() ) {
+            numberOfRequests += servletEndpoint.getNumberOfRequests();
+        }
+        return numberOfRequests;
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.mhschmieder.fxconcurrent.StubServer;
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.io.ByteBufferPool;
+import com.mhschmieder.fxconcurrent.net.AdaptiveConcurrencyLimiter;
+import com.mhschmieder.fxconcurrent.net.ConcurrencyLimiterRegistry;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the prompt cancellation of data requests against a slow local
+ * stub, measuring the time from cancellation until the executing thread is
+ * free again, and checking that nothing is left open or borrowed.
+ */
+public final class DataRequestCancellationTest {
+
+    /** The size of the response, which the stub takes minutes to send. */
+    private static final long RESPONSE_SIZE = 256L * 1024L * 1024L;
+
+    /** The size of each chunk the stub writes before pausing. */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    /** The pause after each chunk, which keeps the stub slow. */
+    private static final long CHUNK_DELAY_MILLIS = 20L;
+
+    /** The number of bytes to receive before cancelling a download. */
+    private static final long BYTES_BEFORE_CANCEL = 256L * 1024L;
+
+    /** The longest time a cancelled request may keep its thread busy. */
+    private static final long MAXIMUM_CANCEL_MILLIS = 1000L;
+
+    /** Signals once the stub has sent enough of its response. */
+    private final CountDownLatch responseStarted = new CountDownLatch( 1 );
+
+    /** Signals once the stub's connection was dropped by the client. */
+    private final CountDownLatch responseAborted = new CountDownLatch( 1 );
+
+    /** The number of bytes the stub has sent. */
+    private final AtomicLong numberOfBytesSent = new AtomicLong();
+
+    private StubServer stubServer;
+
+    private ExecutorService requestExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        stubServer = StubServer.start( httpExchange -> {
+            final byte[] chunk = new byte[ CHUNK_SIZE ];
+            httpExchange.sendResponseHeaders( 200, RESPONSE_SIZE );
+            try ( final OutputStream outputStream = httpExchange.getResponseBody() ) {
+                for ( long position = 0L; position < RESPONSE_SIZE; position += CHUNK_SIZE ) {
+                    outputStream.write( chunk );
+                    outputStream.flush();
+                    if ( numberOfBytesSent.addAndGet( CHUNK_SIZE ) >= BYTES_BEFORE_CANCEL ) {
+                        responseStarted.countDown();
+                    }
+                    TimeUnit.MILLISECONDS.sleep( CHUNK_DELAY_MILLIS );
+                }
+            }
+            catch ( final IOException ioe ) {
+                responseAborted.countDown();
+            }
+            catch ( final InterruptedException ie ) {
+                Thread.currentThread().interrupt();
+            }
+        } );
+
+        requestExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        stubServer.close();
+    }
+
+    @Test
+    public void cancelDuringSlowDownloadFreesThreadPromptly() throws Exception {
+        final DataRequestCore dataRequestCore = newDataRequestCore();
+        final Future< DataServerResponse > response = requestExecutor.submit( dataRequestCore );
+        assertTrue( responseStarted.await( 10L, TimeUnit.SECONDS ) );
+
+        final long cancelMillis = cancelAndAwait( dataRequestCore, response );
+        System.out.println( "Time from cancel to thread free: " + cancelMillis + " ms" );
+
+        assertTrue( "Cancel took " + cancelMillis + " ms", cancelMillis < MAXIMUM_CANCEL_MILLIS );
+
+        // The server must see the connection dropped, rather than keep
+        // sending the rest of the response into the void.
+        assertTrue( responseAborted.await( 5L, TimeUnit.SECONDS ) );
+        assertTrue( numberOfBytesSent.get() < ( RESPONSE_SIZE / 4L ) );
+    }
+
+    @Test
+    public void cancelDuringSlowPooledDownloadReleasesBuffers() throws Exception {
+        final ByteBufferPool byteBufferPool = new ByteBufferPool( 64 * 1024, 64, false );
+        final ByteBudget byteBudget = new ByteBudget( RESPONSE_SIZE );
+
+        final DataRequestCore dataRequestCore = newDataRequestCore();
+        dataRequestCore.setResponseBufferPool( byteBufferPool, false );
+        dataRequestCore.setByteBudget( byteBudget );
+        final Future< DataServerResponse > response = requestExecutor.submit( dataRequestCore );
+        assertTrue( responseStarted.await( 10L, TimeUnit.SECONDS ) );
+
+        final long cancelMillis = cancelAndAwait( dataRequestCore, response );
+        System.out.println( "Time from cancel to thread free, pooled: " + cancelMillis + " ms" );
+
+        assertTrue( "Cancel took " + cancelMillis + " ms", cancelMillis < MAXIMUM_CANCEL_MILLIS );
+        assertTrue( responseAborted.await( 5L, TimeUnit.SECONDS ) );
+        assertNull( dataRequestCore.getResponseBody() );
+        assertEquals( 0L, byteBudget.getUsedBytes() );
+        assertEquals( byteBufferPool.getNumberOfAllocations(),
+                      byteBufferPool.getNumberOfIdleBuffers() );
+    }
+
+    @Test
+    public void cancelWhileWaitingForConcurrencyLimitFreesThreadPromptly() throws Exception {
+        final ConcurrencyLimiterRegistry concurrencyLimiterRegistry =
+                new ConcurrencyLimiterRegistry( () -> new AdaptiveConcurrencyLimiter( 1,
+                                                                                      1,
+                                                                                      1,
+                                                                                      2.0d ) );
+        final String servletUrl = stubServer.getUrl( "/data" ); //$NON-NLS-1$
+        final AdaptiveConcurrencyLimiter concurrencyLimiter = concurrencyLimiterRegistry
+                .getConcurrencyLimiter( servletUrl );
+
+        // Take the only permit, so the request has to wait in line.
+        concurrencyLimiter.acquire();
+        try {
+            final DataRequestCore dataRequestCore = newDataRequestCore();
+            dataRequestCore.setConcurrencyLimiterRegistry( concurrencyLimiterRegistry );
+            final Future< DataServerResponse > response = requestExecutor
+                    .submit( dataRequestCore );
+            while ( concurrencyLimiter.getNumberOfQueuedRequests() == 0 ) {
+                TimeUnit.MILLISECONDS.sleep( 10L );
+            }
+
+            final long cancelMillis = cancelAndAwait( dataRequestCore, response );
+
+            assertTrue( "Cancel took " + cancelMillis + " ms",
+                        cancelMillis < MAXIMUM_CANCEL_MILLIS );
+            assertEquals( 0, concurrencyLimiter.getNumberOfQueuedRequests() );
+            assertEquals( 1, concurrencyLimiter.getNumberOfInFlightRequests() );
+            assertEquals( 0L, stubServer.getNumberOfRequests() );
+        }
+        finally {
+            concurrencyLimiter.onIgnored();
+        }
+    }
+
+    private DataRequestCore newDataRequestCore() {
+        final String servletUrl = stubServer.getUrl( "/data" ); //$NON-NLS-1$
+        return new DataRequestCore( TestFixtures.newHttpServletRequestProperties( servletUrl ),
+                                    TestFixtures.newDataRequestParameters( "update" ), //$NON-NLS-1$
+                                    TestFixtures.newClientProperties() );
+    }
+
+    /**
+     * Cancels the request and waits for its thread to be free again, whether
+     * the request then returns or throws.
+     *
+     * @return The time from cancellation until the thread is free, in ms
+     */
+    private static long cancelAndAwait( final DataRequestCore dataRequestCore,
+                                        final Future< DataServerResponse > response )
+            throws Exception {
+        final long cancelNanos = System.nanoTime();
+        dataRequestCore.cancel();
+        try {
+            response.get( 10L, TimeUnit.SECONDS );
+        }
+        catch ( final ExecutionException ee ) {
+            // A cancelled request may end by throwing an InterruptedException.
+        }
+        return TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - cancelNanos );
+    }
+}
@@ -0,0 +1,282 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.mhschmieder.fxconcurrent.StubServer;
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.mhschmieder.fxconcurrent.io.SegmentedDownloadOptions;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for HTTP Range downloads of large responses against a local stub
+ * that honors ranges, checking resumption after a dropped connection, the
+ * reassembly of parallel ranges, and the throughput gained by them over a
+ * single stream when each connection is throttled.
+ */
+public final class RangeDownloadTest {
+
+    /** The size of the response, in bytes. */
+    private static final int RESPONSE_SIZE = 8 * 1024 * 1024;
+
+    /** The size of each chunk the stub writes before pausing. */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    /** The smallest response to split into parallel ranges. */
+    private static final long MINIMUM_SEGMENTED_SIZE = 1024L * 1024L;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /** The response body that the stub serves. */
+    private byte[] responseData;
+
+    /** The Range header of each request, or an empty string for none. */
+    private final List< String > requestedRanges = new CopyOnWriteArrayList<>();
+
+    /** The pause after each chunk, which caps each connection's throughput. */
+    private volatile long chunkDelayMillis;
+
+    /** The chunk-aligned position to drop the first full response at. */
+    private volatile long dropPosition;
+
+    /** Whether the first full response was dropped already. */
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    /** The start of the byte range that the stub fails, or -1 for none. */
+    private volatile long failedRangeStart;
+
+    private StubServer stubServer;
+
+    @Before
+    public void setUp() throws Exception {
+        responseData = new byte[ RESPONSE_SIZE ];
+        new Random( 42L ).nextBytes( responseData );
+
+        chunkDelayMillis = 0L;
+        dropPosition = -1L;
+        failedRangeStart = -1L;
+
+        stubServer = StubServer.start( this::serveRange );
+    }
+
+    @After
+    public void tearDown() {
+        stubServer.close();
+    }
+
+    @Test
+    public void resumesFromLastReceivedOffsetAfterDroppedConnection() throws Exception {
+        dropPosition = RESPONSE_SIZE / 4;
+
+        final DataRequestCore dataRequestCore = newDataRequestCore( new SegmentedDownloadOptions() );
+        final DataServerResponse dataServerResponse = dataRequestCore.call();
+
+        assertArrayEquals( responseData, dataServerResponse.getServerResponseData() );
+        assertEquals( 2, requestedRanges.size() );
+        assertEquals( "", requestedRanges.get( 0 ) );
+
+        // The resume must pick up after the bytes received, not from zero.
+        final long resumePosition = getFirstByte( requestedRanges.get( 1 ) );
+        assertTrue( "Resumed from " + resumePosition,
+                    ( resumePosition > 0L ) && ( resumePosition <= dropPosition ) );
+    }
+
+    @Test
+    public void parallelRangesOutpaceSingleStream() throws Exception {
+        chunkDelayMillis = 10L;
+
+        final DataRequestCore singleStreamCore = newDataRequestCore( new SegmentedDownloadOptions() );
+        assertArrayEquals( responseData, singleStreamCore.call().getServerResponseData() );
+        final double singleStreamThroughput = singleStreamCore.getDownloadThroughput();
+
+        requestedRanges.clear();
+        final DataRequestCore segmentedCore = newDataRequestCore( new SegmentedDownloadOptions(
+                SegmentedDownloadOptions.MAXIMUM_RESUME_ATTEMPTS_DEFAULT,
+                4,
+                MINIMUM_SEGMENTED_SIZE,
+                null ) );
+        assertArrayEquals( responseData, segmentedCore.call().getServerResponseData() );
+        final double segmentedThroughput = segmentedCore.getDownloadThroughput();
+
+        System.out.println( String.format( "Throughput: single stream %.1f MB/s, "
+                + "4 parallel ranges %.1f MB/s", singleStreamThroughput / 1.0e6d, //$NON-NLS-1$
+                                           segmentedThroughput / 1.0e6d ) );
+
+        // The full request plus three ranges for the other segments.
+        assertEquals( 4, requestedRanges.size() );
+        assertTrue( segmentedThroughput > ( 2.0d * singleStreamThroughput ) );
+    }
+
+    @Test
+    public void fileBackedRangesReassembleIntoResponseFile() throws Exception {
+        final Path spoolDirectory = temporaryFolder.newFolder().toPath();
+        final DataRequestCore dataRequestCore = newDataRequestCore( new SegmentedDownloadOptions(
+                SegmentedDownloadOptions.MAXIMUM_RESUME_ATTEMPTS_DEFAULT,
+                4,
+                MINIMUM_SEGMENTED_SIZE,
+                spoolDirectory ) );
+        final DataServerResponse dataServerResponse = dataRequestCore.call();
+
+        assertNull( dataServerResponse.getServerResponseData() );
+        final Path responseFile = dataRequestCore.getResponseFile();
+        assertNotNull( responseFile );
+        assertEquals( spoolDirectory, responseFile.getParent() );
+        assertArrayEquals( responseData, Files.readAllBytes( responseFile ) );
+    }
+
+    @Test
+    public void failedRangeStopsTheOtherRanges() throws Exception {
+        chunkDelayMillis = 10L;
+        failedRangeStart = RESPONSE_SIZE / 2;
+
+        final Path spoolDirectory = temporaryFolder.newFolder().toPath();
+        final DataRequestCore dataRequestCore = newDataRequestCore( new SegmentedDownloadOptions(
+                SegmentedDownloadOptions.MAXIMUM_RESUME_ATTEMPTS_DEFAULT,
+                4,
+                MINIMUM_SEGMENTED_SIZE,
+                spoolDirectory ) );
+        final DataServerResponse dataServerResponse = dataRequestCore.call();
+        final long numberOfRequests = stubServer.getNumberOfRequests();
+
+        assertNull( dataServerResponse.getServerResponseData() );
+        assertNull( dataRequestCore.getResponseFile() );
+
+        // Nothing may still be fetching once the request has failed, nor may
+        // the partial file be left behind.
+        TimeUnit.MILLISECONDS.sleep( 500L );
+        assertEquals( numberOfRequests, stubServer.getNumberOfRequests() );
+        try ( final Stream< Path > spooledFiles = Files.list( spoolDirectory ) ) {
+            assertEquals( 0L, spooledFiles.count() );
+        }
+    }
+
+    private DataRequestCore newDataRequestCore( final SegmentedDownloadOptions segmentedDownloadOptions ) {
+        final String servletUrl = stubServer.getUrl( "/data" ); //$NON-NLS-1$
+        final DataRequestCore dataRequestCore = new DataRequestCore( TestFixtures
+                .newHttpServletRequestProperties( servletUrl ),
+                                                                     TestFixtures
+                                                                             .newDataRequestParameters( "download" ), //$NON-NLS-1$
+                                                                     TestFixtures
+                                                                             .newClientProperties() );
+        dataRequestCore.setSegmentedDownloadOptions( segmentedDownloadOptions );
+        return dataRequestCore;
+    }
+
+    private static long getFirstByte( final String range ) {
+        final String byteRange = range.substring( "bytes=".length() ); //$NON-NLS-1$
+        return Long.parseLong( byteRange.substring( 0, byteRange.indexOf( '-' ) ) );
+    }
+
+    /**
+     * Serves the whole response or the requested byte range of it, as a data
+     * servlet that supports ranges does.
+     */
+    @SuppressWarnings("nls")
+    private void serveRange( final HttpExchange httpExchange ) throws IOException {
+        final String range = httpExchange.getRequestHeaders().getFirst( "Range" );
+        requestedRanges.add( ( range != null ) ? range : "" );
+
+        long firstByte = 0L;
+        long lastByte = RESPONSE_SIZE - 1L;
+        int responseCode = 200;
+        if ( range != null ) {
+            firstByte = getFirstByte( range );
+            final String lastBytePosition = range.substring( range.indexOf( '-' ) + 1 );
+            if ( !lastBytePosition.isEmpty() ) {
+                lastByte = Math.min( lastByte, Long.parseLong( lastBytePosition ) );
+            }
+            responseCode = 206;
+            httpExchange.getResponseHeaders().set( "Content-Range",
+                                                   "bytes " + firstByte + "-" + lastByte + "/"
+                                                           + RESPONSE_SIZE );
+
+            if ( firstByte == failedRangeStart ) {
+                httpExchange.sendResponseHeaders( 500, -1L );
+                httpExchange.close();
+                return;
+            }
+        }
+
+        final long dropAt = ( ( range == null ) && dropped.compareAndSet( false, true ) )
+            ? dropPosition
+            : -1L;
+
+        httpExchange.getResponseHeaders().set( "Accept-Ranges", "bytes" );
+        httpExchange.sendResponseHeaders( responseCode, ( lastByte - firstByte ) + 1L );
+
+        final OutputStream outputStream = httpExchange.getResponseBody();
+        try {
+            for ( long position = firstByte; position <= lastByte; position += CHUNK_SIZE ) {
+                if ( ( dropAt >= 0L ) && ( position >= dropAt ) ) {
+                    // Closing short of the Content-Length drops the connection.
+                    break;
+                }
+                outputStream.write( responseData,
+                                    ( int ) position,
+                                    ( int ) Math.min( CHUNK_SIZE, ( lastByte - position ) + 1L ) );
+                outputStream.flush();
+                if ( chunkDelayMillis > 0L ) {
+                    TimeUnit.MILLISECONDS.sleep( chunkDelayMillis );
+                }
+            }
+        }
+        catch ( final InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            httpExchange.close();
+        }
+    }
+}
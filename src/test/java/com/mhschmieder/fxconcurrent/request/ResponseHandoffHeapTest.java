@@ -0,0 +1,172 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.mhschmieder.fxconcurrent.StubServer;
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.mhschmieder.fxconcurrent.io.ByteBudget;
+import com.mhschmieder.fxconcurrent.io.ByteBufferPool;
+import com.mhschmieder.fxconcurrent.io.PooledResponseBody;
+import com.mhschmieder.jcommons.net.DataServerResponse;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Heap-usage test for the consume-once handoff of pooled response bodies,
+ * checking that memory stays flat across thousands of sequential full
+ * updates when each consumer takes and releases its response body.
+ */
+public final class ResponseHandoffHeapTest {
+
+    /** The size of each full update, in bytes. */
+    private static final int UPDATE_SIZE = 512 * 1024;
+
+    /** The number of full updates to run before taking the baseline. */
+    private static final int NUMBER_OF_WARM_UP_UPDATES = 200;
+
+    /** The number of full updates to measure across. */
+    private static final int NUMBER_OF_UPDATES = 2000;
+
+    /** The number of updates between heap samples. */
+    private static final int SAMPLE_INTERVAL = 250;
+
+    /**
+     * The most the heap may grow over the baseline, which is a small fraction
+     * of the several hundred megabytes that retained updates would occupy.
+     */
+    private static final long MAXIMUM_HEAP_GROWTH_BYTES = 16L * 1024L * 1024L;
+
+    private StubServer stubServer;
+
+    private ByteBufferPool byteBufferPool;
+
+    private ByteBudget byteBudget;
+
+    @Before
+    public void setUp() throws Exception {
+        final byte[] update = new byte[ UPDATE_SIZE ];
+        Arrays.fill( update, ( byte ) 'u' );
+
+        stubServer = StubServer.start( httpExchange -> {
+            httpExchange.sendResponseHeaders( 200, update.length );
+            try ( final OutputStream outputStream = httpExchange.getResponseBody() ) {
+                outputStream.write( update );
+            }
+        } );
+
+        byteBufferPool = new ByteBufferPool( 64 * 1024, 32, false );
+
+        // A budget of a few updates blocks for good if any update leaks its
+        // reservation, which the timeout then reports.
+        byteBudget = new ByteBudget( 4L * UPDATE_SIZE );
+    }
+
+    @After
+    public void tearDown() {
+        stubServer.close();
+    }
+
+    @Test(timeout = 120000L)
+    public void heapStaysSteadyAcrossSequentialFullUpdates() throws Exception {
+        for ( int i = 0; i < NUMBER_OF_WARM_UP_UPDATES; i++ ) {
+            runUpdate();
+        }
+        final long numberOfBufferAllocations = byteBufferPool.getNumberOfAllocations();
+        final long baselineHeapBytes = getUsedHeapBytes();
+
+        long peakHeapBytes = baselineHeapBytes;
+        for ( int i = 1; i <= NUMBER_OF_UPDATES; i++ ) {
+            runUpdate();
+            if ( ( i % SAMPLE_INTERVAL ) == 0 ) {
+                peakHeapBytes = Math.max( peakHeapBytes, getUsedHeapBytes() );
+            }
+        }
+
+        final long heapGrowthBytes = peakHeapBytes - baselineHeapBytes;
+        System.out.println( "Heap growth over " + NUMBER_OF_UPDATES + " full updates of "
+                + UPDATE_SIZE + " bytes: " + heapGrowthBytes + " bytes" );
+
+        assertTrue( "Heap grew by " + heapGrowthBytes + " bytes",
+                    heapGrowthBytes < MAXIMUM_HEAP_GROWTH_BYTES );
+        assertEquals( 0L, byteBudget.getUsedBytes() );
+        assertEquals( numberOfBufferAllocations, byteBufferPool.getNumberOfAllocations() );
+    }
+
+    /**
+     * Runs one full update, consuming its response body as a consumer would.
+     */
+    private void runUpdate() throws InterruptedException {
+        final String servletUrl = stubServer.getUrl( "/data" ); //$NON-NLS-1$
+        final DataRequestCore dataRequestCore = new DataRequestCore( TestFixtures
+                .newHttpServletRequestProperties( servletUrl ),
+                                                                     TestFixtures
+                                                                             .newDataRequestParameters( "update" ), //$NON-NLS-1$
+                                                                     TestFixtures
+                                                                             .newClientProperties() );
+        dataRequestCore.setResponseBufferPool( byteBufferPool, false );
+        dataRequestCore.setByteBudget( byteBudget );
+
+        final DataServerResponse dataServerResponse = dataRequestCore.call();
+        assertNotNull( dataServerResponse );
+        assertNull( dataServerResponse.getServerResponseData() );
+
+        final PooledResponseBody pooledResponseBody = dataRequestCore.takeResponseBody();
+        assertNotNull( pooledResponseBody );
+        assertNull( dataRequestCore.getResponseBody() );
+        try {
+            assertEquals( UPDATE_SIZE, pooledResponseBody.size() );
+        }
+        finally {
+            pooledResponseBody.release();
+        }
+    }
+
+    private static long getUsedHeapBytes() throws InterruptedException {
+        final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        for ( int i = 0; i < 3; i++ ) {
+            System.gc();
+            Thread.sleep( 20L );
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
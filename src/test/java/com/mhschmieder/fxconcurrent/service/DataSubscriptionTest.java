@@ -0,0 +1,218 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.mhschmieder.fxconcurrent.StubServer;
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Reconnection tests for the Data Subscription against local Server-Sent
+ * Events stubs, checking that each reconnection resumes after the last
+ * received event and that a lost server is retried with a backoff.
+ */
+public final class DataSubscriptionTest {
+
+    /** The longest time to wait for any one expected event. */
+    private static final long EVENT_TIMEOUT_SECONDS = 10L;
+
+    /** The updates delivered to the subscription's listener, as text. */
+    private final BlockingQueue< String > receivedUpdates = new LinkedBlockingQueue<>();
+
+    /** The Last-Event-ID header of each request the stubs received. */
+    private final BlockingQueue< String > requestedEventIds = new LinkedBlockingQueue<>();
+
+    /** Keeps the stubs' final streams open until the test ends. */
+    private final CountDownLatch testFinished = new CountDownLatch( 1 );
+
+    private DataSubscription dataSubscription;
+
+    private StubServer stubServer;
+
+    @After
+    public void tearDown() {
+        testFinished.countDown();
+        if ( dataSubscription != null ) {
+            dataSubscription.close();
+        }
+        if ( stubServer != null ) {
+            stubServer.close();
+        }
+    }
+
+    @Test
+    public void resumesAfterLastEventWhenStreamEnds() throws Exception {
+        stubServer = StubServer.start( httpExchange -> {
+            final String lastEventId = recordLastEventId( httpExchange );
+            if ( lastEventId.isEmpty() ) {
+                // The first stream sends three events and then ends.
+                streamEvents( httpExchange, "retry: 100\n\n", 1, 3, false );
+            }
+            else {
+                streamEvents( httpExchange,
+                              "",
+                              Integer.parseInt( lastEventId ) + 1,
+                              5,
+                              true );
+            }
+        } );
+
+        startSubscription( stubServer.getUrl( "/data" ) );
+
+        for ( int eventId = 1; eventId <= 5; eventId++ ) {
+            assertEquals( "update " + eventId, pollUpdate() );
+        }
+        assertEquals( "", requestedEventIds.take() );
+        assertEquals( "3", requestedEventIds.take() );
+
+        assertEquals( "5", dataSubscription.getLastEventId() );
+        assertEquals( 5L, dataSubscription.getNumberOfUpdates() );
+        assertEquals( 1L, dataSubscription.getNumberOfReconnects() );
+        assertTrue( receivedUpdates.isEmpty() );
+    }
+
+    @Test
+    public void resumesAfterServerRestartWithBackoff() throws Exception {
+        // The first server holds its stream open after two events, until it
+        // is stopped and drops the connection. Its "retry: 0" must not turn
+        // the following outage into a tight reconnection loop.
+        stubServer = StubServer.start( httpExchange -> {
+            recordLastEventId( httpExchange );
+            streamEvents( httpExchange, "retry: 0\n\n", 1, 2, true );
+        } );
+        final int port = stubServer.getPort();
+
+        startSubscription( stubServer.getUrl( "/data" ) );
+        assertEquals( "update 1", pollUpdate() );
+        assertEquals( "update 2", pollUpdate() );
+        assertEquals( "", requestedEventIds.take() );
+
+        final long dropNanos = System.nanoTime();
+        stubServer.close();
+        TimeUnit.MILLISECONDS.sleep( 500L );
+
+        stubServer = new StubServer( port, httpExchange -> {
+            final String lastEventId = recordLastEventId( httpExchange );
+            streamEvents( httpExchange, "", Integer.parseInt( lastEventId ) + 1, 4, true );
+        } );
+        stubServer.start();
+
+        assertEquals( "update 3", pollUpdate() );
+        final long outageMillis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - dropNanos );
+        assertEquals( "update 4", pollUpdate() );
+        assertEquals( "2", requestedEventIds.take() );
+
+        assertTrue( "Reconnected after only " + outageMillis + " ms",
+                    outageMillis >= ( DataSubscription.RECONNECT_DELAY_MILLISECONDS_DEFAULT
+                            / 2L ) );
+        assertEquals( "4", dataSubscription.getLastEventId() );
+        assertTrue( dataSubscription.isConnected() );
+    }
+
+    private void startSubscription( final String servletUrl ) {
+        dataSubscription = new DataSubscription( TestFixtures
+                .newHttpServletRequestProperties( servletUrl ),
+                                                 TestFixtures
+                                                         .newDataRequestParameters( "subscribe" ), //$NON-NLS-1$
+                                                 TestFixtures.newClientProperties(),
+                                                 servletUrl,
+                                                 1920.0d,
+                                                 1080.0d,
+                                                 Runnable::run );
+        dataSubscription.setReconnectDelays( 100L, 10000L );
+        dataSubscription.addUpdateListener( dataServerResponse -> receivedUpdates
+                .add( new String( dataServerResponse.getServerResponseData(),
+                                  StandardCharsets.UTF_8 ) ) );
+        dataSubscription.start();
+    }
+
+    private String pollUpdate() throws InterruptedException {
+        final String update = receivedUpdates.poll( EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS );
+        assertNotNull( "No update received", update );
+        return update;
+    }
+
+    @SuppressWarnings("nls")
+    private String recordLastEventId( final HttpExchange httpExchange ) {
+        final String lastEventId = httpExchange.getRequestHeaders().getFirst( "Last-Event-ID" );
+        requestedEventIds.add( ( lastEventId != null ) ? lastEventId : "" );
+        return ( lastEventId != null ) ? lastEventId : "";
+    }
+
+    /**
+     * Streams a range of numbered events, and then either ends the stream or
+     * holds it open until the test is finished.
+     */
+    @SuppressWarnings("nls")
+    private void streamEvents( final HttpExchange httpExchange,
+                               final String preamble,
+                               final int firstEventId,
+                               final int lastEventId,
+                               final boolean holdOpen ) throws IOException {
+        httpExchange.getResponseHeaders().set( "Content-Type", "text/event-stream" );
+        httpExchange.sendResponseHeaders( 200, 0L );
+
+        try ( final OutputStream outputStream = httpExchange.getResponseBody() ) {
+            final StringBuilder events = new StringBuilder( preamble );
+            for ( int eventId = firstEventId; eventId <= lastEventId; eventId++ ) {
+                events.append( "id: " ).append( eventId ).append( '\n' );
+                events.append( "data: update " ).append( eventId ).append( "\n\n" );
+            }
+            outputStream.write( events.toString().getBytes( StandardCharsets.UTF_8 ) );
+            outputStream.flush();
+
+            if ( holdOpen ) {
+                try {
+                    testFinished.await();
+                }
+                catch ( final InterruptedException ie ) {
+                    // The server was stopped, which drops the connection.
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2026 Mark Schmieder
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * This file is part of the FxConcurrent Library
+ *
+ * You should have received a copy of the MIT License along with the FxConcurrent
+ * Library. If not, see <https://opensource.org/licenses/MIT>.
+ *
+ * Project: https://github.com/mhschmieder/fxconcurrent
+ */
+package com.mhschmieder.fxconcurrent.stage;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.Mockito.mock;
+
+import com.mhschmieder.fxconcurrent.TestFixtures;
+import com.mhschmieder.jcommons.branding.ProductBranding;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import javafx.stage.Modality;
+
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Start-up time measurement for the Data Request Status Viewer, comparing
+ * its lazy construction with building the stage and decoding the task icons
+ * up front, as its constructor used to.
+ * <p>
+ * NOTE: This needs a JavaFX toolkit, and so is skipped on headless hosts.
+ */
+public final class DataRequestStatusViewerStartupTest {
+
+    /** The JAR-relative path of the task icons. */
+    private static final String TASK_ICON_PATH = "/icons/glyphish/Calculator16.png"; //$NON-NLS-1$
+
+    /** The number of viewers to construct each way, to average over. */
+    private static final int NUMBER_OF_VIEWERS = 5;
+
+    @BeforeClass
+    public static void startToolkit() {
+        assumeFalse( GraphicsEnvironment.isHeadless() );
+
+        // Making a JFX Panel is the way to start the toolkit on Java 8.
+        new JFXPanel();
+    }
+
+    @Test
+    public void lazyConstructionShortensStartup() throws Exception {
+        // Load and initialize all classes involved before measuring.
+        constructEagerly();
+
+        double lazyStartupMillis = 0.0d;
+        double eagerStartupMillis = 0.0d;
+        for ( int i = 0; i < NUMBER_OF_VIEWERS; i++ ) {
+            lazyStartupMillis += constructLazily();
+            eagerStartupMillis += constructEagerly();
+        }
+        lazyStartupMillis /= NUMBER_OF_VIEWERS;
+        eagerStartupMillis /= NUMBER_OF_VIEWERS;
+
+        System.out.println( String.format( "Status viewer start-up: lazy %.2f ms, " //$NON-NLS-1$
+                + "eager %.2f ms", lazyStartupMillis, eagerStartupMillis ) ); //$NON-NLS-1$
+
+        assertTrue( lazyStartupMillis < eagerStartupMillis );
+    }
+
+    /**
+     * Constructs a viewer as it is now, leaving the stage to the first task.
+     *
+     * @return The time the JavaFX Application Thread was busy, in ms
+     */
+    private static double constructLazily() throws Exception {
+        return runOnFxThread( () -> {
+            final long startNanos = System.nanoTime();
+            final DataRequestStatusViewer dataRequestStatusViewer = newViewer();
+            final long elapsedNanos = System.nanoTime() - startNanos;
+
+            assertFalse( dataRequestStatusViewer.isInitialized() );
+            return elapsedNanos * 1.0e-6d;
+        } );
+    }
+
+    /**
+     * Constructs a viewer the way it was before, building its stage and
+     * decoding its task icons before returning.
+     *
+     * @return The time the JavaFX Application Thread was busy, in ms
+     */
+    private static double constructEagerly() throws Exception {
+        return runOnFxThread( () -> {
+            final long startNanos = System.nanoTime();
+            final DataRequestStatusViewer dataRequestStatusViewer = newViewer();
+            dataRequestStatusViewer.ensureInitialized();
+            dataRequestStatusViewer.fullUpdateTaskIconImage.join();
+            dataRequestStatusViewer.dynamicUpdateTaskIconImage.join();
+            final long elapsedNanos = System.nanoTime() - startNanos;
+
+            assertTrue( dataRequestStatusViewer.isInitialized() );
+            return elapsedNanos * 1.0e-6d;
+        } );
+    }
+
+    private static DataRequestStatusViewer newViewer() {
+        return new DataRequestStatusViewer( Modality.NONE,
+                                            mock( ProductBranding.class ),
+                                            TestFixtures.newClientProperties(),
+                                            "No Data Requests", //$NON-NLS-1$
+                                            TASK_ICON_PATH,
+                                            TASK_ICON_PATH );
+    }
+
+    private static < T > T runOnFxThread( final Callable< T > callable ) throws Exception {
+        final FutureTask< T > futureTask = new FutureTask<>( callable );
+        Platform.runLater( futureTask );
+        return futureTask.get( 30L, TimeUnit.SECONDS );
+    }
+}